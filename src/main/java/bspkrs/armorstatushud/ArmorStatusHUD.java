@@ -64,6 +64,15 @@ public class ArmorStatusHUD {
    private static ScaledResolution scaledResolution;
    static final List colorList = new ArrayList();
    private static List<HUDElement> elements = new ArrayList<>();
+   private static int[] elementX = new int[0];
+   private static int[] elementY = new int[0];
+   /** Stacks and damage the elements were built from, by slot from the held item up to the helmet */
+   private static final ItemStack[] shownStacks = new ItemStack[5];
+   private static final int[] shownDamage = new int[5];
+   private static int shownWidth;
+   private static int shownHeight;
+   private static boolean shownUnicode;
+   private static boolean layoutDirty = true;
    private static Pattern colorListPattern = Pattern.compile("([0-9]+,[0-9,a-f]{1}(;[ ]*|$))+");
 
    public static void initConfig(File file) {
@@ -120,6 +129,8 @@ public class ArmorStatusHUD {
       orderedKeys.add(ConfigElement.Y_OFFSET_BOTTOM_CENTER.key());
       Reference.config.setCategoryPropertyOrder(ctgyGen, orderedKeys);
       Reference.config.save();
+      colorList.clear();
+      layoutDirty = true;
 
       try {
          for(String s : damageColorList.split(";")) {
@@ -176,17 +187,34 @@ public class ArmorStatusHUD {
       return item != null;
    }
 
-   private static void getHUDElements(Minecraft mc) {
-      elements.clear();
+   /**
+    * Returns whether the shown stacks, their damage, the settings or the screen changed since the elements were built.
+    */
+   private static boolean hudElementsChanged(Minecraft mc) {
+      boolean changed = layoutDirty || scaledResolution.getScaledWidth() != shownWidth || scaledResolution.getScaledHeight() != shownHeight || mc.fontRenderer.getUnicodeFlag() != shownUnicode;
+      layoutDirty = false;
+      shownWidth = scaledResolution.getScaledWidth();
+      shownHeight = scaledResolution.getScaledHeight();
+      shownUnicode = mc.fontRenderer.getUnicodeFlag();
 
-      for(int i = 3; i >= -1; --i) {
-         ItemStack itemStack = null;
-         if(i == -1 && showEquippedItem) {
-            itemStack = mc.thePlayer.getCurrentEquippedItem();
-         } else if(i != -1) {
-            itemStack = mc.thePlayer.inventory.armorInventory[i];
+      for(int i = -1; i <= 3; ++i) {
+         ItemStack itemStack = i == -1?(showEquippedItem?mc.thePlayer.getCurrentEquippedItem():null):mc.thePlayer.inventory.armorInventory[i];
+         int damage = itemStack != null?itemStack.getItemDamage():0;
+         if(itemStack != shownStacks[i + 1] || damage != shownDamage[i + 1]) {
+            shownStacks[i + 1] = itemStack;
+            shownDamage[i + 1] = damage;
+            changed = true;
          }
+      }
+
+      return changed;
+   }
+
+   private static void getHUDElements() {
+      elements.clear();
 
+      for(int i = 3; i >= -1; --i) {
+         ItemStack itemStack = shownStacks[i + 1];
          if(itemStack != null) {
             elements.add(new HUDElement(itemStack, 16, 16, 2, i > -1));
          }
@@ -205,14 +233,29 @@ public class ArmorStatusHUD {
    }
 
    private static void displayArmorStatus(Minecraft mc) {
-      getHUDElements(mc);
+      if(hudElementsChanged(mc)) {
+         getHUDElements();
+         layoutElements();
+      }
+
+      for(int i = 0; i < elements.size(); ++i) {
+         elements.get(i).renderToHud(elementX[i], elementY[i]);
+      }
+
+   }
+
+   private static void layoutElements() {
+      elementX = new int[elements.size()];
+      elementY = new int[elements.size()];
       if(elements.size() > 0) {
          int yOffset = enableItemName?18:16;
          if(listMode.equalsIgnoreCase("vertical")) {
             int yBase = getY(elements.size(), yOffset);
 
-            for(HUDElement e : elements) {
-               e.renderToHud(alignMode.toLowerCase().contains("right")?getX(0):getX(e.width()), yBase);
+            for(int i = 0; i < elements.size(); ++i) {
+               HUDElement e = elements.get(i);
+               elementX[i] = alignMode.toLowerCase().contains("right")?getX(0):getX(e.width());
+               elementY[i] = yBase;
                yBase += yOffset;
             }
          } else if(listMode.equalsIgnoreCase("horizontal")) {
@@ -221,10 +264,14 @@ public class ArmorStatusHUD {
             int xBase = getX(totalWidth);
             int prevX = 0;
 
-            for(HUDElement e : elements) {
-               e.renderToHud(xBase + prevX + (alignMode.toLowerCase().contains("right")?e.width():0), yBase);
+            for(int i = 0; i < elements.size(); ++i) {
+               HUDElement e = elements.get(i);
+               elementX[i] = xBase + prevX + (alignMode.toLowerCase().contains("right")?e.width():0);
+               elementY[i] = yBase;
                prevX += e.width();
             }
+         } else {
+            elements.clear();
          }
       }
 
@@ -50,6 +50,13 @@ public class StatusEffectHUD {
    private static final boolean showInChatDefault = true;
    public static boolean showInChat = true;
    private static Map<PotionEffect, Integer> potionMaxDurationMap = new HashMap();
+   private static final ResourceLocation inventoryTexture = ResourceLocation.intern("textures/gui/container/inventory.png");
+   /** Rows built from the effects, redone when an effect, a shown second, the settings or the screen change */
+   private static List<EffectRow> rows = new ArrayList<>();
+   private static int shownWidth;
+   private static int shownHeight;
+   private static boolean shownUnicode;
+   private static boolean layoutDirty = true;
 
    public static void initConfig(File file) {
       if(!CommonUtils.isObfuscatedEnv()) {
@@ -97,6 +104,7 @@ public class StatusEffectHUD {
       orderedKeys.add(ConfigElement.Y_OFFSET_BOTTOM_CENTER.key());
       Reference.config.setCategoryPropertyOrder(ctgyGen, orderedKeys);
       Reference.config.save();
+      layoutDirty = true;
    }
 
    public static boolean onTickInGame(Minecraft mc) {
@@ -124,84 +132,138 @@ public class StatusEffectHUD {
 
    private static void displayStatusEffects(Minecraft mc) {
       Collection<PotionEffect> activeEffects = mc.thePlayer.getActivePotionEffects();
-      if(!activeEffects.isEmpty()) {
-         int yOffset = enableBackground?33:(enableEffectName?20:18);
-         if(activeEffects.size() > 5 && enableBackground) {
-            yOffset = 132 / (activeEffects.size() - 1);
+      if(rowsChanged(mc, activeEffects)) {
+         buildRows(mc, activeEffects);
+      }
+
+      for(EffectRow row : rows) {
+         boolean showDuration = shouldRender(row.effect, row.effect.getDuration(), durationBlinkSeconds);
+         GL11.glColor4f(1.0F, 1.0F, 1.0F, 1.0F);
+         mc.getTextureManager().bindTexture(inventoryTexture);
+         if(enableBackground) {
+            HUDUtils.drawTexturedModalRect(row.backgroundX, row.y, 0, 166, 140, 32, zLevel);
+         }
+
+         if(row.iconIndex >= 0 && (!row.iconBlinks || showDuration)) {
+            HUDUtils.drawTexturedModalRect(row.iconX, row.y + (enableBackground?7:0), 0 + row.iconIndex % 8 * 18, 198 + row.iconIndex / 8 * 18, 18, 18, zLevel);
+         }
+
+         mc.fontRenderer.drawStringWithShadow(row.name, row.nameX, row.y + (enableBackground?6:0), 16777215);
+         if(showDuration) {
+            mc.fontRenderer.drawStringWithShadow(row.duration, row.durationX, row.y + (enableBackground?6:0) + (enableEffectName?10:5), 16777215);
          }
+      }
+
+   }
 
-         int yBase = getY(activeEffects.size(), yOffset);
+   /**
+    * Returns whether the effects, the second any of them shows, the settings or the screen changed since the rows were built.
+    */
+   private static boolean rowsChanged(Minecraft mc, Collection<PotionEffect> activeEffects) {
+      boolean changed = layoutDirty || activeEffects.size() != rows.size() || scaledResolution.getScaledWidth() != shownWidth || scaledResolution.getScaledHeight() != shownHeight || mc.fontRenderer.getUnicodeFlag() != shownUnicode;
+      if(!changed) {
+         int i = 0;
 
          for(PotionEffect potionEffect : activeEffects) {
-            if(!potionMaxDurationMap.containsKey(potionEffect) || ((Integer)potionMaxDurationMap.get(potionEffect)).intValue() < potionEffect.getDuration()) {
-               potionMaxDurationMap.put(potionEffect, new Integer(potionEffect.getDuration()));
+            EffectRow row = rows.get(i++);
+            if(row.effect != potionEffect || row.amplifier != potionEffect.getAmplifier() || row.seconds != potionEffect.getDuration() / 20) {
+               return true;
             }
+         }
+      }
 
-            Potion potion = Potion.potionTypes[potionEffect.getPotionID()];
-            GL11.glColor4f(1.0F, 1.0F, 1.0F, 1.0F);
-            mc.getTextureManager().bindTexture(new ResourceLocation("textures/gui/container/inventory.png"));
-            int xBase = getX(enableBackground?120:22 + mc.fontRenderer.getStringWidth("0:00"));
-            String potionName = "";
-            if(enableEffectName) {
-               potionName = StatCollector.translateToLocal(potion.getName());
-               if(potionEffect.getAmplifier() == 1) {
-                  potionName = potionName + " II";
-               } else if(potionEffect.getAmplifier() == 2) {
-                  potionName = potionName + " III";
-               } else if(potionEffect.getAmplifier() == 3) {
-                  potionName = potionName + " IV";
-               }
-
-               xBase = getX(enableBackground?120:22 + mc.fontRenderer.getStringWidth(potionName));
-            }
+      return changed;
+   }
 
-            String effectDuration = Potion.getDurationString(potionEffect);
-            if(enableBackground) {
-               HUDUtils.drawTexturedModalRect(xBase, yBase, 0, 166, 140, 32, zLevel);
-            }
+   private static void buildRows(Minecraft mc, Collection<PotionEffect> activeEffects) {
+      layoutDirty = false;
+      shownWidth = scaledResolution.getScaledWidth();
+      shownHeight = scaledResolution.getScaledHeight();
+      shownUnicode = mc.fontRenderer.getUnicodeFlag();
+      rows = new ArrayList<>(activeEffects.size());
+      int yOffset = enableBackground?33:(enableEffectName?20:18);
+      if(activeEffects.size() > 5 && enableBackground) {
+         yOffset = 132 / (activeEffects.size() - 1);
+      }
 
-            if(!alignMode.toLowerCase().contains("right")) {
-               if(potion.hasStatusIcon()) {
-                  int potionStatusIcon = potion.getStatusIconIndex();
-                  HUDUtils.drawTexturedModalRect(xBase + (enableBackground?6:0), yBase + (enableBackground?7:0), 0 + potionStatusIcon % 8 * 18, 198 + potionStatusIcon / 8 * 18, 18, 18, zLevel);
-               }
-
-               mc.fontRenderer.drawStringWithShadow("§" + effectNameColor + potionName + "§r", xBase + (enableBackground?10:4) + 18, yBase + (enableBackground?6:0), 16777215);
-               if(shouldRender(potionEffect, potionEffect.getDuration(), durationBlinkSeconds)) {
-                  mc.fontRenderer.drawStringWithShadow("§" + durationColor + effectDuration + "§r", xBase + (enableBackground?10:4) + 18, yBase + (enableBackground?6:0) + (enableEffectName?10:5), 16777215);
-               }
-            } else {
-               xBase = getX(0);
-               if(potion.hasStatusIcon()) {
-                  int potionStatusIcon = potion.getStatusIconIndex();
-                  if(!enableIconBlink || enableIconBlink && shouldRender(potionEffect, potionEffect.getDuration(), durationBlinkSeconds)) {
-                     HUDUtils.drawTexturedModalRect(xBase + (enableBackground?-24:-18), yBase + (enableBackground?7:0), 0 + potionStatusIcon % 8 * 18, 198 + potionStatusIcon / 8 * 18, 18, 18, zLevel);
-                  }
-               }
-
-               int stringWidth = mc.fontRenderer.getStringWidth(potionName);
-               mc.fontRenderer.drawStringWithShadow("§" + effectNameColor + potionName + "§r", xBase + (enableBackground?-10:-4) - 18 - stringWidth, yBase + (enableBackground?6:0), 16777215);
-               stringWidth = mc.fontRenderer.getStringWidth(effectDuration);
-               if(shouldRender(potionEffect, potionEffect.getDuration(), durationBlinkSeconds)) {
-                  mc.fontRenderer.drawStringWithShadow("§" + durationColor + effectDuration + "§r", xBase + (enableBackground?-10:-4) - 18 - stringWidth, yBase + (enableBackground?6:0) + (enableEffectName?10:5), 16777215);
-               }
-            }
+      int yBase = getY(activeEffects.size(), yOffset);
 
-            yBase += yOffset;
+      for(PotionEffect potionEffect : activeEffects) {
+         if(!potionMaxDurationMap.containsKey(potionEffect) || ((Integer)potionMaxDurationMap.get(potionEffect)).intValue() < potionEffect.getDuration()) {
+            potionMaxDurationMap.put(potionEffect, new Integer(potionEffect.getDuration()));
          }
 
-         List<PotionEffect> toRemove = new LinkedList<>();
-
-         for(PotionEffect pe : potionMaxDurationMap.keySet()) {
-            if(!activeEffects.contains(pe)) {
-               toRemove.add(pe);
+         Potion potion = Potion.potionTypes[potionEffect.getPotionID()];
+         int xBase = getX(enableBackground?120:22 + mc.fontRenderer.getStringWidth("0:00"));
+         String potionName = "";
+         if(enableEffectName) {
+            potionName = StatCollector.translateToLocal(potion.getName());
+            if(potionEffect.getAmplifier() == 1) {
+               potionName = potionName + " II";
+            } else if(potionEffect.getAmplifier() == 2) {
+               potionName = potionName + " III";
+            } else if(potionEffect.getAmplifier() == 3) {
+               potionName = potionName + " IV";
             }
+
+            xBase = getX(enableBackground?120:22 + mc.fontRenderer.getStringWidth(potionName));
+         }
+
+         String effectDuration = Potion.getDurationString(potionEffect);
+         EffectRow row = new EffectRow();
+         row.effect = potionEffect;
+         row.amplifier = potionEffect.getAmplifier();
+         row.seconds = potionEffect.getDuration() / 20;
+         row.name = "§" + effectNameColor + potionName + "§r";
+         row.duration = "§" + durationColor + effectDuration + "§r";
+         row.iconIndex = potion.hasStatusIcon()?potion.getStatusIconIndex():-1;
+         row.backgroundX = xBase;
+         row.y = yBase;
+         if(!alignMode.toLowerCase().contains("right")) {
+            row.iconX = xBase + (enableBackground?6:0);
+            row.nameX = xBase + (enableBackground?10:4) + 18;
+            row.durationX = row.nameX;
+         } else {
+            xBase = getX(0);
+            row.iconBlinks = enableIconBlink;
+            row.iconX = xBase + (enableBackground?-24:-18);
+            row.nameX = xBase + (enableBackground?-10:-4) - 18 - mc.fontRenderer.getStringWidth(potionName);
+            row.durationX = xBase + (enableBackground?-10:-4) - 18 - mc.fontRenderer.getStringWidth(effectDuration);
          }
 
-         for(PotionEffect pe : toRemove) {
-            potionMaxDurationMap.remove(pe);
+         rows.add(row);
+         yBase += yOffset;
+      }
+
+      List<PotionEffect> toRemove = new LinkedList<>();
+
+      for(PotionEffect pe : potionMaxDurationMap.keySet()) {
+         if(!activeEffects.contains(pe)) {
+            toRemove.add(pe);
          }
       }
 
+      for(PotionEffect pe : toRemove) {
+         potionMaxDurationMap.remove(pe);
+      }
+
+   }
+
+   /**
+    * One effect as drawn: the strings and positions only change when the row is rebuilt, the blinking is decided each frame.
+    */
+   private static class EffectRow {
+      PotionEffect effect;
+      int amplifier;
+      int seconds;
+      String name;
+      String duration;
+      int iconIndex;
+      boolean iconBlinks;
+      int backgroundX;
+      int iconX;
+      int nameX;
+      int durationX;
+      int y;
    }
 }
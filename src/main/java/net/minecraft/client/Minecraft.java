@@ -4,6 +4,7 @@ import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Queues;
+import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.ListenableFutureTask;
@@ -233,7 +234,7 @@ public class Minecraft implements IPlayerUsage
     private boolean integratedServerIsRunning;
 
     /** The profiler instance */
-    public final Profiler mcProfiler = new Profiler();
+    public final Profiler mcProfiler = new Profiler("Client thread");
     private long field_83002_am = -1L;
     private IReloadableResourceManager mcResourceManager;
     private final IMetadataSerializer metadataSerializer_ = new IMetadataSerializer();
@@ -274,6 +275,7 @@ public class Minecraft implements IPlayerUsage
     {
         theMinecraft = this;
         this.mcDataDir = p_i1103_6_;
+        this.mcProfiler.traceRecorder.setOutputDirectory(new File(p_i1103_6_, "traces"));
         this.fileAssets = p_i1103_7_;
         this.fileResourcepacks = p_i1103_8_;
         this.launchedVersion = p_i1103_10_;
@@ -969,6 +971,7 @@ public class Minecraft implements IPlayerUsage
      */
     private void runGameLoop()
     {
+        this.mcProfiler.traceRecorder.startFrame();
         this.mcProfiler.startSection("root");
 
         if (Display.isCreated() && Display.isCloseRequested())
@@ -1099,6 +1102,8 @@ public class Minecraft implements IPlayerUsage
         {
             Display.sync(this.getLimitFramerate());
         }
+
+        this.mcProfiler.traceRecorder.endFrame();
     }
 
     public void func_147120_f()
@@ -2102,6 +2107,12 @@ public class Minecraft implements IPlayerUsage
             this.myNetworkManager.processReceivedPackets();
         }
 
+        if (this.getNetHandler() != null)
+        {
+            this.mcProfiler.endStartSection("flushConnection");
+            this.getNetHandler().getNetworkManager().flushOutboundPackets();
+        }
+
         // Keyrisium - fire END tick
         McpHandler.fireClientTick(Tickable.Phase.END);
 
@@ -2973,7 +2984,16 @@ public class Minecraft implements IPlayerUsage
                     }
                     else if (var1 == this.gameSettings.keyBindScreenshot.getKeyCode())
                     {
-                        this.ingameGUI.getChatGUI().func_146227_a(ScreenShotHelper.saveScreenshot(this.mcDataDir, this.displayWidth, this.displayHeight, this.mcFramebuffer));
+                        if (GuiScreen.isShiftKeyDown() && this.theWorld != null)
+                        {
+                            this.mcProfiler.startSection("tiledScreenshot");
+                            this.printScreenshotResult(ScreenShotHelper.saveTiledScreenshot(this.mcDataDir, this.displayWidth, this.displayHeight, this.mcFramebuffer, this.entityRenderer, this.timer.renderPartialTicks, 2));
+                            this.mcProfiler.endSection();
+                        }
+                        else
+                        {
+                            this.printScreenshotResult(ScreenShotHelper.saveScreenshot(this.mcDataDir, this.displayWidth, this.displayHeight, this.mcFramebuffer));
+                        }
                     }
                 }
                 else if (var1 == this.gameSettings.field_152399_aq.getKeyCode())
@@ -2984,6 +3004,31 @@ public class Minecraft implements IPlayerUsage
         }
     }
 
+    /**
+     * Shows the chat message of a screenshot being written in the background once it is done
+     */
+    private void printScreenshotResult(ListenableFuture p_printScreenshotResult_1_)
+    {
+        Futures.addCallback(p_printScreenshotResult_1_, new FutureCallback()
+        {
+            public void onSuccess(final Object p_onSuccess_1_)
+            {
+                Minecraft.this.func_152344_a(new Runnable()
+                {
+                    public void run()
+                    {
+                        Minecraft.this.ingameGUI.getChatGUI().func_146227_a((IChatComponent)p_onSuccess_1_);
+                    }
+                });
+            }
+
+            public void onFailure(Throwable p_onFailure_1_)
+            {
+                Minecraft.logger.warn("Couldn't save screenshot", p_onFailure_1_);
+            }
+        });
+    }
+
     public ListenableFuture func_152343_a(Callable p_152343_1_)
     {
         Validate.notNull(p_152343_1_);
@@ -79,7 +79,7 @@ public class SoundHandler implements IResourceManagerReloadListener, IUpdatePlay
                         while (var8.hasNext())
                         {
                             Entry var9 = (Entry)var8.next();
-                            this.func_147693_a(new ResourceLocation(var3, (String)var9.getKey()), (SoundList)var9.getValue());
+                            this.func_147693_a((new ResourceLocation(var3, (String)var9.getKey())).intern(), (SoundList)var9.getValue());
                         }
                     }
                     catch (RuntimeException var10)
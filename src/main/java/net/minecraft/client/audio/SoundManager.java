@@ -2,10 +2,14 @@ package net.minecraft.client.audio;
 
 import com.google.common.collect.*;
 import fr.dabsunter.jl.player.DabsAudioDevice;
+import gnu.trove.iterator.TObjectFloatIterator;
+import gnu.trove.map.hash.TObjectFloatHashMap;
+import gnu.trove.set.hash.TLongHashSet;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.settings.GameSettings;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.util.MathHelper;
+import net.minecraft.util.PackedPosition;
 import net.minecraft.util.ResourceLocation;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -28,7 +32,6 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.UUID;
 
 public class SoundManager
 {
@@ -36,7 +39,7 @@ public class SoundManager
     private static final Logger logger = LogManager.getLogger();
     private final SoundHandler field_148622_c;
     private final GameSettings field_148619_d;
-    private SoundManager.SoundSystemStarterThread field_148620_e;
+    private SoundSystem field_148620_e;
     private boolean field_148617_f;
     private int field_148618_g = 0;
     private final Map field_148629_h = HashBiMap.create();
@@ -47,6 +50,23 @@ public class SoundManager
     private final Map field_148626_m;
     private final Map field_148624_n;
 
+    /** Weight of each category, by category ID, when deciding which sounds get a voice */
+    private static final float[] categoryPriorities = new float[] {4.0F, 4.0F, 4.0F, 1.0F, 2.0F, 3.0F, 2.0F, 4.0F, 1.0F, 4.0F};
+
+    /** Priority of every playing non-streaming source, by source name; its size is the number of voices in use */
+    private final TObjectFloatHashMap voicePriorities = new TObjectFloatHashMap();
+
+    /** Packed block positions at which each sound event was started this tick, to drop identical sounds */
+    private final Map playedThisTick = Maps.newIdentityHashMap();
+    private int playedTick = -1;
+
+    /** URL of every sound file played, the library keeps their decoded data under the same name */
+    private final Map sourceUrls = Maps.newHashMap();
+    private int nextSourceId;
+    private float listenerX;
+    private float listenerY;
+    private float listenerZ;
+
     public SoundManager(SoundHandler p_i45119_1_, GameSettings p_i45119_2_)
     {
         this.field_148630_i = ((BiMap)this.field_148629_h).inverse();
@@ -101,6 +121,15 @@ public class SoundManager
         }
     }
 
+    /**
+     * Plays through the given sound system instead of loading the sound library, so the manager can run headless
+     */
+    void startWith(SoundSystem p_startWith_1_)
+    {
+        this.field_148620_e = p_startWith_1_;
+        this.field_148617_f = true;
+    }
+
     private float func_148595_a(SoundCategory p_148595_1_)
     {
         return p_148595_1_ != null && p_148595_1_ != SoundCategory.MASTER ? this.field_148619_d.getSoundLevel(p_148595_1_) : 1.0F;
@@ -171,6 +200,7 @@ public class SoundManager
             this.field_148628_k.clear();
             this.field_148627_j.clear();
             this.field_148624_n.clear();
+            this.voicePriorities.clear();
         }
     }
 
@@ -222,23 +252,7 @@ public class SoundManager
 
                     var1.remove();
                     logger.debug(field_148623_a, "Removed channel {} because it\'s not playing anymore", new Object[] {var3});
-                    this.field_148620_e.removeSource(var3);
-                    this.field_148624_n.remove(var3);
-                    this.field_148627_j.remove(var4);
-
-                    try
-                    {
-                        this.field_148628_k.remove(this.field_148622_c.func_147680_a(var4.func_147650_b()).func_148728_d(), var3);
-                    }
-                    catch (RuntimeException var8)
-                    {
-                        ;
-                    }
-
-                    if (var4 instanceof ITickableSound)
-                    {
-                        this.field_148625_l.remove(var4);
-                    }
+                    this.removeChannel(var3, var4);
                 }
             }
         }
@@ -336,15 +350,31 @@ public class SoundManager
                         else
                         {
                             boolean var11 = p_148611_1_.func_147657_c() && p_148611_1_.func_147652_d() == 0;
-                            String var12 = UUID.randomUUID().toString();
+                            boolean var13 = var3.func_148648_d();
+                            float var14 = this.getVoicePriority(p_148611_1_, var6, var7);
+
+                            if (!var13 && !(p_148611_1_ instanceof ITickableSound) && !this.markPlayedThisTick(p_148611_1_, var2))
+                            {
+                                logger.debug(field_148623_a, "Skipped playing sound {}, already played at the same spot this tick", new Object[] {var10});
+                                return;
+                            }
 
-                            if (var3.func_148648_d())
+                            if (!var13 && !this.claimVoice(var14))
                             {
-                                this.field_148620_e.newStreamingSource(false, var12, func_148612_a(var10), var10.toString(), var11, p_148611_1_.func_147649_g(), p_148611_1_.func_147654_h(), p_148611_1_.func_147651_i(), p_148611_1_.func_147656_j().func_148586_a(), var5);
+                                logger.debug(field_148623_a, "Skipped playing sound {}, every voice is playing something more important", new Object[] {var10});
+                                return;
+                            }
+
+                            String var12 = Integer.toString(this.nextSourceId++);
+
+                            if (var13)
+                            {
+                                this.field_148620_e.newStreamingSource(false, var12, this.getSourceUrl(var10), var10.toString(), var11, p_148611_1_.func_147649_g(), p_148611_1_.func_147654_h(), p_148611_1_.func_147651_i(), p_148611_1_.func_147656_j().func_148586_a(), var5);
                             }
                             else
                             {
-                                this.field_148620_e.newSource(false, var12, func_148612_a(var10), var10.toString(), var11, p_148611_1_.func_147649_g(), p_148611_1_.func_147654_h(), p_148611_1_.func_147651_i(), p_148611_1_.func_147656_j().func_148586_a(), var5);
+                                this.field_148620_e.newSource(false, var12, this.getSourceUrl(var10), var10.toString(), var11, p_148611_1_.func_147649_g(), p_148611_1_.func_147654_h(), p_148611_1_.func_147651_i(), p_148611_1_.func_147656_j().func_148586_a(), var5);
+                                this.voicePriorities.put(var12, var14);
                             }
 
                             logger.debug(field_148623_a, "Playing sound {} for event {} as channel {}", new Object[] {var3.func_148652_a(), var2.func_148729_c(), var12});
@@ -371,6 +401,131 @@ public class SoundManager
         }
     }
 
+    /**
+     * Forgets everything about a source that is no longer in the channel map, and frees it in the library
+     */
+    private void removeChannel(String p_removeChannel_1_, ISound p_removeChannel_2_)
+    {
+        this.field_148620_e.removeSource(p_removeChannel_1_);
+        this.field_148624_n.remove(p_removeChannel_1_);
+        this.field_148627_j.remove(p_removeChannel_2_);
+        this.voicePriorities.remove(p_removeChannel_1_);
+
+        try
+        {
+            this.field_148628_k.remove(this.field_148622_c.func_147680_a(p_removeChannel_2_.func_147650_b()).func_148728_d(), p_removeChannel_1_);
+        }
+        catch (RuntimeException var4)
+        {
+            ;
+        }
+
+        if (p_removeChannel_2_ instanceof ITickableSound)
+        {
+            this.field_148625_l.remove(p_removeChannel_2_);
+        }
+    }
+
+    /**
+     * Louder, closer sounds of more important categories rank higher; looping and moving sounds hold on to their voice
+     */
+    private float getVoicePriority(ISound p_getVoicePriority_1_, SoundCategory p_getVoicePriority_2_, float p_getVoicePriority_3_)
+    {
+        float var4 = p_getVoicePriority_3_ * categoryPriorities[p_getVoicePriority_2_.getCategoryId()];
+
+        if (p_getVoicePriority_1_.func_147656_j() != ISound.AttenuationType.NONE)
+        {
+            float var5 = p_getVoicePriority_1_.func_147649_g() - this.listenerX;
+            float var6 = p_getVoicePriority_1_.func_147654_h() - this.listenerY;
+            float var7 = p_getVoicePriority_1_.func_147651_i() - this.listenerZ;
+            var4 /= 1.0F + MathHelper.sqrt_float(var5 * var5 + var6 * var6 + var7 * var7) / 16.0F;
+        }
+
+        if (p_getVoicePriority_1_.func_147657_c() || p_getVoicePriority_1_ instanceof ITickableSound)
+        {
+            var4 *= 2.0F;
+        }
+
+        return var4;
+    }
+
+    /**
+     * Returns false if the sound event was already started at this block this tick
+     */
+    private boolean markPlayedThisTick(ISound p_markPlayedThisTick_1_, SoundEventAccessorComposite p_markPlayedThisTick_2_)
+    {
+        if (this.playedTick != this.field_148618_g)
+        {
+            this.playedTick = this.field_148618_g;
+            this.playedThisTick.clear();
+        }
+
+        TLongHashSet var3 = (TLongHashSet)this.playedThisTick.get(p_markPlayedThisTick_2_);
+
+        if (var3 == null)
+        {
+            var3 = new TLongHashSet();
+            this.playedThisTick.put(p_markPlayedThisTick_2_, var3);
+        }
+
+        return var3.add(PackedPosition.pack(MathHelper.floor_float(p_markPlayedThisTick_1_.func_147649_g()), MathHelper.floor_float(p_markPlayedThisTick_1_.func_147654_h()), MathHelper.floor_float(p_markPlayedThisTick_1_.func_147651_i())));
+    }
+
+    /**
+     * Makes room for a new source of the given priority, stopping the least important playing source if every voice is
+     * taken. Returns false if the new source is the least important.
+     */
+    private boolean claimVoice(float p_claimVoice_1_)
+    {
+        if (this.voicePriorities.size() < SoundSystemConfig.getNumberNormalChannels())
+        {
+            return true;
+        }
+        else
+        {
+            String var2 = null;
+            float var3 = p_claimVoice_1_;
+            TObjectFloatIterator var4 = this.voicePriorities.iterator();
+
+            while (var4.hasNext())
+            {
+                var4.advance();
+
+                if (var4.value() < var3)
+                {
+                    var2 = (String)var4.key();
+                    var3 = var4.value();
+                }
+            }
+
+            if (var2 == null)
+            {
+                return false;
+            }
+            else
+            {
+                logger.debug(field_148623_a, "Stopping channel {} to make room for a more important sound", new Object[] {var2});
+                ISound var5 = (ISound)this.field_148629_h.remove(var2);
+                this.field_148620_e.stop(var2);
+                this.removeChannel(var2, var5);
+                return true;
+            }
+        }
+    }
+
+    private URL getSourceUrl(ResourceLocation p_getSourceUrl_1_)
+    {
+        URL var2 = (URL)this.sourceUrls.get(p_getSourceUrl_1_);
+
+        if (var2 == null)
+        {
+            var2 = func_148612_a(p_getSourceUrl_1_);
+            this.sourceUrls.put(p_getSourceUrl_1_, var2);
+        }
+
+        return var2;
+    }
+
     private float func_148606_a(ISound p_148606_1_, SoundPoolEntry p_148606_2_)
     {
         return (float)MathHelper.clamp_double((double)p_148606_1_.func_147655_f() * p_148606_2_.func_148650_b(), 0.5D, 2.0D);
@@ -457,6 +612,9 @@ public class SoundManager
             float var19 = var12 * var13;
             float var20 = var11 * var15;
             float var22 = var12 * var15;
+            this.listenerX = (float)var5;
+            this.listenerY = (float)var7;
+            this.listenerZ = (float)var9;
             this.field_148620_e.setListenerPosition((float)var5, (float)var7, (float)var9);
             this.field_148620_e.setListenerOrientation(var17, var14, var19, var20, var16, var22);
         }
@@ -0,0 +1,131 @@
+package net.minecraft.client.gui;
+
+import com.google.common.collect.Lists;
+import net.minecraft.util.ChatComponentText;
+import net.minecraft.util.EnumChatFormatting;
+import net.minecraft.util.IChatComponent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Wraps chat messages to the width of the chat. Each message keeps the lines it was wrapped to for its last few
+ * layouts, so laying the chat out again only measures messages that weren't wrapped the same way lately.
+ */
+public class ChatLayout
+{
+    /** Bumped when something other than the width changes how messages wrap, so no earlier layout is reused */
+    private int generation;
+    private boolean colours;
+    private boolean unicode;
+    private String language;
+
+    /**
+     * Returns the lines the given message wraps to at the given width, wrapping it only if it hasn't been under the
+     * same width, chat colours setting, font and language
+     */
+    public List getWrappedLines(ChatLine p_getWrappedLines_1_, int p_getWrappedLines_2_, FontRenderer p_getWrappedLines_3_, boolean p_getWrappedLines_4_, String p_getWrappedLines_5_)
+    {
+        long var6 = this.getLayoutKey(p_getWrappedLines_2_, p_getWrappedLines_4_, p_getWrappedLines_3_.getUnicodeFlag(), p_getWrappedLines_5_);
+        List var8 = p_getWrappedLines_1_.getWrappedLines(var6);
+
+        if (var8 == null)
+        {
+            var8 = wrapComponent(p_getWrappedLines_1_.func_151461_a(), p_getWrappedLines_2_, p_getWrappedLines_3_, p_getWrappedLines_4_);
+            p_getWrappedLines_1_.setWrappedLines(var6, var8);
+        }
+
+        return var8;
+    }
+
+    /**
+     * Identifies a layout by wrap width, and by a generation bumped when the chat colours setting, unicode font or
+     * language change
+     */
+    private long getLayoutKey(int p_getLayoutKey_1_, boolean p_getLayoutKey_2_, boolean p_getLayoutKey_3_, String p_getLayoutKey_4_)
+    {
+        if (p_getLayoutKey_2_ != this.colours || p_getLayoutKey_3_ != this.unicode || (p_getLayoutKey_4_ == null ? this.language != null : !p_getLayoutKey_4_.equals(this.language)))
+        {
+            ++this.generation;
+            this.colours = p_getLayoutKey_2_;
+            this.unicode = p_getLayoutKey_3_;
+            this.language = p_getLayoutKey_4_;
+        }
+
+        return (long)this.generation << 32 | (long)p_getLayoutKey_1_ & 4294967295L;
+    }
+
+    /**
+     * Splits a message into lines no wider than the given width, breaking at spaces where possible, and without
+     * formatting codes unless chat colours are on
+     */
+    static List wrapComponent(IChatComponent p_wrapComponent_0_, int p_wrapComponent_1_, FontRenderer p_wrapComponent_2_, boolean p_wrapComponent_3_)
+    {
+        int var6 = 0;
+        ChatComponentText var7 = new ChatComponentText("");
+        ArrayList var8 = Lists.newArrayList();
+        ArrayList var9 = Lists.newArrayList(p_wrapComponent_0_);
+
+        for (int var10 = 0; var10 < var9.size(); ++var10)
+        {
+            IChatComponent var11 = (IChatComponent)var9.get(var10);
+            String var12 = var11.getChatStyle().getFormattingCode() + var11.getUnformattedTextForChat();
+
+            if (!p_wrapComponent_3_)
+            {
+                var12 = EnumChatFormatting.getTextWithoutFormattingCodes(var12);
+            }
+
+            int var13 = p_wrapComponent_2_.getStringWidth(var12);
+            ChatComponentText var14 = new ChatComponentText(var12);
+            var14.setChatStyle(var11.getChatStyle().createShallowCopy());
+            boolean var15 = false;
+
+            if (var6 + var13 > p_wrapComponent_1_)
+            {
+                String var16 = p_wrapComponent_2_.trimStringToWidth(var12, p_wrapComponent_1_ - var6, false);
+                String var17 = var16.length() < var12.length() ? var12.substring(var16.length()) : null;
+
+                if (var17 != null && var17.length() > 0)
+                {
+                    int var18 = var16.lastIndexOf(" ");
+
+                    if (var18 >= 0 && p_wrapComponent_2_.getStringWidth(var12.substring(0, var18)) > 0)
+                    {
+                        var16 = var12.substring(0, var18);
+                        var17 = var12.substring(var18);
+                    }
+
+                    ChatComponentText var19 = new ChatComponentText(var17);
+                    var19.setChatStyle(var11.getChatStyle().createShallowCopy());
+                    var9.add(var10 + 1, var19);
+                }
+
+                var13 = p_wrapComponent_2_.getStringWidth(var16);
+                var14 = new ChatComponentText(var16);
+                var14.setChatStyle(var11.getChatStyle().createShallowCopy());
+                var15 = true;
+            }
+
+            if (var6 + var13 <= p_wrapComponent_1_)
+            {
+                var6 += var13;
+                var7.appendSibling(var14);
+            }
+            else
+            {
+                var15 = true;
+            }
+
+            if (var15)
+            {
+                var8.add(var7);
+                var6 = 0;
+                var7 = new ChatComponentText("");
+            }
+        }
+
+        var8.add(var7);
+        return var8;
+    }
+}
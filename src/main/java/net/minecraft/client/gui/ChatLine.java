@@ -2,6 +2,8 @@ package net.minecraft.client.gui;
 
 import net.minecraft.util.IChatComponent;
 
+import java.util.List;
+
 public class ChatLine
 {
     /** GUI Update Counter value this Line was created at */
@@ -13,6 +15,13 @@ public class ChatLine
      */
     private final int chatLineID;
 
+    /** The formatted text of the line, built the first time it's drawn */
+    private String formattedText;
+
+    /** Layout keys and wrapped lines of the last few layouts of this message, most recent first */
+    private final long[] layoutKeys = new long[3];
+    private final List[] layouts = new List[3];
+
     public ChatLine(int p_i45000_1_, IChatComponent p_i45000_2_, int p_i45000_3_)
     {
         this.lineString = p_i45000_2_;
@@ -34,4 +43,38 @@ public class ChatLine
     {
         return this.chatLineID;
     }
+
+    public String getFormattedText()
+    {
+        if (this.formattedText == null)
+        {
+            this.formattedText = this.lineString.getFormattedText();
+        }
+
+        return this.formattedText;
+    }
+
+    /**
+     * Returns the lines this message was wrapped to under the given layout key, or null if it hasn't been lately
+     */
+    public List getWrappedLines(long p_getWrappedLines_1_)
+    {
+        for (int var3 = 0; var3 < this.layouts.length; ++var3)
+        {
+            if (this.layouts[var3] != null && this.layoutKeys[var3] == p_getWrappedLines_1_)
+            {
+                return this.layouts[var3];
+            }
+        }
+
+        return null;
+    }
+
+    public void setWrappedLines(long p_setWrappedLines_1_, List p_setWrappedLines_3_)
+    {
+        System.arraycopy(this.layoutKeys, 0, this.layoutKeys, 1, this.layoutKeys.length - 1);
+        System.arraycopy(this.layouts, 0, this.layouts, 1, this.layouts.length - 1);
+        this.layoutKeys[0] = p_setWrappedLines_1_;
+        this.layouts[0] = p_setWrappedLines_3_;
+    }
 }
@@ -123,7 +123,7 @@ public class GuiButton extends Gui
 
     public void playPressSound(SoundHandler p_146113_1_)
     {
-        p_146113_1_.playSound(PositionedSoundRecord.func_147674_a(new ResourceLocation("gui.button.press"), 1.0F));
+        p_146113_1_.playSound(PositionedSoundRecord.func_147674_a(ResourceLocation.intern("gui.button.press"), 1.0F));
     }
 
     public int func_146117_b()
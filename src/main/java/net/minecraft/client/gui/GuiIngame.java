@@ -21,10 +21,7 @@ import net.minecraft.init.Blocks;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.potion.Potion;
-import net.minecraft.scoreboard.Score;
 import net.minecraft.scoreboard.ScoreObjective;
-import net.minecraft.scoreboard.ScorePlayerTeam;
-import net.minecraft.scoreboard.Scoreboard;
 import net.minecraft.util.*;
 import net.minecraft.world.EnumSkyBlock;
 import net.minecraft.world.chunk.Chunk;
@@ -32,8 +29,6 @@ import org.lwjgl.opengl.GL11;
 import org.lwjgl.opengl.GL12;
 
 import java.awt.*;
-import java.util.Collection;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
 
@@ -49,6 +44,9 @@ public class GuiIngame extends Gui
     /** ChatGUI instance that retains all previous chat data */
     private final GuiNewChat persistantChatGUI;
     private final GuiStreamIndicator field_152127_m;
+
+    /** Sidebar and player list, laid out again only when the scoreboard or player list change */
+    private final ScoreboardLayout scoreboardLayout = new ScoreboardLayout();
     private int updateCounter;
 
     /** The string specifying which record music is playing */
@@ -343,6 +341,17 @@ public class GuiIngame extends Gui
                 this.drawString(fr, var20, scaledWidth - fr.getStringWidth(var20) - 2, 2, var21);
                 var20 = "Allocated memory: " + var41 * 100L / var36 + "% (" + var41 / 1024L / 1024L + "MB)";
                 this.drawString(fr, var20, scaledWidth - fr.getStringWidth(var20) - 2, 12, var21);
+
+                if (this.mc.isIntegratedServerRunning())
+                {
+                    var20 = this.mc.getIntegratedServer().worldServerForDimension(this.mc.thePlayer.dimension).getWorldChunkManager().getBiomeCacheStats();
+                }
+                else
+                {
+                    var20 = this.mc.theWorld.getWorldChunkManager().getBiomeCacheStats();
+                }
+
+                this.drawString(fr, var20, scaledWidth - fr.getStringWidth(var20) - 2, 22, var21);
                 var22 = MathHelper.floor_double(this.mc.thePlayer.posX);
                 var23 = MathHelper.floor_double(this.mc.thePlayer.posY);
                 int var24 = MathHelper.floor_double(this.mc.thePlayer.posZ);
@@ -490,6 +499,7 @@ public class GuiIngame extends Gui
             int var19 = (scaledWidth - var17 * var46) / 2;
             byte var47 = 10;
             drawRect(var19 - 1, var47 - 1, var19 + var46 * var17, var47 + 9 * var16, Integer.MIN_VALUE);
+            this.scoreboardLayout.updatePlayerList(var40, this.mc.theWorld.getScoreboard(), var37, var46, fr);
 
             for (var21 = 0; var21 < var15; ++var21)
             {
@@ -499,24 +509,15 @@ public class GuiIngame extends Gui
                 GL11.glColor4f(1.0F, 1.0F, 1.0F, 1.0F);
                 GL11.glEnable(GL11.GL_ALPHA_TEST);
 
-                if (var21 < var42.size())
+                if (var21 < var42.size() && var21 < this.scoreboardLayout.getPlayerCount())
                 {
                     GuiPlayerInfo var48 = (GuiPlayerInfo)var42.get(var21);
-                    ScorePlayerTeam var49 = this.mc.theWorld.getScoreboard().getPlayersTeam(var48.name);
-                    String var50 = ScorePlayerTeam.formatPlayerName(var49, var48.name);
-                    fr.drawStringWithShadow(var50, var22, var23, var32);
+                    fr.drawStringWithShadow(this.scoreboardLayout.getPlayerName(var21), var22, var23, var32);
+                    String var30 = this.scoreboardLayout.getPlayerScore(var21);
 
-                    if (var37 != null)
+                    if (var30 != null)
                     {
-                        int var27 = var22 + fr.getStringWidth(var50) + 5;
-                        int var28 = var22 + var46 - 12 - 5;
-
-                        if (var28 - var27 > 5)
-                        {
-                            Score var29 = var37.getScoreboard().func_96529_a(var48.name, var37);
-                            String var30 = EnumChatFormatting.YELLOW + "" + var29.getScorePoints();
-                            fr.drawStringWithShadow(var30, var28 - fr.getStringWidth(var30), var23, var32);
-                        }
+                        fr.drawStringWithShadow(var30, var22 + this.scoreboardLayout.getPlayerScoreX(var21), var23, var32);
                     }
 
                     GL11.glColor4f(1.0F, 1.0F, 1.0F, 1.0F);
@@ -569,50 +570,7 @@ public class GuiIngame extends Gui
 
     private void func_96136_a(ScoreObjective p_96136_1_, int p_96136_2_, int p_96136_3_, FontRenderer p_96136_4_)
     {
-        Scoreboard var5 = p_96136_1_.getScoreboard();
-        Collection var6 = var5.func_96534_i(p_96136_1_);
-
-        if (var6.size() <= 15)
-        {
-            int var7 = p_96136_4_.getStringWidth(p_96136_1_.getDisplayName());
-            String var11;
-
-            for (Iterator var8 = var6.iterator(); var8.hasNext(); var7 = Math.max(var7, p_96136_4_.getStringWidth(var11)))
-            {
-                Score var9 = (Score)var8.next();
-                ScorePlayerTeam var10 = var5.getPlayersTeam(var9.getPlayerName());
-                var11 = ScorePlayerTeam.formatPlayerName(var10, var9.getPlayerName()) + ": " + EnumChatFormatting.RED + var9.getScorePoints();
-            }
-
-            int var22 = var6.size() * p_96136_4_.FONT_HEIGHT;
-            int var23 = p_96136_2_ / 2 + var22 / 3;
-            byte var24 = 3;
-            int var25 = p_96136_3_ - var7 - var24;
-            int var12 = 0;
-            Iterator var13 = var6.iterator();
-
-            while (var13.hasNext())
-            {
-                Score var14 = (Score)var13.next();
-                ++var12;
-                ScorePlayerTeam var15 = var5.getPlayersTeam(var14.getPlayerName());
-                String var16 = ScorePlayerTeam.formatPlayerName(var15, var14.getPlayerName());
-                String var17 = EnumChatFormatting.RED + "" + var14.getScorePoints();
-                int var19 = var23 - var12 * p_96136_4_.FONT_HEIGHT;
-                int var20 = p_96136_3_ - var24 + 2;
-                drawRect(var25 - 2, var19, var20, var19 + p_96136_4_.FONT_HEIGHT, 1342177280);
-                p_96136_4_.drawString(var16, var25, var19, 553648127);
-                p_96136_4_.drawString(var17, var20 - p_96136_4_.getStringWidth(var17), var19, 553648127);
-
-                if (var12 == var6.size())
-                {
-                    String var21 = p_96136_1_.getDisplayName();
-                    drawRect(var25 - 2, var19 - p_96136_4_.FONT_HEIGHT - 1, var20, var19 - 1, 1610612736);
-                    drawRect(var25 - 2, var19 - 1, var20, var19, 1342177280);
-                    p_96136_4_.drawString(var21, var25 + var7 / 2 - p_96136_4_.getStringWidth(var21) / 2, var19 - p_96136_4_.FONT_HEIGHT, 553648127);
-                }
-            }
-        }
+        this.scoreboardLayout.drawSidebar(p_96136_1_, p_96136_2_, p_96136_3_, p_96136_4_);
     }
 
     private void func_110327_a(int p_110327_1_, int p_110327_2_)
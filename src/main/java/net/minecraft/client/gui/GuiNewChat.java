@@ -1,6 +1,5 @@
 package net.minecraft.client.gui;
 
-import com.google.common.collect.Lists;
 import net.minecraft.client.Minecraft;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.util.ChatComponentText;
@@ -25,6 +24,8 @@ public class GuiNewChat extends Gui
     private int field_146250_j;
     private boolean field_146251_k;
 
+    private final ChatLayout layout = new ChatLayout();
+
     public GuiNewChat(Minecraft p_i1022_1_)
     {
         this.field_146247_f = p_i1022_1_;
@@ -96,7 +97,7 @@ public class GuiNewChat extends Gui
                                 byte var15 = 0;
                                 int var16 = -var9 * 9;
                                 drawRect(var15, var16 - 9, var15 + var8 + 4, var16, var14 / 2 << 24);
-                                String var17 = var10.func_151461_a().getFormattedText();
+                                String var17 = var10.getFormattedText();
                                 this.field_146247_f.fontRenderer.drawStringWithShadow(var17, var15, var16 - 8, 16777215 + (var14 << 24));
                                 GL11.glDisable(GL11.GL_ALPHA_TEST);
                             }
@@ -141,7 +142,12 @@ public class GuiNewChat extends Gui
 
     public void func_146234_a(IChatComponent p_146234_1_, int p_146234_2_)
     {
-        this.func_146237_a(p_146234_1_, p_146234_2_, this.field_146247_f.ingameGUI.getUpdateCounter(), false);
+        if (p_146234_2_ != 0)
+        {
+            this.func_146242_c(p_146234_2_);
+        }
+
+        this.func_146237_a(new ChatLine(this.field_146247_f.ingameGUI.getUpdateCounter(), p_146234_1_, p_146234_2_), false);
         logger.info("[CHAT] " + p_146234_1_.getUnformattedText());
     }
 
@@ -150,85 +156,24 @@ public class GuiNewChat extends Gui
         return Minecraft.getMinecraft().gameSettings.chatColours ? p_146235_1_ : EnumChatFormatting.getTextWithoutFormattingCodes(p_146235_1_);
     }
 
-    private void func_146237_a(IChatComponent p_146237_1_, int p_146237_2_, int p_146237_3_, boolean p_146237_4_)
+    /**
+     * Adds the wrapped lines of a message to the chat, wrapping it only if it hasn't been under the current layout
+     */
+    private void func_146237_a(ChatLine p_146237_1_, boolean p_146237_2_)
     {
-        if (p_146237_2_ != 0)
-        {
-            this.func_146242_c(p_146237_2_);
-        }
-
-        int var5 = MathHelper.floor_float((float)this.func_146228_f() / this.func_146244_h());
-        int var6 = 0;
-        ChatComponentText var7 = new ChatComponentText("");
-        ArrayList var8 = Lists.newArrayList();
-        ArrayList var9 = Lists.newArrayList(p_146237_1_);
-
-        for (int var10 = 0; var10 < var9.size(); ++var10)
-        {
-            IChatComponent var11 = (IChatComponent)var9.get(var10);
-            String var12 = this.func_146235_b(var11.getChatStyle().getFormattingCode() + var11.getUnformattedTextForChat());
-            int var13 = this.field_146247_f.fontRenderer.getStringWidth(var12);
-            ChatComponentText var14 = new ChatComponentText(var12);
-            var14.setChatStyle(var11.getChatStyle().createShallowCopy());
-            boolean var15 = false;
-
-            if (var6 + var13 > var5)
-            {
-                String var16 = this.field_146247_f.fontRenderer.trimStringToWidth(var12, var5 - var6, false);
-                String var17 = var16.length() < var12.length() ? var12.substring(var16.length()) : null;
-
-                if (var17 != null && var17.length() > 0)
-                {
-                    int var18 = var16.lastIndexOf(" ");
-
-                    if (var18 >= 0 && this.field_146247_f.fontRenderer.getStringWidth(var12.substring(0, var18)) > 0)
-                    {
-                        var16 = var12.substring(0, var18);
-                        var17 = var12.substring(var18);
-                    }
-
-                    ChatComponentText var19 = new ChatComponentText(var17);
-                    var19.setChatStyle(var11.getChatStyle().createShallowCopy());
-                    var9.add(var10 + 1, var19);
-                }
-
-                var13 = this.field_146247_f.fontRenderer.getStringWidth(var16);
-                var14 = new ChatComponentText(var16);
-                var14.setChatStyle(var11.getChatStyle().createShallowCopy());
-                var15 = true;
-            }
-
-            if (var6 + var13 <= var5)
-            {
-                var6 += var13;
-                var7.appendSibling(var14);
-            }
-            else
-            {
-                var15 = true;
-            }
-
-            if (var15)
-            {
-                var8.add(var7);
-                var6 = 0;
-                var7 = new ChatComponentText("");
-            }
-        }
-
-        var8.add(var7);
-        boolean var20 = this.func_146241_e();
-        IChatComponent var22;
+        int var3 = MathHelper.floor_float((float)this.func_146228_f() / this.func_146244_h());
+        List var6 = this.layout.getWrappedLines(p_146237_1_, var3, this.field_146247_f.fontRenderer, this.field_146247_f.gameSettings.chatColours, this.field_146247_f.gameSettings.language);
+        boolean var7 = this.func_146241_e();
 
-        for (Iterator var21 = var8.iterator(); var21.hasNext(); this.field_146253_i.add(0, new ChatLine(p_146237_3_, var22, p_146237_2_)))
+        for (int var8 = 0; var8 < var6.size(); ++var8)
         {
-            var22 = (IChatComponent)var21.next();
-
-            if (var20 && this.field_146250_j > 0)
+            if (var7 && this.field_146250_j > 0)
             {
                 this.field_146251_k = true;
                 this.func_146229_b(1);
             }
+
+            this.field_146253_i.add(0, new ChatLine(p_146237_1_.getUpdatedCounter(), (IChatComponent)var6.get(var8), p_146237_1_.getChatLineID()));
         }
 
         while (this.field_146253_i.size() > 100)
@@ -236,9 +181,9 @@ public class GuiNewChat extends Gui
             this.field_146253_i.remove(this.field_146253_i.size() - 1);
         }
 
-        if (!p_146237_4_)
+        if (!p_146237_2_)
         {
-            this.field_146252_h.add(0, new ChatLine(p_146237_3_, p_146237_1_, p_146237_2_));
+            this.field_146252_h.add(0, p_146237_1_);
 
             while (this.field_146252_h.size() > 100)
             {
@@ -254,8 +199,7 @@ public class GuiNewChat extends Gui
 
         for (int var1 = this.field_146252_h.size() - 1; var1 >= 0; --var1)
         {
-            ChatLine var2 = (ChatLine)this.field_146252_h.get(var1);
-            this.func_146237_a(var2.func_151461_a(), var2.getChatLineID(), var2.getUpdatedCounter(), true);
+            this.func_146237_a((ChatLine)this.field_146252_h.get(var1), true);
         }
     }
 
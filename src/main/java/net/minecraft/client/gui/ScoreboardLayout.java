@@ -0,0 +1,191 @@
+package net.minecraft.client.gui;
+
+import net.minecraft.client.network.NetHandlerPlayClient;
+import net.minecraft.scoreboard.Score;
+import net.minecraft.scoreboard.ScoreObjective;
+import net.minecraft.scoreboard.ScorePlayerTeam;
+import net.minecraft.scoreboard.Scoreboard;
+import net.minecraft.util.EnumChatFormatting;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * The sidebar and player list of the HUD, laid out again only when the scoreboard, the player list, the screen size or
+ * the font change. Every other frame just replays the strings and positions kept here.
+ */
+public class ScoreboardLayout
+{
+    private Scoreboard sidebarScoreboard;
+    private ScoreObjective sidebarObjective;
+    private int sidebarRevision;
+    private int sidebarWidth;
+    private int sidebarHeight;
+    private boolean sidebarUnicode;
+
+    /** Whether the objective has few enough scores to be shown */
+    private boolean sidebarVisible;
+    private String sidebarTitle;
+    private int sidebarTitleX;
+    private int sidebarLeft;
+    private int sidebarRight;
+    private int sidebarBottom;
+
+    /** Names and scores of the sidebar lines, from the bottom up */
+    private String[] sidebarNames = new String[0];
+    private String[] sidebarScores = new String[0];
+    private int[] sidebarScoreX = new int[0];
+    private NetHandlerPlayClient listHandler;
+    private int listRevision;
+    private Scoreboard listScoreboard;
+    private int listScoreboardRevision;
+    private ScoreObjective listObjective;
+    private int listColumnWidth;
+    private boolean listUnicode;
+    private int listSize = -1;
+
+    /** Names and list objective scores of the players, the score x relative to their cell */
+    private String[] listNames = new String[0];
+    private String[] listScores = new String[0];
+    private int[] listScoreX = new int[0];
+
+    /**
+     * Draws the given objective down the right side of the screen
+     */
+    public void drawSidebar(ScoreObjective p_drawSidebar_1_, int p_drawSidebar_2_, int p_drawSidebar_3_, FontRenderer p_drawSidebar_4_)
+    {
+        Scoreboard var5 = p_drawSidebar_1_.getScoreboard();
+
+        if (var5 != this.sidebarScoreboard || var5.getRevision() != this.sidebarRevision || p_drawSidebar_1_ != this.sidebarObjective || p_drawSidebar_2_ != this.sidebarHeight || p_drawSidebar_3_ != this.sidebarWidth || p_drawSidebar_4_.getUnicodeFlag() != this.sidebarUnicode)
+        {
+            this.sidebarScoreboard = var5;
+            this.sidebarRevision = var5.getRevision();
+            this.sidebarObjective = p_drawSidebar_1_;
+            this.sidebarHeight = p_drawSidebar_2_;
+            this.sidebarWidth = p_drawSidebar_3_;
+            this.sidebarUnicode = p_drawSidebar_4_.getUnicodeFlag();
+            this.layoutSidebar(p_drawSidebar_4_);
+        }
+
+        if (this.sidebarVisible)
+        {
+            int var6 = p_drawSidebar_4_.FONT_HEIGHT;
+
+            for (int var7 = 0; var7 < this.sidebarNames.length; ++var7)
+            {
+                int var8 = this.sidebarBottom - (var7 + 1) * var6;
+                Gui.drawRect(this.sidebarLeft - 2, var8, this.sidebarRight, var8 + var6, 1342177280);
+                p_drawSidebar_4_.drawString(this.sidebarNames[var7], this.sidebarLeft, var8, 553648127);
+                p_drawSidebar_4_.drawString(this.sidebarScores[var7], this.sidebarScoreX[var7], var8, 553648127);
+
+                if (var7 == this.sidebarNames.length - 1)
+                {
+                    Gui.drawRect(this.sidebarLeft - 2, var8 - var6 - 1, this.sidebarRight, var8 - 1, 1610612736);
+                    Gui.drawRect(this.sidebarLeft - 2, var8 - 1, this.sidebarRight, var8, 1342177280);
+                    p_drawSidebar_4_.drawString(this.sidebarTitle, this.sidebarTitleX, var8 - var6, 553648127);
+                }
+            }
+        }
+    }
+
+    /**
+     * Lays out the names and list objective scores of the given players, if anything they depend on changed
+     */
+    public void updatePlayerList(NetHandlerPlayClient p_updatePlayerList_1_, Scoreboard p_updatePlayerList_2_, ScoreObjective p_updatePlayerList_3_, int p_updatePlayerList_4_, FontRenderer p_updatePlayerList_5_)
+    {
+        List var6 = p_updatePlayerList_1_.playerInfoList;
+
+        if (p_updatePlayerList_1_ != this.listHandler || p_updatePlayerList_1_.playerInfoRevision != this.listRevision || var6.size() != this.listSize || p_updatePlayerList_2_ != this.listScoreboard || p_updatePlayerList_2_.getRevision() != this.listScoreboardRevision || p_updatePlayerList_3_ != this.listObjective || p_updatePlayerList_4_ != this.listColumnWidth || p_updatePlayerList_5_.getUnicodeFlag() != this.listUnicode)
+        {
+            this.listHandler = p_updatePlayerList_1_;
+            this.listRevision = p_updatePlayerList_1_.playerInfoRevision;
+            this.listSize = var6.size();
+            this.listScoreboard = p_updatePlayerList_2_;
+            this.listScoreboardRevision = p_updatePlayerList_2_.getRevision();
+            this.listObjective = p_updatePlayerList_3_;
+            this.listColumnWidth = p_updatePlayerList_4_;
+            this.listUnicode = p_updatePlayerList_5_.getUnicodeFlag();
+            this.listNames = new String[var6.size()];
+            this.listScores = new String[var6.size()];
+            this.listScoreX = new int[var6.size()];
+
+            for (int var7 = 0; var7 < var6.size(); ++var7)
+            {
+                GuiPlayerInfo var8 = (GuiPlayerInfo)var6.get(var7);
+                this.listNames[var7] = ScorePlayerTeam.formatPlayerName(p_updatePlayerList_2_.getPlayersTeam(var8.name), var8.name);
+
+                if (p_updatePlayerList_3_ != null)
+                {
+                    int var9 = p_updatePlayerList_5_.getStringWidth(this.listNames[var7]) + 5;
+                    int var10 = p_updatePlayerList_4_ - 12 - 5;
+
+                    if (var10 - var9 > 5)
+                    {
+                        Score var11 = (Score)p_updatePlayerList_2_.func_96510_d(var8.name).get(p_updatePlayerList_3_);
+                        this.listScores[var7] = EnumChatFormatting.YELLOW + "" + (var11 == null ? 0 : var11.getScorePoints());
+                        this.listScoreX[var7] = var10 - p_updatePlayerList_5_.getStringWidth(this.listScores[var7]);
+                    }
+                }
+            }
+        }
+    }
+
+    public int getPlayerCount()
+    {
+        return this.listNames.length;
+    }
+
+    public String getPlayerName(int p_getPlayerName_1_)
+    {
+        return this.listNames[p_getPlayerName_1_];
+    }
+
+    /**
+     * Returns the list objective score of the given player, or null if there is none or no room for it
+     */
+    public String getPlayerScore(int p_getPlayerScore_1_)
+    {
+        return this.listScores[p_getPlayerScore_1_];
+    }
+
+    public int getPlayerScoreX(int p_getPlayerScoreX_1_)
+    {
+        return this.listScoreX[p_getPlayerScoreX_1_];
+    }
+
+    private void layoutSidebar(FontRenderer p_layoutSidebar_1_)
+    {
+        Collection var2 = this.sidebarScoreboard.func_96534_i(this.sidebarObjective);
+        this.sidebarVisible = var2.size() <= 15;
+
+        if (this.sidebarVisible)
+        {
+            this.sidebarTitle = this.sidebarObjective.getDisplayName();
+            this.sidebarNames = new String[var2.size()];
+            this.sidebarScores = new String[var2.size()];
+            this.sidebarScoreX = new int[var2.size()];
+            int var3 = p_layoutSidebar_1_.getStringWidth(this.sidebarTitle);
+            int var4 = 0;
+
+            for (Iterator var5 = var2.iterator(); var5.hasNext(); ++var4)
+            {
+                Score var6 = (Score)var5.next();
+                this.sidebarNames[var4] = ScorePlayerTeam.formatPlayerName(this.sidebarScoreboard.getPlayersTeam(var6.getPlayerName()), var6.getPlayerName());
+                this.sidebarScores[var4] = EnumChatFormatting.RED + "" + var6.getScorePoints();
+                var3 = Math.max(var3, p_layoutSidebar_1_.getStringWidth(this.sidebarNames[var4] + ": " + this.sidebarScores[var4]));
+            }
+
+            byte var7 = 3;
+            this.sidebarBottom = this.sidebarHeight / 2 + var2.size() * p_layoutSidebar_1_.FONT_HEIGHT / 3;
+            this.sidebarLeft = this.sidebarWidth - var3 - var7;
+            this.sidebarRight = this.sidebarWidth - var7 + 2;
+            this.sidebarTitleX = this.sidebarLeft + var3 / 2 - p_layoutSidebar_1_.getStringWidth(this.sidebarTitle) / 2;
+
+            for (var4 = 0; var4 < this.sidebarScores.length; ++var4)
+            {
+                this.sidebarScoreX[var4] = this.sidebarRight - p_layoutSidebar_1_.getStringWidth(this.sidebarScores[var4]);
+            }
+        }
+    }
+}
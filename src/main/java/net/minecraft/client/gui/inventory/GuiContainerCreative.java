@@ -722,7 +722,7 @@ public class GuiContainerCreative extends InventoryEffectRenderer
             }
         }
 
-        this.mc.getTextureManager().bindTexture(new ResourceLocation("textures/gui/container/creative_inventory/tab_" + var4.getBackgroundImageName()));
+        this.mc.getTextureManager().bindTexture(ResourceLocation.intern("textures/gui/container/creative_inventory/tab_" + var4.getBackgroundImageName()));
         this.drawTexturedModalRect(this.field_147003_i, this.field_147009_r, 0, 0, this.defaultX, this.defaultY);
         this.field_147062_A.drawTextBox();
         GL11.glColor4f(1.0F, 1.0F, 1.0F, 1.0F);
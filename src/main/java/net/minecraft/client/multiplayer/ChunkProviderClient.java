@@ -2,6 +2,7 @@ package net.minecraft.client.multiplayer;
 
 import net.minecraft.entity.EnumCreatureType;
 import net.minecraft.util.IProgressUpdate;
+import net.minecraft.util.IndexedList;
 import net.minecraft.util.LongHashMap;
 import net.minecraft.world.ChunkCoordIntPair;
 import net.minecraft.world.ChunkPosition;
@@ -12,7 +13,6 @@ import net.minecraft.world.chunk.IChunkProvider;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 
@@ -32,10 +32,10 @@ public class ChunkProviderClient implements IChunkProvider
     private LongHashMap chunkMapping = new LongHashMap();
 
     /**
-     * This may have been intended to be an iterable version of all currently loaded chunks (MultiplayerChunkCache),
-     * with identical contents to chunkMapping's values. However it is never actually added to.
+     * An iterable version of all currently loaded chunks, with identical contents to chunkMapping's values. loadChunk
+     * adds to it and unloadChunk removes from it; unloadQueuedChunks iterates it to tick the chunks.
      */
-    private List chunkListing = new ArrayList();
+    private List chunkListing = new IndexedList();
 
     /** Reference to the World object. */
     private World worldObj;
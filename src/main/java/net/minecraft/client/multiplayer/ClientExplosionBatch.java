@@ -0,0 +1,224 @@
+package net.minecraft.client.multiplayer;
+
+import gnu.trove.iterator.TLongIntIterator;
+import gnu.trove.iterator.TLongIterator;
+import gnu.trove.iterator.TLongObjectIterator;
+import gnu.trove.list.array.TLongArrayList;
+import gnu.trove.map.hash.TLongIntHashMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import gnu.trove.set.hash.TLongHashSet;
+import net.minecraft.block.material.Material;
+import net.minecraft.init.Blocks;
+import net.minecraft.network.play.server.S27PacketExplosion;
+import net.minecraft.util.MathHelper;
+import net.minecraft.util.PackedPosition;
+import net.minecraft.world.ChunkPosition;
+import net.minecraft.world.chunk.Chunk;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Buffers the explosion packets received during a client tick and applies them together: the union of the destroyed
+ * blocks is removed chunk section by chunk section, every dirty WorldRenderer is marked once, and the particles and
+ * sounds of the whole batch are capped.
+ */
+public class ClientExplosionBatch
+{
+    /** Maximum number of explosion sounds played per batch */
+    private static final int MAX_SOUNDS = 4;
+
+    /** Maximum number of large explosion particles spawned per batch */
+    private static final int MAX_CENTER_PARTICLES = 16;
+
+    /** Maximum number of destroyed blocks emitting debris particles per batch */
+    private static final int MAX_BLOCK_PARTICLES = 256;
+    private final List<S27PacketExplosion> pendingPackets = new ArrayList<S27PacketExplosion>();
+
+    /** Destroyed blocks, mapped to the index in pendingPackets of the first packet which listed them */
+    private final TLongIntHashMap destroyedBlocks = new TLongIntHashMap();
+    private final TLongObjectHashMap<TLongArrayList> sections = new TLongObjectHashMap<TLongArrayList>();
+    private final TLongHashSet dirtyRenderers = new TLongHashSet();
+
+    public void add(S27PacketExplosion p_add_1_)
+    {
+        this.pendingPackets.add(p_add_1_);
+    }
+
+    /**
+     * Drops the buffered packets, used when the client world is replaced
+     */
+    public void clear()
+    {
+        this.pendingPackets.clear();
+        this.destroyedBlocks.clear();
+        this.sections.clear();
+        this.dirtyRenderers.clear();
+    }
+
+    /**
+     * Applies every buffered explosion to the given world
+     */
+    public void flush(WorldClient p_flush_1_)
+    {
+        if (this.pendingPackets.isEmpty())
+        {
+            return;
+        }
+
+        p_flush_1_.theProfiler.startSection("explosions");
+
+        try
+        {
+            this.collectBlocks();
+            this.spawnEffects(p_flush_1_);
+            this.removeBlocks(p_flush_1_);
+        }
+        finally
+        {
+            this.clear();
+            p_flush_1_.theProfiler.endSection();
+        }
+    }
+
+    private void collectBlocks()
+    {
+        for (int var1 = 0; var1 < this.pendingPackets.size(); ++var1)
+        {
+            List var2 = ((S27PacketExplosion)this.pendingPackets.get(var1)).func_149150_j();
+
+            for (int var3 = 0; var3 < var2.size(); ++var3)
+            {
+                ChunkPosition var4 = (ChunkPosition)var2.get(var3);
+                long var5 = PackedPosition.pack(var4.field_151329_a, var4.field_151327_b, var4.field_151328_c);
+
+                if (!this.destroyedBlocks.containsKey(var5))
+                {
+                    this.destroyedBlocks.put(var5, var1);
+                    long var7 = PackedPosition.pack(var4.field_151329_a >> 4, var4.field_151327_b >> 4, var4.field_151328_c >> 4);
+                    TLongArrayList var9 = (TLongArrayList)this.sections.get(var7);
+
+                    if (var9 == null)
+                    {
+                        var9 = new TLongArrayList();
+                        this.sections.put(var7, var9);
+                    }
+
+                    var9.add(var5);
+                }
+            }
+        }
+    }
+
+    /**
+     * Spawns the same particles as Explosion.doExplosionB, limited to a fixed budget for the whole batch
+     */
+    private void spawnEffects(WorldClient p_spawnEffects_1_)
+    {
+        int var2;
+
+        for (var2 = 0; var2 < this.pendingPackets.size(); ++var2)
+        {
+            S27PacketExplosion var3 = (S27PacketExplosion)this.pendingPackets.get(var2);
+
+            if (var2 < MAX_SOUNDS)
+            {
+                p_spawnEffects_1_.playSoundEffect(var3.func_149148_f(), var3.func_149143_g(), var3.func_149145_h(), "random.explode", 4.0F, (1.0F + (p_spawnEffects_1_.rand.nextFloat() - p_spawnEffects_1_.rand.nextFloat()) * 0.2F) * 0.7F);
+            }
+
+            if (var2 < MAX_CENTER_PARTICLES)
+            {
+                p_spawnEffects_1_.spawnParticle(var3.func_149146_i() >= 2.0F ? "hugeexplosion" : "largeexplode", var3.func_149148_f(), var3.func_149143_g(), var3.func_149145_h(), 1.0D, 0.0D, 0.0D);
+            }
+        }
+
+        var2 = (this.destroyedBlocks.size() + MAX_BLOCK_PARTICLES - 1) / MAX_BLOCK_PARTICLES;
+        int var4 = 0;
+        TLongIntIterator var5 = this.destroyedBlocks.iterator();
+
+        while (var5.hasNext())
+        {
+            var5.advance();
+
+            if (var4++ % var2 != 0)
+            {
+                continue;
+            }
+
+            long var6 = var5.key();
+            S27PacketExplosion var8 = (S27PacketExplosion)this.pendingPackets.get(var5.value());
+            double var9 = var8.func_149148_f();
+            double var11 = var8.func_149143_g();
+            double var13 = var8.func_149145_h();
+            double var15 = (double)((float)PackedPosition.getX(var6) + p_spawnEffects_1_.rand.nextFloat());
+            double var17 = (double)((float)PackedPosition.getY(var6) + p_spawnEffects_1_.rand.nextFloat());
+            double var19 = (double)((float)PackedPosition.getZ(var6) + p_spawnEffects_1_.rand.nextFloat());
+            double var21 = var15 - var9;
+            double var23 = var17 - var11;
+            double var25 = var19 - var13;
+            double var27 = (double)MathHelper.sqrt_double(var21 * var21 + var23 * var23 + var25 * var25);
+            var21 /= var27;
+            var23 /= var27;
+            var25 /= var27;
+            double var29 = 0.5D / (var27 / (double)var8.func_149146_i() + 0.1D);
+            var29 *= (double)(p_spawnEffects_1_.rand.nextFloat() * p_spawnEffects_1_.rand.nextFloat() + 0.3F);
+            var21 *= var29;
+            var23 *= var29;
+            var25 *= var29;
+            p_spawnEffects_1_.spawnParticle("explode", (var15 + var9) / 2.0D, (var17 + var11) / 2.0D, (var19 + var13) / 2.0D, var21, var23, var25);
+            p_spawnEffects_1_.spawnParticle("smoke", var15, var17, var19, var21, var23, var25);
+        }
+    }
+
+    /**
+     * Removes the destroyed blocks straight from their chunks, one section at a time, then marks each renderer
+     * touching a removed block for update once.
+     */
+    private void removeBlocks(WorldClient p_removeBlocks_1_)
+    {
+        TLongObjectIterator var2 = this.sections.iterator();
+
+        while (var2.hasNext())
+        {
+            var2.advance();
+            long var3 = var2.key();
+            TLongArrayList var5 = (TLongArrayList)var2.value();
+            Chunk var6 = p_removeBlocks_1_.getChunkFromChunkCoords(PackedPosition.getX(var3), PackedPosition.getZ(var3));
+
+            for (int var7 = 0; var7 < var5.size(); ++var7)
+            {
+                long var8 = var5.get(var7);
+                int var10 = PackedPosition.getX(var8);
+                int var11 = PackedPosition.getY(var8);
+                int var12 = PackedPosition.getZ(var8);
+
+                if (var11 >= 0 && var11 < 256 && var6.func_150810_a(var10 & 15, var11, var12 & 15).getMaterial() != Material.air && var6.func_150807_a(var10 & 15, var11, var12 & 15, Blocks.air, 0))
+                {
+                    p_removeBlocks_1_.func_147451_t(var10, var11, var12);
+
+                    for (int var13 = var10 - 1 >> 4; var13 <= var10 + 1 >> 4; ++var13)
+                    {
+                        for (int var14 = var11 - 1 >> 4; var14 <= var11 + 1 >> 4; ++var14)
+                        {
+                            for (int var15 = var12 - 1 >> 4; var15 <= var12 + 1 >> 4; ++var15)
+                            {
+                                this.dirtyRenderers.add(PackedPosition.pack(var13, var14, var15));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        TLongIterator var16 = this.dirtyRenderers.iterator();
+
+        while (var16.hasNext())
+        {
+            long var17 = var16.next();
+            int var19 = PackedPosition.getX(var17) << 4;
+            int var20 = PackedPosition.getY(var17) << 4;
+            int var21 = PackedPosition.getZ(var17) << 4;
+            p_removeBlocks_1_.markBlockRangeForRenderUpdate(var19 + 1, var20 + 1, var21 + 1, var19 + 14, var20 + 14, var21 + 14);
+        }
+    }
+}
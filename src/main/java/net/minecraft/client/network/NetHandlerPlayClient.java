@@ -14,6 +14,7 @@ import net.minecraft.client.entity.EntityOtherPlayerMP;
 import net.minecraft.client.gui.*;
 import net.minecraft.client.gui.inventory.GuiContainerCreative;
 import net.minecraft.client.multiplayer.PlayerControllerMP;
+import net.minecraft.client.multiplayer.ClientExplosionBatch;
 import net.minecraft.client.multiplayer.ServerData;
 import net.minecraft.client.multiplayer.ServerList;
 import net.minecraft.client.multiplayer.WorldClient;
@@ -59,7 +60,6 @@ import net.minecraft.stats.StatBase;
 import net.minecraft.tileentity.*;
 import net.minecraft.util.*;
 import net.minecraft.village.MerchantRecipeList;
-import net.minecraft.world.Explosion;
 import net.minecraft.world.WorldProviderSurface;
 import net.minecraft.world.WorldSettings;
 import net.minecraft.world.chunk.Chunk;
@@ -94,6 +94,7 @@ public class NetHandlerPlayClient implements INetHandlerPlayClient
      * Reference to the current ClientWorld instance, which many handler methods operate on
      */
     private WorldClient clientWorldController;
+    private final ClientExplosionBatch explosionBatch = new ClientExplosionBatch();
 
     /**
      * True if the client has finished downloading terrain and may spawn. Set upon receipt of S08PacketPlayerPosLook,
@@ -115,6 +116,9 @@ public class NetHandlerPlayClient implements INetHandlerPlayClient
      * An ArrayList of GuiPlayerInfo (includes all the players' GuiPlayerInfo on the current server)
      */
     public List playerInfoList = new ArrayList();
+
+    /** Bumped whenever a player is added to or removed from playerInfoList */
+    public int playerInfoRevision;
     public int currentServerMaxPlayers = 20;
 
     /**
@@ -146,10 +150,14 @@ public class NetHandlerPlayClient implements INetHandlerPlayClient
     }
 
     /**
-     * For scheduled network tasks. Used in NetHandlerPlayServer to send keep-alive packets and in NetHandlerLoginServer
-     * for a login-timeout
+     * Applies the explosions buffered while this tick's packets were processed. Called by
+     * NetworkManager.processReceivedPackets once the received queue is drained, and by GuiDownloadTerrain while terrain
+     * is loading
      */
-    public void onNetworkTick() {}
+    public void onNetworkTick()
+    {
+        this.explosionBatch.flush(this.clientWorldController);
+    }
 
     /**
      * Registers some server properties (gametype,hardcore-mode,terraintype,difficulty,player limit), creates a new
@@ -158,6 +166,7 @@ public class NetHandlerPlayClient implements INetHandlerPlayClient
     public void handleJoinGame(S01PacketJoinGame p_147282_1_)
     {
         this.gameController.playerController = new PlayerControllerMP(this.gameController, this);
+        this.explosionBatch.clear();
         this.clientWorldController = new WorldClient(this, new WorldSettings(0L, p_147282_1_.func_149198_e(), false, p_147282_1_.func_149195_d(), p_147282_1_.func_149196_i()), p_147282_1_.func_149194_f(), p_147282_1_.func_149192_g(), this.gameController.mcProfiler);
         this.clientWorldController.isClient = true;
         this.gameController.loadWorld(this.clientWorldController);
@@ -888,6 +897,7 @@ public class NetHandlerPlayClient implements INetHandlerPlayClient
         {
             this.doneLoadingTerrain = false;
             Scoreboard var2 = this.clientWorldController.getScoreboard();
+            this.explosionBatch.clear();
             this.clientWorldController = new WorldClient(this, new WorldSettings(0L, p_147280_1_.func_149083_e(), false, this.gameController.theWorld.getWorldInfo().isHardcoreModeEnabled(), p_147280_1_.func_149080_f()), p_147280_1_.func_149082_c(), p_147280_1_.func_149081_d(), this.gameController.mcProfiler);
             this.clientWorldController.setWorldScoreboard(var2);
             this.clientWorldController.isClient = true;
@@ -905,9 +915,7 @@ public class NetHandlerPlayClient implements INetHandlerPlayClient
      */
     public void handleExplosion(S27PacketExplosion p_147283_1_)
     {
-        Explosion var2 = new Explosion(this.gameController.theWorld, (Entity)null, p_147283_1_.func_149148_f(), p_147283_1_.func_149143_g(), p_147283_1_.func_149145_h(), p_147283_1_.func_149146_i());
-        var2.affectedBlockPositions = p_147283_1_.func_149150_j();
-        var2.doExplosionB(true);
+        this.explosionBatch.add(p_147283_1_);
         this.gameController.thePlayer.motionX += (double)p_147283_1_.func_149149_c();
         this.gameController.thePlayer.motionY += (double)p_147283_1_.func_149144_d();
         this.gameController.thePlayer.motionZ += (double)p_147283_1_.func_149147_e();
@@ -1452,12 +1460,14 @@ public class NetHandlerPlayClient implements INetHandlerPlayClient
             var2 = new GuiPlayerInfo(p_147256_1_.func_149122_c());
             this.playerInfoMap.put(p_147256_1_.func_149122_c(), var2);
             this.playerInfoList.add(var2);
+            ++this.playerInfoRevision;
         }
 
         if (var2 != null && !p_147256_1_.func_149121_d())
         {
             this.playerInfoMap.remove(p_147256_1_.func_149122_c());
             this.playerInfoList.remove(var2);
+            ++this.playerInfoRevision;
         }
 
         if (var2 != null && p_147256_1_.func_149121_d())
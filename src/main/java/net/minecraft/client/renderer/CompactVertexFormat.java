@@ -0,0 +1,182 @@
+package net.minecraft.client.renderer;
+
+/**
+ * Packs the Tessellator's 32 byte vertices into 20 bytes for chunk display lists: the position as three shorts in
+ * 1/1024ths of a block from the block the vertices start at, the texture coordinates as shorts in 1/32768ths, then the
+ * color and lightmap coordinates unchanged. The draw call undoes the scaling with the modelview and texture matrices.
+ * Vertices with normals, or spread over 32 blocks or more, or with texture coordinates outside -1 to 1, aren't packed.
+ */
+public class CompactVertexFormat
+{
+    public static final int INTS_PER_VERTEX = 5;
+    public static final int STRIDE = INTS_PER_VERTEX * 4;
+
+    /** Offsets, in shorts, of the position and texture coordinates */
+    public static final int POSITION_OFFSET = 0;
+    public static final int TEXTURE_OFFSET = 4;
+
+    /** Offsets, in bytes, of the color and lightmap coordinates */
+    public static final int COLOR_OFFSET = 12;
+    public static final int BRIGHTNESS_OFFSET = 16;
+    public static final float POSITION_SCALE = 1024.0F;
+    public static final float TEXTURE_SCALE = 32768.0F;
+    private final boolean littleEndian;
+    private int[] buffer = new int[0];
+    private int vertexCount;
+    private float originX;
+    private float originY;
+    private float originZ;
+
+    public CompactVertexFormat(boolean p_i1_1_)
+    {
+        this.littleEndian = p_i1_1_;
+    }
+
+    /**
+     * Packs the given vertices of a Tessellator raw buffer, returning false, and packing nothing, if they don't fit the
+     * format
+     */
+    public boolean encode(int[] p_encode_1_, int p_encode_2_, boolean p_encode_3_)
+    {
+        float var4 = Float.POSITIVE_INFINITY;
+        float var5 = Float.POSITIVE_INFINITY;
+        float var6 = Float.POSITIVE_INFINITY;
+        float var7 = Float.NEGATIVE_INFINITY;
+        float var8 = Float.NEGATIVE_INFINITY;
+        float var9 = Float.NEGATIVE_INFINITY;
+        int var10;
+        int var11;
+
+        for (var10 = 0; var10 < p_encode_2_; ++var10)
+        {
+            var11 = var10 * 8;
+            float var12 = Float.intBitsToFloat(p_encode_1_[var11]);
+            float var13 = Float.intBitsToFloat(p_encode_1_[var11 + 1]);
+            float var14 = Float.intBitsToFloat(p_encode_1_[var11 + 2]);
+            var4 = Math.min(var4, var12);
+            var5 = Math.min(var5, var13);
+            var6 = Math.min(var6, var14);
+            var7 = Math.max(var7, var12);
+            var8 = Math.max(var8, var13);
+            var9 = Math.max(var9, var14);
+
+            if (p_encode_3_ && !(fitsTexture(Float.intBitsToFloat(p_encode_1_[var11 + 3])) && fitsTexture(Float.intBitsToFloat(p_encode_1_[var11 + 4]))))
+            {
+                return false;
+            }
+        }
+
+        float var15 = (float)Math.floor((double)var4);
+        float var16 = (float)Math.floor((double)var5);
+        float var17 = (float)Math.floor((double)var6);
+
+        if (!(fitsPosition(var7 - var15) && fitsPosition(var8 - var16) && fitsPosition(var9 - var17)))
+        {
+            return false;
+        }
+        else
+        {
+            if (this.buffer.length < p_encode_2_ * INTS_PER_VERTEX)
+            {
+                this.buffer = new int[p_encode_2_ * INTS_PER_VERTEX + 1024];
+            }
+
+            this.vertexCount = p_encode_2_;
+            this.originX = var15;
+            this.originY = var16;
+            this.originZ = var17;
+
+            for (var10 = 0; var10 < p_encode_2_; ++var10)
+            {
+                var11 = var10 * 8;
+                int var18 = var10 * INTS_PER_VERTEX;
+                int var19 = Math.round((Float.intBitsToFloat(p_encode_1_[var11]) - var15) * POSITION_SCALE);
+                int var20 = Math.round((Float.intBitsToFloat(p_encode_1_[var11 + 1]) - var16) * POSITION_SCALE);
+                int var21 = Math.round((Float.intBitsToFloat(p_encode_1_[var11 + 2]) - var17) * POSITION_SCALE);
+                this.buffer[var18] = this.packShorts(var19, var20);
+                this.buffer[var18 + 1] = this.packShorts(var21, 0);
+                this.buffer[var18 + 2] = p_encode_3_ ? this.packShorts(quantizeTexture(Float.intBitsToFloat(p_encode_1_[var11 + 3])), quantizeTexture(Float.intBitsToFloat(p_encode_1_[var11 + 4]))) : 0;
+                this.buffer[var18 + 3] = p_encode_1_[var11 + 5];
+                this.buffer[var18 + 4] = p_encode_1_[var11 + 7];
+            }
+
+            return true;
+        }
+    }
+
+    /**
+     * The packed vertices, INTS_PER_VERTEX ints each, in native byte order
+     */
+    public int[] getBuffer()
+    {
+        return this.buffer;
+    }
+
+    public int getVertexCount()
+    {
+        return this.vertexCount;
+    }
+
+    public float getOriginX()
+    {
+        return this.originX;
+    }
+
+    public float getOriginY()
+    {
+        return this.originY;
+    }
+
+    public float getOriginZ()
+    {
+        return this.originZ;
+    }
+
+    /**
+     * Returns the given coordinate (0 to 2 for x to z) of the given packed vertex, as it will be drawn
+     */
+    public float getPosition(int p_getPosition_1_, int p_getPosition_2_)
+    {
+        int var3 = this.getShort(p_getPosition_1_, POSITION_OFFSET + p_getPosition_2_);
+        float var4 = p_getPosition_2_ == 0 ? this.originX : (p_getPosition_2_ == 1 ? this.originY : this.originZ);
+        return var4 + (float)var3 / POSITION_SCALE;
+    }
+
+    /**
+     * Returns the given texture coordinate (0 for u, 1 for v) of the given packed vertex, as it will be drawn
+     */
+    public float getTexture(int p_getTexture_1_, int p_getTexture_2_)
+    {
+        return (float)this.getShort(p_getTexture_1_, TEXTURE_OFFSET + p_getTexture_2_) / TEXTURE_SCALE;
+    }
+
+    private int getShort(int p_getShort_1_, int p_getShort_2_)
+    {
+        int var3 = this.buffer[p_getShort_1_ * INTS_PER_VERTEX + (p_getShort_2_ >> 1)];
+        boolean var4 = (p_getShort_2_ & 1) == 0 == this.littleEndian;
+        return (short)(var4 ? var3 : var3 >>> 16);
+    }
+
+    private int packShorts(int p_packShorts_1_, int p_packShorts_2_)
+    {
+        return this.littleEndian ? p_packShorts_1_ & 65535 | p_packShorts_2_ << 16 : p_packShorts_1_ << 16 | p_packShorts_2_ & 65535;
+    }
+
+    private static boolean fitsPosition(float p_fitsPosition_0_)
+    {
+        return p_fitsPosition_0_ * POSITION_SCALE < 32767.0F;
+    }
+
+    private static boolean fitsTexture(float p_fitsTexture_0_)
+    {
+        return p_fitsTexture_0_ >= -1.0F && p_fitsTexture_0_ <= 1.0F;
+    }
+
+    /**
+     * Scales a texture coordinate to a short, 1.0 becoming the largest short rather than overflowing
+     */
+    private static int quantizeTexture(float p_quantizeTexture_0_)
+    {
+        return Math.min(Math.round(p_quantizeTexture_0_ * TEXTURE_SCALE), 32767);
+    }
+}
@@ -181,6 +181,9 @@ public class EntityRenderer implements IResourceManagerReloadListener
     /** Rain sound counter */
     private int rainSoundCounter;
 
+    /** Precipitation heights and biomes around the view entity, shared by rain rendering and rain particles */
+    private final WeatherColumnCache weatherColumns = new WeatherColumnCache();
+
     /** Rain X coords */
     float[] rainXCoords;
 
@@ -1428,6 +1431,28 @@ public class EntityRenderer implements IResourceManagerReloadListener
         this.mc.ingameGUI.func_152126_a((float)var3, (float)var4);
     }
 
+    /**
+     * Renders the world for one tile of a screenshot split into par4 x par4 tiles, par2 counted from the left and par3
+     * from the bottom, by zooming the projection onto that tile.
+     */
+    public void renderWorldTile(float par1, int par2, int par3, int par4)
+    {
+        this.cameraZoom = (double)par4;
+        this.cameraYaw = (double)(par4 - 1 - 2 * par2);
+        this.cameraPitch = (double)(2 * par3 - (par4 - 1));
+
+        try
+        {
+            this.renderWorld(par1, 0L);
+        }
+        finally
+        {
+            this.cameraZoom = 1.0D;
+            this.cameraYaw = 0.0D;
+            this.cameraPitch = 0.0D;
+        }
+    }
+
     public void renderWorld(float par1, long par2)
     {
         this.mc.mcProfiler.startSection("lightTex");
@@ -1754,6 +1779,7 @@ public class EntityRenderer implements IResourceManagerReloadListener
             int var4 = MathHelper.floor_double(var2.posX);
             int var5 = MathHelper.floor_double(var2.posY);
             int var6 = MathHelper.floor_double(var2.posZ);
+            this.weatherColumns.update(var3, var4, var6);
             byte var7 = 10;
             double var8 = 0.0D;
             double var10 = 0.0D;
@@ -1774,11 +1800,11 @@ public class EntityRenderer implements IResourceManagerReloadListener
             {
                 int var17 = var4 + this.random.nextInt(var7) - this.random.nextInt(var7);
                 int var18 = var6 + this.random.nextInt(var7) - this.random.nextInt(var7);
-                int var19 = var3.getPrecipitationHeight(var17, var18);
-                Block var20 = var3.getBlock(var17, var19 - 1, var18);
-                BiomeGenBase var21 = var3.getBiomeGenForCoords(var17, var18);
+                int var19 = this.weatherColumns.getPrecipitationHeight(var17, var18);
+                Block var20 = this.weatherColumns.getBlock(var17, var19 - 1, var18);
+                BiomeGenBase var21 = this.weatherColumns.getBiome(var17, var18);
 
-                if (var19 <= var5 + var7 && var19 >= var5 - var7 && var21.canSpawnLightningBolt() && var21.getFloatTemperature(var17, var19, var18) >= 0.15F)
+                if (var19 <= var5 + var7 && var19 >= var5 - var7 && var21.canSpawnLightningBolt() && this.weatherColumns.getTemperature(var17, var19, var18) >= 0.15F)
                 {
                     float var22 = this.random.nextFloat();
                     float var23 = this.random.nextFloat();
@@ -1872,6 +1898,7 @@ public class EntityRenderer implements IResourceManagerReloadListener
             int var451 = MathHelper.floor_double(var431.posX);
             int var461 = MathHelper.floor_double(var431.posY);
             int var471 = MathHelper.floor_double(var431.posZ);
+            this.weatherColumns.update(var441, var451, var471);
             Tessellator var8 = Tessellator.instance;
             GL11.glDisable(GL11.GL_CULL_FACE);
             GL11.glNormal3f(0.0F, 1.0F, 0.0F);
@@ -1908,11 +1935,11 @@ public class EntityRenderer implements IResourceManagerReloadListener
                     int var22 = (var20 - var471 + 16) * 32 + var21 - var451 + 16;
                     float var23 = this.rainXCoords[var22] * 0.5F;
                     float var24 = this.rainYCoords[var22] * 0.5F;
-                    BiomeGenBase var25 = var441.getBiomeGenForCoords(var21, var20);
+                    BiomeGenBase var25 = this.weatherColumns.getBiome(var21, var20);
 
                     if (var25.canSpawnLightningBolt() || var25.getEnableSnow())
                     {
-                        int var26 = var441.getPrecipitationHeight(var21, var20);
+                        int var26 = this.weatherColumns.getPrecipitationHeight(var21, var20);
                         int var27 = var461 - var16;
                         int var28 = var461 + var16;
 
@@ -1937,7 +1964,7 @@ public class EntityRenderer implements IResourceManagerReloadListener
                         if (var27 != var28)
                         {
                             this.random.setSeed((long)(var21 * var21 * 3121 + var21 * 45238971 ^ var20 * var20 * 418711 + var20 * 13761));
-                            float var31 = var25.getFloatTemperature(var21, var27, var20);
+                            float var31 = this.weatherColumns.getTemperature(var21, var27, var20);
                             float var32;
                             double var35;
 
@@ -102,6 +102,10 @@ public class Tessellator
     private boolean renderingChunk;
     private static boolean littleEndianByteOrder = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
     public static boolean renderingWorldRenderer = false;
+
+    /** Whether chunk display lists are compiled from the 20 byte vertex format instead of the 32 byte one */
+    public static boolean compactChunkVertices = true;
+    private final CompactVertexFormat compactFormat = new CompactVertexFormat(littleEndianByteOrder);
     public boolean defaultTexture;
     public int textureID;
     public boolean autoGrow;
@@ -151,6 +155,14 @@ public class Tessellator
         {
             this.isDrawing = false;
 
+            if (this.vertexCount > 0 && this.renderingChunk && compactChunkVertices && !this.hasNormals && !Config.isMultiTexture() && this.compactFormat.encode(this.rawBuffer, this.vertexCount, this.hasTexture))
+            {
+                this.drawCompact();
+                int var2 = this.vertexCount * CompactVertexFormat.STRIDE;
+                this.reset();
+                return var2;
+            }
+
             if (this.vertexCount > 0 && (!this.renderingChunk || !Config.isMultiTexture()))
             {
                 this.intBuffer.clear();
@@ -223,6 +235,79 @@ public class Tessellator
         }
     }
 
+    /**
+     * Draws the vertices packed by the compact format, scaling its integer positions and texture coordinates back
+     */
+    private void drawCompact()
+    {
+        int var1 = this.vertexCount * CompactVertexFormat.INTS_PER_VERTEX;
+        this.intBuffer.clear();
+        this.intBuffer.put(this.compactFormat.getBuffer(), 0, var1);
+        this.byteBuffer.position(0);
+        this.byteBuffer.limit(var1 * 4);
+        float var2 = 1.0F / CompactVertexFormat.POSITION_SCALE;
+        float var3 = 1.0F / CompactVertexFormat.TEXTURE_SCALE;
+        GL11.glPushMatrix();
+        GL11.glTranslatef(this.compactFormat.getOriginX(), this.compactFormat.getOriginY(), this.compactFormat.getOriginZ());
+        GL11.glScalef(var2, var2, var2);
+
+        if (this.hasTexture)
+        {
+            OpenGlHelper.setActiveTexture(OpenGlHelper.defaultTexUnit);
+            GL11.glMatrixMode(GL11.GL_TEXTURE);
+            GL11.glPushMatrix();
+            GL11.glScalef(var3, var3, 1.0F);
+            GL11.glMatrixMode(GL11.GL_MODELVIEW);
+            this.shortBuffer.position(CompactVertexFormat.TEXTURE_OFFSET);
+            GL11.glTexCoordPointer(2, CompactVertexFormat.STRIDE, this.shortBuffer);
+            GL11.glEnableClientState(GL11.GL_TEXTURE_COORD_ARRAY);
+        }
+
+        if (this.hasBrightness)
+        {
+            OpenGlHelper.setClientActiveTexture(OpenGlHelper.lightmapTexUnit);
+            this.shortBuffer.position(CompactVertexFormat.BRIGHTNESS_OFFSET / 2);
+            GL11.glTexCoordPointer(2, CompactVertexFormat.STRIDE, this.shortBuffer);
+            GL11.glEnableClientState(GL11.GL_TEXTURE_COORD_ARRAY);
+            OpenGlHelper.setClientActiveTexture(OpenGlHelper.defaultTexUnit);
+        }
+
+        if (this.hasColor)
+        {
+            this.byteBuffer.position(CompactVertexFormat.COLOR_OFFSET);
+            GL11.glColorPointer(4, true, CompactVertexFormat.STRIDE, this.byteBuffer);
+            GL11.glEnableClientState(GL11.GL_COLOR_ARRAY);
+        }
+
+        this.shortBuffer.position(CompactVertexFormat.POSITION_OFFSET);
+        GL11.glVertexPointer(3, CompactVertexFormat.STRIDE, this.shortBuffer);
+        GL11.glEnableClientState(GL11.GL_VERTEX_ARRAY);
+        GL11.glDrawArrays(this.drawMode, 0, this.vertexCount);
+        GL11.glDisableClientState(GL11.GL_VERTEX_ARRAY);
+
+        if (this.hasTexture)
+        {
+            GL11.glDisableClientState(GL11.GL_TEXTURE_COORD_ARRAY);
+            GL11.glMatrixMode(GL11.GL_TEXTURE);
+            GL11.glPopMatrix();
+            GL11.glMatrixMode(GL11.GL_MODELVIEW);
+        }
+
+        if (this.hasBrightness)
+        {
+            OpenGlHelper.setClientActiveTexture(OpenGlHelper.lightmapTexUnit);
+            GL11.glDisableClientState(GL11.GL_TEXTURE_COORD_ARRAY);
+            OpenGlHelper.setClientActiveTexture(OpenGlHelper.defaultTexUnit);
+        }
+
+        if (this.hasColor)
+        {
+            GL11.glDisableClientState(GL11.GL_COLOR_ARRAY);
+        }
+
+        GL11.glPopMatrix();
+    }
+
     public TesselatorVertexState getVertexState(float p_147564_1_, float p_147564_2_, float p_147564_3_)
     {
         if (this.rawBufferIndex < 1)
@@ -0,0 +1,145 @@
+package net.minecraft.client.renderer;
+
+import net.minecraft.block.Block;
+import net.minecraft.init.Blocks;
+import net.minecraft.world.World;
+import net.minecraft.world.biome.BiomeGenBase;
+import net.minecraft.world.chunk.Chunk;
+
+/**
+ * The precipitation height, biome and temperature of the columns around the view entity, for rain and snow rendering.
+ * Every update recenters the square and invalidates it; columns and their chunks are then looked up once, on first use.
+ */
+public class WeatherColumnCache
+{
+    /** Half the side of the cached square, the radius of fancy rain */
+    private static final int RADIUS = 10;
+    private static final int SIZE = RADIUS * 2 + 1;
+
+    /** Side, in chunks, of the square of chunks the columns can fall in */
+    private static final int CHUNKS = (SIZE + 15 >> 4) + 1;
+    private final int[] columnStamps = new int[SIZE * SIZE];
+    private final int[] precipitationHeights = new int[SIZE * SIZE];
+    private final BiomeGenBase[] biomes = new BiomeGenBase[SIZE * SIZE];
+    private final int[] temperatureHeights = new int[SIZE * SIZE];
+    private final float[] temperatures = new float[SIZE * SIZE];
+    private final int[] chunkStamps = new int[CHUNKS * CHUNKS];
+    private final Chunk[] chunks = new Chunk[CHUNKS * CHUNKS];
+    private final boolean[] chunksExist = new boolean[CHUNKS * CHUNKS];
+    private World world;
+    private int originX;
+    private int originZ;
+    private int stamp;
+
+    /**
+     * Centers the square on the given column and forgets every column and chunk looked up so far
+     */
+    public void update(World p_update_1_, int p_update_2_, int p_update_3_)
+    {
+        this.world = p_update_1_;
+        this.originX = p_update_2_ - RADIUS;
+        this.originZ = p_update_3_ - RADIUS;
+        ++this.stamp;
+    }
+
+    public int getPrecipitationHeight(int p_getPrecipitationHeight_1_, int p_getPrecipitationHeight_2_)
+    {
+        int var3 = this.getColumn(p_getPrecipitationHeight_1_, p_getPrecipitationHeight_2_);
+        return var3 < 0 ? this.world.getPrecipitationHeight(p_getPrecipitationHeight_1_, p_getPrecipitationHeight_2_) : this.precipitationHeights[var3];
+    }
+
+    public BiomeGenBase getBiome(int p_getBiome_1_, int p_getBiome_2_)
+    {
+        int var3 = this.getColumn(p_getBiome_1_, p_getBiome_2_);
+        return var3 < 0 ? this.world.getBiomeGenForCoords(p_getBiome_1_, p_getBiome_2_) : this.biomes[var3];
+    }
+
+    /**
+     * Returns the temperature of the column's biome at the given height, remembering the last height asked per column
+     */
+    public float getTemperature(int p_getTemperature_1_, int p_getTemperature_2_, int p_getTemperature_3_)
+    {
+        int var4 = this.getColumn(p_getTemperature_1_, p_getTemperature_3_);
+
+        if (var4 < 0)
+        {
+            return this.world.getBiomeGenForCoords(p_getTemperature_1_, p_getTemperature_3_).getFloatTemperature(p_getTemperature_1_, p_getTemperature_2_, p_getTemperature_3_);
+        }
+        else
+        {
+            if (this.temperatureHeights[var4] != p_getTemperature_2_)
+            {
+                this.temperatureHeights[var4] = p_getTemperature_2_;
+                this.temperatures[var4] = this.biomes[var4].getFloatTemperature(p_getTemperature_1_, p_getTemperature_2_, p_getTemperature_3_);
+            }
+
+            return this.temperatures[var4];
+        }
+    }
+
+    /**
+     * Returns the block at the given position, through the cached chunk when the column is in the square
+     */
+    public Block getBlock(int p_getBlock_1_, int p_getBlock_2_, int p_getBlock_3_)
+    {
+        int var4 = p_getBlock_1_ - this.originX;
+        int var5 = p_getBlock_3_ - this.originZ;
+
+        if (var4 >= 0 && var4 < SIZE && var5 >= 0 && var5 < SIZE)
+        {
+            return p_getBlock_2_ >= 0 && p_getBlock_2_ < 256 ? this.getChunk(p_getBlock_1_ >> 4, p_getBlock_3_ >> 4).func_150810_a(p_getBlock_1_ & 15, p_getBlock_2_, p_getBlock_3_ & 15) : Blocks.air;
+        }
+        else
+        {
+            return this.world.getBlock(p_getBlock_1_, p_getBlock_2_, p_getBlock_3_);
+        }
+    }
+
+    /**
+     * Returns the index of the column in the square, looking it up if this update hasn't yet, or -1 outside the square
+     */
+    private int getColumn(int p_getColumn_1_, int p_getColumn_2_)
+    {
+        int var3 = p_getColumn_1_ - this.originX;
+        int var4 = p_getColumn_2_ - this.originZ;
+
+        if (var3 >= 0 && var3 < SIZE && var4 >= 0 && var4 < SIZE)
+        {
+            int var5 = var4 * SIZE + var3;
+
+            if (this.columnStamps[var5] != this.stamp)
+            {
+                this.columnStamps[var5] = this.stamp;
+                Chunk var6 = this.getChunk(p_getColumn_1_ >> 4, p_getColumn_2_ >> 4);
+                this.precipitationHeights[var5] = var6.getPrecipitationHeight(p_getColumn_1_ & 15, p_getColumn_2_ & 15);
+                this.biomes[var5] = this.chunksExist[this.getChunkIndex(p_getColumn_1_ >> 4, p_getColumn_2_ >> 4)] ? var6.getBiomeGenForWorldCoords(p_getColumn_1_ & 15, p_getColumn_2_ & 15, this.world.provider.worldChunkMgr) : this.world.getBiomeGenForCoords(p_getColumn_1_, p_getColumn_2_);
+                this.temperatureHeights[var5] = Integer.MIN_VALUE;
+            }
+
+            return var5;
+        }
+        else
+        {
+            return -1;
+        }
+    }
+
+    private int getChunkIndex(int p_getChunkIndex_1_, int p_getChunkIndex_2_)
+    {
+        return (p_getChunkIndex_2_ - (this.originZ >> 4)) * CHUNKS + (p_getChunkIndex_1_ - (this.originX >> 4));
+    }
+
+    private Chunk getChunk(int p_getChunk_1_, int p_getChunk_2_)
+    {
+        int var3 = this.getChunkIndex(p_getChunk_1_, p_getChunk_2_);
+
+        if (this.chunkStamps[var3] != this.stamp)
+        {
+            this.chunkStamps[var3] = this.stamp;
+            this.chunks[var3] = this.world.getChunkFromChunkCoords(p_getChunk_1_, p_getChunk_2_);
+            this.chunksExist[var3] = this.world.getChunkProvider().chunkExists(p_getChunk_1_, p_getChunk_2_);
+        }
+
+        return this.chunks[var3];
+    }
+}
@@ -63,7 +63,7 @@ public class RenderBiped extends RenderLiving
 
         if (var4 == null)
         {
-            var4 = new ResourceLocation(var3);
+            var4 = ResourceLocation.intern(var3);
             field_110859_k.put(var3, var4);
         }
 
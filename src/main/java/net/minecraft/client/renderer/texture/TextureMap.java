@@ -146,7 +146,7 @@ public class TextureMap extends AbstractTexture implements ITickableTextureObjec
         while (var5.hasNext() && !this.skipFirst)
         {
             Entry var24 = (Entry)var5.next();
-            ResourceLocation var25 = new ResourceLocation((String)var24.getKey());
+            ResourceLocation var25 = ResourceLocation.intern((String)var24.getKey());
             var8 = (TextureAtlasSprite)var24.getValue();
             ResourceLocation sheetWidth = this.func_147634_a(var25, 0);
 
@@ -107,6 +107,22 @@ public class CommandNetstat extends CommandBase
                     {
                         p_71515_1_.addChatMessage(new ChatComponentText("total-write-count" + String.valueOf(NetworkManager.field_152462_h.func_152473_d())));
                     }
+                    else if ("flushes".equals(p_71515_2_[0]))
+                    {
+                        NetworkStatistics var9 = NetworkManager.field_152462_h;
+
+                        if (!var9.trackFlushes)
+                        {
+                            var9.trackFlushes = true;
+                            p_71515_1_.addChatMessage(new ChatComponentText("Flush tracking enabled"));
+                        }
+                        else
+                        {
+                            long var10 = var9.getFlushCount();
+                            long var12 = var9.getFlushedPacketCount();
+                            p_71515_1_.addChatMessage(new ChatComponentText("flushes: " + var10 + ", packets: " + var12 + ", average-batch: " + (var10 > 0L ? var12 / var10 : 0L) + ", largest-batch: " + var9.getLargestFlush()));
+                        }
+                    }
                     else
                     {
                         p_71515_1_.addChatMessage(new ChatComponentText("Unrecognized: " + p_71515_2_[0]));
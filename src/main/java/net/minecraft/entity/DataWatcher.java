@@ -1,34 +1,49 @@
 package net.minecraft.entity;
 
-import net.minecraft.crash.CrashReport;
-import net.minecraft.crash.CrashReportCategory;
 import net.minecraft.item.ItemStack;
 import net.minecraft.network.PacketBuffer;
 import net.minecraft.util.ChunkCoordinates;
-import net.minecraft.util.ReportedException;
 import org.apache.commons.lang3.ObjectUtils;
 
 import java.io.IOException;
 import java.util.*;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 
+/**
+ * Watched objects are kept in slot arrays indexed by their ID. Byte, short, int and float values live unboxed in
+ * primitiveValues, the other types in objectValues. Only the owning entity's thread writes the slots, so reads take no
+ * lock: every slot is a single int or reference and can't be seen half-written.
+ */
 public class DataWatcher
 {
+    private static final int MAX_ID = 31;
     private final Entity field_151511_a;
 
     /** When isBlank is true the DataWatcher is not watching any objects */
     private boolean isBlank = true;
     private static final HashMap dataTypes = new HashMap();
-    private final Map watchedObjects = new HashMap();
+
+    /** Data type of each ID, -1 when the ID isn't watched */
+    private final byte[] objectTypes = new byte[MAX_ID + 1];
+
+    /** Values of the byte, short, int and float objects, floats as their int bits */
+    private final int[] primitiveValues = new int[MAX_ID + 1];
+
+    /** Values of the String, ItemStack and ChunkCoordinates objects */
+    private final Object[] objectValues = new Object[MAX_ID + 1];
+
+    /** Bit n is set when ID n is watched */
+    private long watchedMask;
+
+    /** Bit n is set when ID n changed since the last takeChangedMask */
+    private long dirtyMask;
 
     /** true if one or more object was changed */
     private boolean objectChanged;
-    private ReadWriteLock lock = new ReentrantReadWriteLock();
 
     public DataWatcher(Entity p_i45313_1_)
     {
         this.field_151511_a = p_i45313_1_;
+        Arrays.fill(this.objectTypes, (byte)-1);
     }
 
     /**
@@ -43,21 +58,26 @@ public class DataWatcher
         {
             throw new IllegalArgumentException("Unknown data type: " + p_75682_2_.getClass());
         }
-        else if (p_75682_1_ > 31)
+        else if (p_75682_1_ > MAX_ID)
         {
-            throw new IllegalArgumentException("Data value id is too big with " + p_75682_1_ + "! (Max is " + 31 + ")");
+            throw new IllegalArgumentException("Data value id is too big with " + p_75682_1_ + "! (Max is " + MAX_ID + ")");
         }
-        else if (this.watchedObjects.containsKey(Integer.valueOf(p_75682_1_)))
+        else if ((this.watchedMask & 1L << p_75682_1_) != 0L)
         {
             throw new IllegalArgumentException("Duplicate id value for " + p_75682_1_ + "!");
         }
         else
         {
-            DataWatcher.WatchableObject var4 = new DataWatcher.WatchableObject(var3.intValue(), p_75682_1_, p_75682_2_);
-            this.lock.writeLock().lock();
-            this.watchedObjects.put(Integer.valueOf(p_75682_1_), var4);
-            this.lock.writeLock().unlock();
-            this.isBlank = false;
+            this.addObjectByDataType(p_75682_1_, var3.intValue());
+
+            if (var3.intValue() <= 3)
+            {
+                this.primitiveValues[p_75682_1_] = toPrimitive(var3.intValue(), p_75682_2_);
+            }
+            else
+            {
+                this.objectValues[p_75682_1_] = p_75682_2_;
+            }
         }
     }
 
@@ -66,10 +86,11 @@ public class DataWatcher
      */
     public void addObjectByDataType(int p_82709_1_, int p_82709_2_)
     {
-        DataWatcher.WatchableObject var3 = new DataWatcher.WatchableObject(p_82709_2_, p_82709_1_, (Object)null);
-        this.lock.writeLock().lock();
-        this.watchedObjects.put(Integer.valueOf(p_82709_1_), var3);
-        this.lock.writeLock().unlock();
+        this.objectTypes[p_82709_1_] = (byte)p_82709_2_;
+        this.primitiveValues[p_82709_1_] = 0;
+        this.objectValues[p_82709_1_] = null;
+        this.watchedMask |= 1L << p_82709_1_;
+        this.dirtyMask |= 1L << p_82709_1_;
         this.isBlank = false;
     }
 
@@ -78,12 +99,12 @@ public class DataWatcher
      */
     public byte getWatchableObjectByte(int p_75683_1_)
     {
-        return ((Byte)this.getWatchedObject(p_75683_1_).getObject()).byteValue();
+        return (byte)this.primitiveValues[p_75683_1_];
     }
 
     public short getWatchableObjectShort(int p_75693_1_)
     {
-        return ((Short)this.getWatchedObject(p_75693_1_).getObject()).shortValue();
+        return (short)this.primitiveValues[p_75693_1_];
     }
 
     /**
@@ -91,12 +112,12 @@ public class DataWatcher
      */
     public int getWatchableObjectInt(int p_75679_1_)
     {
-        return ((Integer)this.getWatchedObject(p_75679_1_).getObject()).intValue();
+        return this.primitiveValues[p_75679_1_];
     }
 
     public float getWatchableObjectFloat(int p_111145_1_)
     {
-        return ((Float)this.getWatchedObject(p_111145_1_).getObject()).floatValue();
+        return Float.intBitsToFloat(this.primitiveValues[p_111145_1_]);
     }
 
     /**
@@ -104,7 +125,7 @@ public class DataWatcher
      */
     public String getWatchableObjectString(int p_75681_1_)
     {
-        return (String)this.getWatchedObject(p_75681_1_).getObject();
+        return (String)this.objectValues[p_75681_1_];
     }
 
     /**
@@ -112,52 +133,69 @@ public class DataWatcher
      */
     public ItemStack getWatchableObjectItemStack(int p_82710_1_)
     {
-        return (ItemStack)this.getWatchedObject(p_82710_1_).getObject();
+        return (ItemStack)this.objectValues[p_82710_1_];
     }
 
     /**
-     * is threadsafe, unless it throws an exception, then
+     * updates an already existing object
      */
-    private DataWatcher.WatchableObject getWatchedObject(int p_75691_1_)
+    public void updateObject(int p_75692_1_, Object p_75692_2_)
     {
-        this.lock.readLock().lock();
-        DataWatcher.WatchableObject var2;
+        byte var3 = this.objectTypes[p_75692_1_];
 
-        try
+        if (var3 <= 3)
         {
-            var2 = (DataWatcher.WatchableObject)this.watchedObjects.get(Integer.valueOf(p_75691_1_));
+            this.updatePrimitive(p_75692_1_, toPrimitive(var3, p_75692_2_));
         }
-        catch (Throwable var6)
+        else if (ObjectUtils.notEqual(p_75692_2_, this.objectValues[p_75692_1_]))
         {
-            CrashReport var4 = CrashReport.makeCrashReport(var6, "Getting synched entity data");
-            CrashReportCategory var5 = var4.makeCategory("Synched entity data");
-            var5.addCrashSection("Data ID", Integer.valueOf(p_75691_1_));
-            throw new ReportedException(var4);
+            this.objectValues[p_75692_1_] = p_75692_2_;
+            this.markChanged(p_75692_1_);
         }
+    }
+
+    public void updateObjectShort(int p_updateObjectShort_1_, short p_updateObjectShort_2_)
+    {
+        this.updatePrimitive(p_updateObjectShort_1_, p_updateObjectShort_2_);
+    }
+
+    public void updateObjectInt(int p_updateObjectInt_1_, int p_updateObjectInt_2_)
+    {
+        this.updatePrimitive(p_updateObjectInt_1_, p_updateObjectInt_2_);
+    }
 
-        this.lock.readLock().unlock();
-        return var2;
+    public void updateObjectFloat(int p_updateObjectFloat_1_, float p_updateObjectFloat_2_)
+    {
+        this.updatePrimitive(p_updateObjectFloat_1_, Float.floatToIntBits(p_updateObjectFloat_2_));
     }
 
     /**
-     * updates an already existing object
+     * Converts a boxed byte, short, int or float to the int kept in primitiveValues
      */
-    public void updateObject(int p_75692_1_, Object p_75692_2_)
+    private static int toPrimitive(int p_toPrimitive_0_, Object p_toPrimitive_1_)
     {
-        DataWatcher.WatchableObject var3 = this.getWatchedObject(p_75692_1_);
+        return p_toPrimitive_1_ == null ? 0 : (p_toPrimitive_0_ == 3 ? Float.floatToIntBits(((Float)p_toPrimitive_1_).floatValue()) : ((Number)p_toPrimitive_1_).intValue());
+    }
 
-        if (ObjectUtils.notEqual(p_75692_2_, var3.getObject()))
+    private void updatePrimitive(int p_updatePrimitive_1_, int p_updatePrimitive_2_)
+    {
+        if (this.primitiveValues[p_updatePrimitive_1_] != p_updatePrimitive_2_)
         {
-            var3.setObject(p_75692_2_);
-            this.field_151511_a.func_145781_i(p_75692_1_);
-            var3.setWatched(true);
-            this.objectChanged = true;
+            this.primitiveValues[p_updatePrimitive_1_] = p_updatePrimitive_2_;
+            this.markChanged(p_updatePrimitive_1_);
         }
     }
 
+    private void markChanged(int p_markChanged_1_)
+    {
+        this.field_151511_a.func_145781_i(p_markChanged_1_);
+        this.dirtyMask |= 1L << p_markChanged_1_;
+        this.objectChanged = true;
+    }
+
     public void setObjectWatched(int p_82708_1_)
     {
-        this.getWatchedObject(p_82708_1_).watched = true;
+        this.dirtyMask |= 1L << p_82708_1_;
         this.objectChanged = true;
     }
 
@@ -179,122 +217,125 @@ public class DataWatcher
             while (var2.hasNext())
             {
                 DataWatcher.WatchableObject var3 = (DataWatcher.WatchableObject)var2.next();
-                writeWatchableObjectToPacketBuffer(p_151507_1_, var3);
+                writeWatchableObjectToPacketBuffer(p_151507_1_, var3.getObjectType(), var3.getDataValueId(), var3.primitiveValue, var3.watchedObject);
             }
         }
 
         p_151507_1_.writeByte(127);
     }
 
-    public List getChanged()
+    /**
+     * Returns the IDs changed since the last call as a bitmask and clears them
+     */
+    public long takeChangedMask()
     {
-        ArrayList var1 = null;
+        long var1 = 0L;
 
         if (this.objectChanged)
         {
-            this.lock.readLock().lock();
-            Iterator var2 = this.watchedObjects.values().iterator();
-
-            while (var2.hasNext())
-            {
-                DataWatcher.WatchableObject var3 = (DataWatcher.WatchableObject)var2.next();
-
-                if (var3.isWatched())
-                {
-                    var3.setWatched(false);
-
-                    if (var1 == null)
-                    {
-                        var1 = new ArrayList();
-                    }
-
-                    var1.add(var3);
-                }
-            }
-
-            this.lock.readLock().unlock();
+            var1 = this.dirtyMask;
+            this.dirtyMask = 0L;
         }
 
         this.objectChanged = false;
         return var1;
     }
 
-    public void func_151509_a(PacketBuffer p_151509_1_) throws IOException
+    /**
+     * Returns a bitmask of every watched ID
+     */
+    public long getWatchedMask()
     {
-        this.lock.readLock().lock();
-        Iterator var2 = this.watchedObjects.values().iterator();
+        return this.watchedMask;
+    }
 
-        while (var2.hasNext())
+    /**
+     * Writes the current value of each ID in the bitmask, followed by the end marker, to the PacketBuffer
+     */
+    public void writeWatchedObjects(long p_writeWatchedObjects_1_, PacketBuffer p_writeWatchedObjects_3_) throws IOException
+    {
+        for (long var4 = p_writeWatchedObjects_1_ & this.watchedMask; var4 != 0L; var4 &= var4 - 1L)
         {
-            DataWatcher.WatchableObject var3 = (DataWatcher.WatchableObject)var2.next();
-            writeWatchableObjectToPacketBuffer(p_151509_1_, var3);
+            int var6 = Long.numberOfTrailingZeros(var4);
+            writeWatchableObjectToPacketBuffer(p_writeWatchedObjects_3_, this.objectTypes[var6], var6, this.primitiveValues[var6], this.objectValues[var6]);
         }
 
-        this.lock.readLock().unlock();
-        p_151509_1_.writeByte(127);
+        p_writeWatchedObjects_3_.writeByte(127);
     }
 
-    public List getAllWatched()
+    public void func_151509_a(PacketBuffer p_151509_1_) throws IOException
     {
-        ArrayList var1 = null;
-        this.lock.readLock().lock();
-        DataWatcher.WatchableObject var3;
+        this.writeWatchedObjects(this.watchedMask, p_151509_1_);
+    }
+
+    /**
+     * Copies the current value of each ID in the bitmask into a new list, null when there are none
+     */
+    public List getWatchedObjects(long p_getWatchedObjects_1_)
+    {
+        ArrayList var3 = null;
 
-        for (Iterator var2 = this.watchedObjects.values().iterator(); var2.hasNext(); var1.add(var3))
+        for (long var4 = p_getWatchedObjects_1_ & this.watchedMask; var4 != 0L; var4 &= var4 - 1L)
         {
-            var3 = (DataWatcher.WatchableObject)var2.next();
+            int var6 = Long.numberOfTrailingZeros(var4);
 
-            if (var1 == null)
+            if (var3 == null)
             {
-                var1 = new ArrayList();
+                var3 = new ArrayList(Long.bitCount(var4));
             }
+
+            var3.add(new DataWatcher.WatchableObject(this.objectTypes[var6], var6, this.primitiveValues[var6], this.objectValues[var6]));
         }
 
-        this.lock.readLock().unlock();
-        return var1;
+        return var3;
+    }
+
+    public List getAllWatched()
+    {
+        return this.getWatchedObjects(this.watchedMask);
     }
 
     /**
      * Writes a watchable object (entity attribute of type {byte, short, int, float, string, ItemStack,
      * ChunkCoordinates}) to the specified PacketBuffer
      */
-    private static void writeWatchableObjectToPacketBuffer(PacketBuffer p_151510_0_, DataWatcher.WatchableObject p_151510_1_) throws IOException
+    private static void writeWatchableObjectToPacketBuffer(PacketBuffer p_151510_0_, int p_151510_1_, int p_151510_2_, int p_151510_3_, Object p_151510_4_) throws IOException
     {
-        int var2 = (p_151510_1_.getObjectType() << 5 | p_151510_1_.getDataValueId() & 31) & 255;
-        p_151510_0_.writeByte(var2);
+        int var5 = (p_151510_1_ << 5 | p_151510_2_ & 31) & 255;
+        p_151510_0_.writeByte(var5);
 
-        switch (p_151510_1_.getObjectType())
+        switch (p_151510_1_)
         {
             case 0:
-                p_151510_0_.writeByte(((Byte)p_151510_1_.getObject()).byteValue());
+                p_151510_0_.writeByte(p_151510_3_);
                 break;
 
             case 1:
-                p_151510_0_.writeShort(((Short)p_151510_1_.getObject()).shortValue());
+                p_151510_0_.writeShort(p_151510_3_);
                 break;
 
             case 2:
-                p_151510_0_.writeInt(((Integer)p_151510_1_.getObject()).intValue());
+                p_151510_0_.writeInt(p_151510_3_);
                 break;
 
             case 3:
-                p_151510_0_.writeFloat(((Float)p_151510_1_.getObject()).floatValue());
+                p_151510_0_.writeInt(p_151510_3_);
                 break;
 
             case 4:
-                p_151510_0_.writeStringToBuffer((String)p_151510_1_.getObject());
+                p_151510_0_.writeStringToBuffer((String)p_151510_4_);
                 break;
 
             case 5:
-                ItemStack var4 = (ItemStack)p_151510_1_.getObject();
-                p_151510_0_.writeItemStackToBuffer(var4);
+                ItemStack var7 = (ItemStack)p_151510_4_;
+                p_151510_0_.writeItemStackToBuffer(var7);
                 break;
 
             case 6:
-                ChunkCoordinates var3 = (ChunkCoordinates)p_151510_1_.getObject();
-                p_151510_0_.writeInt(var3.posX);
-                p_151510_0_.writeInt(var3.posY);
-                p_151510_0_.writeInt(var3.posZ);
+                ChunkCoordinates var6 = (ChunkCoordinates)p_151510_4_;
+                p_151510_0_.writeInt(var6.posX);
+                p_151510_0_.writeInt(var6.posY);
+                p_151510_0_.writeInt(var6.posZ);
         }
     }
 
@@ -320,19 +361,19 @@ public class DataWatcher
             switch (var3)
             {
                 case 0:
-                    var5 = new DataWatcher.WatchableObject(var3, var4, Byte.valueOf(p_151508_0_.readByte()));
+                    var5 = new DataWatcher.WatchableObject(var3, var4, p_151508_0_.readByte(), (Object)null);
                     break;
 
                 case 1:
-                    var5 = new DataWatcher.WatchableObject(var3, var4, Short.valueOf(p_151508_0_.readShort()));
+                    var5 = new DataWatcher.WatchableObject(var3, var4, p_151508_0_.readShort(), (Object)null);
                     break;
 
                 case 2:
-                    var5 = new DataWatcher.WatchableObject(var3, var4, Integer.valueOf(p_151508_0_.readInt()));
+                    var5 = new DataWatcher.WatchableObject(var3, var4, p_151508_0_.readInt(), (Object)null);
                     break;
 
                 case 3:
-                    var5 = new DataWatcher.WatchableObject(var3, var4, Float.valueOf(p_151508_0_.readFloat()));
+                    var5 = new DataWatcher.WatchableObject(var3, var4, p_151508_0_.readInt(), (Object)null);
                     break;
 
                 case 4:
@@ -358,22 +399,26 @@ public class DataWatcher
 
     public void updateWatchedObjectsFromList(List p_75687_1_)
     {
-        this.lock.writeLock().lock();
-        Iterator var2 = p_75687_1_.iterator();
-
-        while (var2.hasNext())
+        for (int var2 = 0; var2 < p_75687_1_.size(); ++var2)
         {
-            DataWatcher.WatchableObject var3 = (DataWatcher.WatchableObject)var2.next();
-            DataWatcher.WatchableObject var4 = (DataWatcher.WatchableObject)this.watchedObjects.get(Integer.valueOf(var3.getDataValueId()));
+            DataWatcher.WatchableObject var3 = (DataWatcher.WatchableObject)p_75687_1_.get(var2);
+            int var4 = var3.getDataValueId();
 
-            if (var4 != null)
+            if ((this.watchedMask & 1L << var4) != 0L)
             {
-                var4.setObject(var3.getObject());
-                this.field_151511_a.func_145781_i(var3.getDataValueId());
+                if (var3.getObjectType() <= 3)
+                {
+                    this.primitiveValues[var4] = var3.primitiveValue;
+                }
+                else
+                {
+                    this.objectValues[var4] = var3.watchedObject;
+                }
+
+                this.field_151511_a.func_145781_i(var4);
             }
         }
 
-        this.lock.writeLock().unlock();
         this.objectChanged = true;
     }
 
@@ -398,19 +443,29 @@ public class DataWatcher
         dataTypes.put(ChunkCoordinates.class, Integer.valueOf(6));
     }
 
+    /**
+     * A detached copy of one watched value, as read from a packet. Byte, short, int and float values are kept unboxed
+     * until getObject is called.
+     */
     public static class WatchableObject
     {
         private final int objectType;
         private final int dataValueId;
+        private int primitiveValue;
         private Object watchedObject;
-        private boolean watched;
 
         public WatchableObject(int p_i1603_1_, int p_i1603_2_, Object p_i1603_3_)
         {
-            this.dataValueId = p_i1603_2_;
-            this.watchedObject = p_i1603_3_;
-            this.objectType = p_i1603_1_;
-            this.watched = true;
+            this(p_i1603_1_, p_i1603_2_, 0, (Object)null);
+            this.setObject(p_i1603_3_);
+        }
+
+        private WatchableObject(int p_i2_1_, int p_i2_2_, int p_i2_3_, Object p_i2_4_)
+        {
+            this.dataValueId = p_i2_2_;
+            this.objectType = p_i2_1_;
+            this.primitiveValue = p_i2_3_;
+            this.watchedObject = p_i2_4_;
         }
 
         public int getDataValueId()
@@ -420,27 +475,40 @@ public class DataWatcher
 
         public void setObject(Object p_75673_1_)
         {
-            this.watchedObject = p_75673_1_;
+            if (this.objectType <= 3)
+            {
+                this.primitiveValue = DataWatcher.toPrimitive(this.objectType, p_75673_1_);
+            }
+            else
+            {
+                this.watchedObject = p_75673_1_;
+            }
         }
 
         public Object getObject()
         {
-            return this.watchedObject;
-        }
+            switch (this.objectType)
+            {
+                case 0:
+                    return Byte.valueOf((byte)this.primitiveValue);
 
-        public int getObjectType()
-        {
-            return this.objectType;
-        }
+                case 1:
+                    return Short.valueOf((short)this.primitiveValue);
 
-        public boolean isWatched()
-        {
-            return this.watched;
+                case 2:
+                    return Integer.valueOf(this.primitiveValue);
+
+                case 3:
+                    return Float.valueOf(Float.intBitsToFloat(this.primitiveValue));
+
+                default:
+                    return this.watchedObject;
+            }
         }
 
-        public void setWatched(boolean p_75671_1_)
+        public int getObjectType()
         {
-            this.watched = p_75671_1_;
+            return this.objectType;
         }
     }
 }
@@ -27,7 +27,7 @@ import java.util.Random;
 import java.util.UUID;
 import java.util.concurrent.Callable;
 
-public abstract class Entity
+public abstract class Entity implements IndexedList.Element
 {
     private static int nextEntityID;
     private int field_145783_c;
@@ -184,6 +184,12 @@ public abstract class Entity
 
     /** Has this entity been added to the chunk its within */
     public boolean addedToChunk;
+
+    /** Bit mask of the EnumCreatureType ordinals this entity is counted against by the WorldServer mob cap */
+    public int creatureTypeMask;
+
+    /** Index of this entity in its world's loadedEntityList, -1 when it is not in it */
+    private int loadedListIndex = -1;
     public int chunkCoordX;
     public int chunkCoordY;
     public int chunkCoordZ;
@@ -265,6 +271,16 @@ public abstract class Entity
         return this.field_145783_c;
     }
 
+    public int getListIndex()
+    {
+        return this.loadedListIndex;
+    }
+
+    public void setListIndex(int p_setListIndex_1_)
+    {
+        this.loadedListIndex = p_setListIndex_1_;
+    }
+
     /**
      * Keeps moving the entity up so it isn't colliding with blocks and other requirements for this entity to be spawned
      * (only actually used on players though its also on Entity)
@@ -2094,7 +2110,7 @@ public abstract class Entity
 
     public void setAir(int p_70050_1_)
     {
-        this.dataWatcher.updateObject(1, Short.valueOf((short)p_70050_1_));
+        this.dataWatcher.updateObjectShort(1, (short)p_70050_1_);
     }
 
     /**
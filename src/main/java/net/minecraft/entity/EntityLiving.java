@@ -380,6 +380,11 @@ public abstract class EntityLiving extends EntityLivingBase
         this.setCanPickUpLoot(par1NBTTagCompound.getBoolean("CanPickUpLoot"));
         this.persistenceRequired = par1NBTTagCompound.getBoolean("PersistenceRequired");
 
+        if (this.persistenceRequired && this.worldObj != null)
+        {
+            this.worldObj.onEntityPersistenceRequired(this);
+        }
+
         if (par1NBTTagCompound.func_150297_b("CustomName", 8) && par1NBTTagCompound.getString("CustomName").length() > 0)
         {
             this.setCustomNameTag(par1NBTTagCompound.getString("CustomName"));
@@ -530,6 +535,7 @@ public abstract class EntityLiving extends EntityLivingBase
                             this.setCurrentItemOrArmor(var5, var4);
                             this.equipmentDropChances[var5] = 2.0F;
                             this.persistenceRequired = true;
+                            this.worldObj.onEntityPersistenceRequired(this);
                             this.onItemPickup(var3, 1);
                             var3.setDead();
                         }
@@ -1090,6 +1096,7 @@ public abstract class EntityLiving extends EntityLivingBase
     public void func_110163_bv()
     {
         this.persistenceRequired = true;
+        this.worldObj.onEntityPersistenceRequired(this);
     }
 
     public void setCustomNameTag(String par1Str)
@@ -617,14 +617,14 @@ public abstract class EntityLivingBase extends Entity
                 if (this.activePotionsMap.isEmpty())
                 {
                     this.dataWatcher.updateObject(8, Byte.valueOf((byte)0));
-                    this.dataWatcher.updateObject(7, Integer.valueOf(0));
+                    this.dataWatcher.updateObjectInt(7, 0);
                     this.setInvisible(false);
                 }
                 else
                 {
                     var11 = PotionHelper.calcPotionLiquidColor(this.activePotionsMap.values());
                     this.dataWatcher.updateObject(8, Byte.valueOf((byte)(PotionHelper.func_82817_b(this.activePotionsMap.values()) ? 1 : 0)));
-                    this.dataWatcher.updateObject(7, Integer.valueOf(var11));
+                    this.dataWatcher.updateObjectInt(7, var11);
                     this.setInvisible(this.isPotionActive(Potion.invisibility.id));
                 }
             }
@@ -818,7 +818,7 @@ public abstract class EntityLivingBase extends Entity
 
     public void setHealth(float p_70606_1_)
     {
-        this.dataWatcher.updateObject(6, Float.valueOf(MathHelper.clamp_float(p_70606_1_, 0.0F, this.getMaxHealth())));
+        this.dataWatcher.updateObjectFloat(6, MathHelper.clamp_float(p_70606_1_, 0.0F, this.getMaxHealth()));
     }
 
     /**
@@ -69,7 +69,7 @@ public class EntityAIAvoidEntity extends EntityAIBase
         }
         else
         {
-            List var1 = this.theEntity.worldObj.selectEntitiesWithinAABB(this.targetEntityClass, this.theEntity.boundingBox.expand((double)this.distanceFromEntity, 3.0D, (double)this.distanceFromEntity), this.field_98218_a);
+            List var1 = this.theEntity.worldObj.aiPerception.selectEntitiesWithinAABB(this.targetEntityClass, this.theEntity.boundingBox.expand((double)this.distanceFromEntity, 3.0D, (double)this.distanceFromEntity), this.field_98218_a);
 
             if (var1.isEmpty())
             {
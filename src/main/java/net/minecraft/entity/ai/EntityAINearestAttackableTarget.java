@@ -62,7 +62,7 @@ public class EntityAINearestAttackableTarget extends EntityAITarget
         else
         {
             double var1 = this.getTargetDistance();
-            List var3 = this.taskOwner.worldObj.selectEntitiesWithinAABB(this.targetClass, this.taskOwner.boundingBox.expand(var1, 4.0D, var1), this.targetEntitySelector);
+            List var3 = this.taskOwner.worldObj.aiPerception.selectEntitiesWithinAABB(this.targetClass, this.taskOwner.boundingBox.expand(var1, 4.0D, var1), this.targetEntitySelector);
             Collections.sort(var3, this.theNearestAttackableTargetSorter);
 
             if (var3.isEmpty())
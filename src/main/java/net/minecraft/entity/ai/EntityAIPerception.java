@@ -0,0 +1,199 @@
+package net.minecraft.entity.ai;
+
+import com.google.common.collect.Maps;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import gnu.trove.map.hash.TLongByteHashMap;
+import net.minecraft.command.IEntitySelector;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityLivingBase;
+import net.minecraft.util.AxisAlignedBB;
+import net.minecraft.util.MathHelper;
+import net.minecraft.util.PackedPosition;
+import net.minecraft.world.World;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What the mobs of a world have looked up this tick, shared between them. Entity queries are answered from one world
+ * query per class, 8-block cell and query size, widened to cover every query centered in the cell; line of sight is
+ * remembered per target and observer eye block. Everything is forgotten when the world time moves on.
+ */
+public class EntityAIPerception
+{
+    private static final int CELL_SHIFT = 3;
+
+    /** How far entities may move during the tick and still be found */
+    private static final double MARGIN = 2.0D;
+    private final World worldObj;
+    private long tick = Long.MIN_VALUE;
+
+    /** Candidates of each query, by query key */
+    private final Map queries = Maps.newHashMap();
+    private final EntityAIPerception.Query probe = new EntityAIPerception.Query();
+
+    /** Line of sight by target entity ID, then by observer eye position: 1 visible, -1 hidden */
+    private final TIntObjectHashMap sightings = new TIntObjectHashMap();
+
+    public EntityAIPerception(World p_i1_1_)
+    {
+        this.worldObj = p_i1_1_;
+    }
+
+    /**
+     * Same as World.selectEntitiesWithinAABB, but shares the chunk scan with every other query of the same class and
+     * size centered in the same cell this tick
+     */
+    public List selectEntitiesWithinAABB(Class p_selectEntitiesWithinAABB_1_, AxisAlignedBB p_selectEntitiesWithinAABB_2_, IEntitySelector p_selectEntitiesWithinAABB_3_)
+    {
+        this.refresh();
+        this.probe.entityClass = p_selectEntitiesWithinAABB_1_;
+        this.probe.cellX = MathHelper.floor_double((p_selectEntitiesWithinAABB_2_.minX + p_selectEntitiesWithinAABB_2_.maxX) * 0.5D) >> CELL_SHIFT;
+        this.probe.cellY = MathHelper.floor_double((p_selectEntitiesWithinAABB_2_.minY + p_selectEntitiesWithinAABB_2_.maxY) * 0.5D) >> CELL_SHIFT;
+        this.probe.cellZ = MathHelper.floor_double((p_selectEntitiesWithinAABB_2_.minZ + p_selectEntitiesWithinAABB_2_.maxZ) * 0.5D) >> CELL_SHIFT;
+        this.probe.extentX = MathHelper.ceiling_double_int((p_selectEntitiesWithinAABB_2_.maxX - p_selectEntitiesWithinAABB_2_.minX) * 0.5D);
+        this.probe.extentY = MathHelper.ceiling_double_int((p_selectEntitiesWithinAABB_2_.maxY - p_selectEntitiesWithinAABB_2_.minY) * 0.5D);
+        this.probe.extentZ = MathHelper.ceiling_double_int((p_selectEntitiesWithinAABB_2_.maxZ - p_selectEntitiesWithinAABB_2_.minZ) * 0.5D);
+        List var4 = (List)this.queries.get(this.probe);
+
+        if (var4 == null)
+        {
+            EntityAIPerception.Query var5 = this.probe.copy();
+            double var6 = (double)(var5.cellX << CELL_SHIFT);
+            double var8 = (double)(var5.cellY << CELL_SHIFT);
+            double var10 = (double)(var5.cellZ << CELL_SHIFT);
+            double var12 = (double)(1 << CELL_SHIFT);
+            var4 = this.worldObj.getEntitiesWithinAABB(p_selectEntitiesWithinAABB_1_, AxisAlignedBB.getBoundingBox(var6 - (double)var5.extentX - MARGIN, var8 - (double)var5.extentY - MARGIN, var10 - (double)var5.extentZ - MARGIN, var6 + var12 + (double)var5.extentX + MARGIN, var8 + var12 + (double)var5.extentY + MARGIN, var10 + var12 + (double)var5.extentZ + MARGIN));
+            this.queries.put(var5, var4);
+        }
+
+        ArrayList var14 = new ArrayList();
+
+        for (int var15 = 0; var15 < var4.size(); ++var15)
+        {
+            Entity var16 = (Entity)var4.get(var15);
+
+            if (!var16.isDead && var16.boundingBox.intersectsWith(p_selectEntitiesWithinAABB_2_) && (p_selectEntitiesWithinAABB_3_ == null || p_selectEntitiesWithinAABB_3_.isEntityApplicable(var16)))
+            {
+                var14.add(var16);
+            }
+        }
+
+        return var14;
+    }
+
+    /**
+     * Same as World.findNearestEntityWithinAABB, through the shared entity queries
+     */
+    public Entity findNearestEntityWithinAABB(Class p_findNearestEntityWithinAABB_1_, AxisAlignedBB p_findNearestEntityWithinAABB_2_, Entity p_findNearestEntityWithinAABB_3_)
+    {
+        List var4 = this.selectEntitiesWithinAABB(p_findNearestEntityWithinAABB_1_, p_findNearestEntityWithinAABB_2_, (IEntitySelector)null);
+        Entity var5 = null;
+        double var6 = Double.MAX_VALUE;
+
+        for (int var8 = 0; var8 < var4.size(); ++var8)
+        {
+            Entity var9 = (Entity)var4.get(var8);
+
+            if (var9 != p_findNearestEntityWithinAABB_3_)
+            {
+                double var10 = p_findNearestEntityWithinAABB_3_.getDistanceSqToEntity(var9);
+
+                if (var10 <= var6)
+                {
+                    var5 = var9;
+                    var6 = var10;
+                }
+            }
+        }
+
+        return var5;
+    }
+
+    /**
+     * Whether the observer can see the target, shared by every observer whose eyes are in the same block this tick
+     */
+    public boolean canSee(EntityLivingBase p_canSee_1_, Entity p_canSee_2_)
+    {
+        this.refresh();
+        TLongByteHashMap var3 = (TLongByteHashMap)this.sightings.get(p_canSee_2_.getEntityId());
+
+        if (var3 == null)
+        {
+            var3 = new TLongByteHashMap();
+            this.sightings.put(p_canSee_2_.getEntityId(), var3);
+        }
+
+        long var4 = PackedPosition.pack(MathHelper.floor_double(p_canSee_1_.posX), MathHelper.floor_double(p_canSee_1_.posY + (double)p_canSee_1_.getEyeHeight()), MathHelper.floor_double(p_canSee_1_.posZ));
+        byte var6 = var3.get(var4);
+
+        if (var6 == 0)
+        {
+            var6 = (byte)(p_canSee_1_.canEntityBeSeen(p_canSee_2_) ? 1 : -1);
+            var3.put(var4, var6);
+        }
+
+        return var6 > 0;
+    }
+
+    private void refresh()
+    {
+        long var1 = this.worldObj.getTotalWorldTime();
+
+        if (var1 != this.tick)
+        {
+            this.tick = var1;
+            this.queries.clear();
+            this.sightings.clear();
+        }
+    }
+
+    static class Query
+    {
+        Class entityClass;
+        int cellX;
+        int cellY;
+        int cellZ;
+        int extentX;
+        int extentY;
+        int extentZ;
+
+        EntityAIPerception.Query copy()
+        {
+            EntityAIPerception.Query var1 = new EntityAIPerception.Query();
+            var1.entityClass = this.entityClass;
+            var1.cellX = this.cellX;
+            var1.cellY = this.cellY;
+            var1.cellZ = this.cellZ;
+            var1.extentX = this.extentX;
+            var1.extentY = this.extentY;
+            var1.extentZ = this.extentZ;
+            return var1;
+        }
+
+        public boolean equals(Object p_equals_1_)
+        {
+            if (!(p_equals_1_ instanceof EntityAIPerception.Query))
+            {
+                return false;
+            }
+            else
+            {
+                EntityAIPerception.Query var2 = (EntityAIPerception.Query)p_equals_1_;
+                return this.entityClass == var2.entityClass && this.cellX == var2.cellX && this.cellY == var2.cellY && this.cellZ == var2.cellZ && this.extentX == var2.extentX && this.extentY == var2.extentY && this.extentZ == var2.extentZ;
+            }
+        }
+
+        public int hashCode()
+        {
+            int var1 = this.entityClass.hashCode();
+            var1 = 31 * var1 + this.cellX;
+            var1 = 31 * var1 + this.cellY;
+            var1 = 31 * var1 + this.cellZ;
+            var1 = 31 * var1 + this.extentX;
+            var1 = 31 * var1 + this.extentY;
+            return 31 * var1 + this.extentZ;
+        }
+    }
+}
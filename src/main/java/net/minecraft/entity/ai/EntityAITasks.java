@@ -18,14 +18,21 @@ public class EntityAITasks
     /** A list of EntityAITaskEntrys that are currently being executed. */
     private List executingTaskEntries = new ArrayList();
 
+    /** Tasks started on the current selection tick, reused between ticks */
+    private final List startingTaskEntries = new ArrayList();
+
     /** Instance of Profiler. */
     private final Profiler theProfiler;
     private int tickCount;
     private int tickRate = 3;
 
+    /** Phase of the next task list's selection ticks, so mobs created together don't all select goals on one tick */
+    private static int nextTickOffset;
+
     public EntityAITasks(Profiler p_i1628_1_)
     {
         this.theProfiler = p_i1628_1_;
+        this.tickCount = (nextTickOffset++ & Integer.MAX_VALUE) % this.tickRate;
     }
 
     public void addTask(int p_75776_1_, EntityAIBase p_75776_2_)
@@ -47,9 +54,10 @@ public class EntityAITasks
 
             if (var4 == p_85156_1_)
             {
-                if (this.executingTaskEntries.contains(var3))
+                if (var3.executing)
                 {
                     var4.resetTask();
+                    var3.executing = false;
                     this.executingTaskEntries.remove(var3);
                 }
 
@@ -60,7 +68,7 @@ public class EntityAITasks
 
     public void onUpdateTasks()
     {
-        ArrayList var1 = new ArrayList();
+        List var1 = this.startingTaskEntries;
         Iterator var2;
         EntityAITasks.EntityAITaskEntry var3;
 
@@ -71,9 +79,7 @@ public class EntityAITasks
             while (var2.hasNext())
             {
                 var3 = (EntityAITasks.EntityAITaskEntry)var2.next();
-                boolean var4 = this.executingTaskEntries.contains(var3);
-
-                if (var4)
+                if (var3.executing)
                 {
                     if (this.canUse(var3) && this.canContinue(var3))
                     {
@@ -81,12 +87,14 @@ public class EntityAITasks
                     }
 
                     var3.action.resetTask();
+                    var3.executing = false;
                     this.executingTaskEntries.remove(var3);
                 }
 
                 if (this.canUse(var3) && var3.action.shouldExecute())
                 {
                     var1.add(var3);
+                    var3.executing = true;
                     this.executingTaskEntries.add(var3);
                 }
             }
@@ -102,22 +110,23 @@ public class EntityAITasks
                 if (!var3.action.continueExecuting())
                 {
                     var3.action.resetTask();
+                    var3.executing = false;
                     var2.remove();
                 }
             }
         }
 
         this.theProfiler.startSection("goalStart");
-        var2 = var1.iterator();
 
-        while (var2.hasNext())
+        for (int var5 = 0; var5 < var1.size(); ++var5)
         {
-            var3 = (EntityAITasks.EntityAITaskEntry)var2.next();
+            var3 = (EntityAITasks.EntityAITaskEntry)var1.get(var5);
             this.theProfiler.startSection(var3.action.getClass().getSimpleName());
             var3.action.startExecuting();
             this.theProfiler.endSection();
         }
 
+        var1.clear();
         this.theProfiler.endSection();
         this.theProfiler.startSection("goalTick");
         var2 = this.executingTaskEntries.iterator();
@@ -149,23 +158,21 @@ public class EntityAITasks
     private boolean canUse(EntityAITasks.EntityAITaskEntry p_75775_1_)
     {
         this.theProfiler.startSection("canUse");
-        Iterator var2 = this.taskEntries.iterator();
-
-        while (var2.hasNext())
+        for (int var3 = 0; var3 < this.executingTaskEntries.size(); ++var3)
         {
-            EntityAITasks.EntityAITaskEntry var3 = (EntityAITasks.EntityAITaskEntry)var2.next();
+            EntityAITasks.EntityAITaskEntry var4 = (EntityAITasks.EntityAITaskEntry)this.executingTaskEntries.get(var3);
 
-            if (var3 != p_75775_1_)
+            if (var4 != p_75775_1_)
             {
-                if (p_75775_1_.priority >= var3.priority)
+                if (p_75775_1_.priority >= var4.priority)
                 {
-                    if (this.executingTaskEntries.contains(var3) && !this.areTasksCompatible(p_75775_1_, var3))
+                    if (!this.areTasksCompatible(p_75775_1_, var4))
                     {
                         this.theProfiler.endSection();
                         return false;
                     }
                 }
-                else if (this.executingTaskEntries.contains(var3) && !var3.action.isInterruptible())
+                else if (!var4.action.isInterruptible())
                 {
                     this.theProfiler.endSection();
                     return false;
@@ -190,6 +197,9 @@ public class EntityAITasks
         public EntityAIBase action;
         public int priority;
 
+        /** Whether this entry is in executingTaskEntries */
+        public boolean executing;
+
         public EntityAITaskEntry(int p_i1627_2_, EntityAIBase p_i1627_3_)
         {
             this.priority = p_i1627_2_;
@@ -46,7 +46,7 @@ public class EntitySenses
         else
         {
             this.entityObj.worldObj.theProfiler.startSection("canSee");
-            boolean var2 = this.entityObj.canEntityBeSeen(p_75522_1_);
+            boolean var2 = this.entityObj.worldObj.aiPerception.canSee(this.entityObj, p_75522_1_);
             this.entityObj.worldObj.theProfiler.endSection();
 
             if (var2)
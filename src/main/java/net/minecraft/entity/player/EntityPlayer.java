@@ -654,7 +654,7 @@ public abstract class EntityPlayer extends EntityLivingBase implements ICommandS
      */
     public void setScore(int p_85040_1_)
     {
-        this.dataWatcher.updateObject(18, Integer.valueOf(p_85040_1_));
+        this.dataWatcher.updateObjectInt(18, p_85040_1_);
     }
 
     /**
@@ -663,7 +663,7 @@ public abstract class EntityPlayer extends EntityLivingBase implements ICommandS
     public void addScore(int p_85039_1_)
     {
         int var2 = this.getScore();
-        this.dataWatcher.updateObject(18, Integer.valueOf(var2 + p_85039_1_));
+        this.dataWatcher.updateObjectInt(18, var2 + p_85039_1_);
     }
 
     /**
@@ -2261,7 +2261,7 @@ public abstract class EntityPlayer extends EntityLivingBase implements ICommandS
             p_110149_1_ = 0.0F;
         }
 
-        this.getDataWatcher().updateObject(17, Float.valueOf(p_110149_1_));
+        this.getDataWatcher().updateObjectFloat(17, p_110149_1_);
     }
 
     public float getAbsorptionAmount()
@@ -4,6 +4,7 @@ import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.InventoryPlayer;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.MathHelper;
 
 import java.util.*;
@@ -27,6 +28,12 @@ public abstract class Container
     protected List<ICrafting> crafters = new ArrayList<>();
     private Set playerList = new HashSet();
 
+    /**
+     * the tag compound of the stack in each slot when it was last sent, and its modification stamp at that time
+     */
+    private NBTTagCompound[] sentTags = new NBTTagCompound[0];
+    private long[] sentTagStamps = new long[0];
+
     /**
      * the slot is assumed empty
      */
@@ -85,10 +92,11 @@ public abstract class Container
             ItemStack var2 = ((Slot)this.inventorySlots.get(var1)).getStack();
             ItemStack var3 = (ItemStack)this.inventoryItemStacks.get(var1);
 
-            if (!ItemStack.areItemStacksEqual(var3, var2))
+            if (!this.isSentStackCurrent(var1, var3, var2))
             {
                 var3 = var2 == null ? null : var2.copy();
                 this.inventoryItemStacks.set(var1, var3);
+                this.trackSentTag(var1, var2);
 
                 for (int var4 = 0; var4 < this.crafters.size(); ++var4)
                 {
@@ -98,6 +106,45 @@ public abstract class Container
         }
     }
 
+    /**
+     * Compares the last stack sent for a slot with its current stack. When the current stack still holds the tag
+     * compound it had when it was sent and that tag was not modified since, the tags are known to be equal and only
+     * the item, damage and size are compared.
+     */
+    private boolean isSentStackCurrent(int p_isSentStackCurrent_1_, ItemStack p_isSentStackCurrent_2_, ItemStack p_isSentStackCurrent_3_)
+    {
+        if (p_isSentStackCurrent_2_ != null && p_isSentStackCurrent_3_ != null && p_isSentStackCurrent_1_ < this.sentTags.length)
+        {
+            NBTTagCompound var4 = p_isSentStackCurrent_3_.getTagCompound();
+
+            if (var4 != null && var4 == this.sentTags[p_isSentStackCurrent_1_] && var4.getLastModification() == this.sentTagStamps[p_isSentStackCurrent_1_])
+            {
+                return p_isSentStackCurrent_2_.stackSize == p_isSentStackCurrent_3_.stackSize && p_isSentStackCurrent_2_.isItemEqual(p_isSentStackCurrent_3_);
+            }
+        }
+
+        return ItemStack.areItemStacksEqual(p_isSentStackCurrent_2_, p_isSentStackCurrent_3_);
+    }
+
+    private void trackSentTag(int p_trackSentTag_1_, ItemStack p_trackSentTag_2_)
+    {
+        NBTTagCompound var3 = p_trackSentTag_2_ == null ? null : p_trackSentTag_2_.getTagCompound();
+
+        if (p_trackSentTag_1_ >= this.sentTags.length)
+        {
+            if (var3 == null)
+            {
+                return;
+            }
+
+            this.sentTags = (NBTTagCompound[])Arrays.copyOf(this.sentTags, this.inventorySlots.size());
+            this.sentTagStamps = Arrays.copyOf(this.sentTagStamps, this.inventorySlots.size());
+        }
+
+        this.sentTags[p_trackSentTag_1_] = var3;
+        this.sentTagStamps[p_trackSentTag_1_] = var3 == null ? 0L : var3.getLastModification();
+    }
+
     /**
      * enchants the item on the table using the specified slot; also deducts XP from player
      */
@@ -18,6 +18,9 @@ public class CraftingManager
     /** A list of all the recipes added */
     private List recipes = new ArrayList();
 
+    /** Index over the recipe list, rebuilt on the next lookup after the list changes */
+    private volatile RecipeIndex recipeIndex;
+
     /**
      * Returns the static instance of this class
      */
@@ -238,6 +241,7 @@ public class CraftingManager
 
         ShapedRecipes var17 = new ShapedRecipes(var5, var6, var14, p_92103_1_);
         this.recipes.add(var17);
+        this.recipeIndex = null;
         return var17;
     }
 
@@ -271,6 +275,7 @@ public class CraftingManager
         }
 
         this.recipes.add(new ShapelessRecipes(p_77596_1_, var3));
+        this.recipeIndex = null;
     }
 
     public ItemStack findMatchingRecipe(InventoryCrafting p_82787_1_, World p_82787_2_)
@@ -317,18 +322,30 @@ public class CraftingManager
         }
         else
         {
-            for (var6 = 0; var6 < this.recipes.size(); ++var6)
-            {
-                IRecipe var12 = (IRecipe)this.recipes.get(var6);
+            IRecipe var12 = this.getRecipeIndex().findMatchingRecipe(p_82787_1_, p_82787_2_);
+            return var12 == null ? null : var12.getCraftingResult(p_82787_1_);
+        }
+    }
 
-                if (var12.matches(p_82787_1_, p_82787_2_))
-                {
-                    return var12.getCraftingResult(p_82787_1_);
-                }
-            }
+    private RecipeIndex getRecipeIndex()
+    {
+        RecipeIndex var1 = this.recipeIndex;
 
-            return null;
+        if (var1 == null || var1.size() != this.recipes.size())
+        {
+            var1 = new RecipeIndex(this.recipes);
+            this.recipeIndex = var1;
         }
+
+        return var1;
+    }
+
+    /**
+     * Rebuilds the recipe index on the next lookup; call after changing the recipe list in place
+     */
+    public void invalidateRecipeIndex()
+    {
+        this.recipeIndex = null;
     }
 
     /**
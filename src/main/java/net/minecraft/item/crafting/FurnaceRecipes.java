@@ -1,5 +1,7 @@
 package net.minecraft.item.crafting;
 
+import gnu.trove.map.hash.TLongFloatHashMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
 import net.minecraft.block.Block;
 import net.minecraft.init.Blocks;
 import net.minecraft.init.Items;
@@ -20,6 +22,12 @@ public class FurnaceRecipes
     private Map smeltingList = new HashMap();
     private Map experienceList = new HashMap();
 
+    /** Smelting results and experience keyed by item ID and metadata, rebuilt when the maps above change size */
+    private TLongObjectHashMap smeltingIndex = new TLongObjectHashMap();
+    private TLongFloatHashMap experienceIndex = new TLongFloatHashMap();
+    private int indexedSmeltingCount;
+    private int indexedExperienceCount;
+
     /**
      * Used to call methods addSmelting and getSmeltingResult.
      */
@@ -89,53 +97,79 @@ public class FurnaceRecipes
     {
         this.smeltingList.put(p_151394_1_, p_151394_2_);
         this.experienceList.put(p_151394_2_, p_151394_3_);
+        this.indexedSmeltingCount = -1;
+        this.indexedExperienceCount = -1;
     }
 
     public ItemStack getSmeltingResult(ItemStack p_151395_1_)
     {
-        Iterator var2 = this.smeltingList.entrySet().iterator();
-        Entry var3;
+        TLongObjectHashMap var2 = this.getSmeltingIndex();
+        ItemStack var3 = (ItemStack)var2.get(getIndexKey(p_151395_1_.getItem(), p_151395_1_.getItemDamage()));
+        return var3 != null ? var3 : (ItemStack)var2.get(getIndexKey(p_151395_1_.getItem(), 32767));
+    }
 
-        do
-        {
-            if (!var2.hasNext())
-            {
-                return null;
-            }
+    public Map getSmeltingList()
+    {
+        return this.smeltingList;
+    }
+
+    public float func_151398_b(ItemStack p_151398_1_)
+    {
+        TLongFloatHashMap var2 = this.getExperienceIndex();
+        long var3 = getIndexKey(p_151398_1_.getItem(), p_151398_1_.getItemDamage());
 
-            var3 = (Entry)var2.next();
+        if (!var2.containsKey(var3))
+        {
+            var3 = getIndexKey(p_151398_1_.getItem(), 32767);
         }
-        while (!this.func_151397_a(p_151395_1_, (ItemStack)var3.getKey()));
 
-        return (ItemStack)var3.getValue();
+        return var2.get(var3);
     }
 
-    private boolean func_151397_a(ItemStack p_151397_1_, ItemStack p_151397_2_)
+    private synchronized TLongObjectHashMap getSmeltingIndex()
     {
-        return p_151397_2_.getItem() == p_151397_1_.getItem() && (p_151397_2_.getItemDamage() == 32767 || p_151397_2_.getItemDamage() == p_151397_1_.getItemDamage());
-    }
+        if (this.indexedSmeltingCount != this.smeltingList.size())
+        {
+            TLongObjectHashMap var1 = new TLongObjectHashMap(this.smeltingList.size() * 2);
+            Iterator var2 = this.smeltingList.entrySet().iterator();
 
-    public Map getSmeltingList()
-    {
-        return this.smeltingList;
+            while (var2.hasNext())
+            {
+                Entry var3 = (Entry)var2.next();
+                ItemStack var4 = (ItemStack)var3.getKey();
+                var1.put(getIndexKey(var4.getItem(), var4.getItemDamage()), var3.getValue());
+            }
+
+            this.smeltingIndex = var1;
+            this.indexedSmeltingCount = this.smeltingList.size();
+        }
+
+        return this.smeltingIndex;
     }
 
-    public float func_151398_b(ItemStack p_151398_1_)
+    private synchronized TLongFloatHashMap getExperienceIndex()
     {
-        Iterator var2 = this.experienceList.entrySet().iterator();
-        Entry var3;
-
-        do
+        if (this.indexedExperienceCount != this.experienceList.size())
         {
-            if (!var2.hasNext())
+            TLongFloatHashMap var1 = new TLongFloatHashMap(this.experienceList.size() * 2);
+            Iterator var2 = this.experienceList.entrySet().iterator();
+
+            while (var2.hasNext())
             {
-                return 0.0F;
+                Entry var3 = (Entry)var2.next();
+                ItemStack var4 = (ItemStack)var3.getKey();
+                var1.put(getIndexKey(var4.getItem(), var4.getItemDamage()), ((Float)var3.getValue()).floatValue());
             }
 
-            var3 = (Entry)var2.next();
+            this.experienceIndex = var1;
+            this.indexedExperienceCount = this.experienceList.size();
         }
-        while (!this.func_151397_a(p_151398_1_, (ItemStack)var3.getKey()));
 
-        return ((Float)var3.getValue()).floatValue();
+        return this.experienceIndex;
+    }
+
+    private static long getIndexKey(Item p_getIndexKey_0_, int p_getIndexKey_1_)
+    {
+        return (long)Item.getIdFromItem(p_getIndexKey_0_) << 32 | (long)p_getIndexKey_1_ & 4294967295L;
     }
 }
@@ -0,0 +1,245 @@
+package net.minecraft.item.crafting;
+
+import gnu.trove.map.hash.TIntObjectHashMap;
+import net.minecraft.inventory.InventoryCrafting;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.world.World;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A snapshot of a recipe list that only offers each crafting grid the recipes that could match it. Shaped recipes are
+ * keyed by the items of their trimmed pattern, both ways round, and shapeless recipes by the sorted items they take;
+ * metadata is left to IRecipe.matches. Every other recipe is tried on every grid, as the plain list scan did.
+ */
+public class RecipeIndex
+{
+    private final List recipes;
+
+    /** Positions in the recipe list of the shaped and shapeless recipes, by grid signature */
+    private final TIntObjectHashMap shapedRecipes = new TIntObjectHashMap();
+    private final TIntObjectHashMap shapelessRecipes = new TIntObjectHashMap();
+
+    /** Positions of the recipes that can't be keyed, such as armor dyeing and fireworks */
+    private final int[] dynamicRecipes;
+
+    public RecipeIndex(List p_i1_1_)
+    {
+        this.recipes = new ArrayList(p_i1_1_);
+        int[] var2 = new int[this.recipes.size()];
+        int var3 = 0;
+
+        for (int var4 = 0; var4 < this.recipes.size(); ++var4)
+        {
+            IRecipe var5 = (IRecipe)this.recipes.get(var4);
+
+            if (var5.getClass() == ShapedRecipes.class)
+            {
+                ShapedRecipes var6 = (ShapedRecipes)var5;
+                int var7 = getShapedSignature(var6, false);
+                int var8 = getShapedSignature(var6, true);
+                add(this.shapedRecipes, var7, var4);
+
+                if (var8 != var7)
+                {
+                    add(this.shapedRecipes, var8, var4);
+                }
+            }
+            else if (var5.getClass() == ShapelessRecipes.class)
+            {
+                List var9 = ((ShapelessRecipes)var5).recipeItems;
+                int[] var10 = new int[var9.size()];
+
+                for (int var11 = 0; var11 < var10.length; ++var11)
+                {
+                    var10[var11] = Item.getIdFromItem(((ItemStack)var9.get(var11)).getItem());
+                }
+
+                add(this.shapelessRecipes, getShapelessSignature(var10, var10.length), var4);
+            }
+            else
+            {
+                var2[var3++] = var4;
+            }
+        }
+
+        this.dynamicRecipes = Arrays.copyOf(var2, var3);
+    }
+
+    /**
+     * Number of recipes in the list this index was built from
+     */
+    public int size()
+    {
+        return this.recipes.size();
+    }
+
+    /**
+     * Returns the first recipe, in list order, that matches the grid, or null
+     */
+    public IRecipe findMatchingRecipe(InventoryCrafting p_findMatchingRecipe_1_, World p_findMatchingRecipe_2_)
+    {
+        int var3 = 3;
+        int var4 = 3;
+        int var5 = -1;
+        int var6 = -1;
+        int[] var7 = new int[9];
+        int var8 = 0;
+
+        for (int var9 = 0; var9 < 3; ++var9)
+        {
+            for (int var10 = 0; var10 < 3; ++var10)
+            {
+                ItemStack var11 = p_findMatchingRecipe_1_.getStackInRowAndColumn(var10, var9);
+
+                if (var11 != null)
+                {
+                    var3 = Math.min(var3, var10);
+                    var4 = Math.min(var4, var9);
+                    var5 = Math.max(var5, var10);
+                    var6 = Math.max(var6, var9);
+                    var7[var8++] = Item.getIdFromItem(var11.getItem());
+                }
+            }
+        }
+
+        if (var8 == 0)
+        {
+            return this.findDynamicRecipe(p_findMatchingRecipe_1_, p_findMatchingRecipe_2_, Integer.MAX_VALUE);
+        }
+        else
+        {
+            int var12 = var5 - var3 + 1;
+            int var13 = var6 - var4 + 1;
+            int var14 = 31 * var12 + var13;
+
+            for (int var9 = 0; var9 < var13; ++var9)
+            {
+                for (int var10 = 0; var10 < var12; ++var10)
+                {
+                    ItemStack var11 = p_findMatchingRecipe_1_.getStackInRowAndColumn(var3 + var10, var4 + var9);
+                    var14 = 31 * var14 + (var11 == null ? -1 : Item.getIdFromItem(var11.getItem()));
+                }
+            }
+
+            int var15 = this.findCandidate((int[])this.shapedRecipes.get(var14), p_findMatchingRecipe_1_, p_findMatchingRecipe_2_, Integer.MAX_VALUE);
+            var15 = this.findCandidate((int[])this.shapelessRecipes.get(getShapelessSignature(var7, var8)), p_findMatchingRecipe_1_, p_findMatchingRecipe_2_, var15);
+            IRecipe var16 = this.findDynamicRecipe(p_findMatchingRecipe_1_, p_findMatchingRecipe_2_, var15);
+            return var16 != null ? var16 : (var15 == Integer.MAX_VALUE ? null : (IRecipe)this.recipes.get(var15));
+        }
+    }
+
+    /**
+     * Returns the position of the first of the candidates before the given position that matches, or that position
+     */
+    private int findCandidate(int[] p_findCandidate_1_, InventoryCrafting p_findCandidate_2_, World p_findCandidate_3_, int p_findCandidate_4_)
+    {
+        if (p_findCandidate_1_ != null)
+        {
+            for (int var5 = 0; var5 < p_findCandidate_1_.length && p_findCandidate_1_[var5] < p_findCandidate_4_; ++var5)
+            {
+                if (((IRecipe)this.recipes.get(p_findCandidate_1_[var5])).matches(p_findCandidate_2_, p_findCandidate_3_))
+                {
+                    return p_findCandidate_1_[var5];
+                }
+            }
+        }
+
+        return p_findCandidate_4_;
+    }
+
+    private IRecipe findDynamicRecipe(InventoryCrafting p_findDynamicRecipe_1_, World p_findDynamicRecipe_2_, int p_findDynamicRecipe_3_)
+    {
+        for (int var4 = 0; var4 < this.dynamicRecipes.length && this.dynamicRecipes[var4] < p_findDynamicRecipe_3_; ++var4)
+        {
+            IRecipe var5 = (IRecipe)this.recipes.get(this.dynamicRecipes[var4]);
+
+            if (var5.matches(p_findDynamicRecipe_1_, p_findDynamicRecipe_2_))
+            {
+                return var5;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Hashes the bounds and items of the non-empty part of a shaped recipe's pattern, optionally mirrored, the same way
+     * findMatchingRecipe hashes the non-empty part of the grid
+     */
+    private static int getShapedSignature(ShapedRecipes p_getShapedSignature_0_, boolean p_getShapedSignature_1_)
+    {
+        int var2 = p_getShapedSignature_0_.recipeWidth;
+        int var3 = p_getShapedSignature_0_.recipeHeight;
+        int var4 = var2;
+        int var5 = var3;
+        int var6 = -1;
+        int var7 = -1;
+
+        for (int var8 = 0; var8 < var3; ++var8)
+        {
+            for (int var9 = 0; var9 < var2; ++var9)
+            {
+                if (p_getShapedSignature_0_.recipeItems[var9 + var8 * var2] != null)
+                {
+                    var4 = Math.min(var4, var9);
+                    var5 = Math.min(var5, var8);
+                    var6 = Math.max(var6, var9);
+                    var7 = Math.max(var7, var8);
+                }
+            }
+        }
+
+        int var10 = var6 - var4 + 1;
+        int var11 = var7 - var5 + 1;
+        int var12 = 31 * var10 + var11;
+
+        for (int var8 = 0; var8 < var11; ++var8)
+        {
+            for (int var9 = 0; var9 < var10; ++var9)
+            {
+                int var13 = p_getShapedSignature_1_ ? var6 - var9 : var4 + var9;
+                ItemStack var14 = p_getShapedSignature_0_.recipeItems[var13 + (var5 + var8) * var2];
+                var12 = 31 * var12 + (var14 == null ? -1 : Item.getIdFromItem(var14.getItem()));
+            }
+        }
+
+        return var12;
+    }
+
+    /**
+     * Hashes the first count item IDs regardless of their order; sorts them in place
+     */
+    private static int getShapelessSignature(int[] p_getShapelessSignature_0_, int p_getShapelessSignature_1_)
+    {
+        Arrays.sort(p_getShapelessSignature_0_, 0, p_getShapelessSignature_1_);
+        int var2 = p_getShapelessSignature_1_;
+
+        for (int var3 = 0; var3 < p_getShapelessSignature_1_; ++var3)
+        {
+            var2 = 31 * var2 + p_getShapelessSignature_0_[var3];
+        }
+
+        return var2;
+    }
+
+    private static void add(TIntObjectHashMap p_add_0_, int p_add_1_, int p_add_2_)
+    {
+        int[] var3 = (int[])p_add_0_.get(p_add_1_);
+
+        if (var3 == null)
+        {
+            var3 = new int[] {p_add_2_};
+        }
+        else
+        {
+            var3 = Arrays.copyOf(var3, var3.length + 1);
+            var3[var3.length - 1] = p_add_2_;
+        }
+
+        p_add_0_.put(p_add_1_, var3);
+    }
+}
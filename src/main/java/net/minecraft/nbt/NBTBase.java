@@ -3,11 +3,30 @@ package net.minecraft.nbt;
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 public abstract class NBTBase
 {
     public static final String[] NBTTypes = new String[] {"END", "BYTE", "SHORT", "INT", "LONG", "FLOAT", "DOUBLE", "BYTE[]", "STRING", "LIST", "COMPOUND", "INT[]"};
 
+    /** Source of the modification stamps of compound and list tags, shared by all tags so a stamp is never reused */
+    private static final AtomicLong modificationStamps = new AtomicLong();
+
+    /** Stamp of the last change made to this tag or to a compound or list nested in it */
+    private long modificationStamp;
+
+    /**
+     * The compound or list this compound or list was first added to, which is stamped along with it. Weak, so a
+     * short-lived compound the tag was saved into does not outlive the save.
+     */
+    private WeakReference parent;
+
+    /** Weak references to the further compounds and lists this one was added to, null while it has at most one */
+    private List otherParents;
+
     /**
      * Write the actual data contents of the tag, implemented in NBT extension classes
      */
@@ -17,6 +36,156 @@ public abstract class NBTBase
 
     public abstract String toString();
 
+    /**
+     * Gives this tag and every compound or list it is nested in a new modification stamp. Called by compounds and
+     * lists whenever their contents change.
+     */
+    void markModified()
+    {
+        this.stamp(modificationStamps.incrementAndGet());
+    }
+
+    private void stamp(long p_stamp_1_)
+    {
+        // A tag reached twice through parents sharing an ancestor already carries the stamp
+        if (this.modificationStamp != p_stamp_1_)
+        {
+            this.modificationStamp = p_stamp_1_;
+
+            if (this.parent != null)
+            {
+                NBTBase var3 = (NBTBase)this.parent.get();
+
+                if (var3 != null)
+                {
+                    var3.stamp(p_stamp_1_);
+                }
+                else
+                {
+                    this.parent = this.popOtherParent();
+                }
+            }
+
+            if (this.otherParents != null)
+            {
+                for (int var4 = this.otherParents.size() - 1; var4 >= 0; --var4)
+                {
+                    NBTBase var5 = (NBTBase)((WeakReference)this.otherParents.get(var4)).get();
+
+                    if (var5 != null)
+                    {
+                        var5.stamp(p_stamp_1_);
+                    }
+                    else
+                    {
+                        this.otherParents.remove(var4);
+                    }
+                }
+
+                if (this.otherParents.isEmpty())
+                {
+                    this.otherParents = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes and returns the last reference in otherParents, or null if there is none
+     */
+    private WeakReference popOtherParent()
+    {
+        if (this.otherParents != null && !this.otherParents.isEmpty())
+        {
+            WeakReference var1 = (WeakReference)this.otherParents.remove(this.otherParents.size() - 1);
+
+            if (this.otherParents.isEmpty())
+            {
+                this.otherParents = null;
+            }
+
+            return var1;
+        }
+        else
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Records that the given tag was added to this compound or list, so its modifications stamp this tag as well.
+     * Primitive tags never change and are not tracked.
+     */
+    void adoptChild(NBTBase p_adoptChild_1_)
+    {
+        if (p_adoptChild_1_ instanceof NBTTagCompound || p_adoptChild_1_ instanceof NBTTagList)
+        {
+            if (p_adoptChild_1_.parent == null || p_adoptChild_1_.parent.get() == null)
+            {
+                p_adoptChild_1_.parent = new WeakReference(this);
+            }
+            else
+            {
+                if (p_adoptChild_1_.otherParents == null)
+                {
+                    p_adoptChild_1_.otherParents = new ArrayList(1);
+                }
+                else
+                {
+                    for (int var2 = p_adoptChild_1_.otherParents.size() - 1; var2 >= 0; --var2)
+                    {
+                        if (((WeakReference)p_adoptChild_1_.otherParents.get(var2)).get() == null)
+                        {
+                            p_adoptChild_1_.otherParents.remove(var2);
+                        }
+                    }
+                }
+
+                p_adoptChild_1_.otherParents.add(new WeakReference(this));
+            }
+        }
+    }
+
+    /**
+     * Records that the given tag, added through adoptChild, was removed from this compound or list
+     */
+    void releaseChild(NBTBase p_releaseChild_1_)
+    {
+        if (p_releaseChild_1_.parent != null && p_releaseChild_1_.parent.get() == this)
+        {
+            p_releaseChild_1_.parent = p_releaseChild_1_.popOtherParent();
+        }
+        else if (p_releaseChild_1_.otherParents != null)
+        {
+            List var2 = p_releaseChild_1_.otherParents;
+
+            for (int var3 = 0; var3 < var2.size(); ++var3)
+            {
+                // By identity, since equals compares the contents of tags
+                if (((WeakReference)var2.get(var3)).get() == this)
+                {
+                    var2.remove(var3);
+                    break;
+                }
+            }
+
+            if (var2.isEmpty())
+            {
+                p_releaseChild_1_.otherParents = null;
+            }
+        }
+    }
+
+    /**
+     * Returns the newest modification stamp of this tag and of every tag nested in it. Modifying a compound or list
+     * through its setters gives it and every compound or list holding it a new stamp, so an unchanged stamp means the
+     * tag still holds the same data. Primitive tags are never modified and return 0.
+     */
+    public long getLastModification()
+    {
+        return this.modificationStamp;
+    }
+
     /**
      * Gets the type byte for the tag.
      */
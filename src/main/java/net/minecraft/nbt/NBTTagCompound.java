@@ -49,16 +49,26 @@ public class NBTTagCompound extends NBTBase
         }
         else
         {
+            Iterator var4 = this.tagMap.values().iterator();
+
+            while (var4.hasNext())
+            {
+                this.releaseChild((NBTBase)var4.next());
+            }
+
             this.tagMap.clear();
-            byte var4;
+            byte var7;
 
-            while ((var4 = func_152447_a(p_152446_1_, p_152446_3_)) != 0)
+            while ((var7 = func_152447_a(p_152446_1_, p_152446_3_)) != 0)
             {
                 String var5 = func_152448_b(p_152446_1_, p_152446_3_);
                 p_152446_3_.func_152450_a((long)(16 * var5.length()));
-                NBTBase var6 = func_152449_a(var4, var5, p_152446_1_, p_152446_2_ + 1, p_152446_3_);
+                NBTBase var6 = func_152449_a(var7, var5, p_152446_1_, p_152446_2_ + 1, p_152446_3_);
                 this.tagMap.put(var5, var6);
+                this.adoptChild(var6);
             }
+
+            this.markModified();
         }
     }
 
@@ -80,7 +90,7 @@ public class NBTTagCompound extends NBTBase
      */
     public void setTag(String p_74782_1_, NBTBase p_74782_2_)
     {
-        this.tagMap.put(p_74782_1_, p_74782_2_);
+        this.putTag(p_74782_1_, p_74782_2_);
     }
 
     /**
@@ -88,7 +98,7 @@ public class NBTTagCompound extends NBTBase
      */
     public void setByte(String p_74774_1_, byte p_74774_2_)
     {
-        this.tagMap.put(p_74774_1_, new NBTTagByte(p_74774_2_));
+        this.putTag(p_74774_1_, new NBTTagByte(p_74774_2_));
     }
 
     /**
@@ -96,7 +106,7 @@ public class NBTTagCompound extends NBTBase
      */
     public void setShort(String p_74777_1_, short p_74777_2_)
     {
-        this.tagMap.put(p_74777_1_, new NBTTagShort(p_74777_2_));
+        this.putTag(p_74777_1_, new NBTTagShort(p_74777_2_));
     }
 
     /**
@@ -104,7 +114,7 @@ public class NBTTagCompound extends NBTBase
      */
     public void setInteger(String p_74768_1_, int p_74768_2_)
     {
-        this.tagMap.put(p_74768_1_, new NBTTagInt(p_74768_2_));
+        this.putTag(p_74768_1_, new NBTTagInt(p_74768_2_));
     }
 
     /**
@@ -112,7 +122,7 @@ public class NBTTagCompound extends NBTBase
      */
     public void setLong(String p_74772_1_, long p_74772_2_)
     {
-        this.tagMap.put(p_74772_1_, new NBTTagLong(p_74772_2_));
+        this.putTag(p_74772_1_, new NBTTagLong(p_74772_2_));
     }
 
     /**
@@ -120,7 +130,7 @@ public class NBTTagCompound extends NBTBase
      */
     public void setFloat(String p_74776_1_, float p_74776_2_)
     {
-        this.tagMap.put(p_74776_1_, new NBTTagFloat(p_74776_2_));
+        this.putTag(p_74776_1_, new NBTTagFloat(p_74776_2_));
     }
 
     /**
@@ -128,7 +138,7 @@ public class NBTTagCompound extends NBTBase
      */
     public void setDouble(String p_74780_1_, double p_74780_2_)
     {
-        this.tagMap.put(p_74780_1_, new NBTTagDouble(p_74780_2_));
+        this.putTag(p_74780_1_, new NBTTagDouble(p_74780_2_));
     }
 
     /**
@@ -136,7 +146,7 @@ public class NBTTagCompound extends NBTBase
      */
     public void setString(String p_74778_1_, String p_74778_2_)
     {
-        this.tagMap.put(p_74778_1_, new NBTTagString(p_74778_2_));
+        this.putTag(p_74778_1_, new NBTTagString(p_74778_2_));
     }
 
     /**
@@ -144,7 +154,7 @@ public class NBTTagCompound extends NBTBase
      */
     public void setByteArray(String p_74773_1_, byte[] p_74773_2_)
     {
-        this.tagMap.put(p_74773_1_, new NBTTagByteArray(p_74773_2_));
+        this.putTag(p_74773_1_, new NBTTagByteArray(p_74773_2_));
     }
 
     /**
@@ -152,7 +162,7 @@ public class NBTTagCompound extends NBTBase
      */
     public void setIntArray(String p_74783_1_, int[] p_74783_2_)
     {
-        this.tagMap.put(p_74783_1_, new NBTTagIntArray(p_74783_2_));
+        this.putTag(p_74783_1_, new NBTTagIntArray(p_74783_2_));
     }
 
     /**
@@ -379,7 +389,26 @@ public class NBTTagCompound extends NBTBase
      */
     public void removeTag(String p_82580_1_)
     {
-        this.tagMap.remove(p_82580_1_);
+        NBTBase var2 = (NBTBase)this.tagMap.remove(p_82580_1_);
+
+        if (var2 != null)
+        {
+            this.releaseChild(var2);
+            this.markModified();
+        }
+    }
+
+    private void putTag(String p_putTag_1_, NBTBase p_putTag_2_)
+    {
+        NBTBase var3 = (NBTBase)this.tagMap.put(p_putTag_1_, p_putTag_2_);
+
+        if (var3 != null)
+        {
+            this.releaseChild(var3);
+        }
+
+        this.adoptChild(p_putTag_2_);
+        this.markModified();
     }
 
     public String toString()
@@ -51,6 +51,12 @@ public class NBTTagList extends NBTBase
             p_152446_3_.func_152450_a(8L);
             this.tagType = p_152446_1_.readByte();
             int var4 = p_152446_1_.readInt();
+
+            for (int var5 = 0; var5 < this.tagList.size(); ++var5)
+            {
+                this.releaseChild((NBTBase)this.tagList.get(var5));
+            }
+
             this.tagList = new ArrayList();
 
             for (int var5 = 0; var5 < var4; ++var5)
@@ -58,7 +64,10 @@ public class NBTTagList extends NBTBase
                 NBTBase var6 = NBTBase.func_150284_a(this.tagType);
                 var6.func_152446_a(p_152446_1_, p_152446_2_ + 1, p_152446_3_);
                 this.tagList.add(var6);
+                this.adoptChild(var6);
             }
+
+            this.markModified();
         }
     }
 
@@ -101,6 +110,8 @@ public class NBTTagList extends NBTBase
         }
 
         this.tagList.add(p_74742_1_);
+        this.adoptChild(p_74742_1_);
+        this.markModified();
     }
 
     public void func_150304_a(int p_150304_1_, NBTBase p_150304_2_)
@@ -117,7 +128,9 @@ public class NBTTagList extends NBTBase
                 return;
             }
 
-            this.tagList.set(p_150304_1_, p_150304_2_);
+            this.releaseChild((NBTBase)this.tagList.set(p_150304_1_, p_150304_2_));
+            this.adoptChild(p_150304_2_);
+            this.markModified();
         }
         else
         {
@@ -130,7 +143,10 @@ public class NBTTagList extends NBTBase
      */
     public NBTBase removeTag(int p_74744_1_)
     {
-        return (NBTBase)this.tagList.remove(p_74744_1_);
+        NBTBase var2 = (NBTBase)this.tagList.remove(p_74744_1_);
+        this.releaseChild(var2);
+        this.markModified();
+        return var2;
     }
 
     /**
@@ -226,6 +242,7 @@ public class NBTTagList extends NBTBase
             NBTBase var3 = (NBTBase)var2.next();
             NBTBase var4 = var3.copy();
             var1.tagList.add(var4);
+            var1.adoptChild(var4);
         }
 
         return var1;
@@ -6,6 +6,7 @@ import com.google.common.collect.Iterables;
 import com.google.common.collect.Maps;
 import gnu.trove.map.TIntObjectMap;
 import gnu.trove.map.hash.TIntObjectHashMap;
+import gnu.trove.map.hash.TObjectIntHashMap;
 import net.minecraft.network.handshake.client.C00Handshake;
 import net.minecraft.network.login.client.C00PacketLoginStart;
 import net.minecraft.network.login.client.C01PacketEncryptionResponse;
@@ -150,6 +151,10 @@ public enum EnumConnectionState
     private final BiMap field_150769_h;
     private final BiMap field_150770_i;
 
+    /** IDs of the serverbound and clientbound packets by class, -1 for classes not registered */
+    private final TObjectIntHashMap<Class> serverboundIds = new TObjectIntHashMap<Class>(64, 0.5F, -1);
+    private final TObjectIntHashMap<Class> clientboundIds = new TObjectIntHashMap<Class>(64, 0.5F, -1);
+
     private EnumConnectionState(int p_i45152_3_)
     {
         this.field_150769_h = HashBiMap.create();
@@ -176,6 +181,7 @@ public enum EnumConnectionState
         else
         {
             this.field_150769_h.put(Integer.valueOf(p_150751_1_), p_150751_2_);
+            this.serverboundIds.put(p_150751_2_, p_150751_1_);
             return this;
         }
     }
@@ -199,6 +205,7 @@ public enum EnumConnectionState
         else
         {
             this.field_150770_i.put(Integer.valueOf(p_150756_1_), p_150756_2_);
+            this.clientboundIds.put(p_150756_2_, p_150756_1_);
             return this;
         }
     }
@@ -223,6 +230,14 @@ public enum EnumConnectionState
         return p_150754_1_ ? this.func_150753_a() : this.func_150755_b();
     }
 
+    /**
+     * Returns the IDs of the packets the given side may send, by packet class
+     */
+    public TObjectIntHashMap<Class> getSendableIds(boolean p_getSendableIds_1_)
+    {
+        return p_getSendableIds_1_ ? this.serverboundIds : this.clientboundIds;
+    }
+
     public int func_150759_c()
     {
         return this.field_150762_g;
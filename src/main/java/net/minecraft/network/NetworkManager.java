@@ -3,6 +3,7 @@ package net.minecraft.network;
 import com.google.common.collect.Queues;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.channel.*;
 import io.netty.channel.local.LocalChannel;
 import io.netty.channel.local.LocalServerChannel;
@@ -23,6 +24,7 @@ import javax.crypto.SecretKey;
 import java.net.InetAddress;
 import java.net.SocketAddress;
 import java.util.Queue;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class NetworkManager extends SimpleChannelInboundHandler
 {
@@ -33,9 +35,16 @@ public class NetworkManager extends SimpleChannelInboundHandler
     public static final AttributeKey attrKeyConnectionState = new AttributeKey("protocol");
     public static final AttributeKey attrKeyReceivable = new AttributeKey("receivable_packets");
     public static final AttributeKey attrKeySendable = new AttributeKey("sendable_packets");
+    public static final AttributeKey attrKeySendableIds = new AttributeKey("sendable_packet_ids");
     public static final NioEventLoopGroup eventLoops = new NioEventLoopGroup(0, (new ThreadFactoryBuilder()).setNameFormat("Netty Client IO #%d").setDaemon(true).build());
     public static final NetworkStatistics field_152462_h = new NetworkStatistics();
 
+    /**
+     * Test mode: memory connections encode and decode every packet like a TCP connection, to catch codec bugs that
+     * handing packet objects over would hide. Only read when a connection is opened.
+     */
+    public static boolean serializeLocalPackets;
+
     /**
      * Whether this NetworkManager deals with the client or server side of the connection
      */
@@ -49,6 +58,20 @@ public class NetworkManager extends SimpleChannelInboundHandler
     /** The queue for packets that require transmission */
     private final Queue outboundPacketsQueue = Queues.newConcurrentLinkedQueue();
 
+    /**
+     * Packets sent from outside the event loop, written to the channel as one batch with a single flush by
+     * flushOutboundPackets
+     */
+    private final Queue pendingWrites = Queues.newConcurrentLinkedQueue();
+    private final AtomicBoolean writeScheduled = new AtomicBoolean();
+    private final Runnable writeTask = new Runnable()
+    {
+        public void run()
+        {
+            NetworkManager.this.writePendingPackets();
+        }
+    };
+
     /** The active channel */
     private Channel channel;
 
@@ -88,6 +111,7 @@ public class NetworkManager extends SimpleChannelInboundHandler
         this.connectionState = (EnumConnectionState)this.channel.attr(attrKeyConnectionState).getAndSet(p_150723_1_);
         this.channel.attr(attrKeyReceivable).set(p_150723_1_.func_150757_a(this.isClientSide));
         this.channel.attr(attrKeySendable).set(p_150723_1_.func_150754_b(this.isClientSide));
+        this.channel.attr(attrKeySendableIds).set(p_150723_1_.getSendableIds(this.isClientSide));
         this.channel.config().setAutoRead(true);
         logger.debug("Enabled auto read");
     }
@@ -141,14 +165,30 @@ public class NetworkManager extends SimpleChannelInboundHandler
 
     /**
      * Will flush the outbound queue and dispatch the supplied Packet if the channel is ready, otherwise it adds the
-     * packet to the outbound queue and registers the GenericFutureListener to fire after transmission
+     * packet to the outbound queue and registers the GenericFutureListener to fire after transmission. Packets without
+     * listeners sent from outside the event loop are only written by the next flushOutboundPackets.
      */
     public void scheduleOutboundPacket(Packet p_150725_1_, GenericFutureListener ... p_150725_2_)
     {
         if (this.channel != null && this.channel.isOpen())
         {
             this.flushOutboundQueue();
-            this.dispatchPacket(p_150725_1_, p_150725_2_);
+
+            if (p_150725_2_.length == 0 && !this.channel.eventLoop().inEventLoop())
+            {
+                if (EnumConnectionState.func_150752_a(p_150725_1_) != this.channel.attr(attrKeyConnectionState).get())
+                {
+                    logger.debug("Disabled auto read");
+                    this.channel.config().setAutoRead(false);
+                }
+
+                this.pendingWrites.add(p_150725_1_);
+            }
+            else
+            {
+                this.flushOutboundPackets();
+                this.dispatchPacket(p_150725_1_, p_150725_2_);
+            }
         }
         else
         {
@@ -197,6 +237,50 @@ public class NetworkManager extends SimpleChannelInboundHandler
         }
     }
 
+    /**
+     * Writes the batched packets to the channel and flushes it once, on the event loop
+     */
+    public void flushOutboundPackets()
+    {
+        if (this.channel != null && !this.pendingWrites.isEmpty() && this.writeScheduled.compareAndSet(false, true))
+        {
+            if (this.channel.eventLoop().inEventLoop())
+            {
+                this.writePendingPackets();
+            }
+            else
+            {
+                this.channel.eventLoop().execute(this.writeTask);
+            }
+        }
+    }
+
+    private void writePendingPackets()
+    {
+        this.writeScheduled.set(false);
+        int var1 = 0;
+        Packet var2;
+
+        while ((var2 = (Packet)this.pendingWrites.poll()) != null)
+        {
+            EnumConnectionState var3 = EnumConnectionState.func_150752_a(var2);
+
+            if (var3 != this.channel.attr(attrKeyConnectionState).get())
+            {
+                this.setConnectionState(var3);
+            }
+
+            this.channel.write(var2, this.channel.voidPromise());
+            ++var1;
+        }
+
+        if (var1 > 0)
+        {
+            this.channel.flush();
+            field_152462_h.recordFlush(var1);
+        }
+    }
+
     /**
      * Will iterate through the outboundPacketQueue and dispatch all Packets
      */
@@ -241,7 +325,7 @@ public class NetworkManager extends SimpleChannelInboundHandler
             this.netHandler.onNetworkTick();
         }
 
-        this.channel.flush();
+        this.flushOutboundPackets();
     }
 
     /**
@@ -259,6 +343,7 @@ public class NetworkManager extends SimpleChannelInboundHandler
     {
         if (this.channel.isOpen())
         {
+            this.flushOutboundPackets();
             this.channel.close();
             this.terminationReason = p_150718_1_;
         }
@@ -302,6 +387,7 @@ public class NetworkManager extends SimpleChannelInboundHandler
                     ;
                 }
 
+                p_initChannel_1_.config().setAllocator(PooledByteBufAllocator.DEFAULT);
                 p_initChannel_1_.pipeline().addLast("timeout", new ReadTimeoutHandler(20)).addLast("splitter", new MessageDeserializer2()).addLast("decoder", new MessageDeserializer(NetworkManager.field_152462_h)).addLast("prepender", new MessageSerializer2()).addLast("encoder", new MessageSerializer(NetworkManager.field_152462_h)).addLast("packet_handler", var2);
             }
         })).channel(NioSocketChannel.class)).connect(p_150726_0_, p_150726_1_).syncUninterruptibly();
@@ -319,12 +405,25 @@ public class NetworkManager extends SimpleChannelInboundHandler
         {
             protected void initChannel(Channel p_initChannel_1_)
             {
+                NetworkManager.addLocalCodec(p_initChannel_1_);
                 p_initChannel_1_.pipeline().addLast("packet_handler", var1);
             }
         })).channel(LocalChannel.class)).connect(p_150722_0_).syncUninterruptibly();
         return var1;
     }
 
+    /**
+     * Adds the packet codec to a memory channel when serializeLocalPackets is set. Otherwise the channel hands packet
+     * objects straight to the other side, without encoding, compression or decoding.
+     */
+    public static void addLocalCodec(Channel p_addLocalCodec_0_)
+    {
+        if (serializeLocalPackets)
+        {
+            p_addLocalCodec_0_.pipeline().addLast("splitter", new MessageDeserializer2()).addLast("decoder", new MessageDeserializer(field_152462_h)).addLast("prepender", new MessageSerializer2()).addLast("encoder", new MessageSerializer(field_152462_h));
+        }
+    }
+
     /**
      * Adds an encoder+decoder to the channel pipeline. The parameter is the secret key used for encrypted communication
      */
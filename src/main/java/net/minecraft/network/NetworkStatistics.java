@@ -5,6 +5,7 @@ import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.Marker;
 import org.apache.logging.log4j.MarkerManager;
 
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
 public class NetworkStatistics
@@ -14,6 +15,12 @@ public class NetworkStatistics
     private NetworkStatistics.Tracker field_152480_c = new NetworkStatistics.Tracker();
     private NetworkStatistics.Tracker field_152481_d = new NetworkStatistics.Tracker();
 
+    /** Whether the batched writes of every NetworkManager are counted, off by default */
+    public volatile boolean trackFlushes;
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong flushedPacketCount = new AtomicLong();
+    private final AtomicLong largestFlush = new AtomicLong();
+
     public void func_152469_a(int p_152469_1_, long p_152469_2_)
     {
         this.field_152480_c.func_152488_a(p_152469_1_, p_152469_2_);
@@ -24,6 +31,40 @@ public class NetworkStatistics
         this.field_152481_d.func_152488_a(p_152464_1_, p_152464_2_);
     }
 
+    /**
+     * Counts one flush of a batch of the given number of packets, if trackFlushes is set
+     */
+    public void recordFlush(int p_recordFlush_1_)
+    {
+        if (this.trackFlushes)
+        {
+            this.flushCount.incrementAndGet();
+            this.flushedPacketCount.addAndGet((long)p_recordFlush_1_);
+            long var2;
+
+            do
+            {
+                var2 = this.largestFlush.get();
+            }
+            while ((long)p_recordFlush_1_ > var2 && !this.largestFlush.compareAndSet(var2, (long)p_recordFlush_1_));
+        }
+    }
+
+    public long getFlushCount()
+    {
+        return this.flushCount.get();
+    }
+
+    public long getFlushedPacketCount()
+    {
+        return this.flushedPacketCount.get();
+    }
+
+    public long getLargestFlush()
+    {
+        return this.largestFlush.get();
+    }
+
     public long func_152465_a()
     {
         return this.field_152480_c.func_152485_a();
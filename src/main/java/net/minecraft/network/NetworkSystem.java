@@ -2,6 +2,7 @@ package net.minecraft.network;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.channel.*;
 import io.netty.channel.local.LocalAddress;
 import io.netty.channel.local.LocalServerChannel;
@@ -83,6 +84,7 @@ public class NetworkSystem
                         ;
                     }
 
+                    p_initChannel_1_.config().setAllocator(PooledByteBufAllocator.DEFAULT);
                     p_initChannel_1_.pipeline().addLast("timeout", new ReadTimeoutHandler(30)).addLast("legacy_query", new PingResponseHandler(NetworkSystem.this)).addLast("splitter", new MessageDeserializer2()).addLast("decoder", new MessageDeserializer(NetworkManager.field_152462_h)).addLast("prepender", new MessageSerializer2()).addLast("encoder", new MessageSerializer(NetworkManager.field_152462_h));
                     NetworkManager var2 = new NetworkManager(false);
                     NetworkSystem.this.networkManagers.add(var2);
@@ -110,6 +112,7 @@ public class NetworkSystem
                     NetworkManager var2 = new NetworkManager(false);
                     var2.setNetHandler(new NetHandlerHandshakeMemory(NetworkSystem.this.mcServer, var2));
                     NetworkSystem.this.networkManagers.add(var2);
+                    NetworkManager.addLocalCodec(p_initChannel_1_);
                     p_initChannel_1_.pipeline().addLast("packet_handler", var2);
                 }
             }).group(eventLoops).localAddress(LocalAddress.ANY)).bind().syncUninterruptibly();
@@ -134,6 +137,22 @@ public class NetworkSystem
         }
     }
 
+    /**
+     * Writes the packets batched during this tick by every NetworkManager
+     */
+    public void flushOutboundPackets()
+    {
+        List var1 = this.networkManagers;
+
+        synchronized (this.networkManagers)
+        {
+            for (int var2 = 0; var2 < this.networkManagers.size(); ++var2)
+            {
+                ((NetworkManager)this.networkManagers.get(var2)).flushOutboundPackets();
+            }
+        }
+    }
+
     /**
      * Will try to process the packets received by each NetworkManager, gracefully manage processing failures and cleans
      * up dead connections
@@ -14,19 +14,25 @@ public class S1CPacketEntityMetadata extends Packet
     private int field_149379_a;
     private List field_149378_b;
 
+    /** The watcher of a packet built on this side, whose objects in watchedMask are streamed straight out of it */
+    private DataWatcher watcher;
+    private long watchedMask;
+
     public S1CPacketEntityMetadata() {}
 
     public S1CPacketEntityMetadata(int p_i45217_1_, DataWatcher p_i45217_2_, boolean p_i45217_3_)
     {
         this.field_149379_a = p_i45217_1_;
 
+        this.watcher = p_i45217_2_;
+
         if (p_i45217_3_)
         {
-            this.field_149378_b = p_i45217_2_.getAllWatched();
+            this.watchedMask = p_i45217_2_.getWatchedMask();
         }
         else
         {
-            this.field_149378_b = p_i45217_2_.getChanged();
+            this.watchedMask = p_i45217_2_.takeChangedMask();
         }
     }
 
@@ -45,7 +51,15 @@ public class S1CPacketEntityMetadata extends Packet
     public void writePacketData(PacketBuffer p_148840_1_) throws IOException
     {
         p_148840_1_.writeInt(this.field_149379_a);
-        DataWatcher.writeWatchedListToPacketBuffer(this.field_149378_b, p_148840_1_);
+
+        if (this.watcher != null)
+        {
+            this.watcher.writeWatchedObjects(this.watchedMask, p_148840_1_);
+        }
+        else
+        {
+            DataWatcher.writeWatchedListToPacketBuffer(this.field_149378_b, p_148840_1_);
+        }
     }
 
     public void processPacket(INetHandlerPlayClient p_148833_1_)
@@ -55,6 +69,11 @@ public class S1CPacketEntityMetadata extends Packet
 
     public List func_149376_c()
     {
+        if (this.field_149378_b == null && this.watcher != null)
+        {
+            this.field_149378_b = this.watcher.getWatchedObjects(this.watchedMask);
+        }
+
         return this.field_149378_b;
     }
 
@@ -33,21 +33,33 @@ public class S21PacketChunkData extends Packet
         this.field_149282_b = p_i45196_1_.zPosition;
         this.field_149279_g = p_i45196_2_;
         S21PacketChunkData.Extracted var4 = func_149269_a(p_i45196_1_, p_i45196_2_, p_i45196_3_);
-        Deflater var5 = new Deflater(-1);
         this.field_149280_d = var4.field_150281_c;
         this.field_149283_c = var4.field_150280_b;
+        this.field_149278_f = var4.field_150282_a;
+    }
 
-        try
-        {
-            this.field_149278_f = var4.field_150282_a;
-            var5.setInput(var4.field_150282_a, 0, var4.field_150282_a.length);
-            var5.finish();
-            this.field_149281_e = new byte[var4.field_150282_a.length];
-            this.field_149285_h = var5.deflate(this.field_149281_e);
-        }
-        finally
+    /**
+     * Deflates the chunk data for writePacketData. Deferred until the packet is first written, so packets handed
+     * through a memory connection are never compressed.
+     */
+    private synchronized void compressData()
+    {
+        if (this.field_149281_e == null)
         {
-            var5.end();
+            Deflater var1 = new Deflater(-1);
+
+            try
+            {
+                var1.setInput(this.field_149278_f, 0, this.field_149278_f.length);
+                var1.finish();
+                byte[] var2 = new byte[this.field_149278_f.length];
+                this.field_149285_h = var1.deflate(var2);
+                this.field_149281_e = var2;
+            }
+            finally
+            {
+                var1.end();
+            }
         }
     }
 
@@ -112,6 +124,7 @@ public class S21PacketChunkData extends Packet
      */
     public void writePacketData(PacketBuffer p_148840_1_) throws IOException
     {
+        this.compressData();
         p_148840_1_.writeInt(this.field_149284_a);
         p_148840_1_.writeInt(this.field_149282_b);
         p_148840_1_.writeBoolean(this.field_149279_g);
@@ -35,41 +35,57 @@ public class S26PacketMapChunkBulk extends Packet
         this.field_149262_d = new int[var2];
         this.field_149260_f = new byte[var2][];
         this.field_149267_h = !p_i45197_1_.isEmpty() && !((Chunk)p_i45197_1_.get(0)).worldObj.provider.hasNoSky;
-        int var3 = 0;
 
-        for (int var4 = 0; var4 < var2; ++var4)
+        for (int var3 = 0; var3 < var2; ++var3)
         {
-            Chunk var5 = (Chunk)p_i45197_1_.get(var4);
-            S21PacketChunkData.Extracted var6 = S21PacketChunkData.func_149269_a(var5, true, 65535);
+            Chunk var4 = (Chunk)p_i45197_1_.get(var3);
+            S21PacketChunkData.Extracted var5 = S21PacketChunkData.func_149269_a(var4, true, 65535);
+            this.field_149266_a[var3] = var4.xPosition;
+            this.field_149264_b[var3] = var4.zPosition;
+            this.field_149265_c[var3] = var5.field_150280_b;
+            this.field_149262_d[var3] = var5.field_150281_c;
+            this.field_149260_f[var3] = var5.field_150282_a;
+        }
+    }
+
+    /**
+     * Deflates the chunk data for writePacketData. Deferred until the packet is first written, so packets handed
+     * through a memory connection are never compressed.
+     */
+    private synchronized void compressData()
+    {
+        if (this.field_149263_e == null)
+        {
+            int var1 = 0;
 
-            if (field_149268_i.length < var3 + var6.field_150282_a.length)
+            for (int var2 = 0; var2 < this.field_149260_f.length; ++var2)
             {
-                byte[] var7 = new byte[var3 + var6.field_150282_a.length];
-                System.arraycopy(field_149268_i, 0, var7, 0, field_149268_i.length);
-                field_149268_i = var7;
+                var1 += this.field_149260_f[var2].length;
             }
 
-            System.arraycopy(var6.field_150282_a, 0, field_149268_i, var3, var6.field_150282_a.length);
-            var3 += var6.field_150282_a.length;
-            this.field_149266_a[var4] = var5.xPosition;
-            this.field_149264_b[var4] = var5.zPosition;
-            this.field_149265_c[var4] = var6.field_150280_b;
-            this.field_149262_d[var4] = var6.field_150281_c;
-            this.field_149260_f[var4] = var6.field_150282_a;
-        }
+            byte[] var7 = new byte[var1];
+            int var3 = 0;
+
+            for (int var4 = 0; var4 < this.field_149260_f.length; ++var4)
+            {
+                System.arraycopy(this.field_149260_f[var4], 0, var7, var3, this.field_149260_f[var4].length);
+                var3 += this.field_149260_f[var4].length;
+            }
 
-        Deflater var11 = new Deflater(-1);
+            Deflater var8 = new Deflater(-1);
 
-        try
-        {
-            var11.setInput(field_149268_i, 0, var3);
-            var11.finish();
-            this.field_149263_e = new byte[var3];
-            this.field_149261_g = var11.deflate(this.field_149263_e);
-        }
-        finally
-        {
-            var11.end();
+            try
+            {
+                var8.setInput(var7, 0, var1);
+                var8.finish();
+                byte[] var5 = new byte[var1];
+                this.field_149261_g = var8.deflate(var5);
+                this.field_149263_e = var5;
+            }
+            finally
+            {
+                var8.end();
+            }
         }
     }
 
@@ -152,6 +168,7 @@ public class S26PacketMapChunkBulk extends Packet
      */
     public void writePacketData(PacketBuffer p_148840_1_) throws IOException
     {
+        this.compressData();
         p_148840_1_.writeShort(this.field_149266_a.length);
         p_148840_1_.writeInt(this.field_149261_g);
         p_148840_1_.writeBoolean(this.field_149267_h);
@@ -31,8 +31,12 @@ public class Profiler
     private long startUpdateChunksNano;
     public long timeUpdateChunksNano;
 
-    public Profiler()
+    /** Always-on recorder of the sections of the thread using this profiler */
+    public final TraceRecorder traceRecorder;
+
+    public Profiler(String p_i1_1_)
     {
+        this.traceRecorder = new TraceRecorder(p_i1_1_);
         this.profilerLocalEnabled = this.profilerGlobalEnabled;
         this.startTickNano = 0L;
         this.timeTickNano = 0L;
@@ -56,6 +60,8 @@ public class Profiler
      */
     public void startSection(String par1Str)
     {
+        this.traceRecorder.startSection(par1Str);
+
         if (Config.getGameSettings().showDebugInfo)
         {
             if (this.startTickNano == 0L && par1Str.equals("tick"))
@@ -102,6 +108,8 @@ public class Profiler
      */
     public void endSection()
     {
+        this.traceRecorder.endSection();
+
         if (this.profilerLocalEnabled)
         {
             if (this.profilingEnabled)
@@ -130,6 +138,19 @@ public class Profiler
         }
     }
 
+    /**
+     * Adds time measured outside of startSection/endSection to a child of the current section
+     */
+    public void addSectionTime(String p_addSectionTime_1_, long p_addSectionTime_2_)
+    {
+        if (this.profilerLocalEnabled && this.profilingEnabled)
+        {
+            String var4 = this.profilingSection.length() > 0 ? this.profilingSection + "." + p_addSectionTime_1_ : p_addSectionTime_1_;
+            Long var5 = (Long)this.profilingMap.get(var4);
+            this.profilingMap.put(var4, Long.valueOf(var5 == null ? p_addSectionTime_2_ : var5.longValue() + p_addSectionTime_2_));
+        }
+    }
+
     /**
      * Get profiling data
      */
@@ -227,6 +248,11 @@ public class Profiler
             this.endSection();
             this.startSection(par1Str);
         }
+        else
+        {
+            this.traceRecorder.endSection();
+            this.traceRecorder.startSection(par1Str);
+        }
     }
 
     public String getNameOfLastSection()
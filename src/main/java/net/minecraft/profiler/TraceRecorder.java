@@ -0,0 +1,318 @@
+package net.minecraft.profiler;
+
+import com.google.common.base.Charsets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import gnu.trove.map.hash.TObjectIntHashMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.*;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Always-on recorder of the profiler sections of one thread. Sections are interned to integer IDs and every start and
+ * end is written to a preallocated ring buffer, so recording allocates nothing. When a frame (or tick) takes longer than
+ * the spike threshold, the last frames still in the buffer are saved as a Chrome trace (chrome://tracing) JSON file.
+ */
+public class TraceRecorder
+{
+    private static final Logger logger = LogManager.getLogger();
+
+    /** Number of events kept in the ring buffer, a power of two */
+    private static final int CAPACITY = 1 << 17;
+
+    /** Number of past frames a snapshot reaches back to, as far as the ring buffer still holds them */
+    private static final int FRAMES = 128;
+
+    /** Minimum time between two snapshots of the same recorder */
+    private static final long SNAPSHOT_COOLDOWN = 60000000000L;
+
+    /** Marks an end event in eventSections */
+    private static final int END = -1;
+
+    /** Names of the interned sections of every recorder, indexed by ID */
+    private static final List<String> sectionNames = new ArrayList<String>();
+    private static final Map<String, Integer> sectionIds = new HashMap<String, Integer>();
+    private static ExecutorService snapshotWriter;
+    private final String threadName;
+
+    /** This recorder's cache of interned IDs, which only its own thread touches */
+    private final TObjectIntHashMap<String> localSectionIds = new TObjectIntHashMap<String>(64, 0.5F, -1);
+    private final long[] eventTimes = new long[CAPACITY];
+    private final int[] eventSections = new int[CAPACITY];
+    private long eventCount;
+
+    /** Index of the first event of each of the last frames */
+    private final long[] frameStartEvents = new long[FRAMES];
+    private final long[] frameStartTimes = new long[FRAMES];
+    private long frameCount;
+
+    /** The thread recording into this recorder, set by the first event; events of other threads are ignored */
+    private Thread ownerThread;
+    private long spikeThreshold = 200000000L;
+    private long lastSnapshotTime;
+    private boolean snapshotTaken;
+    private File outputDirectory = new File("traces");
+    public boolean enabled = true;
+
+    public TraceRecorder(String p_i1_1_)
+    {
+        this.threadName = p_i1_1_;
+    }
+
+    public void setOutputDirectory(File p_setOutputDirectory_1_)
+    {
+        this.outputDirectory = p_setOutputDirectory_1_;
+    }
+
+    /**
+     * Sets the frame duration, in milliseconds, above which a snapshot is saved
+     */
+    public void setSpikeThreshold(int p_setSpikeThreshold_1_)
+    {
+        this.spikeThreshold = (long)p_setSpikeThreshold_1_ * 1000000L;
+    }
+
+    public void startSection(String p_startSection_1_)
+    {
+        if (this.enabled && this.isOwnerThread())
+        {
+            int var2 = this.localSectionIds.get(p_startSection_1_);
+
+            if (var2 < 0)
+            {
+                var2 = internSection(p_startSection_1_);
+                this.localSectionIds.put(p_startSection_1_, var2);
+            }
+
+            this.record(var2, System.nanoTime());
+        }
+    }
+
+    public void endSection()
+    {
+        if (this.enabled && this.isOwnerThread())
+        {
+            this.record(END, System.nanoTime());
+        }
+    }
+
+    /**
+     * Marks the start of a frame, or of a tick on the server
+     */
+    public void startFrame()
+    {
+        if (this.enabled && this.isOwnerThread())
+        {
+            int var1 = (int)(this.frameCount % (long)FRAMES);
+            this.frameStartEvents[var1] = this.eventCount;
+            this.frameStartTimes[var1] = System.nanoTime();
+            ++this.frameCount;
+        }
+    }
+
+    /**
+     * Marks the end of the current frame and saves a snapshot if it took longer than the spike threshold
+     */
+    public void endFrame()
+    {
+        if (this.enabled && this.frameCount > 0L && this.isOwnerThread())
+        {
+            long var1 = System.nanoTime();
+            long var3 = var1 - this.frameStartTimes[(int)((this.frameCount - 1L) % (long)FRAMES)];
+
+            if (var3 >= this.spikeThreshold && (!this.snapshotTaken || var1 - this.lastSnapshotTime >= SNAPSHOT_COOLDOWN))
+            {
+                this.snapshotTaken = true;
+                this.lastSnapshotTime = var1;
+                this.saveSnapshot(var3);
+            }
+        }
+    }
+
+    private boolean isOwnerThread()
+    {
+        Thread var1 = Thread.currentThread();
+
+        if (this.ownerThread == null)
+        {
+            this.ownerThread = var1;
+        }
+
+        return this.ownerThread == var1;
+    }
+
+    private void record(int p_record_1_, long p_record_2_)
+    {
+        int var4 = (int)this.eventCount & CAPACITY - 1;
+        this.eventSections[var4] = p_record_1_;
+        this.eventTimes[var4] = p_record_2_;
+        ++this.eventCount;
+    }
+
+    /**
+     * Copies the events of the oldest frames still fully held by the ring buffer up to now, and writes them on the
+     * snapshot thread.
+     */
+    private void saveSnapshot(long p_saveSnapshot_1_)
+    {
+        long var3 = this.eventCount;
+        long var5 = var3;
+        int var7 = (int)Math.min(this.frameCount, (long)FRAMES);
+
+        for (int var8 = 1; var8 <= var7; ++var8)
+        {
+            long var9 = this.frameStartEvents[(int)((this.frameCount - (long)var8) % (long)FRAMES)];
+
+            if (var3 - var9 > (long)CAPACITY)
+            {
+                break;
+            }
+
+            var5 = var9;
+        }
+
+        int var15 = (int)(var3 - var5);
+        final long[] var10 = new long[var15];
+        final int[] var11 = new int[var15];
+
+        for (int var12 = 0; var12 < var15; ++var12)
+        {
+            int var13 = (int)(var5 + (long)var12) & CAPACITY - 1;
+            var10[var12] = this.eventTimes[var13];
+            var11[var12] = this.eventSections[var13];
+        }
+
+        final File var16 = new File(this.outputDirectory, this.threadName.replace(' ', '-').toLowerCase() + "-" + (new SimpleDateFormat("yyyy-MM-dd_HH.mm.ss")).format(new Date()) + ".json");
+        final long var17 = p_saveSnapshot_1_ / 1000000L;
+        getSnapshotWriter().execute(new Runnable()
+        {
+            public void run()
+            {
+                try
+                {
+                    TraceRecorder.this.writeTrace(var16, var10, var11, var17);
+                    TraceRecorder.logger.info("Saved profiler trace of a " + var17 + " ms spike to " + var16.getAbsolutePath());
+                }
+                catch (IOException var2)
+                {
+                    TraceRecorder.logger.warn("Couldn\'t save profiler trace to " + var16.getAbsolutePath(), var2);
+                }
+            }
+        });
+    }
+
+    private void writeTrace(File p_writeTrace_1_, long[] p_writeTrace_2_, int[] p_writeTrace_3_, long p_writeTrace_4_) throws IOException
+    {
+        p_writeTrace_1_.getParentFile().mkdirs();
+        BufferedWriter var6 = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(p_writeTrace_1_), Charsets.UTF_8));
+
+        try
+        {
+            var6.write("{\"displayTimeUnit\":\"ms\",\"otherData\":{\"thread\":\"" + escape(this.threadName) + "\",\"spikeMillis\":" + p_writeTrace_4_ + "},\"traceEvents\":[\n");
+            var6.write("{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":1,\"args\":{\"name\":\"" + escape(this.threadName) + "\"}}");
+            long var7 = p_writeTrace_2_.length > 0 ? p_writeTrace_2_[0] : 0L;
+            long var9 = var7;
+            int var11 = 0;
+
+            for (int var12 = 0; var12 < p_writeTrace_2_.length; ++var12)
+            {
+                var9 = p_writeTrace_2_[var12];
+
+                if (p_writeTrace_3_[var12] == END)
+                {
+                    if (var11 == 0)
+                    {
+                        continue;
+                    }
+
+                    --var11;
+                    var6.write(",\n{\"ph\":\"E\",\"pid\":1,\"tid\":1,\"ts\":" + formatMicros(var9 - var7) + "}");
+                }
+                else
+                {
+                    ++var11;
+                    var6.write(",\n{\"name\":\"" + escape(getSectionName(p_writeTrace_3_[var12])) + "\",\"ph\":\"B\",\"pid\":1,\"tid\":1,\"ts\":" + formatMicros(var9 - var7) + "}");
+                }
+            }
+
+            while (var11-- > 0)
+            {
+                var6.write(",\n{\"ph\":\"E\",\"pid\":1,\"tid\":1,\"ts\":" + formatMicros(var9 - var7) + "}");
+            }
+
+            var6.write("\n]}\n");
+        }
+        finally
+        {
+            var6.close();
+        }
+    }
+
+    private static synchronized int internSection(String p_internSection_0_)
+    {
+        Integer var1 = (Integer)sectionIds.get(p_internSection_0_);
+
+        if (var1 == null)
+        {
+            var1 = Integer.valueOf(sectionNames.size());
+            sectionNames.add(p_internSection_0_);
+            sectionIds.put(p_internSection_0_, var1);
+        }
+
+        return var1.intValue();
+    }
+
+    private static synchronized String getSectionName(int p_getSectionName_0_)
+    {
+        return (String)sectionNames.get(p_getSectionName_0_);
+    }
+
+    private static synchronized ExecutorService getSnapshotWriter()
+    {
+        if (snapshotWriter == null)
+        {
+            snapshotWriter = Executors.newSingleThreadExecutor((new ThreadFactoryBuilder()).setNameFormat("Profiler Trace Writer").setDaemon(true).build());
+        }
+
+        return snapshotWriter;
+    }
+
+    private static String formatMicros(long p_formatMicros_0_)
+    {
+        long var2 = p_formatMicros_0_ % 1000L;
+        return p_formatMicros_0_ / 1000L + (var2 < 10L ? ".00" : (var2 < 100L ? ".0" : ".")) + var2;
+    }
+
+    private static String escape(String p_escape_0_)
+    {
+        StringBuilder var1 = new StringBuilder(p_escape_0_.length());
+
+        for (int var2 = 0; var2 < p_escape_0_.length(); ++var2)
+        {
+            char var3 = p_escape_0_.charAt(var2);
+
+            if (var3 == 34 || var3 == 92)
+            {
+                var1.append('\\').append(var3);
+            }
+            else if (var3 < 32)
+            {
+                var1.append(String.format("\\u%04x", new Object[] {Integer.valueOf(var3)}));
+            }
+            else
+            {
+                var1.append(var3);
+            }
+        }
+
+        return var1.toString();
+    }
+}
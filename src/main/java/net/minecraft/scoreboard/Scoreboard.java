@@ -16,6 +16,9 @@ public class Scoreboard
     /** Map of usernames to ScorePlayerTeam objects. */
     private final Map teamMemberships = new HashMap();
 
+    /** Bumped on every change to the objectives, scores, display slots or teams */
+    private int revision;
+
     /**
      * Returns a ScoreObjective for the objective name
      */
@@ -72,6 +75,7 @@ public class Scoreboard
         {
             var4 = new Score(this, p_96529_2_, p_96529_1_);
             ((Map)var3).put(p_96529_2_, var4);
+            ++this.revision;
         }
 
         return var4;
@@ -177,6 +181,7 @@ public class Scoreboard
     public void func_96530_a(int p_96530_1_, ScoreObjective p_96530_2_)
     {
         this.field_96541_d[p_96530_1_] = p_96530_2_;
+        ++this.revision;
     }
 
     public ScoreObjective func_96539_a(int p_96539_1_)
@@ -247,6 +252,7 @@ public class Scoreboard
 
             this.teamMemberships.put(p_151392_1_, var3);
             var3.getMembershipCollection().add(p_151392_1_);
+            ++this.revision;
             return true;
         }
     }
@@ -280,6 +286,7 @@ public class Scoreboard
         {
             this.teamMemberships.remove(p_96512_1_);
             p_96512_2_.getMembershipCollection().remove(p_96512_1_);
+            ++this.revision;
         }
     }
 
@@ -307,21 +314,53 @@ public class Scoreboard
         return (ScorePlayerTeam)this.teamMemberships.get(p_96509_1_);
     }
 
-    public void func_96522_a(ScoreObjective p_96522_1_) {}
+    public void func_96522_a(ScoreObjective p_96522_1_)
+    {
+        ++this.revision;
+    }
 
-    public void func_96532_b(ScoreObjective p_96532_1_) {}
+    public void func_96532_b(ScoreObjective p_96532_1_)
+    {
+        ++this.revision;
+    }
 
-    public void func_96533_c(ScoreObjective p_96533_1_) {}
+    public void func_96533_c(ScoreObjective p_96533_1_)
+    {
+        ++this.revision;
+    }
 
-    public void func_96536_a(Score p_96536_1_) {}
+    public void func_96536_a(Score p_96536_1_)
+    {
+        ++this.revision;
+    }
+
+    public void func_96516_a(String p_96516_1_)
+    {
+        ++this.revision;
+    }
 
-    public void func_96516_a(String p_96516_1_) {}
+    public void func_96523_a(ScorePlayerTeam p_96523_1_)
+    {
+        ++this.revision;
+    }
 
-    public void func_96523_a(ScorePlayerTeam p_96523_1_) {}
+    public void func_96538_b(ScorePlayerTeam p_96538_1_)
+    {
+        ++this.revision;
+    }
 
-    public void func_96538_b(ScorePlayerTeam p_96538_1_) {}
+    public void func_96513_c(ScorePlayerTeam p_96513_1_)
+    {
+        ++this.revision;
+    }
 
-    public void func_96513_c(ScorePlayerTeam p_96513_1_) {}
+    /**
+     * Returns a counter that changes whenever anything shown by the scoreboard does
+     */
+    public int getRevision()
+    {
+        return this.revision;
+    }
 
     /**
      * Returns 'list' for 0, 'sidebar' for 1, 'belowName for 2, otherwise null.
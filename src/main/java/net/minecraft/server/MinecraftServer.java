@@ -66,7 +66,7 @@ public abstract class MinecraftServer implements ICommandSender, Runnable, IPlay
      */
     private final List tickables = new ArrayList();
     private final ICommandManager commandManager;
-    public final Profiler theProfiler = new Profiler();
+    public final Profiler theProfiler = new Profiler("Server thread");
     private final NetworkSystem field_147144_o;
     private final ServerStatusResponse field_147147_p = new ServerStatusResponse();
     private final Random field_147146_q = new Random();
@@ -291,22 +291,35 @@ public abstract class MinecraftServer implements ICommandSender, Runnable, IPlay
         WorldServer var7 = this.worldServers[var6];
         ChunkCoordinates var8 = var7.getSpawnPoint();
         long var9 = getSystemTimeMillis();
+        int[] var15 = new int[625 * 2];
+        int var16 = 0;
 
-        for (int var11 = -192; var11 <= 192 && this.isServerRunning(); var11 += 16)
+        for (int var11 = -192; var11 <= 192; var11 += 16)
         {
-            for (int var12 = -192; var12 <= 192 && this.isServerRunning(); var12 += 16)
+            for (int var12 = -192; var12 <= 192; var12 += 16)
             {
-                long var13 = getSystemTimeMillis();
+                var15[var16++] = var8.posX + var11 >> 4;
+                var15[var16++] = var8.posZ + var12 >> 4;
+            }
+        }
 
-                if (var13 - var9 > 1000L)
-                {
-                    this.outputPercentRemaining("Preparing spawn area", var5 * 100 / 625);
-                    var9 = var13;
-                }
+        var16 = 0;
 
-                ++var5;
-                var7.theChunkProviderServer.loadChunk(var8.posX + var11 >> 4, var8.posZ + var12 >> 4);
+        for (int var17 = 0; var17 < 625 && this.isServerRunning(); ++var17)
+        {
+            long var13 = getSystemTimeMillis();
+
+            if (var13 - var9 > 1000L)
+            {
+                this.outputPercentRemaining("Preparing spawn area", var5 * 100 / 625);
+                var9 = var13;
             }
+
+            // Keep the terrain workers busy with the chunks coming next
+            var16 = var7.theChunkProviderServer.prefetchChunks(var15, Math.max(var16, var17), 625);
+
+            ++var5;
+            var7.theChunkProviderServer.loadChunk(var15[var17 * 2], var15[var17 * 2 + 1]);
         }
 
         this.clearCurrentTask();
@@ -439,6 +452,7 @@ public abstract class MinecraftServer implements ICommandSender, Runnable, IPlay
         {
             if (this.startServer())
             {
+                this.theProfiler.traceRecorder.setOutputDirectory(this.getFile("traces"));
                 long var1 = getSystemTimeMillis();
                 long var50 = 0L;
                 this.field_147147_p.func_151315_a(new ChatComponentText(this.motd));
@@ -592,6 +606,7 @@ public abstract class MinecraftServer implements ICommandSender, Runnable, IPlay
             this.theProfiler.clearProfiling();
         }
 
+        this.theProfiler.traceRecorder.startFrame();
         this.theProfiler.startSection("root");
         this.updateTimeLightAndEntities();
 
@@ -636,6 +651,7 @@ public abstract class MinecraftServer implements ICommandSender, Runnable, IPlay
 
         this.theProfiler.endSection();
         this.theProfiler.endSection();
+        this.theProfiler.traceRecorder.endFrame();
     }
 
     public void updateTimeLightAndEntities()
@@ -707,6 +723,8 @@ public abstract class MinecraftServer implements ICommandSender, Runnable, IPlay
             ((IUpdatePlayerListBox)this.tickables.get(var1)).update();
         }
 
+        this.theProfiler.endStartSection("flushConnection");
+        this.func_147137_ag().flushOutboundPackets();
         this.theProfiler.endSection();
     }
 
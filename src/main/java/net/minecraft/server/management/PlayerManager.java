@@ -24,6 +24,9 @@ import java.util.List;
 public class PlayerManager
 {
     private static final Logger field_152627_a = LogManager.getLogger();
+
+    /** How many lazily loaded chunks at the head of the queue are handed to the terrain workers each tick */
+    private static final int QUEUED_PREFETCH_SCAN = 64;
     private final WorldServer theWorldServer;
 
     /** players in the current instance */
@@ -109,6 +112,8 @@ public class PlayerManager
 
         if (this.chunkCoordsNotLoaded.size() > 0)
         {
+            this.prefetchQueuedChunks();
+
             for (int var22 = 0; var22 < this.players.size(); ++var22)
             {
                 EntityPlayerMP player = (EntityPlayerMP)this.players.get(var22);
@@ -169,6 +174,24 @@ public class PlayerManager
         }
     }
 
+    /**
+     * Lets the terrain workers build queued chunks ahead of the single chunk loaded from the queue each tick
+     */
+    private void prefetchQueuedChunks()
+    {
+        int var1 = Math.min(this.chunkCoordsNotLoaded.size(), QUEUED_PREFETCH_SCAN);
+
+        for (int var2 = 0; var2 < var1; ++var2)
+        {
+            ChunkCoordIntPair var3 = (ChunkCoordIntPair)this.chunkCoordsNotLoaded.get(var2);
+
+            if (var3 != null && !this.theWorldServer.theChunkProviderServer.prefetchChunk(var3.chunkXPos, var3.chunkZPos))
+            {
+                break;
+            }
+        }
+    }
+
     public boolean func_152621_a(int p_152621_1_, int p_152621_2_)
     {
         long var3 = (long)p_152621_1_ + 2147483647L | (long)p_152621_2_ + 2147483647L << 32;
@@ -217,18 +240,32 @@ public class PlayerManager
         par1EntityPlayerMP.managedPosX = par1EntityPlayerMP.posX;
         par1EntityPlayerMP.managedPosZ = par1EntityPlayerMP.posZ;
         ArrayList spawnList = new ArrayList(1);
+        int var6 = (this.playerViewRadius * 2 + 1) * (this.playerViewRadius * 2 + 1);
+        int[] var7 = new int[var6 * 2];
+        int var8 = 0;
 
         for (int var4 = var2 - this.playerViewRadius; var4 <= var2 + this.playerViewRadius; ++var4)
         {
             for (int var5 = var3 - this.playerViewRadius; var5 <= var3 + this.playerViewRadius; ++var5)
             {
-                this.getOrCreateChunkWatcher(var4, var5, true).addPlayer(par1EntityPlayerMP);
+                var7[var8++] = var4;
+                var7[var8++] = var5;
+            }
+        }
 
-                if (var4 >= var2 - 1 && var4 <= var2 + 1 && var5 >= var3 - 1 && var5 <= var3 + 1)
-                {
-                    Chunk spawnChunk = this.getWorldServer().theChunkProviderServer.loadChunk(var4, var5);
-                    spawnList.add(spawnChunk);
-                }
+        var8 = 0;
+
+        for (int var9 = 0; var9 < var6; ++var9)
+        {
+            var8 = this.theWorldServer.theChunkProviderServer.prefetchChunks(var7, Math.max(var8, var9), var6);
+            int var4 = var7[var9 * 2];
+            int var5 = var7[var9 * 2 + 1];
+            this.getOrCreateChunkWatcher(var4, var5, true).addPlayer(par1EntityPlayerMP);
+
+            if (var4 >= var2 - 1 && var4 <= var2 + 1 && var5 >= var3 - 1 && var5 <= var3 + 1)
+            {
+                Chunk spawnChunk = this.getWorldServer().theChunkProviderServer.loadChunk(var4, var5);
+                spawnList.add(spawnChunk);
             }
         }
 
@@ -357,12 +394,33 @@ public class PlayerManager
                     worldServerOf = (WorldServerOF)this.theWorldServer;
                 }
 
+                int[] var19 = new int[(var12 * 2 + 1) * (var12 * 2 + 1) * 2];
+                int var20 = 0;
+
+                for (int var15 = var2 - var12; var15 <= var2 + var12; ++var15)
+                {
+                    for (int var16 = var3 - var12; var16 <= var3 + var12; ++var16)
+                    {
+                        if (!this.overlaps(var15, var16, var10, var11, var12))
+                        {
+                            var19[var20++] = var15;
+                            var19[var20++] = var16;
+                        }
+                    }
+                }
+
+                var20 /= 2;
+                int var21 = 0;
+                int var22 = 0;
+
                 for (int var15 = var2 - var12; var15 <= var2 + var12; ++var15)
                 {
                     for (int var16 = var3 - var12; var16 <= var3 + var12; ++var16)
                     {
                         if (!this.overlaps(var15, var16, var10, var11, var12))
                         {
+                            var21 = this.theWorldServer.theChunkProviderServer.prefetchChunks(var19, Math.max(var21, var22), var20);
+                            ++var22;
                             this.getOrCreateChunkWatcher(var15, var16, true, true).addPlayer(par1EntityPlayerMP);
 
                             if (worldServerOf != null)
@@ -384,6 +442,8 @@ public class PlayerManager
                 }
 
                 this.filterChunkLoadQueue(par1EntityPlayerMP);
+                int var18 = var12 + 4;
+                this.theWorldServer.provider.worldChunkMgr.prefetchBiomes(var2 + Integer.signum(var13) * var18, var3 + Integer.signum(var14) * var18, 4);
                 par1EntityPlayerMP.managedPosX = par1EntityPlayerMP.posX;
                 par1EntityPlayerMP.managedPosZ = par1EntityPlayerMP.posZ;
             }
@@ -39,6 +39,15 @@ public class TileEntity
     /** the Block type that this TileEntity is contained within */
     public Block blockType;
 
+    /** Index of this tile entity in the ticking list of its world's TileEntityScheduler, -1 when not ticking */
+    public int tickIndex = -1;
+
+    /** Whether this tile entity is loaded but not ticked until something wakes it up */
+    public boolean dormant;
+
+    /** Scheduler tick at which this dormant tile entity wakes up, -1 if only an event can wake it */
+    public long wakeTick = -1L;
+
     private static void func_145826_a(Class p_145826_0_, String p_145826_1_)
     {
         if (nameToClassMap.containsKey(p_145826_1_))
@@ -102,6 +111,29 @@ public class TileEntity
 
     public void updateEntity() {}
 
+    /**
+     * Stops ticking this tile entity until a neighbour changes, its inventory or a neighbouring inventory changes, or
+     * it is woken up explicitly. A positive delay also wakes it up after that many ticks.
+     */
+    protected void sleep(int p_sleep_1_)
+    {
+        if (this.worldObj != null)
+        {
+            this.worldObj.tileEntityScheduler.sleep(this, p_sleep_1_);
+        }
+    }
+
+    /**
+     * Puts this tile entity back in the ticking list if it is dormant
+     */
+    public void wakeUp()
+    {
+        if (this.dormant && this.worldObj != null)
+        {
+            this.worldObj.tileEntityScheduler.wakeUp(this);
+        }
+    }
+
     /**
      * Creates a new entity and loads its data from the specified NBT.
      */
@@ -154,6 +186,8 @@ public class TileEntity
         {
             this.blockMetadata = this.worldObj.getBlockMetadata(this.posX, this.posY, this.posZ);
             this.worldObj.func_147476_b(this.posX, this.posY, this.posZ, this);
+            this.wakeUp();
+            this.worldObj.tileEntityScheduler.wakeUpAround(this.posX, this.posY, this.posZ);
 
             if (this.getBlockType() != Blocks.air)
             {
@@ -210,6 +244,7 @@ public class TileEntity
     public void invalidate()
     {
         this.tileEntityInvalid = true;
+        this.wakeUp();
     }
 
     /**
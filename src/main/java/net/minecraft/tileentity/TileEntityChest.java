@@ -226,6 +226,7 @@ public class TileEntityChest extends TileEntity implements IInventory
     {
         super.updateContainingBlockInfo();
         this.field_145984_a = false;
+        this.wakeUp();
     }
 
     private void func_145978_a(TileEntityChest p_145978_1_, int p_145978_2_)
@@ -436,6 +437,11 @@ public class TileEntityChest extends TileEntity implements IInventory
                 this.field_145989_m = 0.0F;
             }
         }
+
+        if (this.field_145987_o == 0 && this.field_145989_m == 0.0F && this.field_145986_n == 0.0F)
+        {
+            this.sleep(0);
+        }
     }
 
     public boolean receiveClientEvent(int p_145842_1_, int p_145842_2_)
@@ -443,6 +449,7 @@ public class TileEntityChest extends TileEntity implements IInventory
         if (p_145842_1_ == 1)
         {
             this.field_145987_o = p_145842_2_;
+            this.wakeUp();
             return true;
         }
         else
@@ -459,6 +466,7 @@ public class TileEntityChest extends TileEntity implements IInventory
         }
 
         ++this.field_145987_o;
+        this.wakeUp();
         this.worldObj.func_147452_c(this.posX, this.posY, this.posZ, this.getBlockType(), 1, this.field_145987_o);
         this.worldObj.notifyBlocksOfNeighborChange(this.posX, this.posY, this.posZ, this.getBlockType());
         this.worldObj.notifyBlocksOfNeighborChange(this.posX, this.posY - 1, this.posZ, this.getBlockType());
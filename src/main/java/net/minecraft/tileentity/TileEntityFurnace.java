@@ -277,6 +277,11 @@ public class TileEntityFurnace extends TileEntity implements ISidedInventory
         {
             this.onInventoryChanged();
         }
+
+        if (!this.worldObj.isClient && this.burnTime == 0)
+        {
+            this.sleep(0);
+        }
     }
 
     private boolean stopSmelting()
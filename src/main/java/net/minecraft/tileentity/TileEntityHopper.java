@@ -222,7 +222,11 @@ public class TileEntityHopper extends TileEntity implements IHopper
             if (!this.func_145888_j())
             {
                 this.func_145896_c(0);
-                this.func_145887_i();
+
+                if (!this.func_145887_i())
+                {
+                    this.sleep(8);
+                }
             }
         }
     }
@@ -287,8 +287,10 @@ public class TileEntityWaterPipe extends TileEntity implements ISidedInventory {
 
 	@Override
 	public void updateEntity() {
-		if (!worldObj.isClient && smokeTime == 0 && inventory[0] != null && inventory[0].getItem() == Items.coal
-				&& inventory[1] != null) {
+		if (worldObj.isClient || smokeTime != 0 || inventory[0] == null || inventory[0].getItem() != Items.coal
+				|| inventory[1] == null) {
+			sleep(0);
+		} else {
 			Item item = inventory[1].getItem();
 			if (item == Items.sugar)
 				potionId = 1;
@@ -310,8 +312,10 @@ public class TileEntityWaterPipe extends TileEntity implements ISidedInventory {
 				potionId = 18;
 			else if (item == Items.spider_eye)
 				potionId = 19;
-			else
+			else {
+				sleep(0);
 				return;
+			}
 			decrStackSize(0, 1);
 			decrStackSize(1, 1);
 			smokeTime = 5;
@@ -329,6 +333,7 @@ public class TileEntityWaterPipe extends TileEntity implements ISidedInventory {
 			}
 			this.worldObj.playSoundAtEntity(player, "random.drink", 5.0F, this.worldObj.rand.nextFloat() * 0.1F + 0.9F);
 			smokeTime--;
+			wakeUp();
 			this.worldObj.markBlockForUpdate(posX, posY, posZ);
 			return false;
 		}
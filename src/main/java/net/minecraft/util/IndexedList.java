@@ -0,0 +1,158 @@
+package net.minecraft.util;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.RandomAccess;
+
+/**
+ * A list whose elements remember their own index, which makes contains, indexOf and remove(Object) O(1). Removing an
+ * element moves the last element into its slot instead of shifting the tail, so the order is deterministic but no
+ * longer the insertion order. Elements are compared by identity, are never held twice, and may only belong to one
+ * IndexedList at a time.
+ */
+public class IndexedList<E extends IndexedList.Element> extends AbstractList<E> implements RandomAccess
+{
+    private Object[] elements = new Object[16];
+    private int size;
+
+    public E get(int p_get_1_)
+    {
+        if (p_get_1_ >= this.size)
+        {
+            throw new IndexOutOfBoundsException("Index: " + p_get_1_ + ", Size: " + this.size);
+        }
+        else
+        {
+            return (E)this.elements[p_get_1_];
+        }
+    }
+
+    public int size()
+    {
+        return this.size;
+    }
+
+    /**
+     * Appends the element, unless it is already in the list
+     */
+    public boolean add(E p_add_1_)
+    {
+        if (this.indexOf(p_add_1_) >= 0)
+        {
+            return false;
+        }
+        else
+        {
+            if (this.size == this.elements.length)
+            {
+                this.elements = Arrays.copyOf(this.elements, this.size * 2);
+            }
+
+            p_add_1_.setListIndex(this.size);
+            this.elements[this.size++] = p_add_1_;
+            ++this.modCount;
+            return true;
+        }
+    }
+
+    /**
+     * Removes the element at the given index and moves the last element into its place
+     */
+    public E remove(int p_remove_1_)
+    {
+        E var2 = this.get(p_remove_1_);
+        int var3 = --this.size;
+
+        if (p_remove_1_ != var3)
+        {
+            E var4 = (E)this.elements[var3];
+            this.elements[p_remove_1_] = var4;
+            var4.setListIndex(p_remove_1_);
+        }
+
+        this.elements[var3] = null;
+        var2.setListIndex(-1);
+        ++this.modCount;
+        return var2;
+    }
+
+    public boolean remove(Object p_remove_1_)
+    {
+        int var2 = this.indexOf(p_remove_1_);
+
+        if (var2 < 0)
+        {
+            return false;
+        }
+        else
+        {
+            this.remove(var2);
+            return true;
+        }
+    }
+
+    /**
+     * Removes every element of the given collection, in time proportional to its size rather than to this list's
+     */
+    public boolean removeAll(Collection<?> p_removeAll_1_)
+    {
+        boolean var2 = false;
+        Iterator var3 = p_removeAll_1_.iterator();
+
+        while (var3.hasNext())
+        {
+            var2 |= this.remove(var3.next());
+        }
+
+        return var2;
+    }
+
+    public int indexOf(Object p_indexOf_1_)
+    {
+        if (p_indexOf_1_ instanceof IndexedList.Element)
+        {
+            int var2 = ((IndexedList.Element)p_indexOf_1_).getListIndex();
+
+            if (var2 >= 0 && var2 < this.size && this.elements[var2] == p_indexOf_1_)
+            {
+                return var2;
+            }
+        }
+
+        return -1;
+    }
+
+    public int lastIndexOf(Object p_lastIndexOf_1_)
+    {
+        return this.indexOf(p_lastIndexOf_1_);
+    }
+
+    public boolean contains(Object p_contains_1_)
+    {
+        return this.indexOf(p_contains_1_) >= 0;
+    }
+
+    public void clear()
+    {
+        for (int var1 = 0; var1 < this.size; ++var1)
+        {
+            ((IndexedList.Element)this.elements[var1]).setListIndex(-1);
+            this.elements[var1] = null;
+        }
+
+        this.size = 0;
+        ++this.modCount;
+    }
+
+    public interface Element
+    {
+        /**
+         * Returns the index last given by setListIndex, -1 when the element is in no list
+         */
+        int getListIndex();
+
+        void setListIndex(int p_setListIndex_1_);
+    }
+}
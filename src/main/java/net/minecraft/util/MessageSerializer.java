@@ -1,6 +1,6 @@
 package net.minecraft.util;
 
-import com.google.common.collect.BiMap;
+import gnu.trove.map.hash.TObjectIntHashMap;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToByteEncoder;
@@ -28,23 +28,23 @@ public class MessageSerializer extends MessageToByteEncoder
 
     protected void encode(ChannelHandlerContext p_encode_1_, Packet p_encode_2_, ByteBuf p_encode_3_) throws IOException
     {
-        Integer var4 = (Integer)((BiMap)p_encode_1_.channel().attr(NetworkManager.attrKeySendable).get()).inverse().get(p_encode_2_.getClass());
+        int var4 = ((TObjectIntHashMap)p_encode_1_.channel().attr(NetworkManager.attrKeySendableIds).get()).get(p_encode_2_.getClass());
 
         if (logger.isDebugEnabled())
         {
-            logger.debug(field_150797_b, "OUT: [{}:{}] {}[{}]", new Object[] {p_encode_1_.channel().attr(NetworkManager.attrKeyConnectionState).get(), var4, p_encode_2_.getClass().getName(), p_encode_2_.serialize()});
+            logger.debug(field_150797_b, "OUT: [{}:{}] {}[{}]", new Object[] {p_encode_1_.channel().attr(NetworkManager.attrKeyConnectionState).get(), Integer.valueOf(var4), p_encode_2_.getClass().getName(), p_encode_2_.serialize()});
         }
 
-        if (var4 == null)
+        if (var4 < 0)
         {
             throw new IOException("Can\'t serialize unregistered packet");
         }
         else
         {
             PacketBuffer var5 = new PacketBuffer(p_encode_3_);
-            var5.writeVarIntToBuffer(var4.intValue());
+            var5.writeVarIntToBuffer(var4);
             p_encode_2_.writePacketData(var5);
-            this.field_152500_c.func_152464_b(var4.intValue(), (long)var5.readableBytes());
+            this.field_152500_c.func_152464_b(var4, (long)var5.readableBytes());
         }
     }
 
@@ -2,43 +2,53 @@ package net.minecraft.util;
 
 import com.google.common.base.Predicates;
 import com.google.common.collect.Iterators;
-import com.google.common.collect.Lists;
+import gnu.trove.map.custom_hash.TObjectIntCustomHashMap;
+import gnu.trove.strategy.IdentityHashingStrategy;
 
-import java.util.IdentityHashMap;
+import java.util.Arrays;
 import java.util.Iterator;
-import java.util.List;
 
 public class ObjectIntIdentityMap implements IObjectIntIterable
 {
-    private IdentityHashMap field_148749_a = new IdentityHashMap(512);
-    private List field_148748_b = Lists.newArrayList();
+    /** Object to ID, compared by identity and stored unboxed, -1 when absent */
+    private TObjectIntCustomHashMap field_148749_a = new TObjectIntCustomHashMap(IdentityHashingStrategy.INSTANCE, 512, 0.5F, -1);
+
+    /** ID to object, null where no object is registered */
+    private Object[] field_148748_b = new Object[512];
+
+    /** One past the highest registered ID */
+    private int size;
 
     public void func_148746_a(Object p_148746_1_, int p_148746_2_)
     {
-        this.field_148749_a.put(p_148746_1_, Integer.valueOf(p_148746_2_));
+        this.field_148749_a.put(p_148746_1_, p_148746_2_);
 
-        while (this.field_148748_b.size() <= p_148746_2_)
+        if (p_148746_2_ >= this.field_148748_b.length)
         {
-            this.field_148748_b.add((Object)null);
+            this.field_148748_b = Arrays.copyOf(this.field_148748_b, Math.max(p_148746_2_ + 1, this.field_148748_b.length * 2));
         }
 
-        this.field_148748_b.set(p_148746_2_, p_148746_1_);
+        this.field_148748_b[p_148746_2_] = p_148746_1_;
+
+        if (p_148746_2_ >= this.size)
+        {
+            this.size = p_148746_2_ + 1;
+        }
     }
 
     public int func_148747_b(Object p_148747_1_)
     {
-        Integer var2 = (Integer)this.field_148749_a.get(p_148747_1_);
-        return var2 == null ? -1 : var2.intValue();
+        return this.field_148749_a.get(p_148747_1_);
     }
 
     public Object func_148745_a(int p_148745_1_)
     {
-        return p_148745_1_ >= 0 && p_148745_1_ < this.field_148748_b.size() ? this.field_148748_b.get(p_148745_1_) : null;
+        return p_148745_1_ >= 0 && p_148745_1_ < this.size ? this.field_148748_b[p_148745_1_] : null;
     }
 
     public Iterator iterator()
     {
-        return Iterators.filter(this.field_148748_b.iterator(), Predicates.notNull());
+        return Iterators.filter(Iterators.limit(Iterators.forArray(this.field_148748_b), this.size), Predicates.notNull());
     }
 
     public boolean func_148744_b(int p_148744_1_)
@@ -0,0 +1,27 @@
+package net.minecraft.util;
+
+/**
+ * Block coordinates packed into a long, for use as primitive map and set keys: 26 bits for x and z, 12 bits for y.
+ */
+public class PackedPosition
+{
+    public static long pack(int p_pack_0_, int p_pack_1_, int p_pack_2_)
+    {
+        return ((long)p_pack_0_ & 67108863L) << 38 | ((long)p_pack_2_ & 67108863L) << 12 | (long)p_pack_1_ & 4095L;
+    }
+
+    public static int getX(long p_getX_0_)
+    {
+        return (int)(p_getX_0_ >> 38);
+    }
+
+    public static int getY(long p_getY_0_)
+    {
+        return (int)(p_getY_0_ << 52 >> 52);
+    }
+
+    public static int getZ(long p_getZ_0_)
+    {
+        return (int)(p_getZ_0_ << 26 >> 38);
+    }
+}
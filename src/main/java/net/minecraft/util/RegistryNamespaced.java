@@ -2,6 +2,7 @@ package net.minecraft.util;
 
 import com.google.common.collect.BiMap;
 import com.google.common.collect.HashBiMap;
+import com.google.common.collect.Maps;
 
 import java.util.Iterator;
 import java.util.Map;
@@ -12,6 +13,9 @@ public class RegistryNamespaced extends RegistrySimple implements IObjectIntIter
     protected final ObjectIntIdentityMap underlyingIntegerMap = new ObjectIntIdentityMap();
     protected final Map field_148758_b;
 
+    /** Objects in the minecraft namespace keyed by their bare name, so lookups without a namespace skip the prefixing */
+    private final Map unprefixedObjects = Maps.newHashMap();
+
     public RegistryNamespaced()
     {
         this.field_148758_b = ((BiMap)this.registryObjects).inverse();
@@ -23,7 +27,13 @@ public class RegistryNamespaced extends RegistrySimple implements IObjectIntIter
     public void addObject(int p_148756_1_, String p_148756_2_, Object p_148756_3_)
     {
         this.underlyingIntegerMap.func_148746_a(p_148756_3_, p_148756_1_);
-        this.putObject(ensureNamespaced(p_148756_2_), p_148756_3_);
+        String var4 = ensureNamespaced(p_148756_2_);
+        this.putObject(var4, p_148756_3_);
+
+        if (var4.startsWith("minecraft:"))
+        {
+            this.unprefixedObjects.put(var4.substring(10), p_148756_3_);
+        }
     }
 
     /**
@@ -36,7 +46,7 @@ public class RegistryNamespaced extends RegistrySimple implements IObjectIntIter
 
     public Object getObject(String p_82594_1_)
     {
-        return super.getObject(ensureNamespaced(p_82594_1_));
+        return p_82594_1_.indexOf(58) == -1 ? this.unprefixedObjects.get(p_82594_1_) : super.getObject(p_82594_1_);
     }
 
     /**
@@ -52,7 +62,7 @@ public class RegistryNamespaced extends RegistrySimple implements IObjectIntIter
      */
     public boolean containsKey(String p_148741_1_)
     {
-        return super.containsKey(ensureNamespaced(p_148741_1_));
+        return p_148741_1_.indexOf(58) == -1 ? this.unprefixedObjects.containsKey(p_148741_1_) : super.containsKey(p_148741_1_);
     }
 
     /**
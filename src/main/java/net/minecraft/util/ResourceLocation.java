@@ -1,11 +1,29 @@
 package net.minecraft.util;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import org.apache.commons.lang3.Validate;
 
 public class ResourceLocation
 {
+    /**
+     * Most locations and names interned, well above the textures, models and sounds of the game and its resource
+     * packs. Names a server sends, such as sound names, must not grow the tables without bound, so past this many
+     * locations are simply not interned.
+     */
+    static final int MAX_INTERNED = 16384;
+
+    /** Canonical instance of every location interned so far */
+    private static final ConcurrentMap internedLocations = new ConcurrentHashMap(1024);
+
+    /** Canonical instance for every unparsed name passed to intern(String) */
+    private static final ConcurrentMap internedNames = new ConcurrentHashMap(1024);
     private final String resourceDomain;
     private final String resourcePath;
+    private final int hash;
+
+    /** Whether this is the canonical instance, which only ever equals itself among other canonical instances */
+    private final boolean interned;
 
     public ResourceLocation(String p_i1292_1_, String p_i1292_2_)
     {
@@ -21,6 +39,8 @@ public class ResourceLocation
         }
 
         this.resourcePath = p_i1292_2_;
+        this.hash = 31 * this.resourceDomain.hashCode() + this.resourcePath.hashCode();
+        this.interned = false;
     }
 
     public ResourceLocation(String p_i1293_1_)
@@ -41,6 +61,71 @@ public class ResourceLocation
 
         this.resourceDomain = var2.toLowerCase();
         this.resourcePath = var3;
+        this.hash = 31 * this.resourceDomain.hashCode() + this.resourcePath.hashCode();
+        this.interned = false;
+    }
+
+    private ResourceLocation(ResourceLocation p_i1_1_)
+    {
+        this.resourceDomain = p_i1_1_.resourceDomain.intern();
+        this.resourcePath = p_i1_1_.resourcePath.intern();
+        this.hash = p_i1_1_.hash;
+        this.interned = true;
+    }
+
+    /**
+     * Returns the canonical instance equal to this location. Canonical instances compare by identity, so use them for
+     * locations that are looked up every frame or tick. Once MAX_INTERNED locations are interned, new locations are
+     * returned as they are; they still equal the canonical instances.
+     */
+    public ResourceLocation intern()
+    {
+        if (this.interned)
+        {
+            return this;
+        }
+        else
+        {
+            ResourceLocation var1 = (ResourceLocation)internedLocations.get(this);
+
+            if (var1 == null && internedLocations.size() >= MAX_INTERNED)
+            {
+                return this;
+            }
+            else if (var1 == null)
+            {
+                var1 = new ResourceLocation(this);
+                ResourceLocation var2 = (ResourceLocation)internedLocations.putIfAbsent(var1, var1);
+
+                if (var2 != null)
+                {
+                    var1 = var2;
+                }
+            }
+
+            return var1;
+        }
+    }
+
+    /**
+     * Returns the canonical location for the given "domain:path" name without parsing it again once it has been seen.
+     * Once MAX_INTERNED names have been seen, new names are parsed on every call.
+     */
+    public static ResourceLocation intern(String p_intern_0_)
+    {
+        ResourceLocation var1 = (ResourceLocation)internedNames.get(p_intern_0_);
+
+        if (var1 == null)
+        {
+            var1 = (new ResourceLocation(p_intern_0_)).intern();
+
+            if (internedNames.size() < MAX_INTERNED)
+            {
+                internedNames.putIfAbsent(p_intern_0_, var1);
+            }
+        }
+
+        return var1;
     }
 
     public String getResourcePath()
@@ -71,12 +156,12 @@ public class ResourceLocation
         else
         {
             ResourceLocation var2 = (ResourceLocation)p_equals_1_;
-            return this.resourceDomain.equals(var2.resourceDomain) && this.resourcePath.equals(var2.resourcePath);
+            return !(this.interned && var2.interned) && this.hash == var2.hash && this.resourceDomain.equals(var2.resourceDomain) && this.resourcePath.equals(var2.resourcePath);
         }
     }
 
     public int hashCode()
     {
-        return 31 * this.resourceDomain.hashCode() + this.resourcePath.hashCode();
+        return this.hash;
     }
 }
@@ -1,7 +1,11 @@
 package net.minecraft.util;
 
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.minecraft.client.renderer.EntityRenderer;
 import net.minecraft.client.renderer.OpenGlHelper;
-import net.minecraft.client.renderer.texture.TextureUtil;
 import net.minecraft.client.shader.Framebuffer;
 import net.minecraft.event.ClickEvent;
 import org.apache.logging.log4j.LogManager;
@@ -12,117 +16,298 @@ import org.lwjgl.opengl.GL12;
 
 import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
 import java.io.File;
+import java.io.IOException;
 import java.nio.IntBuffer;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Only the pixel readback happens on the render thread. Flipping, conversion and PNG encoding run on a single writer
+ * thread behind a short queue; when that queue is full the caller encodes the screenshot itself rather than piling up
+ * full-screen pixel arrays.
+ */
 public class ScreenShotHelper
 {
     private static final Logger logger = LogManager.getLogger();
     private static final DateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd_HH.mm.ss");
 
-    /** A buffer to hold pixel values returned by OpenGL. */
-    private static IntBuffer pixelBuffer;
+    /** Number of screenshots which may wait for the writer thread */
+    private static final int MAX_QUEUED = 4;
+
+    /** Number of pixel arrays kept for reuse once their screenshot is written */
+    static final int MAX_SPARE_ARRAYS = 2;
+
+    /** Largest number of pixels of a tiled screenshot */
+    private static final long MAX_TILED_PIXELS = 1L << 27;
+    private static final ListeningExecutorService writer = MoreExecutors.listeningDecorator(new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue(MAX_QUEUED), (new ThreadFactoryBuilder()).setNameFormat("Screenshot Writer").setDaemon(true).build(), new ThreadPoolExecutor.CallerRunsPolicy()));
+    private static final Queue spareArrays = new ConcurrentLinkedQueue();
 
     /**
-     * The built-up array that contains all the pixel values returned by OpenGL.
+     * Length of the pixel arrays kept for reuse, that of the last regular screenshot. Arrays of any other length, such
+     * as those of tiled screenshots or from before the window was resized, are left to the garbage collector.
      */
-    private static int[] pixelValues;
+    private static volatile int spareArrayLength;
+
+    /** A buffer to hold pixel values returned by OpenGL. */
+    private static IntBuffer pixelBuffer;
 
     /**
      * Saves a screenshot in the game directory with a time-stamped filename.  Args: gameDirectory,
      * requestedWidthInPixels, requestedHeightInPixels, frameBuffer
      */
-    public static IChatComponent saveScreenshot(File p_148260_0_, int p_148260_1_, int p_148260_2_, Framebuffer p_148260_3_)
+    public static ListenableFuture saveScreenshot(File p_148260_0_, int p_148260_1_, int p_148260_2_, Framebuffer p_148260_3_)
     {
         return saveScreenshot(p_148260_0_, (String)null, p_148260_1_, p_148260_2_, p_148260_3_);
     }
 
     /**
      * Saves a screenshot in the game directory with the given file name (or null to generate a time-stamped name).
-     * Args: gameDirectory, fileName, requestedWidthInPixels, requestedHeightInPixels, frameBuffer
+     * Args: gameDirectory, fileName, requestedWidthInPixels, requestedHeightInPixels, frameBuffer. The returned future
+     * yields the chat message to show once the file is written.
      */
-    public static IChatComponent saveScreenshot(File p_148259_0_, String p_148259_1_, int p_148259_2_, int p_148259_3_, Framebuffer p_148259_4_)
+    public static ListenableFuture saveScreenshot(File p_148259_0_, String p_148259_1_, int p_148259_2_, int p_148259_3_, Framebuffer p_148259_4_)
     {
+        int var5 = p_148259_2_;
+
+        if (OpenGlHelper.isFramebufferEnabled())
+        {
+            var5 = p_148259_4_.framebufferTextureWidth;
+            p_148259_2_ = p_148259_4_.framebufferWidth;
+            p_148259_3_ = p_148259_4_.framebufferHeight;
+        }
+
+        int[] var6;
+
         try
         {
-            File var5 = new File(p_148259_0_, "screenshots");
-            var5.mkdir();
+            IntBuffer var7 = readPixels(p_148259_4_, var5, p_148259_3_);
+            var6 = takeArray(var5 * p_148259_3_);
+            var7.get(var6, 0, var5 * p_148259_3_);
+        }
+        catch (Exception var8)
+        {
+            logger.warn("Couldn\'t save screenshot", var8);
+            return writer.submit(failure(var8));
+        }
 
-            if (OpenGlHelper.isFramebufferEnabled())
-            {
-                p_148259_2_ = p_148259_4_.framebufferTextureWidth;
-                p_148259_3_ = p_148259_4_.framebufferTextureHeight;
-            }
+        return writer.submit(writeTask(p_148259_0_, p_148259_1_, var6, var5, p_148259_2_, p_148259_3_));
+    }
 
-            int var6 = p_148259_2_ * p_148259_3_;
+    /**
+     * Renders the world again split into p_saveTiledScreenshot_6_ x p_saveTiledScreenshot_6_ tiles and saves them as
+     * one screenshot that many times the size of the framebuffer. The GUI isn't part of the capture.
+     */
+    public static ListenableFuture saveTiledScreenshot(File p_saveTiledScreenshot_0_, int p_saveTiledScreenshot_1_, int p_saveTiledScreenshot_2_, Framebuffer p_saveTiledScreenshot_3_, EntityRenderer p_saveTiledScreenshot_4_, float p_saveTiledScreenshot_5_, int p_saveTiledScreenshot_6_)
+    {
+        int var7 = p_saveTiledScreenshot_1_;
 
-            if (pixelBuffer == null || pixelBuffer.capacity() < var6)
-            {
-                pixelBuffer = BufferUtils.createIntBuffer(var6);
-                pixelValues = new int[var6];
-            }
+        if (OpenGlHelper.isFramebufferEnabled())
+        {
+            var7 = p_saveTiledScreenshot_3_.framebufferTextureWidth;
+            p_saveTiledScreenshot_1_ = p_saveTiledScreenshot_3_.framebufferWidth;
+            p_saveTiledScreenshot_2_ = p_saveTiledScreenshot_3_.framebufferHeight;
+        }
+
+        while (p_saveTiledScreenshot_6_ > 1 && (long)p_saveTiledScreenshot_1_ * (long)p_saveTiledScreenshot_2_ * (long)(p_saveTiledScreenshot_6_ * p_saveTiledScreenshot_6_) > MAX_TILED_PIXELS)
+        {
+            --p_saveTiledScreenshot_6_;
+        }
 
-            GL11.glPixelStorei(GL11.GL_PACK_ALIGNMENT, 1);
-            GL11.glPixelStorei(GL11.GL_UNPACK_ALIGNMENT, 1);
-            pixelBuffer.clear();
+        int var8 = p_saveTiledScreenshot_1_ * p_saveTiledScreenshot_6_;
+        int var9 = p_saveTiledScreenshot_2_ * p_saveTiledScreenshot_6_;
+        int[] var10;
+
+        try
+        {
+            var10 = new int[var8 * var9];
 
             if (OpenGlHelper.isFramebufferEnabled())
             {
-                GL11.glBindTexture(GL11.GL_TEXTURE_2D, p_148259_4_.framebufferTexture);
-                GL11.glGetTexImage(GL11.GL_TEXTURE_2D, 0, GL12.GL_BGRA, GL12.GL_UNSIGNED_INT_8_8_8_8_REV, pixelBuffer);
+                p_saveTiledScreenshot_3_.bindFramebuffer(true);
             }
-            else
+
+            try
             {
-                GL11.glReadPixels(0, 0, p_148259_2_, p_148259_3_, GL12.GL_BGRA, GL12.GL_UNSIGNED_INT_8_8_8_8_REV, pixelBuffer);
+                for (int var11 = 0; var11 < p_saveTiledScreenshot_6_; ++var11)
+                {
+                    for (int var12 = 0; var12 < p_saveTiledScreenshot_6_; ++var12)
+                    {
+                        p_saveTiledScreenshot_4_.renderWorldTile(p_saveTiledScreenshot_5_, var12, var11, p_saveTiledScreenshot_6_);
+                        IntBuffer var13 = readPixels(p_saveTiledScreenshot_3_, var7, p_saveTiledScreenshot_2_);
+
+                        for (int var14 = 0; var14 < p_saveTiledScreenshot_2_; ++var14)
+                        {
+                            var13.position(var14 * var7);
+                            var13.get(var10, (var11 * p_saveTiledScreenshot_2_ + var14) * var8 + var12 * p_saveTiledScreenshot_1_, p_saveTiledScreenshot_1_);
+                        }
+                    }
+                }
             }
+            finally
+            {
+                if (OpenGlHelper.isFramebufferEnabled())
+                {
+                    p_saveTiledScreenshot_3_.unbindFramebuffer();
+                }
+            }
+        }
+        catch (Exception var15)
+        {
+            logger.warn("Couldn\'t save screenshot", var15);
+            return writer.submit(failure(var15));
+        }
 
-            pixelBuffer.get(pixelValues);
-            TextureUtil.func_147953_a(pixelValues, p_148259_2_, p_148259_3_);
-            BufferedImage var7 = null;
+        return writer.submit(writeTask(p_saveTiledScreenshot_0_, (String)null, var10, var8, var8, var9));
+    }
 
-            if (OpenGlHelper.isFramebufferEnabled())
-            {
-                var7 = new BufferedImage(p_148259_4_.framebufferWidth, p_148259_4_.framebufferHeight, 1);
-                int var8 = p_148259_4_.framebufferTextureHeight - p_148259_4_.framebufferHeight;
+    /**
+     * Reads the bottom-up pixels of the framebuffer, or of the screen when framebuffers are off, into pixelBuffer
+     */
+    private static IntBuffer readPixels(Framebuffer p_readPixels_0_, int p_readPixels_1_, int p_readPixels_2_)
+    {
+        int var3 = OpenGlHelper.isFramebufferEnabled() ? p_readPixels_0_.framebufferTextureWidth * p_readPixels_0_.framebufferTextureHeight : p_readPixels_1_ * p_readPixels_2_;
+
+        if (pixelBuffer == null || pixelBuffer.capacity() < var3)
+        {
+            pixelBuffer = BufferUtils.createIntBuffer(var3);
+        }
 
-                for (int var9 = var8; var9 < p_148259_4_.framebufferTextureHeight; ++var9)
+        GL11.glPixelStorei(GL11.GL_PACK_ALIGNMENT, 1);
+        GL11.glPixelStorei(GL11.GL_UNPACK_ALIGNMENT, 1);
+        pixelBuffer.clear();
+
+        if (OpenGlHelper.isFramebufferEnabled())
+        {
+            GL11.glBindTexture(GL11.GL_TEXTURE_2D, p_readPixels_0_.framebufferTexture);
+            GL11.glGetTexImage(GL11.GL_TEXTURE_2D, 0, GL12.GL_BGRA, GL12.GL_UNSIGNED_INT_8_8_8_8_REV, pixelBuffer);
+        }
+        else
+        {
+            GL11.glReadPixels(0, 0, p_readPixels_1_, p_readPixels_2_, GL12.GL_BGRA, GL12.GL_UNSIGNED_INT_8_8_8_8_REV, pixelBuffer);
+        }
+
+        pixelBuffer.rewind();
+        return pixelBuffer;
+    }
+
+    private static Callable writeTask(final File p_writeTask_0_, final String p_writeTask_1_, final int[] p_writeTask_2_, final int p_writeTask_3_, final int p_writeTask_4_, final int p_writeTask_5_)
+    {
+        return new Callable()
+        {
+            public IChatComponent call()
+            {
+                try
                 {
-                    for (int var10 = 0; var10 < p_148259_4_.framebufferWidth; ++var10)
+                    BufferedImage var1 = ScreenShotHelper.convertPixels(p_writeTask_2_, p_writeTask_3_, p_writeTask_4_, p_writeTask_5_);
+                    ScreenShotHelper.returnArray(p_writeTask_2_);
+                    File var2 = new File(p_writeTask_0_, "screenshots");
+                    var2.mkdir();
+                    File var3;
+
+                    if (p_writeTask_1_ == null)
+                    {
+                        var3 = ScreenShotHelper.getTimestampedPNGFileForDirectory(var2);
+                    }
+                    else
                     {
-                        var7.setRGB(var10, var9 - var8, pixelValues[var9 * p_148259_4_.framebufferTextureWidth + var10]);
+                        var3 = new File(var2, p_writeTask_1_);
                     }
+
+                    ScreenShotHelper.writePNG(var1, var3);
+                    ChatComponentText var4 = new ChatComponentText(var3.getName());
+                    var4.getChatStyle().setChatClickEvent(new ClickEvent(ClickEvent.Action.OPEN_FILE, var3.getAbsolutePath()));
+                    var4.getChatStyle().setUnderlined(Boolean.valueOf(true));
+                    return new ChatComponentTranslation("screenshot.success", new Object[] {var4});
+                }
+                catch (Exception var5)
+                {
+                    ScreenShotHelper.logger.warn("Couldn\'t save screenshot", var5);
+                    return new ChatComponentTranslation("screenshot.failure", new Object[] {var5.getMessage()});
                 }
             }
-            else
+        };
+    }
+
+    private static Callable failure(final Exception p_failure_0_)
+    {
+        return new Callable()
+        {
+            public IChatComponent call()
             {
-                var7 = new BufferedImage(p_148259_2_, p_148259_3_, 1);
-                var7.setRGB(0, 0, p_148259_2_, p_148259_3_, pixelValues, 0, p_148259_2_);
+                return new ChatComponentTranslation("screenshot.failure", new Object[] {p_failure_0_.getMessage()});
             }
+        };
+    }
+
+    /**
+     * Converts bottom-up ARGB pixels, as read back from OpenGL, to a top-down RGB image. The image is the bottom-left
+     * p_convertPixels_2_ x p_convertPixels_3_ corner of rows p_convertPixels_1_ pixels long.
+     */
+    public static BufferedImage convertPixels(int[] p_convertPixels_0_, int p_convertPixels_1_, int p_convertPixels_2_, int p_convertPixels_3_)
+    {
+        BufferedImage var4 = new BufferedImage(p_convertPixels_2_, p_convertPixels_3_, BufferedImage.TYPE_INT_RGB);
+        int[] var5 = ((DataBufferInt)var4.getRaster().getDataBuffer()).getData();
 
-            File var12;
+        for (int var6 = 0; var6 < p_convertPixels_3_; ++var6)
+        {
+            int var7 = (p_convertPixels_3_ - 1 - var6) * p_convertPixels_1_;
+            int var8 = var6 * p_convertPixels_2_;
 
-            if (p_148259_1_ == null)
+            for (int var9 = 0; var9 < p_convertPixels_2_; ++var9)
             {
-                var12 = getTimestampedPNGFileForDirectory(var5);
+                var5[var8 + var9] = p_convertPixels_0_[var7 + var9] & 16777215;
             }
-            else
+        }
+
+        return var4;
+    }
+
+    public static void writePNG(BufferedImage p_writePNG_0_, File p_writePNG_1_) throws IOException
+    {
+        if (!ImageIO.write(p_writePNG_0_, "png", p_writePNG_1_))
+        {
+            throw new IOException("No PNG writer for " + p_writePNG_1_);
+        }
+    }
+
+    /**
+     * Returns a spare pixel array of the given length, or a new one. Only arrays of this length are kept for reuse from
+     * now on.
+     */
+    static int[] takeArray(int p_takeArray_0_)
+    {
+        spareArrayLength = p_takeArray_0_;
+        int[] var1;
+
+        while ((var1 = (int[])spareArrays.poll()) != null)
+        {
+            if (var1.length == p_takeArray_0_)
             {
-                var12 = new File(var5, p_148259_1_);
+                return var1;
             }
-
-            ImageIO.write(var7, "png", var12);
-            ChatComponentText var13 = new ChatComponentText(var12.getName());
-            var13.getChatStyle().setChatClickEvent(new ClickEvent(ClickEvent.Action.OPEN_FILE, var12.getAbsolutePath()));
-            var13.getChatStyle().setUnderlined(Boolean.valueOf(true));
-            return new ChatComponentTranslation("screenshot.success", new Object[] {var13});
         }
-        catch (Exception var11)
+
+        return new int[p_takeArray_0_];
+    }
+
+    /**
+     * Keeps the pixel array of a written screenshot for reuse, if it has the length of the last regular screenshot
+     * and fewer than MAX_SPARE_ARRAYS are kept already
+     */
+    static void returnArray(int[] p_returnArray_0_)
+    {
+        if (p_returnArray_0_.length == spareArrayLength && spareArrays.size() < MAX_SPARE_ARRAYS)
         {
-            logger.warn("Couldn\'t save screenshot", var11);
-            return new ChatComponentTranslation("screenshot.failure", new Object[] {var11.getMessage()});
+            spareArrays.add(p_returnArray_0_);
         }
     }
 
@@ -134,7 +319,13 @@ public class ScreenShotHelper
      */
     private static File getTimestampedPNGFileForDirectory(File p_74290_0_)
     {
-        String var2 = dateFormat.format(new Date()).toString();
+        String var2;
+
+        synchronized (dateFormat)
+        {
+            var2 = dateFormat.format(new Date()).toString();
+        }
+
         int var3 = 1;
 
         while (true)
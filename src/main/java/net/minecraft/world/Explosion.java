@@ -1,5 +1,7 @@
 package net.minecraft.world;
 
+import gnu.trove.iterator.TLongIterator;
+import gnu.trove.set.hash.TLongHashSet;
 import net.minecraft.block.Block;
 import net.minecraft.block.material.Material;
 import net.minecraft.enchantment.EnchantmentProtection;
@@ -11,18 +13,24 @@ import net.minecraft.init.Blocks;
 import net.minecraft.util.AxisAlignedBB;
 import net.minecraft.util.DamageSource;
 import net.minecraft.util.MathHelper;
+import net.minecraft.util.PackedPosition;
 import net.minecraft.util.Vec3;
 
 import java.util.*;
 
 public class Explosion
 {
+    /**
+     * Unit directions (x, y, z triples) of the rays cast from the surface of the 16x16x16 cube, in the order
+     * doExplosionA used to compute them for every explosion.
+     */
+    private static final double[] RAY_DIRECTIONS = createRayDirections(16);
+
     /** whether or not the explosion sets fire to blocks around it */
     public boolean isFlaming;
 
     /** whether or not this explosion spawns smoke particles */
     public boolean isSmoking = true;
-    private int field_77289_h = 16;
     private Random explosionRNG = new Random();
     private World worldObj;
     public double explosionX;
@@ -49,9 +57,18 @@ public class Explosion
      * Does the first part of the explosion (destroy blocks)
      */
     public void doExplosionA()
+    {
+        this.doExplosionA((ExplosionBatch)null);
+    }
+
+    /**
+     * Does the first part of the explosion. When run as part of a batch, blocks and entity exposure are read through
+     * the batch caches and the affected positions are handed to the batch instead of being removed by doExplosionB.
+     */
+    void doExplosionA(ExplosionBatch p_77278_1_)
     {
         float var1 = this.explosionSize;
-        HashSet var2 = new HashSet();
+        TLongHashSet var2 = new TLongHashSet();
         int var3;
         int var4;
         int var5;
@@ -59,54 +76,56 @@ public class Explosion
         double var17;
         double var19;
 
-        for (var3 = 0; var3 < this.field_77289_h; ++var3)
+        for (var3 = 0; var3 < RAY_DIRECTIONS.length; var3 += 3)
         {
-            for (var4 = 0; var4 < this.field_77289_h; ++var4)
+            double var6 = RAY_DIRECTIONS[var3];
+            double var8 = RAY_DIRECTIONS[var3 + 1];
+            double var10 = RAY_DIRECTIONS[var3 + 2];
+            float var14 = this.explosionSize * (0.7F + this.worldObj.rand.nextFloat() * 0.6F);
+            var15 = this.explosionX;
+            var17 = this.explosionY;
+            var19 = this.explosionZ;
+
+            for (float var21 = 0.3F; var14 > 0.0F; var14 -= var21 * 0.75F)
             {
-                for (var5 = 0; var5 < this.field_77289_h; ++var5)
+                int var22 = MathHelper.floor_double(var15);
+                int var23 = MathHelper.floor_double(var17);
+                int var24 = MathHelper.floor_double(var19);
+                Block var25 = p_77278_1_ != null ? p_77278_1_.getBlock(var22, var23, var24) : this.worldObj.getBlock(var22, var23, var24);
+
+                if (var25.getMaterial() != Material.air)
                 {
-                    if (var3 == 0 || var3 == this.field_77289_h - 1 || var4 == 0 || var4 == this.field_77289_h - 1 || var5 == 0 || var5 == this.field_77289_h - 1)
-                    {
-                        double var6 = (double)((float)var3 / ((float)this.field_77289_h - 1.0F) * 2.0F - 1.0F);
-                        double var8 = (double)((float)var4 / ((float)this.field_77289_h - 1.0F) * 2.0F - 1.0F);
-                        double var10 = (double)((float)var5 / ((float)this.field_77289_h - 1.0F) * 2.0F - 1.0F);
-                        double var12 = Math.sqrt(var6 * var6 + var8 * var8 + var10 * var10);
-                        var6 /= var12;
-                        var8 /= var12;
-                        var10 /= var12;
-                        float var14 = this.explosionSize * (0.7F + this.worldObj.rand.nextFloat() * 0.6F);
-                        var15 = this.explosionX;
-                        var17 = this.explosionY;
-                        var19 = this.explosionZ;
-
-                        for (float var21 = 0.3F; var14 > 0.0F; var14 -= var21 * 0.75F)
-                        {
-                            int var22 = MathHelper.floor_double(var15);
-                            int var23 = MathHelper.floor_double(var17);
-                            int var24 = MathHelper.floor_double(var19);
-                            Block var25 = this.worldObj.getBlock(var22, var23, var24);
-
-                            if (var25.getMaterial() != Material.air)
-                            {
-                                float var26 = this.exploder != null ? this.exploder.func_145772_a(this, this.worldObj, var22, var23, var24, var25) : var25.getExplosionResistance(this.exploder);
-                                var14 -= (var26 + 0.3F) * var21;
-                            }
-
-                            if (var14 > 0.0F && (this.exploder == null || this.exploder.func_145774_a(this, this.worldObj, var22, var23, var24, var25, var14)))
-                            {
-                                var2.add(new ChunkPosition(var22, var23, var24));
-                            }
-
-                            var15 += var6 * (double)var21;
-                            var17 += var8 * (double)var21;
-                            var19 += var10 * (double)var21;
-                        }
-                    }
+                    float var26 = this.exploder != null ? this.exploder.func_145772_a(this, this.worldObj, var22, var23, var24, var25) : var25.getExplosionResistance(this.exploder);
+                    var14 -= (var26 + 0.3F) * var21;
                 }
+
+                if (var14 > 0.0F && (this.exploder == null || this.exploder.func_145774_a(this, this.worldObj, var22, var23, var24, var25, var14)))
+                {
+                    var2.add(PackedPosition.pack(var22, var23, var24));
+                }
+
+                var15 += var6 * (double)var21;
+                var17 += var8 * (double)var21;
+                var19 += var10 * (double)var21;
+            }
+        }
+
+        if (p_77278_1_ != null)
+        {
+            p_77278_1_.claimBlocks(this, var2);
+        }
+
+        if (p_77278_1_ == null || this.isFlaming)
+        {
+            TLongIterator var28 = var2.iterator();
+
+            while (var28.hasNext())
+            {
+                long var36 = var28.next();
+                this.affectedBlockPositions.add(new ChunkPosition(PackedPosition.getX(var36), PackedPosition.getY(var36), PackedPosition.getZ(var36)));
             }
         }
 
-        this.affectedBlockPositions.addAll(var2);
         this.explosionSize *= 2.0F;
         var3 = MathHelper.floor_double(this.explosionX - (double)this.explosionSize - 1.0D);
         var4 = MathHelper.floor_double(this.explosionX + (double)this.explosionSize + 1.0D);
@@ -134,7 +153,7 @@ public class Explosion
                     var15 /= var33;
                     var17 /= var33;
                     var19 /= var33;
-                    double var34 = (double)this.worldObj.getBlockDensity(var31, var32.boundingBox);
+                    double var34 = p_77278_1_ != null ? (double)p_77278_1_.getBlockDensity(var31, var32) : (double)this.worldObj.getBlockDensity(var31, var32.boundingBox);
                     double var35 = (1.0D - var13) * var34;
                     var32.attackEntityFrom(DamageSource.setExplosionSource(this), (float)((int)((var35 * var35 + var35) / 2.0D * 8.0D * (double)this.explosionSize + 1.0D)));
                     double var27 = EnchantmentProtection.func_92092_a(var32, var35);
@@ -224,21 +243,29 @@ public class Explosion
 
         if (this.isFlaming)
         {
-            var2 = this.affectedBlockPositions.iterator();
+            this.spawnFire();
+        }
+    }
 
-            while (var2.hasNext())
-            {
-                var3 = (ChunkPosition)var2.next();
-                var4 = var3.field_151329_a;
-                var5 = var3.field_151327_b;
-                var6 = var3.field_151328_c;
-                var7 = this.worldObj.getBlock(var4, var5, var6);
-                Block var24 = this.worldObj.getBlock(var4, var5 - 1, var6);
+    /**
+     * Sets fire to a third of the affected air blocks standing on an opaque block
+     */
+    void spawnFire()
+    {
+        Iterator var1 = this.affectedBlockPositions.iterator();
 
-                if (var7.getMaterial() == Material.air && var24.isOpaque() && this.explosionRNG.nextInt(3) == 0)
-                {
-                    this.worldObj.setBlock(var4, var5, var6, Blocks.fire);
-                }
+        while (var1.hasNext())
+        {
+            ChunkPosition var2 = (ChunkPosition)var1.next();
+            int var3 = var2.field_151329_a;
+            int var4 = var2.field_151327_b;
+            int var5 = var2.field_151328_c;
+            Block var6 = this.worldObj.getBlock(var3, var4, var5);
+            Block var7 = this.worldObj.getBlock(var3, var4 - 1, var5);
+
+            if (var6.getMaterial() == Material.air && var7.isOpaque() && this.explosionRNG.nextInt(3) == 0)
+            {
+                this.worldObj.setBlock(var3, var4, var5, Blocks.fire);
             }
         }
     }
@@ -255,4 +282,32 @@ public class Explosion
     {
         return this.exploder == null ? null : (this.exploder instanceof EntityTNTPrimed ? ((EntityTNTPrimed)this.exploder).getTntPlacedBy() : (this.exploder instanceof EntityLivingBase ? (EntityLivingBase)this.exploder : null));
     }
+
+    private static double[] createRayDirections(int p_createRayDirections_0_)
+    {
+        double[] var1 = new double[(p_createRayDirections_0_ * p_createRayDirections_0_ * p_createRayDirections_0_ - (p_createRayDirections_0_ - 2) * (p_createRayDirections_0_ - 2) * (p_createRayDirections_0_ - 2)) * 3];
+        int var2 = 0;
+
+        for (int var3 = 0; var3 < p_createRayDirections_0_; ++var3)
+        {
+            for (int var4 = 0; var4 < p_createRayDirections_0_; ++var4)
+            {
+                for (int var5 = 0; var5 < p_createRayDirections_0_; ++var5)
+                {
+                    if (var3 == 0 || var3 == p_createRayDirections_0_ - 1 || var4 == 0 || var4 == p_createRayDirections_0_ - 1 || var5 == 0 || var5 == p_createRayDirections_0_ - 1)
+                    {
+                        double var6 = (double)((float)var3 / ((float)p_createRayDirections_0_ - 1.0F) * 2.0F - 1.0F);
+                        double var8 = (double)((float)var4 / ((float)p_createRayDirections_0_ - 1.0F) * 2.0F - 1.0F);
+                        double var10 = (double)((float)var5 / ((float)p_createRayDirections_0_ - 1.0F) * 2.0F - 1.0F);
+                        double var12 = Math.sqrt(var6 * var6 + var8 * var8 + var10 * var10);
+                        var1[var2++] = var6 / var12;
+                        var1[var2++] = var8 / var12;
+                        var1[var2++] = var10 / var12;
+                    }
+                }
+            }
+        }
+
+        return var1;
+    }
 }
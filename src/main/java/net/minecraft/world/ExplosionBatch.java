@@ -0,0 +1,331 @@
+package net.minecraft.world;
+
+import gnu.trove.iterator.TLongIterator;
+import gnu.trove.iterator.TLongIntIterator;
+import gnu.trove.map.hash.TLongFloatHashMap;
+import gnu.trove.map.hash.TLongIntHashMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import gnu.trove.set.hash.TLongHashSet;
+import net.minecraft.block.Block;
+import net.minecraft.block.material.Material;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.init.Blocks;
+import net.minecraft.network.play.server.S27PacketExplosion;
+import net.minecraft.util.PackedPosition;
+import net.minecraft.util.Vec3;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the explosions of a server world during a tick and resolves them together: block lookups and entity
+ * exposure are cached for the whole batch, every destroyed block is removed and dropped once, and each player gets a
+ * single packet per explosion center.
+ */
+public class ExplosionBatch
+{
+    private final WorldServer worldObj;
+    private List<Explosion> pendingExplosions = new ArrayList<Explosion>();
+    private List<Explosion> runningExplosions = new ArrayList<Explosion>();
+    private final Map<ExplosionBatch.Center, ExplosionBatch.Center> centers = new HashMap<ExplosionBatch.Center, ExplosionBatch.Center>();
+    private final List<ExplosionBatch.Center> centerList = new ArrayList<ExplosionBatch.Center>();
+
+    /** Blocks read by the rays of this batch, keyed by packed position */
+    private final TLongObjectHashMap<Block> blockCache = new TLongObjectHashMap<Block>();
+
+    /** Destroyed blocks, mapped to the index in runningExplosions of the first explosion which reached them */
+    private final TLongIntHashMap claimedBlocks = new TLongIntHashMap();
+
+    /** Block density seen by an entity from an explosion center, keyed by center index and entity id */
+    private final TLongFloatHashMap exposureCache = new TLongFloatHashMap(16, 0.5F, 0L, -1.0F);
+    private ExplosionBatch.Center currentCenter;
+    private int currentExplosion;
+
+    public ExplosionBatch(WorldServer p_i1_1_)
+    {
+        this.worldObj = p_i1_1_;
+    }
+
+    /**
+     * Queues an explosion to be resolved by the next flush
+     */
+    public void schedule(Explosion p_schedule_1_)
+    {
+        this.pendingExplosions.add(p_schedule_1_);
+    }
+
+    /**
+     * Resolves every scheduled explosion. Explosions caused by the batch itself (ender crystals for instance) are
+     * resolved in a following round of the same flush.
+     */
+    public void flush()
+    {
+        if (this.pendingExplosions.isEmpty())
+        {
+            return;
+        }
+
+        this.worldObj.theProfiler.startSection("explosions");
+
+        while (!this.pendingExplosions.isEmpty())
+        {
+            List<Explosion> var1 = this.runningExplosions;
+            this.runningExplosions = this.pendingExplosions;
+            this.pendingExplosions = var1;
+
+            try
+            {
+                this.resolveRunning();
+            }
+            finally
+            {
+                this.runningExplosions.clear();
+                this.centers.clear();
+                this.centerList.clear();
+                this.blockCache.clear();
+                this.claimedBlocks.clear();
+                this.exposureCache.clear();
+                this.currentCenter = null;
+            }
+        }
+
+        this.worldObj.theProfiler.endSection();
+    }
+
+    private void resolveRunning()
+    {
+        int var1;
+
+        for (var1 = 0; var1 < this.runningExplosions.size(); ++var1)
+        {
+            Explosion var2 = (Explosion)this.runningExplosions.get(var1);
+            ExplosionBatch.Center var3 = new ExplosionBatch.Center(var2.explosionX, var2.explosionY, var2.explosionZ);
+            ExplosionBatch.Center var4 = (ExplosionBatch.Center)this.centers.get(var3);
+
+            if (var4 == null)
+            {
+                var3.index = this.centerList.size();
+                this.centers.put(var3, var3);
+                this.centerList.add(var3);
+                var4 = var3;
+            }
+
+            var4.explosions.add(var2);
+            this.currentCenter = var4;
+            this.currentExplosion = var1;
+            var2.doExplosionA(this);
+        }
+
+        this.worldObj.theProfiler.startSection("blocks");
+        TLongIntIterator var5 = this.claimedBlocks.iterator();
+
+        while (var5.hasNext())
+        {
+            var5.advance();
+            long var6 = var5.key();
+            Explosion var8 = (Explosion)this.runningExplosions.get(var5.value());
+            int var9 = PackedPosition.getX(var6);
+            int var10 = PackedPosition.getY(var6);
+            int var11 = PackedPosition.getZ(var6);
+            Block var12 = this.worldObj.getBlock(var9, var10, var11);
+
+            if (var12.getMaterial() != Material.air)
+            {
+                if (var12.canDropFromExplosion(var8))
+                {
+                    var12.dropBlockAsItemWithChance(this.worldObj, var9, var10, var11, this.worldObj.getBlockMetadata(var9, var10, var11), 1.0F / var8.explosionSize, 0);
+                }
+
+                this.worldObj.setBlock(var9, var10, var11, Blocks.air, 0, 3);
+                var12.onBlockDestroyedByExplosion(this.worldObj, var9, var10, var11, var8);
+            }
+        }
+
+        for (var1 = 0; var1 < this.runningExplosions.size(); ++var1)
+        {
+            Explosion var13 = (Explosion)this.runningExplosions.get(var1);
+
+            if (var13.isFlaming)
+            {
+                var13.spawnFire();
+            }
+        }
+
+        this.worldObj.theProfiler.endStartSection("notify");
+
+        for (var1 = 0; var1 < this.centerList.size(); ++var1)
+        {
+            this.notifyCenter((ExplosionBatch.Center)this.centerList.get(var1));
+        }
+
+        this.worldObj.theProfiler.endSection();
+    }
+
+    /**
+     * Plays the sound and sends one packet per player for all the explosions sharing a center
+     */
+    private void notifyCenter(ExplosionBatch.Center p_notifyCenter_1_)
+    {
+        float var2 = 0.0F;
+        boolean var3 = false;
+        HashMap var4 = new HashMap();
+        Iterator var5 = p_notifyCenter_1_.explosions.iterator();
+
+        while (var5.hasNext())
+        {
+            Explosion var6 = (Explosion)var5.next();
+            var2 = Math.max(var2, var6.explosionSize);
+            var3 |= var6.isSmoking;
+            Iterator var7 = var6.func_77277_b().entrySet().iterator();
+
+            while (var7.hasNext())
+            {
+                Map.Entry var8 = (Map.Entry)var7.next();
+                Vec3 var9 = (Vec3)var8.getValue();
+                Vec3 var10 = (Vec3)var4.get(var8.getKey());
+
+                if (var10 == null)
+                {
+                    var4.put(var8.getKey(), Vec3.createVectorHelper(var9.xCoord, var9.yCoord, var9.zCoord));
+                }
+                else
+                {
+                    var10.xCoord += var9.xCoord;
+                    var10.yCoord += var9.yCoord;
+                    var10.zCoord += var9.zCoord;
+                }
+            }
+        }
+
+        this.worldObj.playSoundEffect(p_notifyCenter_1_.x, p_notifyCenter_1_.y, p_notifyCenter_1_.z, "random.explode", 4.0F, (1.0F + (this.worldObj.rand.nextFloat() - this.worldObj.rand.nextFloat()) * 0.2F) * 0.7F);
+
+        if (var2 >= 2.0F && var3)
+        {
+            this.worldObj.spawnParticle("hugeexplosion", p_notifyCenter_1_.x, p_notifyCenter_1_.y, p_notifyCenter_1_.z, 1.0D, 0.0D, 0.0D);
+        }
+        else
+        {
+            this.worldObj.spawnParticle("largeexplode", p_notifyCenter_1_.x, p_notifyCenter_1_.y, p_notifyCenter_1_.z, 1.0D, 0.0D, 0.0D);
+        }
+
+        ArrayList var11 = new ArrayList(p_notifyCenter_1_.destroyedBlocks.size());
+        TLongIterator var12 = p_notifyCenter_1_.destroyedBlocks.iterator();
+
+        while (var12.hasNext())
+        {
+            long var13 = var12.next();
+            var11.add(new ChunkPosition(PackedPosition.getX(var13), PackedPosition.getY(var13), PackedPosition.getZ(var13)));
+        }
+
+        Iterator var15 = this.worldObj.playerEntities.iterator();
+
+        while (var15.hasNext())
+        {
+            EntityPlayer var16 = (EntityPlayer)var15.next();
+
+            if (var16.getDistanceSq(p_notifyCenter_1_.x, p_notifyCenter_1_.y, p_notifyCenter_1_.z) < 4096.0D)
+            {
+                ((EntityPlayerMP)var16).playerNetServerHandler.sendPacket(new S27PacketExplosion(p_notifyCenter_1_.x, p_notifyCenter_1_.y, p_notifyCenter_1_.z, var2, var11, (Vec3)var4.get(var16)));
+            }
+        }
+    }
+
+    /**
+     * Returns the block at the given coordinates as it was when the batch started resolving
+     */
+    Block getBlock(int p_getBlock_1_, int p_getBlock_2_, int p_getBlock_3_)
+    {
+        long var4 = PackedPosition.pack(p_getBlock_1_, p_getBlock_2_, p_getBlock_3_);
+        Block var6 = (Block)this.blockCache.get(var4);
+
+        if (var6 == null)
+        {
+            var6 = this.worldObj.getBlock(p_getBlock_1_, p_getBlock_2_, p_getBlock_3_);
+            this.blockCache.put(var4, var6);
+        }
+
+        return var6;
+    }
+
+    /**
+     * Memoized World.getBlockDensity for the explosion being resolved. Blocks are only removed once every ray has been
+     * cast and entities do not move during the batch, so the density only depends on the center and the entity.
+     */
+    float getBlockDensity(Vec3 p_getBlockDensity_1_, Entity p_getBlockDensity_2_)
+    {
+        long var3 = (long)this.currentCenter.index << 32 | (long)p_getBlockDensity_2_.getEntityId() & 4294967295L;
+        float var5 = this.exposureCache.get(var3);
+
+        if (var5 < 0.0F)
+        {
+            var5 = this.worldObj.getBlockDensity(p_getBlockDensity_1_, p_getBlockDensity_2_.boundingBox);
+            this.exposureCache.put(var3, var5);
+        }
+
+        return var5;
+    }
+
+    /**
+     * Records the blocks reached by the explosion being resolved. Non smoking explosions do not break blocks.
+     */
+    void claimBlocks(Explosion p_claimBlocks_1_, TLongHashSet p_claimBlocks_2_)
+    {
+        if (p_claimBlocks_1_.isSmoking)
+        {
+            TLongIterator var3 = p_claimBlocks_2_.iterator();
+
+            while (var3.hasNext())
+            {
+                long var4 = var3.next();
+
+                if (!this.claimedBlocks.containsKey(var4))
+                {
+                    this.claimedBlocks.put(var4, this.currentExplosion);
+                    this.currentCenter.destroyedBlocks.add(var4);
+                }
+            }
+        }
+    }
+
+    static final class Center
+    {
+        final double x;
+        final double y;
+        final double z;
+        int index;
+        final List<Explosion> explosions = new ArrayList<Explosion>();
+        final TLongHashSet destroyedBlocks = new TLongHashSet();
+
+        Center(double p_i2_1_, double p_i2_3_, double p_i2_5_)
+        {
+            this.x = p_i2_1_;
+            this.y = p_i2_3_;
+            this.z = p_i2_5_;
+        }
+
+        public boolean equals(Object p_equals_1_)
+        {
+            if (!(p_equals_1_ instanceof ExplosionBatch.Center))
+            {
+                return false;
+            }
+            else
+            {
+                ExplosionBatch.Center var2 = (ExplosionBatch.Center)p_equals_1_;
+                return var2.x == this.x && var2.y == this.y && var2.z == this.z;
+            }
+        }
+
+        public int hashCode()
+        {
+            long var1 = Double.doubleToLongBits(this.x) * 31L + Double.doubleToLongBits(this.y);
+            var1 = var1 * 31L + Double.doubleToLongBits(this.z);
+            return (int)(var1 ^ var1 >>> 32);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package net.minecraft.world;
 
+import gnu.trove.iterator.TLongIntIterator;
+import gnu.trove.map.hash.TLongIntHashMap;
 import net.minecraft.block.Block;
 import net.minecraft.block.material.Material;
 import net.minecraft.entity.EntityLiving;
@@ -18,11 +20,16 @@ import java.util.*;
 
 public final class SpawnerAnimals
 {
-    /** The 17x17 area around the player where mobs can spawn */
-    private HashMap eligibleChunksForSpawning = new HashMap();
+    /** The 17x17 area around the players, mapped to the number of players covering each chunk */
+    private final TLongIntHashMap eligibleChunkCounts = new TLongIntHashMap();
+
+    /** The inner 15x15 area around the players where mobs can spawn, mapped to the number of players covering it */
+    private final TLongIntHashMap spawnableChunkCounts = new TLongIntHashMap();
+
+    /** The chunk each player's spawn area is currently centered on */
+    private final Map<EntityPlayer, SpawnerAnimals.PlayerArea> playerAreas = new HashMap<EntityPlayer, SpawnerAnimals.PlayerArea>();
+    private int areaUpdateCounter;
     private Map mapSampleEntitiesByClass = new HashMap();
-    private int lastPlayerChunkX = Integer.MAX_VALUE;
-    private int lastPlayerChunkZ = Integer.MAX_VALUE;
 
     protected static ChunkPosition func_151350_a(World p_151350_0_, int p_151350_1_, int p_151350_2_)
     {
@@ -45,54 +52,10 @@ public final class SpawnerAnimals
         }
         else
         {
-            EntityPlayer player = null;
-
-            if (par1WorldServer.playerEntities.size() == 1)
-            {
-                player = (EntityPlayer)par1WorldServer.playerEntities.get(0);
-            }
-
+            this.updateEligibleChunks(par1WorldServer);
             int var5;
             int var8;
             int countEntities;
-            ChunkCoordIntPair var39;
-
-            if (player == null || player.chunkCoordX != this.lastPlayerChunkX || player.chunkCoordZ != this.lastPlayerChunkZ || this.eligibleChunksForSpawning.size() <= 0)
-            {
-                this.eligibleChunksForSpawning.clear();
-
-                for (var5 = 0; var5 < par1WorldServer.playerEntities.size(); ++var5)
-                {
-                    EntityPlayer var34 = (EntityPlayer)par1WorldServer.playerEntities.get(var5);
-                    int var35 = MathHelper.floor_double(var34.posX / 16.0D);
-                    var8 = MathHelper.floor_double(var34.posZ / 16.0D);
-                    byte var36 = 8;
-
-                    for (int var37 = -var36; var37 <= var36; ++var37)
-                    {
-                        for (countEntities = -var36; countEntities <= var36; ++countEntities)
-                        {
-                            boolean var38 = var37 == -var36 || var37 == var36 || countEntities == -var36 || countEntities == var36;
-                            var39 = new ChunkCoordIntPair(var37 + var35, countEntities + var8);
-
-                            if (!var38)
-                            {
-                                this.eligibleChunksForSpawning.put(var39, Boolean.valueOf(false));
-                            }
-                            else if (!this.eligibleChunksForSpawning.containsKey(var39))
-                            {
-                                this.eligibleChunksForSpawning.put(var39, Boolean.valueOf(true));
-                            }
-                        }
-                    }
-                }
-
-                if (player != null)
-                {
-                    this.lastPlayerChunkX = player.chunkCoordX;
-                    this.lastPlayerChunkZ = player.chunkCoordZ;
-                }
-            }
 
             var5 = 0;
             ChunkCoordinates var411 = par1WorldServer.getSpawnPoint();
@@ -110,134 +73,134 @@ public final class SpawnerAnimals
                 }
                 else
                 {
-                    countEntities = par1WorldServer.countEntities(var44.getCreatureClass());
+                    countEntities = par1WorldServer.countCreatures(var44);
                 }
 
-                if ((!var44.getPeacefulCreature() || par3) && (var44.getPeacefulCreature() || par2) && (!var44.getAnimal() || par4) && countEntities <= var44.getMaxNumberOfCreature() * this.eligibleChunksForSpawning.size() / 256)
+                if ((!var44.getPeacefulCreature() || par3) && (var44.getPeacefulCreature() || par2) && (!var44.getAnimal() || par4) && countEntities <= var44.getMaxNumberOfCreature() * this.eligibleChunkCounts.size() / 256)
                 {
-                    Iterator var46 = this.eligibleChunksForSpawning.keySet().iterator();
+                    TLongIntIterator var46 = this.spawnableChunkCounts.iterator();
                     label143:
 
                     while (var46.hasNext())
                     {
-                        var39 = (ChunkCoordIntPair)var46.next();
+                        var46.advance();
+                        long var39 = var46.key();
+                        int var12 = (int)var39;
+                        int var13 = (int)(var39 >> 32);
 
-                        if (!((Boolean)this.eligibleChunksForSpawning.get(var39)).booleanValue())
+                        Chunk chunk = par1WorldServer.getChunkFromChunkCoords(var12, var13);
+                        int var14 = var12 * 16 + par1WorldServer.rand.nextInt(16);
+                        int var16 = var13 * 16 + par1WorldServer.rand.nextInt(16);
+                        int var15 = par1WorldServer.rand.nextInt(chunk == null ? par1WorldServer.getActualHeight() : chunk.getTopFilledSegment() + 16 - 1);
+
+                        if (!par1WorldServer.getBlock(var14, var15, var16).isNormalCube() && par1WorldServer.getBlock(var14, var15, var16).getMaterial() == var44.getCreatureMaterial())
                         {
-                            Chunk chunk = par1WorldServer.getChunkFromChunkCoords(var39.chunkXPos, var39.chunkZPos);
-                            int var14 = var39.chunkXPos * 16 + par1WorldServer.rand.nextInt(16);
-                            int var16 = var39.chunkZPos * 16 + par1WorldServer.rand.nextInt(16);
-                            int var15 = par1WorldServer.rand.nextInt(chunk == null ? par1WorldServer.getActualHeight() : chunk.getTopFilledSegment() + 16 - 1);
+                            int var17 = 0;
+                            int var18 = 0;
 
-                            if (!par1WorldServer.getBlock(var14, var15, var16).isNormalCube() && par1WorldServer.getBlock(var14, var15, var16).getMaterial() == var44.getCreatureMaterial())
+                            while (var18 < 3)
                             {
-                                int var17 = 0;
-                                int var18 = 0;
-
-                                while (var18 < 3)
+                                int var19 = var14;
+                                int var20 = var15;
+                                int var21 = var16;
+                                byte var22 = 6;
+                                BiomeGenBase.SpawnListEntry var23 = null;
+                                IEntityLivingData var24 = null;
+                                int var25 = 0;
+
+                                while (true)
                                 {
-                                    int var19 = var14;
-                                    int var20 = var15;
-                                    int var21 = var16;
-                                    byte var22 = 6;
-                                    BiomeGenBase.SpawnListEntry var23 = null;
-                                    IEntityLivingData var24 = null;
-                                    int var25 = 0;
-
-                                    while (true)
+                                    if (var25 < 4)
                                     {
-                                        if (var25 < 4)
+                                        label136:
                                         {
-                                            label136:
+                                            var19 += par1WorldServer.rand.nextInt(var22) - par1WorldServer.rand.nextInt(var22);
+                                            var20 += par1WorldServer.rand.nextInt(1) - par1WorldServer.rand.nextInt(1);
+                                            var21 += par1WorldServer.rand.nextInt(var22) - par1WorldServer.rand.nextInt(var22);
+
+                                            if (canCreatureTypeSpawnAtLocation(var44, par1WorldServer, var19, var20, var21))
                                             {
-                                                var19 += par1WorldServer.rand.nextInt(var22) - par1WorldServer.rand.nextInt(var22);
-                                                var20 += par1WorldServer.rand.nextInt(1) - par1WorldServer.rand.nextInt(1);
-                                                var21 += par1WorldServer.rand.nextInt(var22) - par1WorldServer.rand.nextInt(var22);
+                                                float var26 = (float)var19 + 0.5F;
+                                                float var27 = (float)var20;
+                                                float var28 = (float)var21 + 0.5F;
 
-                                                if (canCreatureTypeSpawnAtLocation(var44, par1WorldServer, var19, var20, var21))
+                                                if (par1WorldServer.getClosestPlayer((double)var26, (double)var27, (double)var28, 24.0D) == null)
                                                 {
-                                                    float var26 = (float)var19 + 0.5F;
-                                                    float var27 = (float)var20;
-                                                    float var28 = (float)var21 + 0.5F;
+                                                    float var29 = var26 - (float)var411.posX;
+                                                    float var30 = var27 - (float)var411.posY;
+                                                    float var31 = var28 - (float)var411.posZ;
+                                                    float var32 = var29 * var29 + var30 * var30 + var31 * var31;
 
-                                                    if (par1WorldServer.getClosestPlayer((double)var26, (double)var27, (double)var28, 24.0D) == null)
+                                                    if (var32 >= 576.0F)
                                                     {
-                                                        float var29 = var26 - (float)var411.posX;
-                                                        float var30 = var27 - (float)var411.posY;
-                                                        float var31 = var28 - (float)var411.posZ;
-                                                        float var32 = var29 * var29 + var30 * var30 + var31 * var31;
-
-                                                        if (var32 >= 576.0F)
+                                                        if (var23 == null)
                                                         {
+                                                            var23 = par1WorldServer.spawnRandomCreature(var44, var19, var20, var21);
+
                                                             if (var23 == null)
                                                             {
-                                                                var23 = par1WorldServer.spawnRandomCreature(var44, var19, var20, var21);
-
-                                                                if (var23 == null)
-                                                                {
-                                                                    break label136;
-                                                                }
+                                                                break label136;
                                                             }
+                                                        }
 
-                                                            EntityLiving var41;
+                                                        EntityLiving var41;
 
-                                                            try
-                                                            {
-                                                                var41 = (EntityLiving)this.mapSampleEntitiesByClass.get(var23.entityClass);
+                                                        try
+                                                        {
+                                                            var41 = (EntityLiving)this.mapSampleEntitiesByClass.get(var23.entityClass);
 
-                                                                if (var41 == null)
-                                                                {
-                                                                    var41 = (EntityLiving)var23.entityClass.getConstructor(new Class[] {World.class}).newInstance(new Object[] {par1WorldServer});
-                                                                    this.mapSampleEntitiesByClass.put(var23.entityClass, var41);
-                                                                }
-                                                            }
-                                                            catch (Exception var40)
+                                                            if (var41 == null)
                                                             {
-                                                                var40.printStackTrace();
-                                                                return var5;
+                                                                var41 = (EntityLiving)var23.entityClass.getConstructor(new Class[] {World.class}).newInstance(new Object[] {par1WorldServer});
+                                                                this.mapSampleEntitiesByClass.put(var23.entityClass, var41);
                                                             }
+                                                        }
+                                                        catch (Exception var40)
+                                                        {
+                                                            var40.printStackTrace();
+                                                            return var5;
+                                                        }
 
-                                                            var41.setLocationAndAngles((double)var26, (double)var27, (double)var28, par1WorldServer.rand.nextFloat() * 360.0F, 0.0F);
-                                                            boolean canSpawn = false;
+                                                        var41.setLocationAndAngles((double)var26, (double)var27, (double)var28, par1WorldServer.rand.nextFloat() * 360.0F, 0.0F);
+                                                        boolean canSpawn = false;
 
-                                                            if (Reflector.ForgeEventFactory_canEntitySpawn.exists())
-                                                            {
-                                                                Object result = Reflector.call(Reflector.ForgeEventFactory_canEntitySpawn, new Object[] {var41, par1WorldServer, Float.valueOf(var26), Float.valueOf(var27), Float.valueOf(var28)});
-                                                                Object result_ALLOW = Reflector.getFieldValue(Reflector.Event_Result_ALLOW);
-                                                                Object result_DEFAULT = Reflector.getFieldValue(Reflector.Event_Result_DEFAULT);
-                                                                canSpawn = result == result_ALLOW || result == result_DEFAULT && var41.getCanSpawnHere();
-                                                            }
-                                                            else
-                                                            {
-                                                                canSpawn = var41.getCanSpawnHere();
-                                                            }
+                                                        if (Reflector.ForgeEventFactory_canEntitySpawn.exists())
+                                                        {
+                                                            Object result = Reflector.call(Reflector.ForgeEventFactory_canEntitySpawn, new Object[] {var41, par1WorldServer, Float.valueOf(var26), Float.valueOf(var27), Float.valueOf(var28)});
+                                                            Object result_ALLOW = Reflector.getFieldValue(Reflector.Event_Result_ALLOW);
+                                                            Object result_DEFAULT = Reflector.getFieldValue(Reflector.Event_Result_DEFAULT);
+                                                            canSpawn = result == result_ALLOW || result == result_DEFAULT && var41.getCanSpawnHere();
+                                                        }
+                                                        else
+                                                        {
+                                                            canSpawn = var41.getCanSpawnHere();
+                                                        }
+
+                                                        if (canSpawn)
+                                                        {
+                                                            this.mapSampleEntitiesByClass.put(var23.entityClass, (Object)null);
+                                                            ++var17;
+                                                            par1WorldServer.spawnEntityInWorld(var41);
+                                                            var24 = var41.onSpawnWithEgg(var24);
 
-                                                            if (canSpawn)
+                                                            if (var17 >= var41.getMaxSpawnedInChunk())
                                                             {
-                                                                this.mapSampleEntitiesByClass.put(var23.entityClass, (Object)null);
-                                                                ++var17;
-                                                                par1WorldServer.spawnEntityInWorld(var41);
-                                                                var24 = var41.onSpawnWithEgg(var24);
-
-                                                                if (var17 >= var41.getMaxSpawnedInChunk())
-                                                                {
-                                                                    continue label143;
-                                                                }
+                                                                continue label143;
                                                             }
-
-                                                            var5 += var17;
                                                         }
+
+                                                        var5 += var17;
                                                     }
                                                 }
-
-                                                ++var25;
-                                                continue;
                                             }
-                                        }
 
-                                        ++var18;
-                                        break;
+                                            ++var25;
+                                            continue;
+                                        }
                                     }
+
+                                    ++var18;
+                                    break;
                                 }
                             }
                         }
@@ -249,6 +212,82 @@ public final class SpawnerAnimals
         }
     }
 
+    /**
+     * Moves the spawn area of every player who crossed a chunk border since the last call, and drops the areas of
+     * players who left the world.
+     */
+    private void updateEligibleChunks(WorldServer p_updateEligibleChunks_1_)
+    {
+        int var2 = ++this.areaUpdateCounter;
+
+        for (int var3 = 0; var3 < p_updateEligibleChunks_1_.playerEntities.size(); ++var3)
+        {
+            EntityPlayer var4 = (EntityPlayer)p_updateEligibleChunks_1_.playerEntities.get(var3);
+            int var5 = MathHelper.floor_double(var4.posX / 16.0D);
+            int var6 = MathHelper.floor_double(var4.posZ / 16.0D);
+            SpawnerAnimals.PlayerArea var7 = (SpawnerAnimals.PlayerArea)this.playerAreas.get(var4);
+
+            if (var7 == null)
+            {
+                var7 = new SpawnerAnimals.PlayerArea(var5, var6);
+                this.playerAreas.put(var4, var7);
+                this.updateArea(var5, var6, 1);
+            }
+            else if (var7.chunkX != var5 || var7.chunkZ != var6)
+            {
+                this.updateArea(var7.chunkX, var7.chunkZ, -1);
+                var7.chunkX = var5;
+                var7.chunkZ = var6;
+                this.updateArea(var5, var6, 1);
+            }
+
+            var7.lastSeen = var2;
+        }
+
+        Iterator var8 = this.playerAreas.values().iterator();
+
+        while (var8.hasNext())
+        {
+            SpawnerAnimals.PlayerArea var9 = (SpawnerAnimals.PlayerArea)var8.next();
+
+            if (var9.lastSeen != var2)
+            {
+                this.updateArea(var9.chunkX, var9.chunkZ, -1);
+                var8.remove();
+            }
+        }
+    }
+
+    /**
+     * Adds (or removes, with a negative delta) one player's 17x17 area centered on the given chunk
+     */
+    private void updateArea(int p_updateArea_1_, int p_updateArea_2_, int p_updateArea_3_)
+    {
+        byte var4 = 8;
+
+        for (int var5 = -var4; var5 <= var4; ++var5)
+        {
+            for (int var6 = -var4; var6 <= var4; ++var6)
+            {
+                long var7 = ChunkCoordIntPair.chunkXZ2Int(p_updateArea_1_ + var5, p_updateArea_2_ + var6);
+                adjustCount(this.eligibleChunkCounts, var7, p_updateArea_3_);
+
+                if (var5 != -var4 && var5 != var4 && var6 != -var4 && var6 != var4)
+                {
+                    adjustCount(this.spawnableChunkCounts, var7, p_updateArea_3_);
+                }
+            }
+        }
+    }
+
+    private static void adjustCount(TLongIntHashMap p_adjustCount_0_, long p_adjustCount_1_, int p_adjustCount_3_)
+    {
+        if (p_adjustCount_0_.adjustOrPutValue(p_adjustCount_1_, p_adjustCount_3_, p_adjustCount_3_) <= 0)
+        {
+            p_adjustCount_0_.remove(p_adjustCount_1_);
+        }
+    }
+
     /**
      * Returns whether or not the specified creature type can spawn at the specified location.
      */
@@ -330,4 +369,17 @@ public final class SpawnerAnimals
             }
         }
     }
+
+    static final class PlayerArea
+    {
+        int chunkX;
+        int chunkZ;
+        int lastSeen;
+
+        PlayerArea(int p_i1_1_, int p_i1_2_)
+        {
+            this.chunkX = p_i1_1_;
+            this.chunkZ = p_i1_2_;
+        }
+    }
 }
@@ -0,0 +1,363 @@
+package net.minecraft.world;
+
+import gnu.trove.iterator.TObjectLongIterator;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import gnu.trove.map.hash.TObjectLongHashMap;
+import net.minecraft.crash.CrashReport;
+import net.minecraft.crash.CrashReportCategory;
+import net.minecraft.profiler.Profiler;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.PackedPosition;
+import net.minecraft.util.ReportedException;
+import net.minecraft.world.chunk.Chunk;
+
+import java.util.*;
+
+/**
+ * Holds the loaded tile entities of a world. Tile entities which have nothing to do can go dormant: they are taken out
+ * of the ticking list until a neighbour change, an inventory change or a timer wakes them up. Every tile entity keeps
+ * its index in the ticking list, so adding, removing and waking are O(1).
+ */
+public class TileEntityScheduler
+{
+    private final World worldObj;
+
+    /**
+     * Tile entities ticked every tick, in the order they were added or woken up. Removed entries are left null until
+     * the list is compacted at the end of the tick.
+     */
+    private TileEntity[] tickingTileEntities = new TileEntity[256];
+    private int tickingCount;
+    private int removedCount;
+
+    /** Dormant tile entities, by packed position */
+    private final TLongObjectHashMap<TileEntity> dormantTileEntities = new TLongObjectHashMap<TileEntity>();
+
+    /** Wake-up timers of dormant tile entities, ordered by tick */
+    private final PriorityQueue<TileEntityScheduler.Timer> timers = new PriorityQueue<TileEntityScheduler.Timer>();
+    private long tickCounter;
+
+    /** Nanoseconds spent ticking each tile entity class this tick, only measured while profiling */
+    private final TObjectLongHashMap<Class> tickTimes = new TObjectLongHashMap<Class>();
+    private final Map<Class, String> typeNames = new HashMap<Class, String>();
+
+    public TileEntityScheduler(World p_i1_1_)
+    {
+        this.worldObj = p_i1_1_;
+    }
+
+    /**
+     * Adds a tile entity to the ticking list, does nothing if it is already loaded
+     */
+    public void add(TileEntity p_add_1_)
+    {
+        if (p_add_1_.tickIndex < 0 && !p_add_1_.dormant)
+        {
+            this.append(p_add_1_);
+        }
+    }
+
+    public void addAll(Collection p_addAll_1_)
+    {
+        Iterator var2 = p_addAll_1_.iterator();
+
+        while (var2.hasNext())
+        {
+            this.add((TileEntity)var2.next());
+        }
+    }
+
+    public void remove(TileEntity p_remove_1_)
+    {
+        if (p_remove_1_.tickIndex >= 0)
+        {
+            this.tickingTileEntities[p_remove_1_.tickIndex] = null;
+            p_remove_1_.tickIndex = -1;
+            ++this.removedCount;
+        }
+        else if (p_remove_1_.dormant)
+        {
+            this.removeDormant(p_remove_1_);
+        }
+    }
+
+    /**
+     * Stops ticking a tile entity until it is woken up, or until the given number of ticks has passed when positive
+     */
+    public void sleep(TileEntity p_sleep_1_, int p_sleep_2_)
+    {
+        if (p_sleep_1_.tickIndex >= 0 && !p_sleep_1_.isInvalid())
+        {
+            this.remove(p_sleep_1_);
+            TileEntity var3 = (TileEntity)this.dormantTileEntities.put(PackedPosition.pack(p_sleep_1_.posX, p_sleep_1_.posY, p_sleep_1_.posZ), p_sleep_1_);
+
+            if (var3 != null && var3 != p_sleep_1_)
+            {
+                var3.dormant = false;
+                this.append(var3);
+            }
+
+            p_sleep_1_.dormant = true;
+            p_sleep_1_.wakeTick = p_sleep_2_ > 0 ? this.tickCounter + (long)p_sleep_2_ : -1L;
+
+            if (p_sleep_2_ > 0)
+            {
+                this.timers.add(new TileEntityScheduler.Timer(p_sleep_1_.wakeTick, p_sleep_1_));
+            }
+        }
+    }
+
+    public void wakeUp(TileEntity p_wakeUp_1_)
+    {
+        if (p_wakeUp_1_.dormant)
+        {
+            this.removeDormant(p_wakeUp_1_);
+            this.append(p_wakeUp_1_);
+        }
+    }
+
+    /**
+     * Wakes up the dormant tile entity at the given position, if any
+     */
+    public void wakeUpAt(int p_wakeUpAt_1_, int p_wakeUpAt_2_, int p_wakeUpAt_3_)
+    {
+        if (!this.dormantTileEntities.isEmpty())
+        {
+            TileEntity var4 = (TileEntity)this.dormantTileEntities.get(PackedPosition.pack(p_wakeUpAt_1_, p_wakeUpAt_2_, p_wakeUpAt_3_));
+
+            if (var4 != null)
+            {
+                this.wakeUp(var4);
+            }
+        }
+    }
+
+    /**
+     * Wakes up the dormant tile entities next to the given position
+     */
+    public void wakeUpAround(int p_wakeUpAround_1_, int p_wakeUpAround_2_, int p_wakeUpAround_3_)
+    {
+        if (!this.dormantTileEntities.isEmpty())
+        {
+            this.wakeUpAt(p_wakeUpAround_1_ - 1, p_wakeUpAround_2_, p_wakeUpAround_3_);
+            this.wakeUpAt(p_wakeUpAround_1_ + 1, p_wakeUpAround_2_, p_wakeUpAround_3_);
+            this.wakeUpAt(p_wakeUpAround_1_, p_wakeUpAround_2_ - 1, p_wakeUpAround_3_);
+            this.wakeUpAt(p_wakeUpAround_1_, p_wakeUpAround_2_ + 1, p_wakeUpAround_3_);
+            this.wakeUpAt(p_wakeUpAround_1_, p_wakeUpAround_2_, p_wakeUpAround_3_ - 1);
+            this.wakeUpAt(p_wakeUpAround_1_, p_wakeUpAround_2_, p_wakeUpAround_3_ + 1);
+        }
+    }
+
+    /**
+     * Ticks every tile entity which is not dormant and drops the invalid ones
+     */
+    public void tickTileEntities()
+    {
+        ++this.tickCounter;
+        this.wakeUpTimers();
+        Profiler var1 = this.worldObj.theProfiler;
+        boolean var2 = var1.profilingEnabled;
+
+        for (int var3 = 0; var3 < this.tickingCount; ++var3)
+        {
+            TileEntity var4 = this.tickingTileEntities[var3];
+
+            if (var4 == null)
+            {
+                continue;
+            }
+
+            if (!var4.isInvalid() && var4.hasWorldObj() && this.worldObj.blockExists(var4.posX, var4.posY, var4.posZ))
+            {
+                long var5 = var2 ? System.nanoTime() : 0L;
+
+                try
+                {
+                    var4.updateEntity();
+                }
+                catch (Throwable var9)
+                {
+                    CrashReport var7 = CrashReport.makeCrashReport(var9, "Ticking block entity");
+                    CrashReportCategory var8 = var7.makeCategory("Block entity being ticked");
+                    var4.func_145828_a(var8);
+                    throw new ReportedException(var7);
+                }
+
+                if (var2)
+                {
+                    long var10 = System.nanoTime() - var5;
+                    this.tickTimes.adjustOrPutValue(var4.getClass(), var10, var10);
+                }
+            }
+
+            if (var4.isInvalid())
+            {
+                this.remove(var4);
+
+                if (this.worldObj.chunkExists(var4.posX >> 4, var4.posZ >> 4))
+                {
+                    Chunk var11 = this.worldObj.getChunkFromChunkCoords(var4.posX >> 4, var4.posZ >> 4);
+
+                    if (var11 != null)
+                    {
+                        var11.removeTileEntity(var4.posX & 15, var4.posY, var4.posZ & 15);
+                    }
+                }
+            }
+        }
+
+        this.compact();
+
+        if (!this.tickTimes.isEmpty())
+        {
+            this.reportTickTimes(var1);
+        }
+    }
+
+    /**
+     * Returns the loaded tile entities, dormant or not, inside the given box
+     */
+    public List getTileEntitiesIn(int p_getTileEntitiesIn_1_, int p_getTileEntitiesIn_2_, int p_getTileEntitiesIn_3_, int p_getTileEntitiesIn_4_, int p_getTileEntitiesIn_5_, int p_getTileEntitiesIn_6_)
+    {
+        ArrayList var7 = new ArrayList();
+
+        for (int var8 = 0; var8 < this.tickingCount; ++var8)
+        {
+            TileEntity var9 = this.tickingTileEntities[var8];
+
+            if (var9 != null && var9.posX >= p_getTileEntitiesIn_1_ && var9.posY >= p_getTileEntitiesIn_2_ && var9.posZ >= p_getTileEntitiesIn_3_ && var9.posX < p_getTileEntitiesIn_4_ && var9.posY < p_getTileEntitiesIn_5_ && var9.posZ < p_getTileEntitiesIn_6_)
+            {
+                var7.add(var9);
+            }
+        }
+
+        Iterator var11 = this.dormantTileEntities.valueCollection().iterator();
+
+        while (var11.hasNext())
+        {
+            TileEntity var10 = (TileEntity)var11.next();
+
+            if (var10.posX >= p_getTileEntitiesIn_1_ && var10.posY >= p_getTileEntitiesIn_2_ && var10.posZ >= p_getTileEntitiesIn_3_ && var10.posX < p_getTileEntitiesIn_4_ && var10.posY < p_getTileEntitiesIn_5_ && var10.posZ < p_getTileEntitiesIn_6_)
+            {
+                var7.add(var10);
+            }
+        }
+
+        return var7;
+    }
+
+    public int getTickingCount()
+    {
+        return this.tickingCount - this.removedCount;
+    }
+
+    public int getDormantCount()
+    {
+        return this.dormantTileEntities.size();
+    }
+
+    private void append(TileEntity p_append_1_)
+    {
+        if (this.tickingCount == this.tickingTileEntities.length)
+        {
+            this.tickingTileEntities = (TileEntity[])Arrays.copyOf(this.tickingTileEntities, this.tickingCount * 2);
+        }
+
+        p_append_1_.tickIndex = this.tickingCount;
+        this.tickingTileEntities[this.tickingCount++] = p_append_1_;
+    }
+
+    private void removeDormant(TileEntity p_removeDormant_1_)
+    {
+        long var2 = PackedPosition.pack(p_removeDormant_1_.posX, p_removeDormant_1_.posY, p_removeDormant_1_.posZ);
+
+        if (this.dormantTileEntities.get(var2) == p_removeDormant_1_)
+        {
+            this.dormantTileEntities.remove(var2);
+        }
+
+        p_removeDormant_1_.dormant = false;
+        p_removeDormant_1_.wakeTick = -1L;
+    }
+
+    private void wakeUpTimers()
+    {
+        while (!this.timers.isEmpty() && ((TileEntityScheduler.Timer)this.timers.peek()).tick <= this.tickCounter)
+        {
+            TileEntityScheduler.Timer var1 = (TileEntityScheduler.Timer)this.timers.poll();
+
+            if (var1.tileEntity.dormant && var1.tileEntity.wakeTick == var1.tick)
+            {
+                this.wakeUp(var1.tileEntity);
+            }
+        }
+    }
+
+    /**
+     * Closes the gaps left by removed tile entities, keeping the ticking order
+     */
+    private void compact()
+    {
+        if (this.removedCount > 0)
+        {
+            int var1 = 0;
+
+            for (int var2 = 0; var2 < this.tickingCount; ++var2)
+            {
+                TileEntity var3 = this.tickingTileEntities[var2];
+
+                if (var3 != null)
+                {
+                    var3.tickIndex = var1;
+                    this.tickingTileEntities[var1++] = var3;
+                }
+            }
+
+            Arrays.fill(this.tickingTileEntities, var1, this.tickingCount, (Object)null);
+            this.tickingCount = var1;
+            this.removedCount = 0;
+        }
+    }
+
+    /**
+     * Adds the time spent ticking each tile entity type to the current profiler section
+     */
+    private void reportTickTimes(Profiler p_reportTickTimes_1_)
+    {
+        TObjectLongIterator var2 = this.tickTimes.iterator();
+
+        while (var2.hasNext())
+        {
+            var2.advance();
+            Class var3 = (Class)var2.key();
+            String var4 = (String)this.typeNames.get(var3);
+
+            if (var4 == null)
+            {
+                var4 = var3.getSimpleName();
+                this.typeNames.put(var3, var4);
+            }
+
+            p_reportTickTimes_1_.addSectionTime(var4, var2.value());
+        }
+
+        this.tickTimes.clear();
+    }
+
+    static final class Timer implements Comparable<TileEntityScheduler.Timer>
+    {
+        final long tick;
+        final TileEntity tileEntity;
+
+        Timer(long p_i2_1_, TileEntity p_i2_3_)
+        {
+            this.tick = p_i2_1_;
+            this.tileEntity = p_i2_3_;
+        }
+
+        public int compareTo(TileEntityScheduler.Timer p_compareTo_1_)
+        {
+            return this.tick < p_compareTo_1_.tick ? -1 : (this.tick > p_compareTo_1_.tick ? 1 : 0);
+        }
+    }
+}
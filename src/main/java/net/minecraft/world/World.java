@@ -7,6 +7,7 @@ import net.minecraft.crash.CrashReport;
 import net.minecraft.crash.CrashReportCategory;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLiving;
+import net.minecraft.entity.ai.EntityAIPerception;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.init.Blocks;
 import net.minecraft.item.ItemStack;
@@ -39,11 +40,15 @@ public abstract class World implements IBlockAccess
     public boolean scheduledUpdatesAreImmediate;
 
     /** A list of all Entities in all currently-loaded chunks */
-    public List loadedEntityList = new ArrayList();
+    public List loadedEntityList = new IndexedList();
     protected List unloadedEntityList = new ArrayList();
-    public List field_147482_g = new ArrayList();
+
+    /** Every loaded tile entity, and which of them are ticking */
+    public final TileEntityScheduler tileEntityScheduler = new TileEntityScheduler(this);
+
+    /** Entity queries and line of sight checks made by mob AI this tick, shared between the mobs */
+    public final EntityAIPerception aiPerception = new EntityAIPerception(this);
     private List field_147484_a = new ArrayList();
-    private List field_147483_b = new ArrayList();
 
     /** Array list of players in the world. */
     public List playerEntities = new ArrayList();
@@ -682,6 +687,8 @@ public abstract class World implements IBlockAccess
 
     public void func_147460_e(int p_147460_1_, int p_147460_2_, int p_147460_3_, final Block p_147460_4_)
     {
+        this.tileEntityScheduler.wakeUpAt(p_147460_1_, p_147460_2_, p_147460_3_);
+
         if (!this.isClient)
         {
             Block var5 = this.getBlock(p_147460_1_, p_147460_2_, p_147460_3_);
@@ -1407,6 +1414,11 @@ public abstract class World implements IBlockAccess
         }
     }
 
+    /**
+     * Called when a living entity is marked as never despawning, which takes it out of the mob cap
+     */
+    public void onEntityPersistenceRequired(Entity p_onEntityPersistenceRequired_1_) {}
+
     /**
      * Schedule the entity for removal during the next tick. Marks the entity dead in anticipation.
      */
@@ -1964,51 +1976,9 @@ public abstract class World implements IBlockAccess
 
         this.theProfiler.endStartSection("blockEntities");
         this.field_147481_N = true;
-        Iterator var9 = this.field_147482_g.iterator();
-
-        while (var9.hasNext())
-        {
-            TileEntity var10 = (TileEntity)var9.next();
-
-            if (!var10.isInvalid() && var10.hasWorldObj() && this.blockExists(var10.posX, var10.posY, var10.posZ))
-            {
-                try
-                {
-                    var10.updateEntity();
-                }
-                catch (Throwable var6)
-                {
-                    var4 = CrashReport.makeCrashReport(var6, "Ticking block entity");
-                    var5 = var4.makeCategory("Block entity being ticked");
-                    var10.func_145828_a(var5);
-                    throw new ReportedException(var4);
-                }
-            }
-
-            if (var10.isInvalid())
-            {
-                var9.remove();
-
-                if (this.chunkExists(var10.posX >> 4, var10.posZ >> 4))
-                {
-                    Chunk var12 = this.getChunkFromChunkCoords(var10.posX >> 4, var10.posZ >> 4);
-
-                    if (var12 != null)
-                    {
-                        var12.removeTileEntity(var10.posX & 15, var10.posY, var10.posZ & 15);
-                    }
-                }
-            }
-        }
-
+        this.tileEntityScheduler.tickTileEntities();
         this.field_147481_N = false;
 
-        if (!this.field_147483_b.isEmpty())
-        {
-            this.field_147482_g.removeAll(this.field_147483_b);
-            this.field_147483_b.clear();
-        }
-
         this.theProfiler.endStartSection("pendingBlockEntities");
 
         if (!this.field_147484_a.isEmpty())
@@ -2019,10 +1989,7 @@ public abstract class World implements IBlockAccess
 
                 if (!var13.isInvalid())
                 {
-                    if (!this.field_147482_g.contains(var13))
-                    {
-                        this.field_147482_g.add(var13);
-                    }
+                    this.tileEntityScheduler.add(var13);
 
                     if (this.chunkExists(var13.posX >> 4, var13.posZ >> 4))
                     {
@@ -2053,7 +2020,7 @@ public abstract class World implements IBlockAccess
         }
         else
         {
-            this.field_147482_g.addAll(p_147448_1_);
+            this.tileEntityScheduler.addAll(p_147448_1_);
         }
     }
 
@@ -2648,7 +2615,7 @@ public abstract class World implements IBlockAccess
             }
             else
             {
-                this.field_147482_g.add(p_147455_4_);
+                this.tileEntityScheduler.add(p_147455_4_);
                 Chunk var7 = this.getChunkFromChunkCoords(p_147455_1_ >> 4, p_147455_3_ >> 4);
 
                 if (var7 != null)
@@ -2673,7 +2640,7 @@ public abstract class World implements IBlockAccess
             if (var4 != null)
             {
                 this.field_147484_a.remove(var4);
-                this.field_147482_g.remove(var4);
+                this.tileEntityScheduler.remove(var4);
             }
 
             Chunk var5 = this.getChunkFromChunkCoords(p_147475_1_ >> 4, p_147475_3_ >> 4);
@@ -2687,7 +2654,7 @@ public abstract class World implements IBlockAccess
 
     public void func_147457_a(TileEntity p_147457_1_)
     {
-        this.field_147483_b.add(p_147457_1_);
+        this.tileEntityScheduler.remove(p_147457_1_);
     }
 
     public boolean func_147469_q(int p_147469_1_, int p_147469_2_, int p_147469_3_)
@@ -3767,10 +3734,7 @@ public abstract class World implements IBlockAccess
             }
         }
 
-        if (!this.loadedEntityList.contains(p_72897_1_))
-        {
-            this.loadedEntityList.add(p_72897_1_);
-        }
+        this.loadedEntityList.add(p_72897_1_);
     }
 
     /**
@@ -7,6 +7,7 @@ import net.minecraft.block.material.Material;
 import net.minecraft.crash.CrashReport;
 import net.minecraft.crash.CrashReportCategory;
 import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityLiving;
 import net.minecraft.entity.EntityTracker;
 import net.minecraft.entity.EnumCreatureType;
 import net.minecraft.entity.INpc;
@@ -64,6 +65,7 @@ public class WorldServer extends World
      */
     private final Teleporter worldTeleporter;
     private final SpawnerAnimals animalSpawner = new SpawnerAnimals();
+    private final ExplosionBatch explosionBatch = new ExplosionBatch(this);
     private WorldServer.ServerBlockEventList[] field_147490_S = new WorldServer.ServerBlockEventList[] {new WorldServer.ServerBlockEventList(null), new WorldServer.ServerBlockEventList(null)};
     private int field_147489_T;
     private static final WeightedRandomChestContent[] bonusChestContent = new WeightedRandomChestContent[] {new WeightedRandomChestContent(Items.stick, 0, 1, 3, 10), new WeightedRandomChestContent(Item.getItemFromBlock(Blocks.planks), 0, 1, 3, 10), new WeightedRandomChestContent(Item.getItemFromBlock(Blocks.log), 0, 1, 3, 10), new WeightedRandomChestContent(Items.stone_axe, 0, 1, 1, 3), new WeightedRandomChestContent(Items.wooden_axe, 0, 1, 1, 5), new WeightedRandomChestContent(Items.stone_pickaxe, 0, 1, 1, 3), new WeightedRandomChestContent(Items.wooden_pickaxe, 0, 1, 1, 5), new WeightedRandomChestContent(Items.apple, 0, 2, 3, 5), new WeightedRandomChestContent(Items.bread, 0, 2, 3, 3), new WeightedRandomChestContent(Item.getItemFromBlock(Blocks.log2), 0, 1, 3, 10)};
@@ -71,6 +73,10 @@ public class WorldServer extends World
 
     /** An IntHashMap of entity IDs (integers) to their Entity objects. */
     private IntHashMap entityIdMap;
+    private static final EnumCreatureType[] creatureTypes = EnumCreatureType.values();
+
+    /** Number of loaded entities counted against the mob cap of each EnumCreatureType, indexed by ordinal */
+    private final int[] creatureTypeCounts = new int[creatureTypes.length];
 
     public WorldServer(MinecraftServer p_i45284_1_, ISaveHandler p_i45284_2_, String p_i45284_3_, int p_i45284_4_, WorldSettings p_i45284_5_, Profiler p_i45284_6_)
     {
@@ -466,6 +472,7 @@ public class WorldServer extends World
         {
             if (this.updateEntityTick++ >= 1200)
             {
+                this.explosionBatch.flush();
                 return;
             }
         }
@@ -475,6 +482,7 @@ public class WorldServer extends World
         }
 
         super.updateEntities();
+        this.explosionBatch.flush();
     }
 
     /**
@@ -655,19 +663,7 @@ public class WorldServer extends World
 
     public List func_147486_a(int p_147486_1_, int p_147486_2_, int p_147486_3_, int p_147486_4_, int p_147486_5_, int p_147486_6_)
     {
-        ArrayList var7 = new ArrayList();
-
-        for (int var8 = 0; var8 < this.field_147482_g.size(); ++var8)
-        {
-            TileEntity var9 = (TileEntity)this.field_147482_g.get(var8);
-
-            if (var9.posX >= p_147486_1_ && var9.posY >= p_147486_2_ && var9.posZ >= p_147486_3_ && var9.posX < p_147486_4_ && var9.posY < p_147486_5_ && var9.posZ < p_147486_6_)
-            {
-                var7.add(var9);
-            }
-        }
-
-        return var7;
+        return this.tileEntityScheduler.getTileEntitiesIn(p_147486_1_, p_147486_2_, p_147486_3_, p_147486_4_, p_147486_5_, p_147486_6_);
     }
 
     /**
@@ -841,6 +837,7 @@ public class WorldServer extends World
     {
         super.onEntityAdded(p_72923_1_);
         this.entityIdMap.addKey(p_72923_1_.getEntityId(), p_72923_1_);
+        this.countCreature(p_72923_1_);
         Entity[] var2 = p_72923_1_.getParts();
 
         if (var2 != null)
@@ -856,6 +853,7 @@ public class WorldServer extends World
     {
         super.onEntityRemoved(p_72847_1_);
         this.entityIdMap.removeObject(p_72847_1_.getEntityId());
+        this.uncountCreature(p_72847_1_);
         Entity[] var2 = p_72847_1_.getParts();
 
         if (var2 != null)
@@ -867,6 +865,56 @@ public class WorldServer extends World
         }
     }
 
+    public void onEntityPersistenceRequired(Entity p_onEntityPersistenceRequired_1_)
+    {
+        this.uncountCreature(p_onEntityPersistenceRequired_1_);
+    }
+
+    /**
+     * Counts the entity against the mob cap of every creature type it belongs to, the same entities countEntities
+     * would find
+     */
+    private void countCreature(Entity p_countCreature_1_)
+    {
+        if (p_countCreature_1_.creatureTypeMask == 0 && (!(p_countCreature_1_ instanceof EntityLiving) || !((EntityLiving)p_countCreature_1_).isNoDespawnRequired()))
+        {
+            Class var2 = p_countCreature_1_.getClass();
+
+            for (int var3 = 0; var3 < creatureTypes.length; ++var3)
+            {
+                if (creatureTypes[var3].getCreatureClass().isAssignableFrom(var2))
+                {
+                    p_countCreature_1_.creatureTypeMask |= 1 << var3;
+                    ++this.creatureTypeCounts[var3];
+                }
+            }
+        }
+    }
+
+    private void uncountCreature(Entity p_uncountCreature_1_)
+    {
+        int var2 = p_uncountCreature_1_.creatureTypeMask;
+
+        for (int var3 = 0; var2 != 0; ++var3, var2 >>>= 1)
+        {
+            if ((var2 & 1) != 0)
+            {
+                --this.creatureTypeCounts[var3];
+            }
+        }
+
+        p_uncountCreature_1_.creatureTypeMask = 0;
+    }
+
+    /**
+     * Returns the number of loaded entities counted against the mob cap of the given creature type, kept up to date as
+     * entities are added and removed instead of scanning loadedEntityList
+     */
+    public int countCreatures(EnumCreatureType p_countCreatures_1_)
+    {
+        return this.creatureTypeCounts[p_countCreatures_1_.ordinal()];
+    }
+
     /**
      * Returns the Entity with the given ID, or null if it doesn't exist in this World.
      */
@@ -900,33 +948,15 @@ public class WorldServer extends World
     }
 
     /**
-     * returns a new explosion. Does initiation (at time of writing Explosion is not finished)
+     * returns a new explosion. The explosion is only resolved at the end of the entity update, along with every other
+     * explosion of the tick.
      */
     public Explosion newExplosion(Entity p_72885_1_, double p_72885_2_, double p_72885_4_, double p_72885_6_, float p_72885_8_, boolean p_72885_9_, boolean p_72885_10_)
     {
         Explosion var11 = new Explosion(this, p_72885_1_, p_72885_2_, p_72885_4_, p_72885_6_, p_72885_8_);
         var11.isFlaming = p_72885_9_;
         var11.isSmoking = p_72885_10_;
-        var11.doExplosionA();
-        var11.doExplosionB(false);
-
-        if (!p_72885_10_)
-        {
-            var11.affectedBlockPositions.clear();
-        }
-
-        Iterator var12 = this.playerEntities.iterator();
-
-        while (var12.hasNext())
-        {
-            EntityPlayer var13 = (EntityPlayer)var12.next();
-
-            if (var13.getDistanceSq(p_72885_2_, p_72885_4_, p_72885_6_) < 4096.0D)
-            {
-                ((EntityPlayerMP)var13).playerNetServerHandler.sendPacket(new S27PacketExplosion(p_72885_2_, p_72885_4_, p_72885_6_, p_72885_8_, var11.affectedBlockPositions, (Vec3)var11.func_77277_b().get(var13)));
-            }
-        }
-
+        this.explosionBatch.schedule(var11);
         return var11;
     }
 
@@ -1,26 +1,54 @@
 package net.minecraft.world.biome;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import gnu.trove.iterator.TLongObjectIterator;
+import gnu.trove.map.hash.TLongObjectHashMap;
 import net.minecraft.server.MinecraftServer;
-import net.minecraft.util.LongHashMap;
+import net.minecraft.util.ReportedException;
+import net.minecraft.world.gen.layer.GenLayer;
+import net.minecraft.world.gen.layer.IntCache;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Biome IDs by block column, in regions of 32x32 chunks. A region keeps one byte per column and a bit per chunk telling
+ * whether that chunk has been resolved yet. The least recently used region is dropped when there are too many, and
+ * regions nobody asked for in 30 seconds are dropped on cleanup. Chunks ahead of travelling players can be resolved on
+ * a background thread before anyone asks for them.
+ */
 public class BiomeCache
 {
+    private static final Logger logger = LogManager.getLogger();
+
+    /** Side of a region, as a shift of block coordinates */
+    private static final int REGION_SHIFT = 9;
+
+    /** Most regions kept at once, 256KB each */
+    private static final int MAX_REGIONS = 32;
+
+    /** Shared by the caches of every world; prefetch requests are dropped while it is busy */
+    private static ExecutorService prefetchExecutor;
+
     /** Reference to the WorldChunkManager */
     private final WorldChunkManager chunkManager;
 
     /** The last time this BiomeCache was cleaned, in milliseconds. */
     private long lastCleanupTime;
+    private final TLongObjectHashMap regions = new TLongObjectHashMap();
+    private long accessCounter;
+    private long hits;
+    private long misses;
+    private long prefetchedChunks;
+    private long evictions;
 
-    /**
-     * The map of keys to BiomeCacheBlocks. Keys are based on the chunk x, z coordinates as (x | z << 32).
-     */
-    private LongHashMap cacheMap = new LongHashMap();
-
-    /** The list of cached BiomeCacheBlocks */
-    private List cache = new ArrayList();
+    /** Biome layer of the prefetch thread, which can't share the layers of the thread that owns the world */
+    private GenLayer prefetchLayer;
+    private final BiomeGenBase[] resolveBuffer = new BiomeGenBase[256];
 
     public BiomeCache(WorldChunkManager p_i1973_1_)
     {
@@ -28,38 +56,36 @@ public class BiomeCache
     }
 
     /**
-     * Returns a biome cache block at location specified.
+     * Returns the BiomeGenBase related to the x, z position from the cache.
      */
-    public BiomeCache.Block getBiomeCacheBlock(int p_76840_1_, int p_76840_2_)
+    public synchronized BiomeGenBase getBiomeGenAt(int p_76837_1_, int p_76837_2_)
     {
-        p_76840_1_ >>= 4;
-        p_76840_2_ >>= 4;
-        long var3 = (long)p_76840_1_ & 4294967295L | ((long)p_76840_2_ & 4294967295L) << 32;
-        BiomeCache.Block var5 = (BiomeCache.Block)this.cacheMap.getValueByKey(var3);
-
-        if (var5 == null)
-        {
-            var5 = new BiomeCache.Block(p_76840_1_, p_76840_2_);
-            this.cacheMap.add(var3, var5);
-            this.cache.add(var5);
-        }
-
-        var5.lastAccessTime = MinecraftServer.getSystemTimeMillis();
-        return var5;
+        BiomeCache.Region var3 = this.getResolvedRegion(p_76837_1_ >> 4, p_76837_2_ >> 4);
+        return BiomeGenBase.getBiomeGenArray()[var3.biomes[(p_76837_2_ & 511) << REGION_SHIFT | p_76837_1_ & 511] & 255];
     }
 
     /**
-     * Returns the BiomeGenBase related to the x, z position from the cache.
+     * Copies the biomes of the 16x16 chunk holding the given block into the array
      */
-    public BiomeGenBase getBiomeGenAt(int p_76837_1_, int p_76837_2_)
+    public synchronized void getCachedBiomes(BiomeGenBase[] p_76839_1_, int p_76839_2_, int p_76839_3_)
     {
-        return this.getBiomeCacheBlock(p_76837_1_, p_76837_2_).getBiomeGenAt(p_76837_1_, p_76837_2_);
+        BiomeCache.Region var4 = this.getResolvedRegion(p_76839_2_ >> 4, p_76839_3_ >> 4);
+        BiomeGenBase[] var5 = BiomeGenBase.getBiomeGenArray();
+        int var6 = (p_76839_3_ & 496) << REGION_SHIFT | p_76839_2_ & 496;
+
+        for (int var7 = 0; var7 < 16; ++var7)
+        {
+            for (int var8 = 0; var8 < 16; ++var8)
+            {
+                p_76839_1_[var7 << 4 | var8] = var5[var4.biomes[var6 + (var7 << REGION_SHIFT) + var8] & 255];
+            }
+        }
     }
 
     /**
-     * Removes BiomeCacheBlocks from this cache that haven't been accessed in at least 30 seconds.
+     * Removes regions from this cache that haven't been accessed in at least 30 seconds.
      */
-    public void cleanupCache()
+    public synchronized void cleanupCache()
     {
         long var1 = MinecraftServer.getSystemTimeMillis();
         long var3 = var1 - this.lastCleanupTime;
@@ -67,49 +93,216 @@ public class BiomeCache
         if (var3 > 7500L || var3 < 0L)
         {
             this.lastCleanupTime = var1;
+            TLongObjectIterator var5 = this.regions.iterator();
+
+            while (var5.hasNext())
+            {
+                var5.advance();
+                long var6 = var1 - ((BiomeCache.Region)var5.value()).lastAccessTime;
+
+                if (var6 > 30000L || var6 < 0L)
+                {
+                    var5.remove();
+                }
+            }
+        }
+    }
 
-            for (int var5 = 0; var5 < this.cache.size(); ++var5)
+    /**
+     * Resolves, on the prefetch thread, the chunks within the given radius of the given chunk that aren't cached yet
+     */
+    public void prefetch(final int p_prefetch_1_, final int p_prefetch_2_, final int p_prefetch_3_)
+    {
+        getPrefetchExecutor().execute(new Runnable()
+        {
+            public void run()
             {
-                BiomeCache.Block var6 = (BiomeCache.Block)this.cache.get(var5);
-                long var7 = var1 - var6.lastAccessTime;
+                BiomeCache.this.prefetchChunks(p_prefetch_1_, p_prefetch_2_, p_prefetch_3_);
+            }
+        });
+    }
+
+    /**
+     * Returns the hit rate and size of this cache, for the debug screen
+     */
+    public synchronized String getStats()
+    {
+        long var1 = this.hits + this.misses;
+        return String.format("Biome cache: %.1f%% hit, %d regions, %d prefetched, %d evicted", new Object[] {Double.valueOf(var1 == 0L ? 100.0D : (double)this.hits * 100.0D / (double)var1), Integer.valueOf(this.regions.size()), Long.valueOf(this.prefetchedChunks), Long.valueOf(this.evictions)});
+    }
+
+    private void prefetchChunks(int p_prefetchChunks_1_, int p_prefetchChunks_2_, int p_prefetchChunks_3_)
+    {
+        if (this.prefetchLayer == null)
+        {
+            this.prefetchLayer = this.chunkManager.createPrefetchLayer();
+        }
+
+        int[] var4 = null;
+
+        for (int var5 = p_prefetchChunks_1_ - p_prefetchChunks_3_; var5 <= p_prefetchChunks_1_ + p_prefetchChunks_3_; ++var5)
+        {
+            for (int var6 = p_prefetchChunks_2_ - p_prefetchChunks_3_; var6 <= p_prefetchChunks_2_ + p_prefetchChunks_3_; ++var6)
+            {
+                synchronized (this)
+                {
+                    BiomeCache.Region var7 = (BiomeCache.Region)this.regions.get(getRegionKey(var5 >> 5, var6 >> 5));
+
+                    if (var7 != null && var7.isResolved(var5, var6))
+                    {
+                        continue;
+                    }
+                }
+
+                try
+                {
+                    IntCache.resetIntCache();
+                    var4 = this.prefetchLayer.getInts(var5 << 4, var6 << 4, 16, 16);
+                }
+                catch (ReportedException var9)
+                {
+                    logger.warn("Couldn\'t prefetch biomes at chunk {}, {}", new Object[] {Integer.valueOf(var5), Integer.valueOf(var6), var9});
+                    return;
+                }
 
-                if (var7 > 30000L || var7 < 0L)
+                synchronized (this)
                 {
-                    this.cache.remove(var5--);
-                    long var9 = (long)var6.xPosition & 4294967295L | ((long)var6.zPosition & 4294967295L) << 32;
-                    this.cacheMap.remove(var9);
+                    BiomeCache.Region var8 = this.getRegion(var5 >> 5, var6 >> 5);
+
+                    if (!var8.isResolved(var5, var6))
+                    {
+                        var8.store(var5, var6, var4);
+                        ++this.prefetchedChunks;
+                    }
                 }
             }
         }
     }
 
     /**
-     * Returns the array of cached biome types in the BiomeCacheBlock at the given location.
+     * Returns the region holding the given chunk, resolving the chunk first if needed
      */
-    public BiomeGenBase[] getCachedBiomes(int p_76839_1_, int p_76839_2_)
+    private BiomeCache.Region getResolvedRegion(int p_getResolvedRegion_1_, int p_getResolvedRegion_2_)
+    {
+        BiomeCache.Region var3 = this.getRegion(p_getResolvedRegion_1_ >> 5, p_getResolvedRegion_2_ >> 5);
+
+        if (var3.isResolved(p_getResolvedRegion_1_, p_getResolvedRegion_2_))
+        {
+            ++this.hits;
+        }
+        else
+        {
+            ++this.misses;
+            this.chunkManager.getBiomeGenAt(this.resolveBuffer, p_getResolvedRegion_1_ << 4, p_getResolvedRegion_2_ << 4, 16, 16, false);
+            var3.store(p_getResolvedRegion_1_, p_getResolvedRegion_2_, this.resolveBuffer);
+        }
+
+        var3.lastAccessTime = MinecraftServer.getSystemTimeMillis();
+        return var3;
+    }
+
+    private BiomeCache.Region getRegion(int p_getRegion_1_, int p_getRegion_2_)
+    {
+        long var3 = getRegionKey(p_getRegion_1_, p_getRegion_2_);
+        BiomeCache.Region var5 = (BiomeCache.Region)this.regions.get(var3);
+
+        if (var5 == null)
+        {
+            if (this.regions.size() >= MAX_REGIONS)
+            {
+                this.evictLeastRecentlyUsed();
+            }
+
+            var5 = new BiomeCache.Region();
+            var5.lastAccessTime = MinecraftServer.getSystemTimeMillis();
+            this.regions.put(var3, var5);
+        }
+
+        var5.lastAccess = ++this.accessCounter;
+        return var5;
+    }
+
+    private void evictLeastRecentlyUsed()
+    {
+        long var1 = 0L;
+        long var3 = Long.MAX_VALUE;
+        TLongObjectIterator var5 = this.regions.iterator();
+
+        while (var5.hasNext())
+        {
+            var5.advance();
+
+            if (((BiomeCache.Region)var5.value()).lastAccess < var3)
+            {
+                var1 = var5.key();
+                var3 = ((BiomeCache.Region)var5.value()).lastAccess;
+            }
+        }
+
+        this.regions.remove(var1);
+        ++this.evictions;
+    }
+
+    private static long getRegionKey(int p_getRegionKey_0_, int p_getRegionKey_1_)
+    {
+        return (long)p_getRegionKey_0_ & 4294967295L | ((long)p_getRegionKey_1_ & 4294967295L) << 32;
+    }
+
+    private static synchronized ExecutorService getPrefetchExecutor()
     {
-        return this.getBiomeCacheBlock(p_76839_1_, p_76839_2_).biomes;
+        if (prefetchExecutor == null)
+        {
+            prefetchExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue(8), (new ThreadFactoryBuilder()).setNameFormat("Biome Prefetcher").setDaemon(true).setPriority(Thread.MIN_PRIORITY).build(), new ThreadPoolExecutor.DiscardOldestPolicy());
+        }
+
+        return prefetchExecutor;
     }
 
-    public class Block
+    static class Region
     {
-        public float[] rainfallValues = new float[256];
-        public BiomeGenBase[] biomes = new BiomeGenBase[256];
-        public int xPosition;
-        public int zPosition;
-        public long lastAccessTime;
+        /** Biome IDs by (z << 9 | x) within the region */
+        final byte[] biomes = new byte[1 << REGION_SHIFT * 2];
+
+        /** One bit per chunk of the region that has been resolved */
+        final long[] resolvedChunks = new long[16];
+        long lastAccess;
+        long lastAccessTime;
 
-        public Block(int p_i1972_2_, int p_i1972_3_)
+        boolean isResolved(int p_isResolved_1_, int p_isResolved_2_)
         {
-            this.xPosition = p_i1972_2_;
-            this.zPosition = p_i1972_3_;
-            BiomeCache.this.chunkManager.getRainfall(this.rainfallValues, p_i1972_2_ << 4, p_i1972_3_ << 4, 16, 16);
-            BiomeCache.this.chunkManager.getBiomeGenAt(this.biomes, p_i1972_2_ << 4, p_i1972_3_ << 4, 16, 16, false);
+            int var3 = (p_isResolved_2_ & 31) << 5 | p_isResolved_1_ & 31;
+            return (this.resolvedChunks[var3 >> 6] & 1L << (var3 & 63)) != 0L;
+        }
+
+        void store(int p_store_1_, int p_store_2_, BiomeGenBase[] p_store_3_)
+        {
+            int var4 = (p_store_2_ & 31) << 4 + REGION_SHIFT | (p_store_1_ & 31) << 4;
+
+            for (int var5 = 0; var5 < 256; ++var5)
+            {
+                this.biomes[var4 + ((var5 >> 4) << REGION_SHIFT) + (var5 & 15)] = (byte)(p_store_3_[var5] == null ? 255 : p_store_3_[var5].biomeID);
+            }
+
+            this.markResolved(p_store_1_, p_store_2_);
+        }
+
+        void store(int p_store_1_, int p_store_2_, int[] p_store_3_)
+        {
+            int var4 = (p_store_2_ & 31) << 4 + REGION_SHIFT | (p_store_1_ & 31) << 4;
+
+            for (int var5 = 0; var5 < 256; ++var5)
+            {
+                BiomeGenBase var6 = BiomeGenBase.func_150568_d(p_store_3_[var5]);
+                this.biomes[var4 + ((var5 >> 4) << REGION_SHIFT) + (var5 & 15)] = (byte)(var6 == null ? 255 : var6.biomeID);
+            }
+
+            this.markResolved(p_store_1_, p_store_2_);
         }
 
-        public BiomeGenBase getBiomeGenAt(int p_76885_1_, int p_76885_2_)
+        private void markResolved(int p_markResolved_1_, int p_markResolved_2_)
         {
-            return this.biomes[p_76885_1_ & 15 | (p_76885_2_ & 15) << 4];
+            int var3 = (p_markResolved_2_ & 31) << 5 | p_markResolved_1_ & 31;
+            this.resolvedChunks[var3 >> 6] |= 1L << (var3 & 63);
         }
     }
 }
@@ -72,19 +72,23 @@ public class BiomeGenMesa extends BiomeGenBase
 
     public void func_150573_a(World p_150573_1_, Random p_150573_2_, Block[] p_150573_3_, byte[] p_150573_4_, int p_150573_5_, int p_150573_6_, double p_150573_7_)
     {
-        if (this.field_150621_aC == null || this.field_150622_aD != p_150573_1_.getSeed())
+        synchronized (this)
         {
-            this.func_150619_a(p_150573_1_.getSeed());
-        }
+            // Terrain workers generate surfaces concurrently, the seeded layers must only be built once
+            if (this.field_150621_aC == null || this.field_150622_aD != p_150573_1_.getSeed())
+            {
+                this.func_150619_a(p_150573_1_.getSeed());
+            }
 
-        if (this.field_150623_aE == null || this.field_150624_aF == null || this.field_150622_aD != p_150573_1_.getSeed())
-        {
-            Random var9 = new Random(this.field_150622_aD);
-            this.field_150623_aE = new NoiseGeneratorPerlin(var9, 4);
-            this.field_150624_aF = new NoiseGeneratorPerlin(var9, 1);
-        }
+            if (this.field_150623_aE == null || this.field_150624_aF == null || this.field_150622_aD != p_150573_1_.getSeed())
+            {
+                Random var9 = new Random(this.field_150622_aD);
+                this.field_150623_aE = new NoiseGeneratorPerlin(var9, 4);
+                this.field_150624_aF = new NoiseGeneratorPerlin(var9, 1);
+            }
 
-        this.field_150622_aD = p_150573_1_.getSeed();
+            this.field_150622_aD = p_150573_1_.getSeed();
+        }
         double var25 = 0.0D;
         int var11;
         int var12;
@@ -26,6 +26,10 @@ public class WorldChunkManager
     /** A list of biomes that the player can spawn in. */
     private List biomesToSpawnIn;
 
+    /** Seed and type the layers were made from, to make more for the biome prefetch thread */
+    private long seed;
+    private WorldType terrainType;
+
     protected WorldChunkManager()
     {
         this.biomeCache = new BiomeCache(this);
@@ -42,6 +46,8 @@ public class WorldChunkManager
     public WorldChunkManager(long p_i1975_1_, WorldType p_i1975_3_)
     {
         this();
+        this.seed = p_i1975_1_;
+        this.terrainType = p_i1975_3_;
         GenLayer[] var4 = GenLayer.initializeAllBiomeGenerators(p_i1975_1_, p_i1975_3_);
         this.genBiomes = var4[0];
         this.biomeIndexLayer = var4[1];
@@ -180,8 +186,7 @@ public class WorldChunkManager
 
         if (p_76931_6_ && p_76931_4_ == 16 && p_76931_5_ == 16 && (p_76931_2_ & 15) == 0 && (p_76931_3_ & 15) == 0)
         {
-            BiomeGenBase[] var9 = this.biomeCache.getCachedBiomes(p_76931_2_, p_76931_3_);
-            System.arraycopy(var9, 0, p_76931_1_, 0, p_76931_4_ * p_76931_5_);
+            this.biomeCache.getCachedBiomes(p_76931_1_, p_76931_2_, p_76931_3_);
             return p_76931_1_;
         }
         else
@@ -274,4 +279,32 @@ public class WorldChunkManager
     {
         this.biomeCache.cleanupCache();
     }
+
+    /**
+     * Starts resolving the cached biomes of the chunks within the radius of the given chunk in the background, when
+     * this world's biomes come from the usual layers
+     */
+    public void prefetchBiomes(int p_prefetchBiomes_1_, int p_prefetchBiomes_2_, int p_prefetchBiomes_3_)
+    {
+        if (this.terrainType != null && this.getClass() == WorldChunkManager.class)
+        {
+            this.biomeCache.prefetch(p_prefetchBiomes_1_, p_prefetchBiomes_2_, p_prefetchBiomes_3_);
+        }
+    }
+
+    /**
+     * Makes a biome index layer of its own for the prefetch thread, the same as this manager's
+     */
+    GenLayer createPrefetchLayer()
+    {
+        return GenLayer.initializeAllBiomeGenerators(this.seed, this.terrainType)[1];
+    }
+
+    /**
+     * Returns the biome cache's hit rate and size, for the debug screen
+     */
+    public String getBiomeCacheStats()
+    {
+        return this.biomeCache.getStats();
+    }
 }
@@ -10,6 +10,7 @@ import net.minecraft.entity.Entity;
 import net.minecraft.init.Blocks;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.AxisAlignedBB;
+import net.minecraft.util.IndexedList;
 import net.minecraft.util.MathHelper;
 import net.minecraft.util.ReportedException;
 import net.minecraft.world.ChunkCoordIntPair;
@@ -25,7 +26,7 @@ import org.apache.logging.log4j.Logger;
 import java.util.*;
 import java.util.concurrent.Callable;
 
-public class Chunk
+public class Chunk implements IndexedList.Element
 {
     private static final Logger logger = LogManager.getLogger();
 
@@ -56,6 +57,9 @@ public class Chunk
     /** Whether or not this Chunk is currently loaded into the World */
     public boolean isChunkLoaded;
 
+    /** Index of this chunk in its chunk provider's list of loaded chunks, -1 when it is not in it */
+    private int loadedListIndex = -1;
+
     /** Reference to the World object. */
     public World worldObj;
     public int[] heightMap;
@@ -624,12 +628,6 @@ public class Chunk
     public boolean func_150807_a(int p_150807_1_, int p_150807_2_, int p_150807_3_, Block p_150807_4_, int p_150807_5_)
     {
         int var6 = p_150807_3_ << 4 | p_150807_1_;
-
-        if (p_150807_2_ >= this.precipitationHeightMap[var6] - 1)
-        {
-            this.precipitationHeightMap[var6] = -999;
-        }
-
         int var7 = this.heightMap[var6];
         Block var8 = this.func_150810_a(p_150807_1_, p_150807_2_, p_150807_3_);
         int var9 = this.getBlockMetadata(p_150807_1_, p_150807_2_, p_150807_3_);
@@ -663,6 +661,7 @@ public class Chunk
             }
 
             var10.func_150818_a(p_150807_1_, p_150807_2_ & 15, p_150807_3_, p_150807_4_);
+            this.updatePrecipitationHeight(p_150807_1_, p_150807_2_, p_150807_3_, p_150807_4_);
 
             if (!this.worldObj.isClient)
             {
@@ -963,7 +962,7 @@ public class Chunk
 
         if (this.isChunkLoaded)
         {
-            this.worldObj.field_147482_g.add(p_150813_1_);
+            this.worldObj.tileEntityScheduler.add(p_150813_1_);
         }
     }
 
@@ -1149,6 +1148,16 @@ public class Chunk
         return false;
     }
 
+    public int getListIndex()
+    {
+        return this.loadedListIndex;
+    }
+
+    public void setListIndex(int p_setListIndex_1_)
+    {
+        this.loadedListIndex = p_setListIndex_1_;
+    }
+
     public void populateChunk(IChunkProvider p_76624_1_, IChunkProvider p_76624_2_, int p_76624_3_, int p_76624_4_)
     {
         if (!this.isTerrainPopulated && p_76624_1_.chunkExists(p_76624_3_ + 1, p_76624_4_ + 1) && p_76624_1_.chunkExists(p_76624_3_, p_76624_4_ + 1) && p_76624_1_.chunkExists(p_76624_3_ + 1, p_76624_4_))
@@ -1182,28 +1191,57 @@ public class Chunk
 
         if (var4 == -999)
         {
-            int var5 = this.getTopFilledSegment() + 15;
-            var4 = -1;
+            var4 = this.findPrecipitationHeight(p_76626_1_, this.getTopFilledSegment() + 15, p_76626_2_);
+            this.precipitationHeightMap[var3] = var4;
+        }
+
+        return var4;
+    }
+
+    /**
+     * Scans the column down from the given height for the first block stopping rain/snow, and returns the height above
+     * it, -1 if there is none
+     */
+    private int findPrecipitationHeight(int p_findPrecipitationHeight_1_, int p_findPrecipitationHeight_2_, int p_findPrecipitationHeight_3_)
+    {
+        for (int var4 = p_findPrecipitationHeight_2_; var4 > 0; --var4)
+        {
+            Material var5 = this.func_150810_a(p_findPrecipitationHeight_1_, var4, p_findPrecipitationHeight_3_).getMaterial();
 
-            while (var5 > 0 && var4 == -1)
+            if (var5.blocksMovement() || var5.isLiquid())
             {
-                Block var6 = this.func_150810_a(p_76626_1_, var5, p_76626_2_);
-                Material var7 = var6.getMaterial();
+                return var4 + 1;
+            }
+        }
 
-                if (!var7.blocksMovement() && !var7.isLiquid())
-                {
-                    --var5;
-                }
-                else
+        return -1;
+    }
+
+    /**
+     * Keeps a calculated precipitation height in step with a block set in its column: a block stopping rain/snow above
+     * it raises the height, and removing the top one scans down from there only.
+     */
+    private void updatePrecipitationHeight(int p_updatePrecipitationHeight_1_, int p_updatePrecipitationHeight_2_, int p_updatePrecipitationHeight_3_, Block p_updatePrecipitationHeight_4_)
+    {
+        int var5 = p_updatePrecipitationHeight_3_ << 4 | p_updatePrecipitationHeight_1_;
+        int var6 = this.precipitationHeightMap[var5];
+
+        if (var6 != -999 && p_updatePrecipitationHeight_2_ > 0)
+        {
+            Material var7 = p_updatePrecipitationHeight_4_.getMaterial();
+
+            if (var7.blocksMovement() || var7.isLiquid())
+            {
+                if (p_updatePrecipitationHeight_2_ >= var6)
                 {
-                    var4 = var5 + 1;
+                    this.precipitationHeightMap[var5] = p_updatePrecipitationHeight_2_ + 1;
                 }
             }
-
-            this.precipitationHeightMap[var3] = var4;
+            else if (p_updatePrecipitationHeight_2_ == var6 - 1)
+            {
+                this.precipitationHeightMap[var5] = this.findPrecipitationHeight(p_updatePrecipitationHeight_1_, p_updatePrecipitationHeight_2_ - 1, p_updatePrecipitationHeight_3_);
+            }
         }
-
-        return var4;
     }
 
     public void func_150804_b(boolean p_150804_1_)
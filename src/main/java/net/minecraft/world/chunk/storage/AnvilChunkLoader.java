@@ -39,6 +39,24 @@ public class AnvilChunkLoader implements IChunkLoader, IThreadedFileIO
         this.chunkSaveLocation = p_i2003_1_;
     }
 
+    /**
+     * Returns whether the chunk is saved in its region file or waiting to be written
+     */
+    public boolean chunkExists(int p_chunkExists_1_, int p_chunkExists_2_)
+    {
+        ChunkCoordIntPair var3 = new ChunkCoordIntPair(p_chunkExists_1_, p_chunkExists_2_);
+
+        synchronized (this.syncLockObject)
+        {
+            if (this.pendingAnvilChunksCoordinates.contains(var3))
+            {
+                return true;
+            }
+        }
+
+        return RegionFileCache.createOrLoadRegionFile(this.chunkSaveLocation, p_chunkExists_1_, p_chunkExists_2_).isChunkSaved(p_chunkExists_1_ & 31, p_chunkExists_2_ & 31);
+    }
+
     /**
      * Loads the specified(XZ) chunk into the specified world.
      */
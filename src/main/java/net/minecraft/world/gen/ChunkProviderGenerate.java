@@ -1,11 +1,17 @@
 package net.minecraft.world.gen;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockFalling;
+import net.minecraft.crash.CrashReport;
 import net.minecraft.entity.EnumCreatureType;
 import net.minecraft.init.Blocks;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.util.IProgressUpdate;
+import net.minecraft.util.LongHashMap;
 import net.minecraft.util.MathHelper;
+import net.minecraft.util.ReportedException;
+import net.minecraft.world.ChunkCoordIntPair;
 import net.minecraft.world.ChunkPosition;
 import net.minecraft.world.SpawnerAnimals;
 import net.minecraft.world.World;
@@ -20,11 +26,27 @@ import net.minecraft.world.gen.structure.MapGenScatteredFeature;
 import net.minecraft.world.gen.structure.MapGenStronghold;
 import net.minecraft.world.gen.structure.MapGenVillage;
 
+import java.util.ArrayDeque;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class ChunkProviderGenerate implements IChunkProvider
 {
+    /** Number of threads building the blocks of prefetched chunks */
+    private static final int WORKER_COUNT = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+
+    /** Maximum number of prefetched chunks waiting to be provided, each holds about 320KB of block data */
+    private static final int MAX_PENDING_CHUNKS = WORKER_COUNT * 4;
+
+    /** Milliseconds after which a built chunk nobody asked for is thrown away to make room for others */
+    private static final long PREFETCH_TIMEOUT = 10000L;
+    private static ExecutorService workerPool;
+
     /** RNG. */
     private Random rand;
     private NoiseGeneratorOctaves field_147431_j;
@@ -45,9 +67,7 @@ public class ChunkProviderGenerate implements IChunkProvider
     /** are map structures going to be generated (e.g. strongholds) */
     private final boolean mapFeaturesEnabled;
     private WorldType field_147435_p;
-    private final double[] field_147434_q;
     private final float[] parabolicField;
-    private double[] stoneNoise = new double[256];
     private MapGenBase caveGenerator = new MapGenCaves();
 
     /** Holds Stronghold Generator */
@@ -65,12 +85,26 @@ public class ChunkProviderGenerate implements IChunkProvider
 
     /** The biomes that are used to generate the chunk */
     private BiomeGenBase[] biomesForGeneration;
-    double[] field_147427_d;
-    double[] field_147428_e;
-    double[] field_147425_f;
-    double[] field_147426_g;
     int[][] field_73219_j = new int[32][32];
 
+    /** Generation state of the server thread */
+    private final ChunkProviderGenerate.GenerationState mainState;
+
+    /** Generation state of each terrain worker */
+    private final ThreadLocal<ChunkProviderGenerate.GenerationState> workerState = new ThreadLocal<ChunkProviderGenerate.GenerationState>()
+    {
+        protected ChunkProviderGenerate.GenerationState initialValue()
+        {
+            return new ChunkProviderGenerate.GenerationState(new Random(), new MapGenCaves(), new MapGenRavine());
+        }
+    };
+
+    /** Chunks being built by the terrain workers, keyed by ChunkCoordIntPair.chunkXZ2Int */
+    private final LongHashMap pendingChunks = new LongHashMap();
+
+    /** Keys of pendingChunks in the order they were prefetched; may still hold keys already provided */
+    private final ArrayDeque pendingOrder = new ArrayDeque();
+
     public ChunkProviderGenerate(World p_i2006_1_, long p_i2006_2_, boolean p_i2006_4_)
     {
         this.worldObj = p_i2006_1_;
@@ -84,7 +118,7 @@ public class ChunkProviderGenerate implements IChunkProvider
         this.noiseGen5 = new NoiseGeneratorOctaves(this.rand, 10);
         this.noiseGen6 = new NoiseGeneratorOctaves(this.rand, 16);
         this.mobSpawnerNoise = new NoiseGeneratorOctaves(this.rand, 8);
-        this.field_147434_q = new double[825];
+        this.mainState = new ChunkProviderGenerate.GenerationState(this.rand, this.caveGenerator, this.ravineGenerator);
         this.parabolicField = new float[25];
 
         for (int var5 = -2; var5 <= 2; ++var5)
@@ -98,10 +132,20 @@ public class ChunkProviderGenerate implements IChunkProvider
     }
 
     public void func_147424_a(int p_147424_1_, int p_147424_2_, Block[] p_147424_3_)
+    {
+        this.mainState.biomesForGeneration = this.worldObj.getWorldChunkManager().getBiomesForGeneration(this.mainState.biomesForGeneration, p_147424_1_ * 4 - 2, p_147424_2_ * 4 - 2, 10, 10);
+        this.func_147424_a(this.mainState, p_147424_1_, p_147424_2_, p_147424_3_);
+    }
+
+    /**
+     * Fills the blocks of a chunk from the density noise. The 10x10 generation biomes of the chunk must already be in
+     * the given state.
+     */
+    private void func_147424_a(ChunkProviderGenerate.GenerationState p_147424_1_, int p_147424_2_, int p_147424_3_, Block[] p_147424_4_)
     {
         byte var4 = 63;
-        this.biomesForGeneration = this.worldObj.getWorldChunkManager().getBiomesForGeneration(this.biomesForGeneration, p_147424_1_ * 4 - 2, p_147424_2_ * 4 - 2, 10, 10);
-        this.func_147423_a(p_147424_1_ * 4, 0, p_147424_2_ * 4);
+        double[] var53 = p_147424_1_.field_147434_q;
+        this.func_147423_a(p_147424_1_, p_147424_2_ * 4, 0, p_147424_3_ * 4);
 
         for (int var5 = 0; var5 < 4; ++var5)
         {
@@ -118,14 +162,14 @@ public class ChunkProviderGenerate implements IChunkProvider
                 for (int var13 = 0; var13 < 32; ++var13)
                 {
                     double var14 = 0.125D;
-                    double var16 = this.field_147434_q[var9 + var13];
-                    double var18 = this.field_147434_q[var10 + var13];
-                    double var20 = this.field_147434_q[var11 + var13];
-                    double var22 = this.field_147434_q[var12 + var13];
-                    double var24 = (this.field_147434_q[var9 + var13 + 1] - var16) * var14;
-                    double var26 = (this.field_147434_q[var10 + var13 + 1] - var18) * var14;
-                    double var28 = (this.field_147434_q[var11 + var13 + 1] - var20) * var14;
-                    double var30 = (this.field_147434_q[var12 + var13 + 1] - var22) * var14;
+                    double var16 = var53[var9 + var13];
+                    double var18 = var53[var10 + var13];
+                    double var20 = var53[var11 + var13];
+                    double var22 = var53[var12 + var13];
+                    double var24 = (var53[var9 + var13 + 1] - var16) * var14;
+                    double var26 = (var53[var10 + var13 + 1] - var18) * var14;
+                    double var28 = (var53[var11 + var13 + 1] - var20) * var14;
+                    double var30 = (var53[var12 + var13 + 1] - var22) * var14;
 
                     for (int var32 = 0; var32 < 8; ++var32)
                     {
@@ -148,15 +192,15 @@ public class ChunkProviderGenerate implements IChunkProvider
                             {
                                 if ((var48 += var50) > 0.0D)
                                 {
-                                    p_147424_3_[var44 += var45] = Blocks.stone;
+                                    p_147424_4_[var44 += var45] = Blocks.stone;
                                 }
                                 else if (var13 * 8 + var32 < var4)
                                 {
-                                    p_147424_3_[var44 += var45] = Blocks.water;
+                                    p_147424_4_[var44 += var45] = Blocks.water;
                                 }
                                 else
                                 {
-                                    p_147424_3_[var44 += var45] = null;
+                                    p_147424_4_[var44 += var45] = null;
                                 }
                             }
 
@@ -176,19 +220,158 @@ public class ChunkProviderGenerate implements IChunkProvider
 
     public void func_147422_a(int p_147422_1_, int p_147422_2_, Block[] p_147422_3_, byte[] p_147422_4_, BiomeGenBase[] p_147422_5_)
     {
-        double var6 = 0.03125D;
-        this.stoneNoise = this.field_147430_m.func_151599_a(this.stoneNoise, (double)(p_147422_1_ * 16), (double)(p_147422_2_ * 16), 16, 16, var6 * 2.0D, var6 * 2.0D, 1.0D);
+        this.func_147422_a(this.mainState, p_147422_1_, p_147422_2_, p_147422_3_, p_147422_4_, p_147422_5_);
+    }
+
+    private void func_147422_a(ChunkProviderGenerate.GenerationState p_147422_1_, int p_147422_2_, int p_147422_3_, Block[] p_147422_4_, byte[] p_147422_5_, BiomeGenBase[] p_147422_6_)
+    {
+        double var7 = 0.03125D;
+        p_147422_1_.stoneNoise = this.field_147430_m.func_151599_a(p_147422_1_.stoneNoise, (double)(p_147422_2_ * 16), (double)(p_147422_3_ * 16), 16, 16, var7 * 2.0D, var7 * 2.0D, 1.0D);
 
-        for (int var8 = 0; var8 < 16; ++var8)
+        for (int var9 = 0; var9 < 16; ++var9)
         {
-            for (int var9 = 0; var9 < 16; ++var9)
+            for (int var10 = 0; var10 < 16; ++var10)
             {
-                BiomeGenBase var10 = p_147422_5_[var9 + var8 * 16];
-                var10.func_150573_a(this.worldObj, this.rand, p_147422_3_, p_147422_4_, p_147422_1_ * 16 + var8, p_147422_2_ * 16 + var9, this.stoneNoise[var9 + var8 * 16]);
+                BiomeGenBase var11 = p_147422_6_[var10 + var9 * 16];
+                var11.func_150573_a(this.worldObj, p_147422_1_.rand, p_147422_4_, p_147422_5_, p_147422_2_ * 16 + var9, p_147422_3_ * 16 + var10, p_147422_1_.stoneNoise[var10 + var9 * 16]);
             }
         }
     }
 
+    /**
+     * Builds everything of a chunk which does not depend on its neighbours nor on shared generator state: density
+     * terrain, biome surface, caves and ravines. Safe to call from a terrain worker with its own state.
+     */
+    private void generateBlocks(ChunkProviderGenerate.GenerationState p_generateBlocks_1_, int p_generateBlocks_2_, int p_generateBlocks_3_, Block[] p_generateBlocks_4_, byte[] p_generateBlocks_5_, BiomeGenBase[] p_generateBlocks_6_)
+    {
+        p_generateBlocks_1_.rand.setSeed((long)p_generateBlocks_2_ * 341873128712L + (long)p_generateBlocks_3_ * 132897987541L);
+        this.func_147424_a(p_generateBlocks_1_, p_generateBlocks_2_, p_generateBlocks_3_, p_generateBlocks_4_);
+        this.func_147422_a(p_generateBlocks_1_, p_generateBlocks_2_, p_generateBlocks_3_, p_generateBlocks_4_, p_generateBlocks_5_, p_generateBlocks_6_);
+        p_generateBlocks_1_.caveGenerator.setChunkBiomes(p_generateBlocks_6_);
+        p_generateBlocks_1_.ravineGenerator.setChunkBiomes(p_generateBlocks_6_);
+
+        try
+        {
+            p_generateBlocks_1_.caveGenerator.func_151539_a(this, this.worldObj, p_generateBlocks_2_, p_generateBlocks_3_, p_generateBlocks_4_);
+            p_generateBlocks_1_.ravineGenerator.func_151539_a(this, this.worldObj, p_generateBlocks_2_, p_generateBlocks_3_, p_generateBlocks_4_);
+        }
+        finally
+        {
+            p_generateBlocks_1_.caveGenerator.setChunkBiomes((BiomeGenBase[])null);
+            p_generateBlocks_1_.ravineGenerator.setChunkBiomes((BiomeGenBase[])null);
+        }
+    }
+
+    /**
+     * Starts building the blocks of a chunk on a terrain worker, so that a following provideChunk only has to add the
+     * structures. Biomes are resolved here since the biome layers and cache are not thread safe. Returns false when
+     * too many chunks are already waiting.
+     */
+    public boolean prefetchChunk(final int p_prefetchChunk_1_, final int p_prefetchChunk_2_)
+    {
+        long var3 = ChunkCoordIntPair.chunkXZ2Int(p_prefetchChunk_1_, p_prefetchChunk_2_);
+
+        if (this.pendingChunks.containsItem(var3))
+        {
+            return true;
+        }
+
+        this.dropStalePrefetches();
+
+        if (this.pendingChunks.getNumHashElements() >= MAX_PENDING_CHUNKS)
+        {
+            return false;
+        }
+        else
+        {
+            final BiomeGenBase[] var5 = this.worldObj.getWorldChunkManager().getBiomesForGeneration((BiomeGenBase[])null, p_prefetchChunk_1_ * 4 - 2, p_prefetchChunk_2_ * 4 - 2, 10, 10);
+            final BiomeGenBase[] var6 = this.worldObj.getWorldChunkManager().loadBlockGeneratorData((BiomeGenBase[])null, p_prefetchChunk_1_ * 16, p_prefetchChunk_2_ * 16, 16, 16);
+            Future var7 = getWorkerPool().submit(new Callable<ChunkProviderGenerate.PreparedChunk>()
+            {
+                public ChunkProviderGenerate.PreparedChunk call()
+                {
+                    ChunkProviderGenerate.GenerationState var1 = (ChunkProviderGenerate.GenerationState)ChunkProviderGenerate.this.workerState.get();
+                    ChunkProviderGenerate.PreparedChunk var2 = new ChunkProviderGenerate.PreparedChunk(var6);
+                    var1.biomesForGeneration = var5;
+                    ChunkProviderGenerate.this.generateBlocks(var1, p_prefetchChunk_1_, p_prefetchChunk_2_, var2.blocks, var2.metadata, var6);
+                    return var2;
+                }
+            });
+            this.pendingChunks.add(var3, new ChunkProviderGenerate.PendingChunk(var7, MinecraftServer.getSystemTimeMillis()));
+            this.pendingOrder.add(Long.valueOf(var3));
+            return true;
+        }
+    }
+
+    /**
+     * Forgets the oldest built chunks that nobody provided within PREFETCH_TIMEOUT, such as chunks a player walked away
+     * from before they were loaded, so that they don't keep new prefetches out
+     */
+    private void dropStalePrefetches()
+    {
+        long var1 = MinecraftServer.getSystemTimeMillis();
+
+        while (!this.pendingOrder.isEmpty())
+        {
+            long var3 = ((Long)this.pendingOrder.peek()).longValue();
+            ChunkProviderGenerate.PendingChunk var5 = (ChunkProviderGenerate.PendingChunk)this.pendingChunks.getValueByKey(var3);
+
+            if (var5 == null)
+            {
+                this.pendingOrder.poll();
+            }
+            else
+            {
+                if (!var5.future.isDone() || var1 - var5.time < PREFETCH_TIMEOUT)
+                {
+                    break;
+                }
+
+                this.pendingChunks.remove(var3);
+                this.pendingOrder.poll();
+            }
+        }
+    }
+
+    /**
+     * Waits for a prefetched chunk, or returns null if the chunk was not prefetched
+     */
+    private ChunkProviderGenerate.PreparedChunk takePreparedChunk(int p_takePreparedChunk_1_, int p_takePreparedChunk_2_)
+    {
+        ChunkProviderGenerate.PendingChunk var3 = (ChunkProviderGenerate.PendingChunk)this.pendingChunks.remove(ChunkCoordIntPair.chunkXZ2Int(p_takePreparedChunk_1_, p_takePreparedChunk_2_));
+
+        if (var3 == null)
+        {
+            return null;
+        }
+        else
+        {
+            try
+            {
+                return (ChunkProviderGenerate.PreparedChunk)var3.future.get();
+            }
+            catch (InterruptedException var5)
+            {
+                Thread.currentThread().interrupt();
+                throw new ReportedException(CrashReport.makeCrashReport(var5, "Waiting for terrain worker"));
+            }
+            catch (ExecutionException var6)
+            {
+                throw new ReportedException(CrashReport.makeCrashReport(var6.getCause(), "Exception generating terrain"));
+            }
+        }
+    }
+
+    private static synchronized ExecutorService getWorkerPool()
+    {
+        if (workerPool == null)
+        {
+            workerPool = Executors.newFixedThreadPool(WORKER_COUNT, (new ThreadFactoryBuilder()).setNameFormat("Terrain Worker #%d").setDaemon(true).build());
+        }
+
+        return workerPool;
+    }
+
     /**
      * loads or generates the chunk at the chunk location specified
      */
@@ -203,14 +386,24 @@ public class ChunkProviderGenerate implements IChunkProvider
      */
     public Chunk provideChunk(int p_73154_1_, int p_73154_2_)
     {
-        this.rand.setSeed((long)p_73154_1_ * 341873128712L + (long)p_73154_2_ * 132897987541L);
-        Block[] var3 = new Block[65536];
-        byte[] var4 = new byte[65536];
-        this.func_147424_a(p_73154_1_, p_73154_2_, var3);
-        this.biomesForGeneration = this.worldObj.getWorldChunkManager().loadBlockGeneratorData(this.biomesForGeneration, p_73154_1_ * 16, p_73154_2_ * 16, 16, 16);
-        this.func_147422_a(p_73154_1_, p_73154_2_, var3, var4, this.biomesForGeneration);
-        this.caveGenerator.func_151539_a(this, this.worldObj, p_73154_1_, p_73154_2_, var3);
-        this.ravineGenerator.func_151539_a(this, this.worldObj, p_73154_1_, p_73154_2_, var3);
+        ChunkProviderGenerate.PreparedChunk var8 = this.takePreparedChunk(p_73154_1_, p_73154_2_);
+        Block[] var3;
+        byte[] var4;
+
+        if (var8 != null)
+        {
+            var3 = var8.blocks;
+            var4 = var8.metadata;
+            this.biomesForGeneration = var8.biomes;
+        }
+        else
+        {
+            var3 = new Block[65536];
+            var4 = new byte[65536];
+            this.mainState.biomesForGeneration = this.worldObj.getWorldChunkManager().getBiomesForGeneration(this.mainState.biomesForGeneration, p_73154_1_ * 4 - 2, p_73154_2_ * 4 - 2, 10, 10);
+            this.biomesForGeneration = this.worldObj.getWorldChunkManager().loadBlockGeneratorData(this.biomesForGeneration, p_73154_1_ * 16, p_73154_2_ * 16, 16, 16);
+            this.generateBlocks(this.mainState, p_73154_1_, p_73154_2_, var3, var4, this.biomesForGeneration);
+        }
 
         if (this.mapFeaturesEnabled)
         {
@@ -232,16 +425,16 @@ public class ChunkProviderGenerate implements IChunkProvider
         return var5;
     }
 
-    private void func_147423_a(int p_147423_1_, int p_147423_2_, int p_147423_3_)
+    private void func_147423_a(ChunkProviderGenerate.GenerationState p_147423_0_, int p_147423_1_, int p_147423_2_, int p_147423_3_)
     {
         double var4 = 684.412D;
         double var6 = 684.412D;
         double var8 = 512.0D;
         double var10 = 512.0D;
-        this.field_147426_g = this.noiseGen6.generateNoiseOctaves(this.field_147426_g, p_147423_1_, p_147423_3_, 5, 5, 200.0D, 200.0D, 0.5D);
-        this.field_147427_d = this.field_147429_l.generateNoiseOctaves(this.field_147427_d, p_147423_1_, p_147423_2_, p_147423_3_, 5, 33, 5, 8.555150000000001D, 4.277575000000001D, 8.555150000000001D);
-        this.field_147428_e = this.field_147431_j.generateNoiseOctaves(this.field_147428_e, p_147423_1_, p_147423_2_, p_147423_3_, 5, 33, 5, 684.412D, 684.412D, 684.412D);
-        this.field_147425_f = this.field_147432_k.generateNoiseOctaves(this.field_147425_f, p_147423_1_, p_147423_2_, p_147423_3_, 5, 33, 5, 684.412D, 684.412D, 684.412D);
+        p_147423_0_.field_147426_g = this.noiseGen6.generateNoiseOctaves(p_147423_0_.field_147426_g, p_147423_1_, p_147423_3_, 5, 5, 200.0D, 200.0D, 0.5D);
+        p_147423_0_.field_147427_d = this.field_147429_l.generateNoiseOctaves(p_147423_0_.field_147427_d, p_147423_1_, p_147423_2_, p_147423_3_, 5, 33, 5, 8.555150000000001D, 4.277575000000001D, 8.555150000000001D);
+        p_147423_0_.field_147428_e = this.field_147431_j.generateNoiseOctaves(p_147423_0_.field_147428_e, p_147423_1_, p_147423_2_, p_147423_3_, 5, 33, 5, 684.412D, 684.412D, 684.412D);
+        p_147423_0_.field_147425_f = this.field_147432_k.generateNoiseOctaves(p_147423_0_.field_147425_f, p_147423_1_, p_147423_2_, p_147423_3_, 5, 33, 5, 684.412D, 684.412D, 684.412D);
         boolean var45 = false;
         boolean var44 = false;
         int var12 = 0;
@@ -256,13 +449,13 @@ public class ChunkProviderGenerate implements IChunkProvider
                 float var19 = 0.0F;
                 float var20 = 0.0F;
                 byte var21 = 2;
-                BiomeGenBase var22 = this.biomesForGeneration[var16 + 2 + (var17 + 2) * 10];
+                BiomeGenBase var22 = p_147423_0_.biomesForGeneration[var16 + 2 + (var17 + 2) * 10];
 
                 for (int var23 = -var21; var23 <= var21; ++var23)
                 {
                     for (int var24 = -var21; var24 <= var21; ++var24)
                     {
-                        BiomeGenBase var25 = this.biomesForGeneration[var16 + var23 + 2 + (var17 + var24 + 2) * 10];
+                        BiomeGenBase var25 = p_147423_0_.biomesForGeneration[var16 + var23 + 2 + (var17 + var24 + 2) * 10];
                         float var26 = var25.minHeight;
                         float var27 = var25.maxHeight;
 
@@ -289,7 +482,7 @@ public class ChunkProviderGenerate implements IChunkProvider
                 var19 /= var20;
                 var18 = var18 * 0.9F + 0.1F;
                 var19 = (var19 * 4.0F - 1.0F) / 8.0F;
-                double var46 = this.field_147426_g[var13] / 8000.0D;
+                double var46 = p_147423_0_.field_147426_g[var13] / 8000.0D;
 
                 if (var46 < 0.0D)
                 {
@@ -336,9 +529,9 @@ public class ChunkProviderGenerate implements IChunkProvider
                         var32 *= 4.0D;
                     }
 
-                    double var34 = this.field_147428_e[var12] / 512.0D;
-                    double var36 = this.field_147425_f[var12] / 512.0D;
-                    double var38 = (this.field_147427_d[var12] / 10.0D + 1.0D) / 2.0D;
+                    double var34 = p_147423_0_.field_147428_e[var12] / 512.0D;
+                    double var36 = p_147423_0_.field_147425_f[var12] / 512.0D;
+                    double var38 = (p_147423_0_.field_147427_d[var12] / 10.0D + 1.0D) / 2.0D;
                     double var40 = MathHelper.denormalizeClamp(var34, var36, var38) - var32;
 
                     if (var31 > 29)
@@ -347,7 +540,7 @@ public class ChunkProviderGenerate implements IChunkProvider
                         var40 = var40 * (1.0D - var42) + -10.0D * var42;
                     }
 
-                    this.field_147434_q[var12] = var40;
+                    p_147423_0_.field_147434_q[var12] = var40;
                     ++var12;
                 }
             }
@@ -511,4 +704,56 @@ public class ChunkProviderGenerate implements IChunkProvider
             this.scatteredFeatureGenerator.func_151539_a(this, this.worldObj, p_82695_1_, p_82695_2_, (Block[])null);
         }
     }
+
+    /**
+     * Scratch arrays and generators used while building the blocks of a single chunk. The provider keeps one for the
+     * server thread and each terrain worker gets its own.
+     */
+    static class GenerationState
+    {
+        final Random rand;
+        final MapGenBase caveGenerator;
+        final MapGenBase ravineGenerator;
+        BiomeGenBase[] biomesForGeneration;
+        final double[] field_147434_q = new double[825];
+        double[] stoneNoise = new double[256];
+        double[] field_147427_d;
+        double[] field_147428_e;
+        double[] field_147425_f;
+        double[] field_147426_g;
+
+        GenerationState(Random p_i1_1_, MapGenBase p_i1_2_, MapGenBase p_i1_3_)
+        {
+            this.rand = p_i1_1_;
+            this.caveGenerator = p_i1_2_;
+            this.ravineGenerator = p_i1_3_;
+        }
+    }
+
+    /**
+     * Blocks of a chunk built by a terrain worker, waiting for its structures
+     */
+    static class PendingChunk
+    {
+        final Future future;
+        final long time;
+
+        PendingChunk(Future p_i3_1_, long p_i3_2_)
+        {
+            this.future = p_i3_1_;
+            this.time = p_i3_2_;
+        }
+    }
+
+    static class PreparedChunk
+    {
+        final Block[] blocks = new Block[65536];
+        final byte[] metadata = new byte[65536];
+        final BiomeGenBase[] biomes;
+
+        PreparedChunk(BiomeGenBase[] p_i2_1_)
+        {
+            this.biomes = p_i2_1_;
+        }
+    }
 }
@@ -6,12 +6,14 @@ import net.minecraft.crash.CrashReportCategory;
 import net.minecraft.entity.EnumCreatureType;
 import net.minecraft.util.ChunkCoordinates;
 import net.minecraft.util.IProgressUpdate;
+import net.minecraft.util.IndexedList;
 import net.minecraft.util.LongHashMap;
 import net.minecraft.util.ReportedException;
 import net.minecraft.world.*;
 import net.minecraft.world.chunk.Chunk;
 import net.minecraft.world.chunk.EmptyChunk;
 import net.minecraft.world.chunk.IChunkProvider;
+import net.minecraft.world.chunk.storage.AnvilChunkLoader;
 import net.minecraft.world.chunk.storage.IChunkLoader;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -38,7 +40,7 @@ public class ChunkProviderServer implements IChunkProvider
      */
     public boolean loadChunkOnProvideRequest = true;
     private LongHashMap loadedChunkHashMap = new LongHashMap();
-    private List loadedChunks = new ArrayList();
+    private List loadedChunks = new IndexedList();
     private WorldServer worldObj;
 
     public ChunkProviderServer(WorldServer p_i1520_1_, IChunkLoader p_i1520_2_, IChunkProvider p_i1520_3_)
@@ -146,6 +148,42 @@ public class ChunkProviderServer implements IChunkProvider
         return var5;
     }
 
+    /**
+     * Lets the generator start building a chunk ahead of loadChunk. Returns false only when the generator cannot take
+     * more chunks for now; chunks which are loaded, saved or not generated by ChunkProviderGenerate are skipped.
+     */
+    public boolean prefetchChunk(int p_prefetchChunk_1_, int p_prefetchChunk_2_)
+    {
+        if (this.currentChunkProvider instanceof ChunkProviderGenerate && !this.chunkExists(p_prefetchChunk_1_, p_prefetchChunk_2_))
+        {
+            if (this.currentChunkLoader instanceof AnvilChunkLoader && ((AnvilChunkLoader)this.currentChunkLoader).chunkExists(p_prefetchChunk_1_, p_prefetchChunk_2_))
+            {
+                return true;
+            }
+
+            return ((ChunkProviderGenerate)this.currentChunkProvider).prefetchChunk(p_prefetchChunk_1_, p_prefetchChunk_2_);
+        }
+        else
+        {
+            return true;
+        }
+    }
+
+    /**
+     * Prefetches chunks of a list of x, z pairs, starting at the given pair, for as long as the generator takes them.
+     * Returns the index of the first pair that wasn't prefetched; loops loading the list call this before each load to
+     * keep the terrain workers ahead of them.
+     */
+    public int prefetchChunks(int[] p_prefetchChunks_1_, int p_prefetchChunks_2_, int p_prefetchChunks_3_)
+    {
+        while (p_prefetchChunks_2_ < p_prefetchChunks_3_ && this.prefetchChunk(p_prefetchChunks_1_[p_prefetchChunks_2_ * 2], p_prefetchChunks_1_[p_prefetchChunks_2_ * 2 + 1]))
+        {
+            ++p_prefetchChunks_2_;
+        }
+
+        return p_prefetchChunks_2_;
+    }
+
     /**
      * Will return back a chunk, if it doesn't exist and its not a MP client it will generates all the blocks for the
      * specified chunk from the map seed and chunk seed
@@ -2,6 +2,7 @@ package net.minecraft.world.gen;
 
 import net.minecraft.block.Block;
 import net.minecraft.world.World;
+import net.minecraft.world.biome.BiomeGenBase;
 import net.minecraft.world.chunk.IChunkProvider;
 
 import java.util.Random;
@@ -17,6 +18,25 @@ public class MapGenBase
     /** This world object. */
     protected World worldObj;
 
+    /** Biomes of the chunk being generated, used instead of the world lookup when set */
+    private BiomeGenBase[] chunkBiomes;
+
+    /**
+     * Sets the 16x16 biomes of the chunk about to be generated, or null to look biomes up through the world
+     */
+    public void setChunkBiomes(BiomeGenBase[] p_setChunkBiomes_1_)
+    {
+        this.chunkBiomes = p_setChunkBiomes_1_;
+    }
+
+    /**
+     * Returns the biome at the given block coordinates, which must lie in the chunk being generated
+     */
+    protected BiomeGenBase getBiomeGenForCoords(int p_getBiomeGenForCoords_1_, int p_getBiomeGenForCoords_2_)
+    {
+        return this.chunkBiomes != null ? this.chunkBiomes[(p_getBiomeGenForCoords_2_ & 15) << 4 | p_getBiomeGenForCoords_1_ & 15] : this.worldObj.getBiomeGenForCoords(p_getBiomeGenForCoords_1_, p_getBiomeGenForCoords_2_);
+    }
+
     public void func_151539_a(IChunkProvider p_151539_1_, World p_151539_2_, int p_151539_3_, int p_151539_4_, Block[] p_151539_5_)
     {
         int var6 = this.range;
@@ -192,7 +192,7 @@ public class MapGenCaves extends MapGenBase
 
                                                     if (var49 && p_151541_5_[var48 - 1] == Blocks.dirt)
                                                     {
-                                                        p_151541_5_[var48 - 1] = this.worldObj.getBiomeGenForCoords(var42 + p_151541_3_ * 16, var45 + p_151541_4_ * 16).topBlock;
+                                                        p_151541_5_[var48 - 1] = this.getBiomeGenForCoords(var42 + p_151541_3_ * 16, var45 + p_151541_4_ * 16).topBlock;
                                                     }
                                                 }
                                             }
@@ -184,7 +184,7 @@ public class MapGenRavine extends MapGenBase
 
                                                     if (var48 && p_151540_5_[var47 - 1] == Blocks.dirt)
                                                     {
-                                                        p_151540_5_[var47 - 1] = this.worldObj.getBiomeGenForCoords(var41 + p_151540_3_ * 16, var44 + p_151540_4_ * 16).topBlock;
+                                                        p_151540_5_[var47 - 1] = this.getBiomeGenForCoords(var41 + p_151540_3_ * 16, var44 + p_151540_4_ * 16).topBlock;
                                                     }
                                                 }
                                             }
@@ -14,6 +14,23 @@ public class NoiseGeneratorImproved extends NoiseGenerator
     private static final double[] field_152384_h = new double[] {1.0D, -1.0D, 1.0D, -1.0D, 1.0D, -1.0D, 1.0D, -1.0D, 0.0D, 0.0D, 0.0D, 0.0D, 1.0D, 0.0D, -1.0D, 0.0D};
     private static final double[] field_152385_i = new double[] {0.0D, 0.0D, 0.0D, 0.0D, 1.0D, 1.0D, -1.0D, -1.0D, 1.0D, 1.0D, -1.0D, -1.0D, 0.0D, 1.0D, 0.0D, -1.0D};
 
+    /**
+     * Gradient components of each permutation slot, so that grad(permutations[i], x, y, z) becomes gradientX[i] * x +
+     * gradientY[i] * y + gradientZ[i] * z without the permutation lookup
+     */
+    private final double[] gradientX = new double[512];
+    private final double[] gradientY = new double[512];
+    private final double[] gradientZ = new double[512];
+
+    /** Per-thread sample positions along the y and z axes, shared by every column of a populateNoiseArray call */
+    private static final ThreadLocal<NoiseGeneratorImproved.Axis[]> axes = new ThreadLocal<NoiseGeneratorImproved.Axis[]>()
+    {
+        protected NoiseGeneratorImproved.Axis[] initialValue()
+        {
+            return new NoiseGeneratorImproved.Axis[] {new NoiseGeneratorImproved.Axis(), new NoiseGeneratorImproved.Axis()};
+        }
+    };
+
     public NoiseGeneratorImproved()
     {
         this(new Random());
@@ -40,6 +57,14 @@ public class NoiseGeneratorImproved extends NoiseGenerator
             this.permutations[var3] = var4;
             this.permutations[var2 + 256] = this.permutations[var2];
         }
+
+        for (var2 = 0; var2 < 512; ++var2)
+        {
+            int var5 = this.permutations[var2] & 15;
+            this.gradientX[var2] = field_152381_e[var5];
+            this.gradientY[var2] = field_152382_f[var5];
+            this.gradientZ[var2] = field_152383_g[var5];
+        }
     }
 
     public final double lerp(double p_76311_1_, double p_76311_3_, double p_76311_5_)
@@ -132,16 +157,16 @@ public class NoiseGeneratorImproved extends NoiseGenerator
             var19 = 0;
             double var20 = 1.0D / p_76308_17_;
             var22 = -1;
-            boolean var23 = false;
-            boolean var24 = false;
-            boolean var25 = false;
-            boolean var26 = false;
-            boolean var27 = false;
-            boolean var28 = false;
             double var29 = 0.0D;
             var31 = 0.0D;
             double var33 = 0.0D;
             var35 = 0.0D;
+            NoiseGeneratorImproved.Axis[] var80 = (NoiseGeneratorImproved.Axis[])axes.get();
+            NoiseGeneratorImproved.Axis var81 = var80[0].sample(p_76308_4_, p_76308_13_, this.yCoord, p_76308_9_);
+            NoiseGeneratorImproved.Axis var82 = var80[1].sample(p_76308_6_, p_76308_15_, this.zCoord, p_76308_10_);
+            double[] var83 = this.gradientX;
+            double[] var84 = this.gradientY;
+            double[] var85 = this.gradientZ;
 
             for (var37 = 0; var37 < p_76308_8_; ++var37)
             {
@@ -156,48 +181,38 @@ public class NoiseGeneratorImproved extends NoiseGenerator
                 var41 = var40 & 255;
                 var38 -= (double)var40;
                 var42 = var38 * var38 * var38 * (var38 * (var38 * 6.0D - 15.0D) + 10.0D);
+                double var86 = var38 - 1.0D;
+                int var87 = this.permutations[var41];
+                int var88 = this.permutations[var41 + 1];
 
                 for (int var44 = 0; var44 < p_76308_10_; ++var44)
                 {
-                    double var45 = p_76308_6_ + (double)var44 * p_76308_15_ + this.zCoord;
-                    int var47 = (int)var45;
-
-                    if (var45 < (double)var47)
-                    {
-                        --var47;
-                    }
-
-                    int var48 = var47 & 255;
-                    var45 -= (double)var47;
-                    double var49 = var45 * var45 * var45 * (var45 * (var45 * 6.0D - 15.0D) + 10.0D);
+                    int var48 = var82.cell[var44];
+                    double var45 = var82.offset[var44];
+                    double var49 = var82.fade[var44];
+                    double var89 = var45 - 1.0D;
 
                     for (int var51 = 0; var51 < p_76308_9_; ++var51)
                     {
-                        double var52 = p_76308_4_ + (double)var51 * p_76308_13_ + this.yCoord;
-                        int var54 = (int)var52;
-
-                        if (var52 < (double)var54)
-                        {
-                            --var54;
-                        }
-
-                        int var55 = var54 & 255;
-                        var52 -= (double)var54;
-                        double var56 = var52 * var52 * var52 * (var52 * (var52 * 6.0D - 15.0D) + 10.0D);
+                        int var55 = var81.cell[var51];
+                        double var52 = var81.offset[var51];
+                        double var56 = var81.fade[var51];
 
                         if (var51 == 0 || var55 != var22)
                         {
+                            // Only recomputed when the sample enters a new lattice cell along y
                             var22 = var55;
-                            int var69 = this.permutations[var41] + var55;
+                            double var90 = var52 - 1.0D;
+                            int var69 = var87 + var55;
                             int var71 = this.permutations[var69] + var48;
                             int var72 = this.permutations[var69 + 1] + var48;
-                            int var74 = this.permutations[var41 + 1] + var55;
+                            int var74 = var88 + var55;
                             var75 = this.permutations[var74] + var48;
                             int var76 = this.permutations[var74 + 1] + var48;
-                            var29 = this.lerp(var42, this.grad(this.permutations[var71], var38, var52, var45), this.grad(this.permutations[var75], var38 - 1.0D, var52, var45));
-                            var31 = this.lerp(var42, this.grad(this.permutations[var72], var38, var52 - 1.0D, var45), this.grad(this.permutations[var76], var38 - 1.0D, var52 - 1.0D, var45));
-                            var33 = this.lerp(var42, this.grad(this.permutations[var71 + 1], var38, var52, var45 - 1.0D), this.grad(this.permutations[var75 + 1], var38 - 1.0D, var52, var45 - 1.0D));
-                            var35 = this.lerp(var42, this.grad(this.permutations[var72 + 1], var38, var52 - 1.0D, var45 - 1.0D), this.grad(this.permutations[var76 + 1], var38 - 1.0D, var52 - 1.0D, var45 - 1.0D));
+                            var29 = this.lerp(var42, var83[var71] * var38 + var84[var71] * var52 + var85[var71] * var45, var83[var75] * var86 + var84[var75] * var52 + var85[var75] * var45);
+                            var31 = this.lerp(var42, var83[var72] * var38 + var84[var72] * var90 + var85[var72] * var45, var83[var76] * var86 + var84[var76] * var90 + var85[var76] * var45);
+                            var33 = this.lerp(var42, var83[var71 + 1] * var38 + var84[var71 + 1] * var52 + var85[var71 + 1] * var89, var83[var75 + 1] * var86 + var84[var75 + 1] * var52 + var85[var75 + 1] * var89);
+                            var35 = this.lerp(var42, var83[var72 + 1] * var38 + var84[var72 + 1] * var90 + var85[var72 + 1] * var89, var83[var76 + 1] * var86 + var84[var76 + 1] * var90 + var85[var76 + 1] * var89);
                         }
 
                         double var58 = this.lerp(var56, var29, var31);
@@ -210,4 +225,42 @@ public class NoiseGeneratorImproved extends NoiseGenerator
             }
         }
     }
+
+    /**
+     * Lattice cell, offset in the cell and fade curve of the samples along one axis
+     */
+    static final class Axis
+    {
+        int[] cell = new int[0];
+        double[] offset = new double[0];
+        double[] fade = new double[0];
+
+        NoiseGeneratorImproved.Axis sample(double p_sample_1_, double p_sample_3_, double p_sample_5_, int p_sample_7_)
+        {
+            if (this.cell.length < p_sample_7_)
+            {
+                this.cell = new int[p_sample_7_];
+                this.offset = new double[p_sample_7_];
+                this.fade = new double[p_sample_7_];
+            }
+
+            for (int var8 = 0; var8 < p_sample_7_; ++var8)
+            {
+                double var9 = p_sample_1_ + (double)var8 * p_sample_3_ + p_sample_5_;
+                int var11 = (int)var9;
+
+                if (var9 < (double)var11)
+                {
+                    --var11;
+                }
+
+                this.cell[var8] = var11 & 255;
+                var9 -= (double)var11;
+                this.offset[var8] = var9;
+                this.fade[var8] = var9 * var9 * var9 * (var9 * (var9 * 6.0D - 15.0D) + 10.0D);
+            }
+
+            return this;
+        }
+    }
 }
@@ -2,6 +2,7 @@ package net.minecraft.world.gen;
 
 import net.minecraft.util.MathHelper;
 
+import java.util.Arrays;
 import java.util.Random;
 
 public class NoiseGeneratorOctaves extends NoiseGenerator
@@ -29,16 +30,15 @@ public class NoiseGeneratorOctaves extends NoiseGenerator
      */
     public double[] generateNoiseOctaves(double[] p_76304_1_, int p_76304_2_, int p_76304_3_, int p_76304_4_, int p_76304_5_, int p_76304_6_, int p_76304_7_, double p_76304_8_, double p_76304_10_, double p_76304_12_)
     {
-        if (p_76304_1_ == null)
+        int var14 = p_76304_5_ * p_76304_6_ * p_76304_7_;
+
+        if (p_76304_1_ == null || p_76304_1_.length < var14)
         {
-            p_76304_1_ = new double[p_76304_5_ * p_76304_6_ * p_76304_7_];
+            p_76304_1_ = new double[var14];
         }
         else
         {
-            for (int var14 = 0; var14 < p_76304_1_.length; ++var14)
-            {
-                p_76304_1_[var14] = 0.0D;
-            }
+            Arrays.fill(p_76304_1_, 0, var14, 0.0D);
         }
 
         double var27 = 1.0D;
@@ -3,33 +3,49 @@ package net.minecraft.world.gen.layer;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Pools of int arrays for the biome layers. Every thread gets its own pools, so biomes can be generated off the server
+ * thread without handing out arrays another thread is still using.
+ */
 public class IntCache
 {
-    private static int intCacheSize = 256;
+    private static final ThreadLocal<IntCache> caches = new ThreadLocal<IntCache>()
+    {
+        protected IntCache initialValue()
+        {
+            return new IntCache();
+        }
+    };
+    private int intCacheSize = 256;
 
     /**
      * A list of pre-allocated int[256] arrays that are currently unused and can be returned by getIntCache()
      */
-    private static List freeSmallArrays = new ArrayList();
+    private List freeSmallArrays = new ArrayList();
 
     /**
      * A list of pre-allocated int[256] arrays that were previously returned by getIntCache() and which will not be re-
      * used again until resetIntCache() is called.
      */
-    private static List inUseSmallArrays = new ArrayList();
+    private List inUseSmallArrays = new ArrayList();
 
     /**
      * A list of pre-allocated int[cacheSize] arrays that are currently unused and can be returned by getIntCache()
      */
-    private static List freeLargeArrays = new ArrayList();
+    private List freeLargeArrays = new ArrayList();
 
     /**
      * A list of pre-allocated int[cacheSize] arrays that were previously returned by getIntCache() and which will not
      * be re-used again until resetIntCache() is called.
      */
-    private static List inUseLargeArrays = new ArrayList();
+    private List inUseLargeArrays = new ArrayList();
 
-    public static synchronized int[] getIntCache(int p_76445_0_)
+    public static int[] getIntCache(int p_76445_0_)
+    {
+        return ((IntCache)caches.get()).getArray(p_76445_0_);
+    }
+
+    private int[] getArray(int p_76445_0_)
     {
         int[] var1;
 
@@ -74,7 +90,12 @@ public class IntCache
     /**
      * Mark all pre-allocated arrays as available for re-use by moving them to the appropriate free lists.
      */
-    public static synchronized void resetIntCache()
+    public static void resetIntCache()
+    {
+        ((IntCache)caches.get()).reset();
+    }
+
+    private void reset()
     {
         if (!freeLargeArrays.isEmpty())
         {
@@ -93,11 +114,11 @@ public class IntCache
     }
 
     /**
-     * Gets a human-readable string that indicates the sizes of all the cache fields.  Basically a synchronized static
-     * toString.
+     * Gets a human-readable string that indicates the sizes of the calling thread's cache fields.
      */
-    public static synchronized String getCacheSizes()
+    public static String getCacheSizes()
     {
-        return "cache: " + freeLargeArrays.size() + ", tcache: " + freeSmallArrays.size() + ", allocated: " + inUseLargeArrays.size() + ", tallocated: " + inUseSmallArrays.size();
+        IntCache var0 = (IntCache)caches.get();
+        return "cache: " + var0.freeLargeArrays.size() + ", tcache: " + var0.freeSmallArrays.size() + ", allocated: " + var0.inUseLargeArrays.size() + ", tallocated: " + var0.inUseSmallArrays.size();
     }
 }
@@ -1,5 +1,6 @@
 package net.minecraft.world.gen.structure;
 
+import gnu.trove.map.hash.TLongObjectHashMap;
 import net.minecraft.block.Block;
 import net.minecraft.crash.CrashReport;
 import net.minecraft.crash.CrashReportCategory;
@@ -25,6 +26,19 @@ public abstract class MapGenStructure extends MapGenBase
      */
     protected Map structureMap = new HashMap();
 
+    /**
+     * The sizeable structures in structureMap, listed under every region cell their bounding box overlaps, so position
+     * queries only look at the structures nearby.
+     */
+    private TLongObjectHashMap structureCells = new TLongObjectHashMap();
+
+    /** Side of a region cell, as a shift of block coordinates */
+    private static final int CELL_SHIFT = 8;
+
+    /** The first sizeable start structureMap iterates, found again after structureMap changes */
+    private StructureStart firstSizeableStart;
+    private boolean firstSizeableStartKnown;
+
     public abstract String func_143025_a();
 
     protected final void func_151538_a(World p_151538_1_, final int p_151538_2_, final int p_151538_3_, int p_151538_4_, int p_151538_5_, Block[] p_151538_6_)
@@ -40,7 +54,7 @@ public abstract class MapGenStructure extends MapGenBase
                 if (this.canSpawnStructureAtCoords(p_151538_2_, p_151538_3_))
                 {
                     StructureStart var7 = this.getStructureStart(p_151538_2_, p_151538_3_);
-                    this.structureMap.put(Long.valueOf(ChunkCoordIntPair.chunkXZ2Int(p_151538_2_, p_151538_3_)), var7);
+                    this.addStructureStart(ChunkCoordIntPair.chunkXZ2Int(p_151538_2_, p_151538_3_), var7);
                     this.func_143026_a(p_151538_2_, p_151538_3_, var7);
                 }
             }
@@ -84,17 +98,28 @@ public abstract class MapGenStructure extends MapGenBase
         int var5 = (p_75051_3_ << 4) + 8;
         int var6 = (p_75051_4_ << 4) + 8;
         boolean var7 = false;
-        Iterator var8 = this.structureMap.values().iterator();
 
-        while (var8.hasNext())
+        for (int var8 = var5 >> CELL_SHIFT; var8 <= var5 + 15 >> CELL_SHIFT; ++var8)
         {
-            StructureStart var9 = (StructureStart)var8.next();
-
-            if (var9.isSizeableStructure() && var9.getBoundingBox().intersectsWith(var5, var6, var5 + 15, var6 + 15))
+            for (int var9 = var6 >> CELL_SHIFT; var9 <= var6 + 15 >> CELL_SHIFT; ++var9)
             {
-                var9.generateStructure(p_75051_1_, p_75051_2_, new StructureBoundingBox(var5, var6, var5 + 15, var6 + 15));
-                var7 = true;
-                this.func_143026_a(var9.func_143019_e(), var9.func_143018_f(), var9);
+                List var10 = (List)this.structureCells.get(ChunkCoordIntPair.chunkXZ2Int(var8, var9));
+
+                if (var10 != null)
+                {
+                    for (int var11 = 0; var11 < var10.size(); ++var11)
+                    {
+                        StructureStart var12 = (StructureStart)var10.get(var11);
+                        StructureBoundingBox var13 = var12.getBoundingBox();
+
+                        if (var13.intersectsWith(var5, var6, var5 + 15, var6 + 15) && var8 == Math.max(var5, var13.minX) >> CELL_SHIFT && var9 == Math.max(var6, var13.minZ) >> CELL_SHIFT)
+                        {
+                            var12.generateStructure(p_75051_1_, p_75051_2_, new StructureBoundingBox(var5, var6, var5 + 15, var6 + 15));
+                            var7 = true;
+                            this.func_143026_a(var12.func_143019_e(), var12.func_143018_f(), var12);
+                        }
+                    }
+                }
             }
         }
 
@@ -112,13 +137,13 @@ public abstract class MapGenStructure extends MapGenBase
 
     protected StructureStart func_143028_c(int p_143028_1_, int p_143028_2_, int p_143028_3_)
     {
-        Iterator var4 = this.structureMap.values().iterator();
+        List var4 = (List)this.structureCells.get(ChunkCoordIntPair.chunkXZ2Int(p_143028_1_ >> CELL_SHIFT, p_143028_3_ >> CELL_SHIFT));
 
-        while (var4.hasNext())
+        for (int var8 = 0; var4 != null && var8 < var4.size(); ++var8)
         {
-            StructureStart var5 = (StructureStart)var4.next();
+            StructureStart var5 = (StructureStart)var4.get(var8);
 
-            if (var5.isSizeableStructure() && var5.getBoundingBox().intersectsWith(p_143028_1_, p_143028_3_, p_143028_1_, p_143028_3_))
+            if (var5.getBoundingBox().intersectsWith(p_143028_1_, p_143028_3_, p_143028_1_, p_143028_3_))
             {
                 Iterator var6 = var5.getComponents().iterator();
 
@@ -137,24 +162,47 @@ public abstract class MapGenStructure extends MapGenBase
         return null;
     }
 
+    /**
+     * Returns whether the first sizeable start in structureMap covers the given column. Only that start is checked,
+     * even if another one covers the column. Columns in region cells with no sizeable start are ruled out without
+     * looking for it.
+     */
     public boolean func_142038_b(int p_142038_1_, int p_142038_2_, int p_142038_3_)
     {
         this.func_143027_a(this.worldObj);
-        Iterator var4 = this.structureMap.values().iterator();
-        StructureStart var5;
 
-        do
+        if (!this.structureCells.containsKey(ChunkCoordIntPair.chunkXZ2Int(p_142038_1_ >> CELL_SHIFT, p_142038_3_ >> CELL_SHIFT)))
+        {
+            return false;
+        }
+        else
         {
-            if (!var4.hasNext())
+            StructureStart var4 = this.getFirstSizeableStart();
+            return var4 != null && var4.getBoundingBox().intersectsWith(p_142038_1_, p_142038_3_, p_142038_1_, p_142038_3_);
+        }
+    }
+
+    private StructureStart getFirstSizeableStart()
+    {
+        if (!this.firstSizeableStartKnown)
+        {
+            this.firstSizeableStart = null;
+            this.firstSizeableStartKnown = true;
+            Iterator var1 = this.structureMap.values().iterator();
+
+            while (var1.hasNext())
             {
-                return false;
-            }
+                StructureStart var2 = (StructureStart)var1.next();
 
-            var5 = (StructureStart)var4.next();
+                if (var2.isSizeableStructure())
+                {
+                    this.firstSizeableStart = var2;
+                    break;
+                }
+            }
         }
-        while (!var5.isSizeableStructure());
 
-        return var5.getBoundingBox().intersectsWith(p_142038_1_, p_142038_3_, p_142038_1_, p_142038_3_);
+        return this.firstSizeableStart;
     }
 
     public ChunkPosition func_151545_a(World p_151545_1_, int p_151545_2_, int p_151545_3_, int p_151545_4_)
@@ -277,7 +325,7 @@ public abstract class MapGenStructure extends MapGenBase
 
                             if (var9 != null)
                             {
-                                this.structureMap.put(Long.valueOf(ChunkCoordIntPair.chunkXZ2Int(var7, var8)), var9);
+                                this.addStructureStart(ChunkCoordIntPair.chunkXZ2Int(var7, var8), var9);
                             }
                         }
                     }
@@ -286,6 +334,60 @@ public abstract class MapGenStructure extends MapGenBase
         }
     }
 
+    /**
+     * Stores the structure started in the given chunk, replacing any earlier one, and lists it in the region cells it
+     * covers if it is sizeable
+     */
+    private void addStructureStart(long p_addStructureStart_1_, StructureStart p_addStructureStart_3_)
+    {
+        StructureStart var4 = (StructureStart)this.structureMap.put(Long.valueOf(p_addStructureStart_1_), p_addStructureStart_3_);
+        this.firstSizeableStartKnown = false;
+
+        if (var4 != null && var4.isSizeableStructure())
+        {
+            this.updateStructureCells(var4, false);
+        }
+
+        if (p_addStructureStart_3_.isSizeableStructure())
+        {
+            this.updateStructureCells(p_addStructureStart_3_, true);
+        }
+    }
+
+    private void updateStructureCells(StructureStart p_updateStructureCells_1_, boolean p_updateStructureCells_2_)
+    {
+        StructureBoundingBox var3 = p_updateStructureCells_1_.getBoundingBox();
+
+        for (int var4 = var3.minX >> CELL_SHIFT; var4 <= var3.maxX >> CELL_SHIFT; ++var4)
+        {
+            for (int var5 = var3.minZ >> CELL_SHIFT; var5 <= var3.maxZ >> CELL_SHIFT; ++var5)
+            {
+                long var6 = ChunkCoordIntPair.chunkXZ2Int(var4, var5);
+                List var8 = (List)this.structureCells.get(var6);
+
+                if (p_updateStructureCells_2_)
+                {
+                    if (var8 == null)
+                    {
+                        var8 = new ArrayList(2);
+                        this.structureCells.put(var6, var8);
+                    }
+
+                    var8.add(p_updateStructureCells_1_);
+                }
+                else if (var8 != null)
+                {
+                    var8.remove(p_updateStructureCells_1_);
+
+                    if (var8.isEmpty())
+                    {
+                        this.structureCells.remove(var6);
+                    }
+                }
+            }
+        }
+    }
+
     private void func_143026_a(int p_143026_1_, int p_143026_2_, StructureStart p_143026_3_)
     {
         this.field_143029_e.func_143043_a(p_143026_3_.func_143021_a(p_143026_1_, p_143026_2_), p_143026_1_, p_143026_2_);
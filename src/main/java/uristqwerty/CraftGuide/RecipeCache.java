@@ -7,7 +7,10 @@ import uristqwerty.CraftGuide.client.ui.IRecipeCacheListener;
 import uristqwerty.CraftGuide.filters.NoItemFilter;
 import uristqwerty.CraftGuide.itemtype.ItemType;
 
+import java.io.File;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class RecipeCache
 {
@@ -23,6 +26,7 @@ public class RecipeCache
 	private Set<ItemType> currentTypes = null;
 	private SortedSet<ItemType> allItems = new TreeSet<ItemType>();
 	private boolean firstReset = true;
+	private RecipeSnapshot snapshot = null;
 
 	/* Effectively Runnable, but having a separate type should make code searches
 	 * more useful for identifying relevant implementations
@@ -83,6 +87,61 @@ public class RecipeCache
 		taskThread.start();
 	}
 
+	/* Runs the recipe providers, and other independent parts of a reset,
+	 * alongside the task thread.
+	 */
+	private static final ExecutorService providerPool = Executors.newFixedThreadPool(
+		Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1)),
+		new ThreadFactory()
+		{
+			private final AtomicInteger count = new AtomicInteger();
+
+			@Override
+			public Thread newThread(Runnable runnable)
+			{
+				Thread thread = new Thread(runnable, "CraftGuide Recipe Provider #" + count.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		}
+	);
+
+	/* Starts the task on the provider pool, or runs it right away if the
+	 * worker thread is disabled.
+	 */
+	private static <T> Future<T> submit(Callable<T> task)
+	{
+		if(CraftGuide.useWorkerThread)
+		{
+			return providerPool.submit(task);
+		}
+		else
+		{
+			FutureTask<T> future = new FutureTask<T>(task);
+			future.run();
+			return future;
+		}
+	}
+
+	private static <T> T getResult(Future<T> future)
+	{
+		try
+		{
+			return future.get();
+		}
+		catch(InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			CraftGuideLog.log(e);
+		}
+		catch(ExecutionException e)
+		{
+			CraftGuideLog.log(e.getCause());
+		}
+
+		return null;
+	}
+
 	public static void runTask(Task task)
 	{
 		if(CraftGuide.useWorkerThread)
@@ -101,9 +160,68 @@ public class RecipeCache
 
 	public RecipeCache()
 	{
+		loadSnapshot();
 		reset();
 	}
 
+	/* Shows the crafting types and items of the last session's recipe list
+	 * until the first reset replaces them.
+	 */
+	private void loadSnapshot()
+	{
+		File file = snapshotFile();
+
+		if(file == null)
+		{
+			return;
+		}
+
+		snapshot = RecipeSnapshot.load(file, RecipeSnapshot.computeFingerprint());
+
+		if(snapshot != null)
+		{
+			Map<ItemType, List<CraftGuideRecipe>> snapshotResults = new HashMap<ItemType, List<CraftGuideRecipe>>();
+
+			for(ItemType type: snapshot.craftingTypes)
+			{
+				snapshotResults.put(type, new ArrayList<CraftGuideRecipe>());
+			}
+
+			craftResults = snapshotResults;
+			craftingTypes = new TreeSet<ItemType>(snapshot.craftingTypes);
+			allItems = new TreeSet<ItemType>(snapshot.allItems);
+			CraftGuideLog.log("Loaded " + allItems.size() + " items from recipe snapshot");
+		}
+	}
+
+	/* Saves the types and items of a reset if they differ from the snapshot
+	 * shown at startup or saved by the previous reset.
+	 */
+	private void updateSnapshot(SortedSet<ItemType> newCraftingTypes, SortedSet<ItemType> newAllItems)
+	{
+		File file = snapshotFile();
+
+		if(file == null)
+		{
+			return;
+		}
+
+		RecipeSnapshot newSnapshot = new RecipeSnapshot(RecipeSnapshot.computeFingerprint(), newCraftingTypes, newAllItems);
+
+		if(!newSnapshot.matches(snapshot))
+		{
+			CraftGuideLog.log("  Saving recipe snapshot...");
+			newSnapshot.save(file);
+			snapshot = newSnapshot;
+		}
+	}
+
+	private static File snapshotFile()
+	{
+		File configDir = CraftGuide.configDirectory();
+		return configDir == null? null : new File(configDir, "RecipeSnapshot.dat");
+	}
+
 	public void reset()
 	{
 		CraftGuide.needsRecipeRefresh = false;
@@ -136,7 +254,15 @@ public class RecipeCache
 					newCraftResults.get(type).addAll(rawRecipes.get(key));
 				}
 
-				SortedSet<ItemType> newAllItems = generateAllItemList(newCraftResults);
+				final Map<ItemType, List<CraftGuideRecipe>> finalCraftResults = newCraftResults;
+				Future<SortedSet<ItemType>> allItemsTask = submit(new Callable<SortedSet<ItemType>>()
+				{
+					@Override
+					public SortedSet<ItemType> call()
+					{
+						return generateAllItemList(finalCraftResults);
+					}
+				});
 
 				SortedSet<ItemType> newCraftingTypes = new TreeSet<ItemType>();
 				newCraftingTypes.addAll(newCraftResults.keySet());
@@ -154,6 +280,15 @@ public class RecipeCache
 					firstReset = false;
 				}
 
+				SortedSet<ItemType> newAllItems = getResult(allItemsTask);
+
+				if(newAllItems == null)
+				{
+					newAllItems = new TreeSet<ItemType>();
+				}
+
+				updateSnapshot(newCraftingTypes, newAllItems);
+
 				craftResults = newCraftResults;
 				allItems = newAllItems;
 				craftingTypes = newCraftingTypes;
@@ -315,6 +450,8 @@ public class RecipeCache
 	{
 		generator.clearRecipes();
 		CraftGuideLog.log("  Getting recipes...");
+		List<Future<Map<ItemStack, List<CraftGuideRecipe>>>> providerTasks = new ArrayList<Future<Map<ItemStack, List<CraftGuideRecipe>>>>();
+
 		for(Object object: ReflectionAPI.APIObjects)
 		{
 			if(object instanceof RecipeProvider)
@@ -325,25 +462,56 @@ public class RecipeCache
 					continue;
 				}
 
-				CraftGuideLog.log("    Generating recipes from " + object.getClass().getName());
-				try
-				{
-					((RecipeProvider)object).generateRecipes(generator);
-				}
-				catch(Exception e)
-				{
-					CraftGuideLog.log(e);
-				}
-				catch(LinkageError e)
-				{
-					CraftGuideLog.log(e);
-				}
+				providerTasks.add(submit(new ProviderTask((RecipeProvider)object)));
+			}
+		}
+
+		// Merge in registration order, so the list doesn't depend on which provider finished first
+		for(Future<Map<ItemStack, List<CraftGuideRecipe>>> task: providerTasks)
+		{
+			Map<ItemStack, List<CraftGuideRecipe>> added = getResult(task);
+
+			if(added != null)
+			{
+				generator.addRecipes(added);
 			}
 		}
 
 		return generator.getRecipes();
 	}
 
+	private class ProviderTask implements Callable<Map<ItemStack, List<CraftGuideRecipe>>>
+	{
+		private final RecipeProvider provider;
+
+		public ProviderTask(RecipeProvider provider)
+		{
+			this.provider = provider;
+		}
+
+		@Override
+		public Map<ItemStack, List<CraftGuideRecipe>> call()
+		{
+			CraftGuideLog.log("    Generating recipes from " + provider.getClass().getName());
+			generator.beginProvider();
+
+			try
+			{
+				provider.generateRecipes(generator);
+			}
+			catch(Exception e)
+			{
+				CraftGuideLog.log(e);
+			}
+			catch(LinkageError e)
+			{
+				CraftGuideLog.log(e);
+			}
+
+			return generator.endProvider();
+		}
+	}
+
 	private void filterRawRecipes(Map<ItemStack, List<CraftGuideRecipe>> rawRecipes)
 	{
 		CraftGuideLog.log("  Filtering recipes...");
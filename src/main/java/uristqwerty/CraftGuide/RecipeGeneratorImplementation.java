@@ -15,6 +15,12 @@ import java.util.*;
 public class RecipeGeneratorImplementation implements RecipeGenerator
 {
 	private Map<ItemStack, List<CraftGuideRecipe>> recipes = new HashMap<ItemStack, List<CraftGuideRecipe>>();
+
+	/* Recipes added by the provider running on the current thread, kept apart
+	 * so that providers can run side by side and still be merged in order.
+	 */
+	private ThreadLocal<Map<ItemStack, List<CraftGuideRecipe>>> providerRecipes = new ThreadLocal<Map<ItemStack, List<CraftGuideRecipe>>>();
+	private List<ItemStack> craftingTypes = new ArrayList<ItemStack>();
 	public List<ItemStack> disabledTypes = new LinkedList<ItemStack>();
 	public Texture defaultBackground = new BlankTexture();
 	public Texture defaultBackgroundSelected;
@@ -84,14 +90,7 @@ public class RecipeGeneratorImplementation implements RecipeGenerator
 			backgroundSelectedTexture = "craftguide:textures/gui/CraftGuideRecipe.png";
 		}
 
-		for(ItemStack stack: recipes.keySet())
-		{
-			if(ItemStack.areItemStacksEqual(stack, craftingType))
-			{
-				craftingType = stack;
-				break;
-			}
-		}
+		craftingType = findCraftingType(craftingType);
 
 		return new DefaultRecipeTemplate(
 				slots,
@@ -124,17 +123,62 @@ public class RecipeGeneratorImplementation implements RecipeGenerator
 	@Override
 	public void addRecipe(CraftGuideRecipe recipe, ItemStack craftingType)
 	{
+		Map<ItemStack, List<CraftGuideRecipe>> recipes = providerRecipes.get();
+
+		if(recipes == null)
+		{
+			recipes = this.recipes;
+		}
+
 		List<CraftGuideRecipe> recipeList = recipes.get(craftingType);
 
 		if(recipeList == null)
 		{
 			recipeList = new ArrayList<CraftGuideRecipe>();
 			recipes.put(craftingType, recipeList);
+			addCraftingType(craftingType);
 		}
 
 		recipeList.add(recipe);
 	}
 
+	/**
+	 * Collects the recipes added on this thread apart from everyone else's,
+	 * until {@link #endProvider()}.
+	 */
+	public void beginProvider()
+	{
+		providerRecipes.set(new LinkedHashMap<ItemStack, List<CraftGuideRecipe>>());
+	}
+
+	/**
+	 * Returns the recipes added on this thread since {@link #beginProvider()},
+	 * to be passed to {@link #addRecipes(Map)}.
+	 */
+	public Map<ItemStack, List<CraftGuideRecipe>> endProvider()
+	{
+		Map<ItemStack, List<CraftGuideRecipe>> added = providerRecipes.get();
+		providerRecipes.remove();
+		return added;
+	}
+
+	public void addRecipes(Map<ItemStack, List<CraftGuideRecipe>> added)
+	{
+		for(Map.Entry<ItemStack, List<CraftGuideRecipe>> entry: added.entrySet())
+		{
+			List<CraftGuideRecipe> recipeList = recipes.get(entry.getKey());
+
+			if(recipeList == null)
+			{
+				recipes.put(entry.getKey(), entry.getValue());
+			}
+			else
+			{
+				recipeList.addAll(entry.getValue());
+			}
+		}
+	}
+
 	public Map<ItemStack, List<CraftGuideRecipe>> getRecipes()
 	{
 		return recipes;
@@ -143,10 +187,42 @@ public class RecipeGeneratorImplementation implements RecipeGenerator
 	public void clearRecipes()
 	{
 		recipes.clear();
+
+		synchronized(craftingTypes)
+		{
+			craftingTypes.clear();
+		}
+	}
+
+	private void addCraftingType(ItemStack craftingType)
+	{
+		synchronized(craftingTypes)
+		{
+			craftingTypes.add(craftingType);
+		}
+	}
+
+	/* Returns the first stack equal to the given one that recipes were added
+	 * under, so that templates share the key of earlier recipes of their type.
+	 */
+	private ItemStack findCraftingType(ItemStack craftingType)
+	{
+		synchronized(craftingTypes)
+		{
+			for(ItemStack stack: craftingTypes)
+			{
+				if(ItemStack.areItemStacksEqual(stack, craftingType))
+				{
+					return stack;
+				}
+			}
+		}
+
+		return craftingType;
 	}
 
 	@Override
-	public void setDefaultTypeVisibility(ItemStack type, boolean visible)
+	public synchronized void setDefaultTypeVisibility(ItemStack type, boolean visible)
 	{
 		if(visible)
 		{
@@ -0,0 +1,215 @@
+package uristqwerty.CraftGuide;
+
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.crafting.CraftingManager;
+import net.minecraft.item.crafting.FurnaceRecipes;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import uristqwerty.CraftGuide.itemtype.ItemType;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The crafting types and item list of the last recipe refresh, saved to disk so
+ * that the guide has something to show before the next refresh finishes. Only
+ * plain item stacks are stored; list-based types only exist once the providers
+ * have created them. A snapshot is only used if the registries it was taken
+ * from still hash to the same fingerprint.
+ */
+public class RecipeSnapshot
+{
+	private static final int FORMAT_VERSION = 1;
+
+	public final long fingerprint;
+	public final List<ItemType> craftingTypes;
+	public final List<ItemType> allItems;
+
+	public RecipeSnapshot(long fingerprint, Collection<ItemType> craftingTypes, Collection<ItemType> allItems)
+	{
+		this.fingerprint = fingerprint;
+		this.craftingTypes = storableTypes(craftingTypes);
+		this.allItems = storableTypes(allItems);
+	}
+
+	/**
+	 * Hashes the item registry, the number of crafting and smelting recipes and
+	 * the registered API objects, everything the recipe list is derived from.
+	 */
+	public static long computeFingerprint()
+	{
+		long hash = 0xcbf29ce484222325L ^ FORMAT_VERSION;
+
+		for(Object item: Item.itemRegistry)
+		{
+			hash = mix(hash, Item.getIdFromItem((Item)item));
+			hash = mix(hash, String.valueOf(Item.itemRegistry.getNameForObject(item)).hashCode());
+		}
+
+		hash = mix(hash, CraftingManager.getInstance().getRecipeList().size());
+		hash = mix(hash, FurnaceRecipes.smelting().getSmeltingList().size());
+
+		for(Object object: ReflectionAPI.APIObjects)
+		{
+			hash = mix(hash, object.getClass().getName().hashCode());
+		}
+
+		return hash;
+	}
+
+	/**
+	 * Reads the snapshot in the given file, or returns null if there is none, it
+	 * can't be read, or it was taken with a different fingerprint.
+	 */
+	public static RecipeSnapshot load(File file, long fingerprint)
+	{
+		if(!file.isFile())
+		{
+			return null;
+		}
+
+		DataInputStream input = null;
+
+		try
+		{
+			input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+
+			if(input.readInt() != FORMAT_VERSION || input.readLong() != fingerprint)
+			{
+				return null;
+			}
+
+			List<ItemType> craftingTypes = readTypes(input);
+			List<ItemType> allItems = readTypes(input);
+			return new RecipeSnapshot(fingerprint, craftingTypes, allItems);
+		}
+		catch(IOException e)
+		{
+			CraftGuideLog.log(e, "Could not read recipe snapshot " + file, false);
+			return null;
+		}
+		finally
+		{
+			closeQuietly(input);
+		}
+	}
+
+	public void save(File file)
+	{
+		File temp = new File(file.getPath() + ".tmp");
+		DataOutputStream output = null;
+
+		try
+		{
+			output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)));
+			output.writeInt(FORMAT_VERSION);
+			output.writeLong(fingerprint);
+			writeTypes(output, craftingTypes);
+			writeTypes(output, allItems);
+			output.close();
+			output = null;
+
+			if(file.exists() && !file.delete() || !temp.renameTo(file))
+			{
+				CraftGuideLog.log("Could not replace recipe snapshot " + file);
+			}
+		}
+		catch(IOException e)
+		{
+			CraftGuideLog.log(e, "Could not write recipe snapshot " + file, false);
+		}
+		finally
+		{
+			closeQuietly(output);
+		}
+	}
+
+	/**
+	 * Whether the other snapshot holds the same types, in the same order, taken
+	 * with the same fingerprint.
+	 */
+	public boolean matches(RecipeSnapshot other)
+	{
+		return other != null &&
+				fingerprint == other.fingerprint &&
+				craftingTypes.equals(other.craftingTypes) &&
+				allItems.equals(other.allItems);
+	}
+
+	private static List<ItemType> storableTypes(Collection<ItemType> types)
+	{
+		List<ItemType> storable = new ArrayList<ItemType>(types.size());
+
+		for(ItemType type: types)
+		{
+			if(type != null && type.getStack() instanceof ItemStack)
+			{
+				storable.add(type);
+			}
+		}
+
+		return storable;
+	}
+
+	private static void writeTypes(DataOutputStream output, List<ItemType> types) throws IOException
+	{
+		output.writeInt(types.size());
+
+		for(ItemType type: types)
+		{
+			ItemStack stack = (ItemStack)type.getStack();
+			output.writeShort(Item.getIdFromItem(stack.getItem()));
+			output.writeShort(stack.getItemDamage());
+			output.writeBoolean(stack.hasTagCompound());
+
+			if(stack.hasTagCompound())
+			{
+				CompressedStreamTools.write(stack.getTagCompound(), output);
+			}
+		}
+	}
+
+	private static List<ItemType> readTypes(DataInputStream input) throws IOException
+	{
+		int count = input.readInt();
+		List<ItemType> types = new ArrayList<ItemType>(Math.max(0, Math.min(count, 65536)));
+
+		for(int i = 0; i < count; i++)
+		{
+			Item item = Item.getItemById(input.readShort());
+			int damage = input.readShort();
+			NBTTagCompound nbt = input.readBoolean()? CompressedStreamTools.read(input) : null;
+
+			if(item != null)
+			{
+				ItemStack stack = new ItemStack(item, 1, damage);
+				stack.setTagCompound(nbt);
+				types.add(ItemType.getInstance(stack));
+			}
+		}
+
+		return types;
+	}
+
+	private static long mix(long hash, int value)
+	{
+		return (hash ^ value) * 0x100000001b3L;
+	}
+
+	private static void closeQuietly(Closeable closeable)
+	{
+		if(closeable != null)
+		{
+			try
+			{
+				closeable.close();
+			}
+			catch(IOException e)
+			{
+			}
+		}
+	}
+}
@@ -122,7 +122,7 @@ public class ItemType implements Comparable<ItemType>
 		this.originalHashcode = msg.hashCode();
 	}
 
-	public static ItemType getInstance(Object stack)
+	public static synchronized ItemType getInstance(Object stack)
 	{
 		if(stack instanceof ItemStack)
 		{
@@ -221,7 +221,7 @@ public class ItemType implements Comparable<ItemType>
 		return null;
 	}
 
-	public static boolean hasInstance(ItemStack stack)
+	public static synchronized boolean hasInstance(ItemStack stack)
 	{
 		ItemTypeKey key = new ItemTypeKey(stack);
 
@@ -27,7 +27,7 @@ public class Image implements Texture
 	private static Image err = new Image(-1);
 	private static boolean needsInit = true;
 
-	public static void initJarTextures()
+	public static synchronized void initJarTextures()
 	{
 		if(needsInit)
 		{
@@ -54,7 +54,7 @@ public class Image implements Texture
 		}
 	}
 
-	public static Image fromJar(String filename)
+	public static synchronized Image fromJar(String filename)
 	{
 		if(filename == null || filename.trim().isEmpty())
 		{
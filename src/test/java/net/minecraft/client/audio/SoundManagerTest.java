@@ -0,0 +1,157 @@
+package net.minecraft.client.audio;
+
+import net.minecraft.client.settings.GameSettings;
+import net.minecraft.util.ResourceLocation;
+import org.junit.Before;
+import org.junit.Test;
+import paulscode.sound.SoundSystemConfig;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * SoundManager playing through a stub sound system: duplicate sounds in a tick, the voice budget and source names.
+ */
+public class SoundManagerTest
+{
+    private static final ResourceLocation EXPLODE = new ResourceLocation("random.explode");
+    private static final ResourceLocation HIT = new ResourceLocation("game.player.hurt");
+    private static final ResourceLocation MUSIC = new ResourceLocation("music.game");
+    private StubSoundSystem library;
+    private SoundManager manager;
+
+    @Before
+    public void setUp()
+    {
+        final Map<ResourceLocation, SoundEventAccessorComposite> events = new HashMap<>();
+        events.put(EXPLODE, event(EXPLODE, SoundCategory.BLOCKS, false));
+        events.put(HIT, event(HIT, SoundCategory.PLAYERS, false));
+        events.put(MUSIC, event(MUSIC, SoundCategory.MUSIC, true));
+        GameSettings settings = new GameSettings();
+        SoundHandler handler = new SoundHandler(null, settings)
+        {
+            public SoundEventAccessorComposite func_147680_a(ResourceLocation location)
+            {
+                return events.get(location);
+            }
+        };
+        this.library = new StubSoundSystem();
+        this.manager = new SoundManager(handler, settings);
+        this.manager.startWith(this.library);
+    }
+
+    @Test
+    public void identicalSoundsInATickPlayOnce()
+    {
+        this.manager.func_148611_c(sound(EXPLODE, 1.0F, 10.2F, 64.0F, 10.7F));
+        this.manager.func_148611_c(sound(EXPLODE, 1.0F, 10.9F, 64.5F, 10.1F));
+        assertEquals(1, this.library.created.size());
+
+        // Another event at the same block, and the same event at another block, still play
+        this.manager.func_148611_c(sound(HIT, 1.0F, 10.5F, 64.5F, 10.5F));
+        this.manager.func_148611_c(sound(EXPLODE, 1.0F, 11.5F, 64.5F, 10.5F));
+        assertEquals(3, this.library.created.size());
+
+        this.manager.func_148605_d();
+        this.manager.func_148611_c(sound(EXPLODE, 1.0F, 10.5F, 64.5F, 10.5F));
+        assertEquals(4, this.library.created.size());
+    }
+
+    @Test
+    public void manyEventsAtOneSpotAllPlay()
+    {
+        // Every pair of distinct events at a block must play, whatever their identity hashes
+        for (int i = 0; i < 500; ++i)
+        {
+            ResourceLocation location = new ResourceLocation("test.event" + i);
+            SoundEventAccessorComposite event = event(location, SoundCategory.BLOCKS, false);
+            assertTrue(this.playedOnce(event, location));
+        }
+    }
+
+    @Test
+    public void voiceBudgetKeepsTheMostImportantSounds()
+    {
+        int voices = SoundSystemConfig.getNumberNormalChannels();
+
+        for (int i = 0; i < voices; ++i)
+        {
+            this.manager.func_148611_c(sound(HIT, 0.2F, 100.0F + i, 64.0F, 100.0F));
+        }
+
+        assertEquals(voices, this.library.sources.size());
+        assertTrue(this.library.stopped.isEmpty());
+
+        // A loud explosion next to the listener takes the voice of the least important sound
+        this.manager.func_148611_c(sound(EXPLODE, 1.0F, 0.0F, 0.0F, 0.0F));
+        assertEquals(voices, this.library.sources.size());
+        assertEquals(1, this.library.stopped.size());
+        assertEquals("minecraft:sounds/random.explode.ogg", this.library.sources.get(this.library.created.get(voices)).identifier);
+
+        // A quieter, farther sound than every playing one is skipped
+        this.manager.func_148611_c(sound(HIT, 0.05F, 500.0F, 64.0F, 500.0F));
+        assertEquals(voices + 1, this.library.created.size());
+
+        // Streams never count against the budget
+        this.manager.func_148611_c(sound(MUSIC, 1.0F, 0.0F, 0.0F, 0.0F));
+        assertEquals(voices + 2, this.library.created.size());
+        assertTrue(this.library.sources.get(this.library.created.get(voices + 1)).streaming);
+    }
+
+    @Test
+    public void sourcesAreNamedByCounter()
+    {
+        for (int i = 0; i < 5; ++i)
+        {
+            this.manager.func_148611_c(sound(HIT, 1.0F, i, 64.0F, 0.0F));
+        }
+
+        for (int i = 1; i < 5; ++i)
+        {
+            assertEquals(Integer.parseInt(this.library.created.get(i - 1)) + 1, Integer.parseInt(this.library.created.get(i)));
+        }
+    }
+
+    @Test
+    public void nothingPlaysAtZeroMasterVolume()
+    {
+        this.library.setMasterVolume(0.0F);
+        this.manager.func_148611_c(sound(HIT, 1.0F, 0.0F, 64.0F, 0.0F));
+        assertTrue(this.library.created.isEmpty());
+    }
+
+    private boolean playedOnce(final SoundEventAccessorComposite event, ResourceLocation location)
+    {
+        GameSettings settings = new GameSettings();
+        final SoundEventAccessorComposite explode = event(EXPLODE, SoundCategory.BLOCKS, false);
+        final ResourceLocation eventLocation = location;
+        SoundHandler handler = new SoundHandler(null, settings)
+        {
+            public SoundEventAccessorComposite func_147680_a(ResourceLocation requested)
+            {
+                return requested.equals(eventLocation) ? event : explode;
+            }
+        };
+        StubSoundSystem stub = new StubSoundSystem();
+        SoundManager manager = new SoundManager(handler, settings);
+        manager.startWith(stub);
+        manager.func_148611_c(sound(EXPLODE, 1.0F, 3.5F, 70.5F, -3.5F));
+        manager.func_148611_c(sound(location, 1.0F, 3.5F, 70.5F, -3.5F));
+        return stub.created.size() == 2;
+    }
+
+    private static SoundEventAccessorComposite event(ResourceLocation location, SoundCategory category, boolean streaming)
+    {
+        SoundEventAccessorComposite event = new SoundEventAccessorComposite(location, 1.0D, 1.0D, category);
+        event.func_148727_a(new SoundEventAccessor(new SoundPoolEntry(new ResourceLocation(location.getResourceDomain(), "sounds/" + location.getResourcePath() + ".ogg"), 1.0D, 1.0D, streaming), 1));
+        return event;
+    }
+
+    private static PositionedSoundRecord sound(ResourceLocation location, float volume, float x, float y, float z)
+    {
+        return new PositionedSoundRecord(location, volume, 1.0F, x, y, z);
+    }
+}
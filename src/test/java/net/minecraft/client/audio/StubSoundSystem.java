@@ -0,0 +1,132 @@
+package net.minecraft.client.audio;
+
+import paulscode.sound.SoundSystem;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A sound system that loads no library and plays nothing. It records the sources SoundManager creates and what is
+ * done to them, so the manager can be tested headless.
+ */
+class StubSoundSystem extends SoundSystem
+{
+    /** Sources not yet removed, by name, in creation order */
+    final Map<String, Source> sources = new LinkedHashMap<>();
+
+    /** Names of every source created, in order */
+    final List<String> created = new ArrayList<>();
+
+    /** Names of every source stopped, in order */
+    final List<String> stopped = new ArrayList<>();
+    private float masterVolume = 1.0F;
+
+    protected void linkDefaultLibrariesAndCodecs() {}
+
+    protected void init(Class libraryClass) {}
+
+    public void cleanup()
+    {
+        this.sources.clear();
+    }
+
+    public void newSource(boolean priority, String name, URL url, String identifier, boolean loop, float x, float y, float z, int attenuation, float distance)
+    {
+        this.sources.put(name, new Source(identifier, false, x, y, z));
+        this.created.add(name);
+    }
+
+    public void newStreamingSource(boolean priority, String name, URL url, String identifier, boolean loop, float x, float y, float z, int attenuation, float distance)
+    {
+        this.sources.put(name, new Source(identifier, true, x, y, z));
+        this.created.add(name);
+    }
+
+    public void play(String name)
+    {
+        Source source = this.sources.get(name);
+
+        if (source != null)
+        {
+            source.playing = true;
+        }
+    }
+
+    public void pause(String name)
+    {
+        this.stop(name);
+    }
+
+    public void stop(String name)
+    {
+        Source source = this.sources.get(name);
+
+        if (source != null && source.playing)
+        {
+            source.playing = false;
+            this.stopped.add(name);
+        }
+    }
+
+    public boolean playing(String name)
+    {
+        Source source = this.sources.get(name);
+        return source != null && source.playing;
+    }
+
+    public void removeSource(String name)
+    {
+        this.sources.remove(name);
+    }
+
+    public void setVolume(String name, float volume)
+    {
+        Source source = this.sources.get(name);
+
+        if (source != null)
+        {
+            source.volume = volume;
+        }
+    }
+
+    public void setPitch(String name, float pitch) {}
+
+    public void setPosition(String name, float x, float y, float z) {}
+
+    public void setListenerPosition(float x, float y, float z) {}
+
+    public void setListenerOrientation(float lookX, float lookY, float lookZ, float upX, float upY, float upZ) {}
+
+    public float getMasterVolume()
+    {
+        return this.masterVolume;
+    }
+
+    public void setMasterVolume(float volume)
+    {
+        this.masterVolume = volume;
+    }
+
+    static class Source
+    {
+        final String identifier;
+        final boolean streaming;
+        final float x;
+        final float y;
+        final float z;
+        boolean playing;
+        float volume;
+
+        Source(String identifier, boolean streaming, float x, float y, float z)
+        {
+            this.identifier = identifier;
+            this.streaming = streaming;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package net.minecraft.client.gui;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chat layout throughput on a full 100 message history of ChatLayoutTest.history: wrapping each newly received
+ * message, and laying out the whole history again at a width it was already wrapped to, or after the chat colours
+ * setting changed. The last wraps every message, as every re-layout did before messages kept their wrapped lines.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChatLayoutBenchmark
+{
+    private StubFontRenderer font;
+    private ChatLayout layout;
+    private List<ChatLine> history;
+    private List<ChatLine> incoming;
+    private int next;
+    private boolean toggle;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException
+    {
+        this.font = StubFontRenderer.create();
+        this.layout = new ChatLayout();
+        this.history = ChatLayoutTest.history(100, 1L);
+        this.incoming = ChatLayoutTest.history(4096, 2L);
+        this.relayout(320, true);
+        this.relayout(120, true);
+    }
+
+    @Benchmark
+    public List receiveMessage()
+    {
+        ChatLine message = this.incoming.get(this.next++ & 4095);
+        return ChatLayout.wrapComponent(message.func_151461_a(), 320, this.font, true);
+    }
+
+    @Benchmark
+    public int relayoutAtEarlierWidth()
+    {
+        this.toggle = !this.toggle;
+        return this.relayout(this.toggle ? 320 : 120, true);
+    }
+
+    @Benchmark
+    public int relayoutAfterColourChange()
+    {
+        this.toggle = !this.toggle;
+        return this.relayout(320, this.toggle);
+    }
+
+    private int relayout(int width, boolean colours)
+    {
+        int lines = 0;
+
+        for (int i = 0; i < this.history.size(); ++i)
+        {
+            lines += this.layout.getWrappedLines(this.history.get(i), width, this.font, colours, "en_US").size();
+        }
+
+        return lines;
+    }
+}
@@ -0,0 +1,149 @@
+package net.minecraft.client.gui;
+
+import net.minecraft.util.ChatComponentText;
+import net.minecraft.util.ChatStyle;
+import net.minecraft.util.EnumChatFormatting;
+import net.minecraft.util.IChatComponent;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Laying the chat out again must give the lines a fresh layout would, without wrapping messages again for a layout
+ * they were already wrapped to.
+ */
+public class ChatLayoutTest
+{
+    private StubFontRenderer font;
+    private ChatLayout layout;
+    private List<ChatLine> history;
+
+    @Before
+    public void setUp() throws ReflectiveOperationException
+    {
+        this.font = StubFontRenderer.create();
+        this.layout = new ChatLayout();
+        this.history = history(100, 1L);
+    }
+
+    @Test
+    public void cachedLayoutsMatchFreshOnes()
+    {
+        List<String> wide = this.wrap(this.layout, 320, true);
+        List<String> narrow = this.wrap(this.layout, 120, true);
+        assertEquals(wide, this.wrap(this.layout, 320, true));
+        assertEquals(narrow, this.wrap(this.layout, 120, true));
+        assertEquals(this.wrap(new ChatLayout(), 320, true), wide);
+        assertEquals(this.wrap(new ChatLayout(), 120, true), narrow);
+        assertTrue(narrow.size() > wide.size());
+    }
+
+    @Test
+    public void earlierWidthsMeasureNothing()
+    {
+        this.wrap(this.layout, 320, true);
+        this.wrap(this.layout, 120, true);
+        this.font.measuredStrings = 0;
+        this.wrap(this.layout, 320, true);
+        this.wrap(this.layout, 120, true);
+        assertEquals(0, this.font.measuredStrings);
+
+        ChatLine line = this.history.get(0);
+        assertSame(this.layout.getWrappedLines(line, 320, this.font, true, "en_US"), this.layout.getWrappedLines(line, 320, this.font, true, "en_US"));
+    }
+
+    @Test
+    public void settingChangesWrapAgain()
+    {
+        List<String> coloured = this.wrap(this.layout, 320, true);
+        assertTrue(coloured.toString().indexOf('§') >= 0);
+
+        this.font.measuredStrings = 0;
+        List<String> plain = this.wrap(this.layout, 320, false);
+        assertTrue(this.font.measuredStrings > 0);
+        assertFalse(plain.toString().indexOf('§') >= 0);
+
+        // Changing back is a new layout as well, since only the width is kept apart
+        this.font.measuredStrings = 0;
+        assertEquals(coloured, this.wrap(this.layout, 320, true));
+        assertTrue(this.font.measuredStrings > 0);
+
+        this.font.measuredStrings = 0;
+        this.wrap(this.layout, 320, true, "de_DE");
+        assertTrue(this.font.measuredStrings > 0);
+
+        this.font.setUnicodeFlag(true);
+        this.font.measuredStrings = 0;
+        this.wrap(this.layout, 320, true, "de_DE");
+        assertTrue(this.font.measuredStrings > 0);
+    }
+
+    @Test
+    public void linesFitTheWidth()
+    {
+        for (String line : this.wrap(this.layout, 120, true))
+        {
+            assertTrue(line, this.font.getStringWidth(line) <= 120);
+        }
+    }
+
+    /**
+     * Messages in the shape of a busy server's chat: a coloured tag, a player name and a sentence of a few to many words
+     */
+    static List<ChatLine> history(int count, long seed)
+    {
+        String[] words = {"the", "raid", "on", "our", "base", "starts", "at", "nine", "bring", "potions", "and", "obsidian", "everyone", "welcome"};
+        EnumChatFormatting[] colours = {EnumChatFormatting.GOLD, EnumChatFormatting.AQUA, EnumChatFormatting.RED, EnumChatFormatting.GREEN};
+        Random random = new Random(seed);
+        List<ChatLine> history = new ArrayList<>();
+
+        for (int i = 0; i < count; ++i)
+        {
+            IChatComponent message = new ChatComponentText("[" + (random.nextBoolean() ? "Faction" : "Clan") + "] ");
+            message.setChatStyle(new ChatStyle().setColor(colours[random.nextInt(colours.length)]));
+            message.appendSibling(new ChatComponentText("<Player" + random.nextInt(500) + "> "));
+            StringBuilder text = new StringBuilder();
+
+            for (int j = 3 + random.nextInt(40); j > 0; --j)
+            {
+                text.append(words[random.nextInt(words.length)]).append(j > 1 ? " " : "");
+            }
+
+            message.appendSibling(new ChatComponentText(text.toString()));
+            history.add(new ChatLine(i, message, 0));
+        }
+
+        return history;
+    }
+
+    private List<String> wrap(ChatLayout layout, int width, boolean colours)
+    {
+        return this.wrap(layout, width, colours, "en_US");
+    }
+
+    /**
+     * The text of every line the history wraps to, holding formatting codes only if chat colours are on
+     */
+    private List<String> wrap(ChatLayout layout, int width, boolean colours, String language)
+    {
+        List<String> lines = new ArrayList<>();
+
+        for (ChatLine message : this.history)
+        {
+            for (Object line : layout.getWrappedLines(message, width, this.font, colours, language))
+            {
+                lines.add(((IChatComponent)line).getUnformattedText());
+            }
+        }
+
+        return lines;
+    }
+}
@@ -0,0 +1,56 @@
+package net.minecraft.client.gui;
+
+import net.minecraft.client.settings.GameSettings;
+import net.minecraft.src.Config;
+import net.minecraft.util.ResourceLocation;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+
+/**
+ * A font renderer that loads no textures: every character is 6 pixels wide and a space 4, as in the default font.
+ * It counts the strings it measures, so tests can tell when text was wrapped again.
+ */
+class StubFontRenderer extends FontRenderer
+{
+    int measuredStrings;
+
+    private StubFontRenderer(GameSettings settings)
+    {
+        super(settings, new ResourceLocation("textures/font/ascii.png"), null, false);
+    }
+
+    static StubFontRenderer create() throws ReflectiveOperationException
+    {
+        // The constructor asks the OptiFine config for HD fonts, which is otherwise set up along with the display
+        GameSettings settings = new GameSettings();
+        settings.ofCustomFonts = false;
+        Field configSettings = Config.class.getDeclaredField("gameSettings");
+        configSettings.setAccessible(true);
+
+        configSettings.set(null, settings);
+        StubFontRenderer font = new StubFontRenderer(settings);
+        float[] widths = new float[256];
+        Arrays.fill(widths, 6.0F);
+        widths[32] = 4.0F;
+        Field charWidth = FontRenderer.class.getDeclaredField("charWidth");
+        charWidth.setAccessible(true);
+        charWidth.set(font, widths);
+        return font;
+    }
+
+    public int getStringWidth(String text)
+    {
+        ++this.measuredStrings;
+        return super.getStringWidth(text);
+    }
+
+    protected void bindTexture(ResourceLocation location) {}
+
+    protected InputStream getResourceInputStream(ResourceLocation location)
+    {
+        return new ByteArrayInputStream(new byte[0]);
+    }
+}
@@ -0,0 +1,159 @@
+package net.minecraft.client.renderer;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Geometry packed into the 20 byte format must draw within half a quantization step of the 32 byte Tessellator
+ * vertices it came from, in either byte order, and geometry that can't be packed that closely must be refused.
+ */
+public class CompactVertexFormatTest
+{
+    private static final float POSITION_TOLERANCE = 0.5F / CompactVertexFormat.POSITION_SCALE + 1.0E-5F;
+
+    /** Half a step, or a whole one for 1.0, which is clamped to the largest short */
+    private static final float TEXTURE_TOLERANCE = 1.0F / CompactVertexFormat.TEXTURE_SCALE + 1.0E-7F;
+
+    @Test
+    public void chunkGeometryDecodesToRawVertices()
+    {
+        for (boolean littleEndian : new boolean[] {true, false})
+        {
+            for (int[] chunk : new int[][] {{0, 0, 0}, {-4096, 64, 30000}, {123456, 240, -987648}})
+            {
+                int count = 4096;
+                int[] raw = chunkSection(new Random(chunk[0] ^ chunk[2]), chunk[0], chunk[1], chunk[2], count);
+                CompactVertexFormat format = new CompactVertexFormat(littleEndian);
+                assertTrue(format.encode(raw, count, true));
+                assertEquals(count, format.getVertexCount());
+                ShortBuffer shorts = asNativeBuffer(format, littleEndian).asShortBuffer();
+                ByteBuffer bytes = asNativeBuffer(format, littleEndian);
+
+                for (int i = 0; i < count; ++i)
+                {
+                    String where = (littleEndian ? "little" : "big") + " endian, chunk at " + chunk[0] + ", " + chunk[2] + ", vertex " + i;
+                    float[] origin = {format.getOriginX(), format.getOriginY(), format.getOriginZ()};
+
+                    for (int axis = 0; axis < 3; ++axis)
+                    {
+                        float expected = Float.intBitsToFloat(raw[i * 8 + axis]);
+                        assertEquals(where + " axis " + axis, expected, format.getPosition(i, axis), POSITION_TOLERANCE);
+
+                        // As the draw call reads it: a short per axis, scaled back and moved by the origin
+                        short drawn = shorts.get(i * CompactVertexFormat.STRIDE / 2 + CompactVertexFormat.POSITION_OFFSET + axis);
+                        assertEquals(where + " drawn axis " + axis, expected, origin[axis] + drawn / CompactVertexFormat.POSITION_SCALE, POSITION_TOLERANCE);
+                    }
+
+                    for (int coord = 0; coord < 2; ++coord)
+                    {
+                        float expected = Float.intBitsToFloat(raw[i * 8 + 3 + coord]);
+                        assertEquals(where + " texture " + coord, expected, format.getTexture(i, coord), TEXTURE_TOLERANCE);
+                        short drawn = shorts.get(i * CompactVertexFormat.STRIDE / 2 + CompactVertexFormat.TEXTURE_OFFSET + coord);
+                        assertEquals(where + " drawn texture " + coord, expected, drawn / CompactVertexFormat.TEXTURE_SCALE, TEXTURE_TOLERANCE);
+                    }
+
+                    assertEquals(where + " color", raw[i * 8 + 5], bytes.getInt(i * CompactVertexFormat.STRIDE + CompactVertexFormat.COLOR_OFFSET));
+                    assertEquals(where + " brightness", raw[i * 8 + 7], bytes.getInt(i * CompactVertexFormat.STRIDE + CompactVertexFormat.BRIGHTNESS_OFFSET));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void untexturedGeometryDecodesToRawPositions()
+    {
+        int[] raw = chunkSection(new Random(7L), 32, 16, -48, 64);
+        CompactVertexFormat format = new CompactVertexFormat(ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN);
+        assertTrue(format.encode(raw, 64, false));
+
+        for (int i = 0; i < 64; ++i)
+        {
+            for (int axis = 0; axis < 3; ++axis)
+            {
+                assertEquals("vertex " + i + " axis " + axis, Float.intBitsToFloat(raw[i * 8 + axis]), format.getPosition(i, axis), POSITION_TOLERANCE);
+            }
+
+            assertEquals(0.0F, format.getTexture(i, 0), 0.0F);
+            assertEquals(0.0F, format.getTexture(i, 1), 0.0F);
+        }
+    }
+
+    @Test
+    public void geometryOutsideTheFormatIsRefused()
+    {
+        CompactVertexFormat format = new CompactVertexFormat(true);
+        int[] raw = chunkSection(new Random(1L), 0, 0, 0, 8);
+
+        // 32 blocks apart
+        raw[8] = Float.floatToIntBits(Float.intBitsToFloat(raw[0]) + 32.0F);
+        assertFalse(format.encode(raw, 8, true));
+
+        raw = chunkSection(new Random(1L), 0, 0, 0, 8);
+        raw[8 * 3 + 4] = Float.floatToIntBits(1.5F);
+        assertFalse(format.encode(raw, 8, true));
+
+        // Texture coordinates are ignored for untextured geometry
+        assertTrue(format.encode(raw, 8, false));
+    }
+
+    /**
+     * Tessellator vertices, 8 ints each, spread over the 16 cubed blocks at the given corner: block corners, sixteenths
+     * of blocks and arbitrary offsets such as plants use, with texture coordinates from 0 to 1 inclusive
+     */
+    private static int[] chunkSection(Random random, int x, int y, int z, int count)
+    {
+        int[] raw = new int[count * 8];
+
+        for (int i = 0; i < count; ++i)
+        {
+            float[] position = new float[3];
+
+            for (int axis = 0; axis < 3; ++axis)
+            {
+                switch (i % 3)
+                {
+                    case 0:
+                        position[axis] = random.nextInt(17);
+                        break;
+
+                    case 1:
+                        position[axis] = random.nextInt(257) / 16.0F;
+                        break;
+
+                    default:
+                        position[axis] = random.nextFloat() * 16.0F;
+                }
+            }
+
+            raw[i * 8] = Float.floatToIntBits(x + position[0]);
+            raw[i * 8 + 1] = Float.floatToIntBits(y + position[1]);
+            raw[i * 8 + 2] = Float.floatToIntBits(z + position[2]);
+            raw[i * 8 + 3] = Float.floatToIntBits(i % 7 == 0 ? 1.0F : random.nextInt(257) / 256.0F);
+            raw[i * 8 + 4] = Float.floatToIntBits(i % 11 == 0 ? 0.0F : random.nextFloat());
+            raw[i * 8 + 5] = random.nextInt();
+            raw[i * 8 + 6] = 0;
+            raw[i * 8 + 7] = random.nextInt(240) << 16 | random.nextInt(240);
+        }
+
+        return raw;
+    }
+
+    /**
+     * The packed vertices as the draw call hands them to GL, in the byte order the format was made for
+     */
+    private static ByteBuffer asNativeBuffer(CompactVertexFormat format, boolean littleEndian)
+    {
+        int ints = format.getVertexCount() * CompactVertexFormat.INTS_PER_VERTEX;
+        ByteBuffer buffer = ByteBuffer.allocate(ints * 4).order(littleEndian ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+        buffer.asIntBuffer().put(format.getBuffer(), 0, ints);
+        return buffer;
+    }
+}
@@ -0,0 +1,83 @@
+package net.minecraft.inventory;
+
+import net.minecraft.item.ItemStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One tick of a double chest full of enchanted, named and lored stacks, open for one viewer. detectAndSendChanges is
+ * measured against the loop it replaced, which deep compared the tags of every slot. One slot changes per tick.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContainerBenchmark
+{
+    private InventoryBasic chest;
+    private ContainerChest container;
+    private int tick;
+
+    @Setup
+    public void setUp()
+    {
+        ContainerTest.registerItems();
+        this.chest = ContainerTest.largeChest();
+        this.container = new ContainerChest(new InventoryBasic("player", false, 36), this.chest);
+        this.container.addCraftingToCrafters(new ContainerTest.RecordingCrafter()
+        {
+            public void sendSlotContents(Container container, int slot, ItemStack stack) {}
+        });
+    }
+
+    @Benchmark
+    public void detectAndSendChanges()
+    {
+        this.changeOneSlot();
+        this.container.detectAndSendChanges();
+    }
+
+    /**
+     * detectAndSendChanges as it was before tag stamps, deep comparing the tags of every slot
+     */
+    @Benchmark
+    public void deepCompareAndSendChanges()
+    {
+        this.changeOneSlot();
+
+        for (int i = 0; i < this.container.inventorySlots.size(); ++i)
+        {
+            ItemStack current = ((Slot)this.container.inventorySlots.get(i)).getStack();
+            ItemStack sent = (ItemStack)this.container.inventoryItemStacks.get(i);
+
+            if (!ItemStack.areItemStacksEqual(sent, current))
+            {
+                sent = current == null ? null : current.copy();
+                this.container.inventoryItemStacks.set(i, sent);
+
+                for (int j = 0; j < this.container.crafters.size(); ++j)
+                {
+                    ((ICrafting)this.container.crafters.get(j)).sendSlotContents(this.container, i, sent);
+                }
+            }
+        }
+    }
+
+    private void changeOneSlot()
+    {
+        ItemStack stack = this.chest.getStackInSlot(this.tick++ % this.chest.getSizeInventory());
+        stack.getTagCompound().setInteger("RepairCost", this.tick);
+    }
+}
@@ -0,0 +1,142 @@
+package net.minecraft.inventory;
+
+import net.minecraft.block.Block;
+import net.minecraft.enchantment.Enchantment;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.nbt.NBTTagString;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * detectAndSendChanges must send exactly the slots whose stacks changed, including changes made deep inside their tags.
+ */
+public class ContainerTest
+{
+    private InventoryBasic chest;
+    private ContainerChest container;
+    private RecordingCrafter crafter;
+
+    @BeforeClass
+    public static void registerItems()
+    {
+        if (!Item.itemRegistry.containsKey("iron_shovel"))
+        {
+            Block.registerBlocks();
+            Item.registerItems();
+        }
+    }
+
+    @Before
+    public void setUp()
+    {
+        this.chest = largeChest();
+        this.container = new ContainerChest(new InventoryBasic("player", false, 36), this.chest);
+        this.crafter = new RecordingCrafter();
+        this.container.addCraftingToCrafters(this.crafter);
+        this.crafter.clear();
+    }
+
+    @Test
+    public void unchangedSlotsAreNotSent()
+    {
+        this.container.detectAndSendChanges();
+        this.container.detectAndSendChanges();
+        assertEquals(0, this.crafter.sentSlots.size());
+    }
+
+    @Test
+    public void nestedTagChangesAreSent()
+    {
+        ItemStack stack = this.chest.getStackInSlot(7);
+        stack.getTagCompound().getCompoundTag("display").getTagList("Lore", 8).appendTag(new NBTTagString("changed"));
+        this.container.detectAndSendChanges();
+        assertEquals(1, this.crafter.sentSlots.size());
+        assertEquals(7, this.crafter.sentSlots.get(0).intValue());
+        assertTrue(ItemStack.areItemStacksEqual(stack, this.crafter.sentStacks.get(0)));
+
+        this.crafter.clear();
+        this.container.detectAndSendChanges();
+        assertEquals(0, this.crafter.sentSlots.size());
+    }
+
+    @Test
+    public void replacedTagsAndSizesAreSent()
+    {
+        this.chest.getStackInSlot(3).stackSize = 2;
+        ItemStack replaced = this.chest.getStackInSlot(4);
+        replaced.setTagCompound((NBTTagCompound)replaced.getTagCompound().copy());
+        this.chest.setInventorySlotContents(5, null);
+        this.container.detectAndSendChanges();
+        assertEquals(2, this.crafter.sentSlots.size());
+        assertEquals(3, this.crafter.sentSlots.get(0).intValue());
+        assertEquals(5, this.crafter.sentSlots.get(1).intValue());
+
+        // An equal copy of the tag sends nothing, and later changes to the copy are still noticed
+        this.crafter.clear();
+        replaced.getTagCompound().setInteger("RepairCost", 9);
+        this.container.detectAndSendChanges();
+        assertEquals(1, this.crafter.sentSlots.size());
+        assertEquals(4, this.crafter.sentSlots.get(0).intValue());
+    }
+
+    /**
+     * A double chest full of enchanted swords with names and lore
+     */
+    static InventoryBasic largeChest()
+    {
+        InventoryBasic chest = new InventoryBasic("chest", false, 54);
+
+        for (int i = 0; i < chest.getSizeInventory(); ++i)
+        {
+            ItemStack stack = new ItemStack(Item.getItemById(276));
+            stack.addEnchantment(Enchantment.sharpness, 5);
+            stack.addEnchantment(Enchantment.unbreaking, 3);
+            stack.addEnchantment(Enchantment.looting, 3);
+            stack.addEnchantment(Enchantment.fireAspect, 2);
+            stack.setStackDisplayName("Blade " + i);
+            NBTTagList lore = new NBTTagList();
+
+            for (int line = 0; line < 4; ++line)
+            {
+                lore.appendTag(new NBTTagString("Forged in the depths, line " + line));
+            }
+
+            stack.getTagCompound().getCompoundTag("display").setTag("Lore", lore);
+            chest.setInventorySlotContents(i, stack);
+        }
+
+        return chest;
+    }
+
+    static class RecordingCrafter implements ICrafting
+    {
+        final List<Integer> sentSlots = new ArrayList<>();
+        final List<ItemStack> sentStacks = new ArrayList<>();
+
+        public void sendContainerAndContentsToPlayer(Container container, List stacks) {}
+
+        public void sendSlotContents(Container container, int slot, ItemStack stack)
+        {
+            this.sentSlots.add(slot);
+            this.sentStacks.add(stack);
+        }
+
+        public void sendProgressBarUpdate(Container container, int id, int value) {}
+
+        void clear()
+        {
+            this.sentSlots.clear();
+            this.sentStacks.clear();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package net.minecraft.item;
+
+import net.minecraft.block.Block;
+import net.minecraft.nbt.NBTBase;
+import net.minecraft.nbt.NBTTagCompound;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.lang.ref.Reference;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Saving a stack must not leave its tag compound tied to the compounds it was saved into.
+ */
+public class ItemStackTest
+{
+    @BeforeClass
+    public static void registerItems()
+    {
+        if (!Item.itemRegistry.containsKey("iron_shovel"))
+        {
+            Block.registerBlocks();
+            Item.registerItems();
+        }
+    }
+
+    @Test
+    public void savesDoNotHoldOnToTheStackTag() throws ReflectiveOperationException
+    {
+        ItemStack stack = new ItemStack(Item.getItemById(276));
+        stack.setStackDisplayName("sword");
+        NBTTagCompound tag = stack.getTagCompound();
+        List saves = new ArrayList();
+
+        for (int i = 0; i < 1000; ++i)
+        {
+            NBTTagCompound save = stack.writeToNBT(new NBTTagCompound());
+            assertNotSame(tag, save.getTag("tag"));
+            assertEquals(tag, save.getTag("tag"));
+            saves.add(save);
+        }
+
+        List holders = recordedHolders(tag);
+        List nested = recordedHolders(tag.getCompoundTag("display"));
+        assertTrue(holders.isEmpty());
+        assertEquals(1, nested.size());
+        assertTrue(nested.get(0) == tag);
+
+        for (int i = 0; i < saves.size(); ++i)
+        {
+            assertFalse(holders.contains(saves.get(i)));
+        }
+
+        long stamp = tag.getLastModification();
+        tag.getCompoundTag("display").setInteger("color", 1);
+        assertTrue(tag.getLastModification() > stamp);
+        assertFalse(((NBTTagCompound)saves.get(0)).getCompoundTag("tag").getCompoundTag("display").hasKey("color"));
+    }
+
+    @Test
+    public void loadedStackTagMatchesSave()
+    {
+        ItemStack stack = new ItemStack(Item.getItemById(276));
+        stack.setStackDisplayName("sword");
+        ItemStack loaded = ItemStack.loadItemStackFromNBT(stack.writeToNBT(new NBTTagCompound()));
+        assertEquals(stack.getTagCompound(), loaded.getTagCompound());
+        assertEquals("sword", loaded.getTagCompound().getCompoundTag("display").getString("Name"));
+    }
+
+    /**
+     * Returns the compounds and lists the given tag records as holding it, read from the parent fields of NBTBase
+     */
+    private static List recordedHolders(NBTBase tag) throws ReflectiveOperationException
+    {
+        Field parentField = NBTBase.class.getDeclaredField("parent");
+        Field otherParentsField = NBTBase.class.getDeclaredField("otherParents");
+        parentField.setAccessible(true);
+        otherParentsField.setAccessible(true);
+        List holders = new ArrayList();
+        Reference parent = (Reference)parentField.get(tag);
+        List otherParents = (List)otherParentsField.get(tag);
+
+        if (parent != null && parent.get() != null)
+        {
+            holders.add(parent.get());
+        }
+
+        if (otherParents != null)
+        {
+            for (int i = 0; i < otherParents.size(); ++i)
+            {
+                Object holder = ((Reference)otherParents.get(i)).get();
+
+                if (holder != null)
+                {
+                    holders.add(holder);
+                }
+            }
+        }
+
+        return holders;
+    }
+}
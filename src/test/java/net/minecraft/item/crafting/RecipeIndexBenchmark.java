@@ -0,0 +1,106 @@
+package net.minecraft.item.crafting;
+
+import net.minecraft.inventory.InventoryCrafting;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recipe lookups over the full registered recipe set, through the index and through the linear scans it replaced. The
+ * crafting grids are the patterns of every recipe plus random grids of recipe ingredients, as in RecipeIndexTest; the
+ * smelting inputs are every item with metadata 0 to 15.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecipeIndexBenchmark
+{
+    private List recipes;
+    private RecipeIndex index;
+    private InventoryCrafting[] grids;
+    private FurnaceRecipes furnace;
+    private ItemStack[] smeltingInputs;
+    private int next;
+
+    @Setup
+    public void setUp()
+    {
+        RecipeIndexTest.registerRecipes();
+        this.recipes = CraftingManager.getInstance().getRecipeList();
+        this.index = new RecipeIndex(this.recipes);
+        this.grids = RecipeIndexTest.sampleGrids(this.recipes, 2000, 1234L).toArray(new InventoryCrafting[0]);
+        this.furnace = FurnaceRecipes.smelting();
+        List<ItemStack> inputs = new ArrayList<>();
+        Iterator items = Item.itemRegistry.iterator();
+
+        while (items.hasNext())
+        {
+            Item item = (Item)items.next();
+
+            for (int meta = 0; meta < 16; ++meta)
+            {
+                inputs.add(new ItemStack(item, 1, meta));
+            }
+        }
+
+        this.smeltingInputs = inputs.toArray(new ItemStack[0]);
+    }
+
+    @Benchmark
+    public IRecipe craftingIndex()
+    {
+        return this.index.findMatchingRecipe(this.grids[this.next++ % this.grids.length], null);
+    }
+
+    @Benchmark
+    public IRecipe craftingScan()
+    {
+        return RecipeIndexTest.findByScan(this.recipes, this.grids[this.next++ % this.grids.length]);
+    }
+
+    @Benchmark
+    public ItemStack smeltingIndex()
+    {
+        return this.furnace.getSmeltingResult(this.smeltingInputs[this.next++ % this.smeltingInputs.length]);
+    }
+
+    /**
+     * FurnaceRecipes.getSmeltingResult before the item and metadata tables
+     */
+    @Benchmark
+    public ItemStack smeltingScan()
+    {
+        ItemStack input = this.smeltingInputs[this.next++ % this.smeltingInputs.length];
+
+        for (Object o : this.furnace.getSmeltingList().entrySet())
+        {
+            Entry entry = (Entry)o;
+            ItemStack key = (ItemStack)entry.getKey();
+
+            if (key.getItem() == input.getItem() && (key.getItemDamage() == 32767 || key.getItemDamage() == input.getItemDamage()))
+            {
+                return (ItemStack)entry.getValue();
+            }
+        }
+
+        return null;
+    }
+}
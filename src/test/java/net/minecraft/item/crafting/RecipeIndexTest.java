@@ -0,0 +1,282 @@
+package net.minecraft.item.crafting;
+
+import net.minecraft.block.Block;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.inventory.Container;
+import net.minecraft.inventory.InventoryCrafting;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The recipe index and the smelting tables must give the results of the linear scans they replaced, over the full
+ * registered recipe set.
+ */
+public class RecipeIndexTest
+{
+    @BeforeClass
+    public static void registerRecipes()
+    {
+        // Registering twice would replace the items that recipes and other tests already hold
+        if (!Item.itemRegistry.containsKey("iron_shovel"))
+        {
+            Block.registerBlocks();
+            Item.registerItems();
+        }
+        CraftingManager.getInstance();
+        FurnaceRecipes.smelting();
+    }
+
+    @Test
+    public void indexMatchesLinearScan()
+    {
+        List recipes = CraftingManager.getInstance().getRecipeList();
+        RecipeIndex index = new RecipeIndex(recipes);
+        List<InventoryCrafting> grids = sampleGrids(recipes, 4000, 1234L);
+        int matched = 0;
+
+        for (int i = 0; i < grids.size(); ++i)
+        {
+            IRecipe expected = findByScan(recipes, grids.get(i));
+            assertSame("grid " + i, expected, index.findMatchingRecipe(grids.get(i), null));
+
+            if (expected != null)
+            {
+                ++matched;
+            }
+        }
+
+        // The grids built from the recipes themselves must all match something
+        assertTrue(matched >= recipes.size());
+    }
+
+    @Test
+    public void addedRecipesAreFound()
+    {
+        List recipes = new ArrayList(CraftingManager.getInstance().getRecipeList());
+        InventoryCrafting grid = newGrid();
+        grid.setInventorySlotContents(0, new ItemStack(Item.getItemById(264)));
+        grid.setInventorySlotContents(4, new ItemStack(Item.getItemById(264)));
+        grid.setInventorySlotContents(8, new ItemStack(Item.getItemById(264)));
+        assertSame(null, new RecipeIndex(recipes).findMatchingRecipe(grid, null));
+
+        ShapedRecipes diagonal = new ShapedRecipes(3, 3, new ItemStack[] {new ItemStack(Item.getItemById(264)), null, null, null, new ItemStack(Item.getItemById(264)), null, null, null, new ItemStack(Item.getItemById(264))}, new ItemStack(Item.getItemById(57)));
+        recipes.add(diagonal);
+        assertSame(diagonal, new RecipeIndex(recipes).findMatchingRecipe(grid, null));
+    }
+
+    @Test
+    public void smeltingTablesMatchLinearScan() throws ReflectiveOperationException
+    {
+        FurnaceRecipes furnace = FurnaceRecipes.smelting();
+        Field experienceField = FurnaceRecipes.class.getDeclaredField("experienceList");
+        experienceField.setAccessible(true);
+        Map experience = (Map)experienceField.get(furnace);
+        Iterator items = Item.itemRegistry.iterator();
+        int smeltable = 0;
+
+        while (items.hasNext())
+        {
+            Item item = (Item)items.next();
+
+            for (int meta = 0; meta < 16; ++meta)
+            {
+                ItemStack stack = new ItemStack(item, 1, meta);
+                ItemStack expected = null;
+
+                for (Object o : furnace.getSmeltingList().entrySet())
+                {
+                    Entry entry = (Entry)o;
+
+                    if (matchesStack(stack, (ItemStack)entry.getKey()))
+                    {
+                        expected = (ItemStack)entry.getValue();
+                        break;
+                    }
+                }
+
+                assertSame(item + ":" + meta, expected, furnace.getSmeltingResult(stack));
+
+                if (expected != null)
+                {
+                    ++smeltable;
+                    assertEquals(item + ":" + meta, experienceByScan(experience, expected), furnace.func_151398_b(expected), 0.0F);
+                }
+            }
+        }
+
+        assertTrue(smeltable > 0);
+    }
+
+    /**
+     * CraftingManager.findMatchingRecipe before the index, without the repair of damaged tools
+     */
+    static IRecipe findByScan(List recipes, InventoryCrafting grid)
+    {
+        for (int i = 0; i < recipes.size(); ++i)
+        {
+            IRecipe recipe = (IRecipe)recipes.get(i);
+
+            if (recipe.matches(grid, null))
+            {
+                return recipe;
+            }
+        }
+
+        return null;
+    }
+
+    private static float experienceByScan(Map experience, ItemStack stack)
+    {
+        for (Object o : experience.entrySet())
+        {
+            Entry entry = (Entry)o;
+
+            if (matchesStack(stack, (ItemStack)entry.getKey()))
+            {
+                return ((Float)entry.getValue()).floatValue();
+            }
+        }
+
+        return 0.0F;
+    }
+
+    private static boolean matchesStack(ItemStack stack, ItemStack key)
+    {
+        return key.getItem() == stack.getItem() && (key.getItemDamage() == 32767 || key.getItemDamage() == stack.getItemDamage());
+    }
+
+    /**
+     * Grids holding the pattern of every shaped and shapeless recipe, at every position and mirrored, followed by the
+     * given number of random grids made of recipe ingredients, some of them recipe patterns with one slot changed
+     */
+    static List<InventoryCrafting> sampleGrids(List recipes, int randomGrids, long seed)
+    {
+        List<InventoryCrafting> grids = new ArrayList<>();
+        List<ItemStack> ingredients = new ArrayList<>();
+        List<InventoryCrafting> patterns = new ArrayList<>();
+
+        for (Object o : recipes)
+        {
+            if (o instanceof ShapedRecipes && o.getClass() == ShapedRecipes.class)
+            {
+                ShapedRecipes recipe = (ShapedRecipes)o;
+
+                for (int dx = 0; dx + recipe.recipeWidth <= 3; ++dx)
+                {
+                    for (int dy = 0; dy + recipe.recipeHeight <= 3; ++dy)
+                    {
+                        for (int mirror = 0; mirror < 2; ++mirror)
+                        {
+                            InventoryCrafting grid = newGrid();
+
+                            for (int x = 0; x < recipe.recipeWidth; ++x)
+                            {
+                                for (int y = 0; y < recipe.recipeHeight; ++y)
+                                {
+                                    int column = mirror == 0 ? x : recipe.recipeWidth - 1 - x;
+                                    grid.setInventorySlotContents(dx + x + (dy + y) * 3, concrete(recipe.recipeItems[column + y * recipe.recipeWidth]));
+                                }
+                            }
+
+                            patterns.add(grid);
+                        }
+                    }
+                }
+
+                for (ItemStack stack : recipe.recipeItems)
+                {
+                    addIngredient(ingredients, stack);
+                }
+            }
+            else if (o instanceof ShapelessRecipes)
+            {
+                ShapelessRecipes recipe = (ShapelessRecipes)o;
+                InventoryCrafting grid = newGrid();
+
+                for (int i = 0; i < recipe.recipeItems.size(); ++i)
+                {
+                    ItemStack stack = (ItemStack)recipe.recipeItems.get(i);
+                    grid.setInventorySlotContents(8 - i, concrete(stack));
+                    addIngredient(ingredients, stack);
+                }
+
+                patterns.add(grid);
+            }
+        }
+
+        grids.addAll(patterns);
+        Random random = new Random(seed);
+
+        for (int i = 0; i < randomGrids; ++i)
+        {
+            InventoryCrafting grid = newGrid();
+
+            if (random.nextBoolean())
+            {
+                InventoryCrafting pattern = patterns.get(random.nextInt(patterns.size()));
+
+                for (int slot = 0; slot < 9; ++slot)
+                {
+                    grid.setInventorySlotContents(slot, pattern.getStackInSlot(slot));
+                }
+
+                grid.setInventorySlotContents(random.nextInt(9), random.nextInt(3) == 0 ? null : ingredients.get(random.nextInt(ingredients.size())));
+            }
+            else
+            {
+                for (int n = 1 + random.nextInt(9); n > 0; --n)
+                {
+                    grid.setInventorySlotContents(random.nextInt(9), ingredients.get(random.nextInt(ingredients.size())));
+                }
+            }
+
+            grids.add(grid);
+        }
+
+        return grids;
+    }
+
+    /**
+     * Filled maps are left out, since map extending needs a world to read their data
+     */
+    private static void addIngredient(List<ItemStack> ingredients, ItemStack stack)
+    {
+        if (stack != null && Item.getIdFromItem(stack.getItem()) != 358)
+        {
+            ingredients.add(concrete(stack));
+        }
+    }
+
+    /**
+     * The stack a player could place for a recipe ingredient, with wildcard metadata replaced by 0
+     */
+    private static ItemStack concrete(ItemStack stack)
+    {
+        return stack == null ? null : new ItemStack(stack.getItem(), 1, stack.getItemDamage() == 32767 ? 0 : stack.getItemDamage());
+    }
+
+    static InventoryCrafting newGrid()
+    {
+        return new InventoryCrafting(new Container()
+        {
+            public boolean canInteractWith(EntityPlayer player)
+            {
+                return true;
+            }
+        }, 3, 3);
+    }
+}
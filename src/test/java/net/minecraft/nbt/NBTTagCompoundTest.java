@@ -0,0 +1,122 @@
+package net.minecraft.nbt;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Modifying a compound or list anywhere in a tag tree must change the modification stamp of every tag holding it.
+ */
+public class NBTTagCompoundTest
+{
+    @Test
+    public void nestedChangesStampTheRoot()
+    {
+        NBTTagCompound root = new NBTTagCompound();
+        NBTTagCompound display = new NBTTagCompound();
+        NBTTagList lore = new NBTTagList();
+        display.setTag("Lore", lore);
+        root.setTag("display", display);
+
+        long stamp = root.getLastModification();
+        lore.appendTag(new NBTTagString("line"));
+        assertTrue(root.getLastModification() > stamp);
+        assertEquals(lore.getLastModification(), root.getLastModification());
+
+        stamp = root.getLastModification();
+        ((NBTTagCompound)root.getTag("display")).setString("Name", "name");
+        assertTrue(root.getLastModification() > stamp);
+    }
+
+    @Test
+    public void readingDoesNotStampUnrelatedTags()
+    {
+        NBTTagCompound root = new NBTTagCompound();
+        root.setTag("child", new NBTTagCompound());
+        long stamp = root.getLastModification();
+        root.getCompoundTag("child");
+        root.getCompoundTag("missing").setInteger("a", 1);
+        assertEquals(stamp, root.getLastModification());
+    }
+
+    @Test
+    public void removedChildrenNoLongerStampTheirParent()
+    {
+        NBTTagCompound root = new NBTTagCompound();
+        NBTTagCompound child = new NBTTagCompound();
+        root.setTag("child", child);
+        root.removeTag("child");
+        long stamp = root.getLastModification();
+        child.setInteger("a", 1);
+        assertEquals(stamp, root.getLastModification());
+
+        NBTTagCompound replaced = new NBTTagCompound();
+        root.setTag("child", replaced);
+        root.setTag("child", new NBTTagCompound());
+        stamp = root.getLastModification();
+        replaced.setInteger("a", 1);
+        assertEquals(stamp, root.getLastModification());
+
+        NBTTagList list = new NBTTagList();
+        NBTTagCompound element = new NBTTagCompound();
+        list.appendTag(element);
+        list.removeTag(0);
+        stamp = list.getLastModification();
+        element.setInteger("a", 1);
+        assertEquals(stamp, list.getLastModification());
+    }
+
+    @Test
+    public void sharedChildrenStampEveryParent()
+    {
+        NBTTagCompound first = new NBTTagCompound();
+        NBTTagCompound second = new NBTTagCompound();
+        NBTTagList shared = new NBTTagList();
+        first.setTag("shared", shared);
+        second.setTag("shared", shared);
+
+        long firstStamp = first.getLastModification();
+        long secondStamp = second.getLastModification();
+        shared.appendTag(new NBTTagInt(1));
+        assertTrue(first.getLastModification() > firstStamp);
+        assertTrue(second.getLastModification() > secondStamp);
+
+        first.removeTag("shared");
+        secondStamp = second.getLastModification();
+        shared.appendTag(new NBTTagInt(2));
+        assertTrue(second.getLastModification() > secondStamp);
+    }
+
+    @Test
+    public void copiesAndReadTagsAreTracked() throws IOException
+    {
+        NBTTagCompound original = new NBTTagCompound();
+        NBTTagCompound inner = new NBTTagCompound();
+        NBTTagList list = new NBTTagList();
+        list.appendTag(new NBTTagCompound());
+        inner.setTag("list", list);
+        original.setTag("inner", inner);
+
+        NBTTagCompound copy = (NBTTagCompound)original.copy();
+        long stamp = copy.getLastModification();
+        copy.getCompoundTag("inner").getTagList("list", 10).getCompoundTagAt(0).setByte("b", (byte)1);
+        assertTrue(copy.getLastModification() > stamp);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CompressedStreamTools.write(original, new DataOutputStream(bytes));
+        NBTTagCompound read = CompressedStreamTools.func_152456_a(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), NBTSizeTracker.field_152451_a);
+        assertEquals(original, read);
+        stamp = read.getLastModification();
+        assertNotEquals(0L, stamp);
+        read.getCompoundTag("inner").getTagList("list", 10).getCompoundTagAt(0).setByte("b", (byte)1);
+        assertTrue(read.getLastModification() > stamp);
+    }
+}
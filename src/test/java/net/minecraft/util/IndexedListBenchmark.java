@@ -0,0 +1,135 @@
+package net.minecraft.util;
+
+import net.minecraft.entity.item.EntityItem;
+import net.minecraft.world.chunk.Chunk;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity and chunk churn on the loaded lists, backed by IndexedList or by the ArrayList it replaced. The item benchmarks
+ * despawn and respawn a tenth of 30000 item entities the way World.updateEntities and WorldClient.tick do; the chunk
+ * benchmark unloads and reloads a row of a 33x33 chunk view the way ChunkProviderClient does.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IndexedListBenchmark
+{
+    private static final int ITEMS = 30000;
+    private static final int BATCH = ITEMS / 10;
+    private static final int VIEW = 33;
+
+    @Param({"IndexedList", "ArrayList"})
+    public String implementation;
+    private List<EntityItem> loadedItems;
+    private List<EntityItem>[] batches;
+    private List<Chunk> loadedChunks;
+    private Chunk[][] chunkRows;
+    private int tick;
+
+    @Setup
+    public void setUp()
+    {
+        this.loadedItems = this.newList();
+        this.batches = new List[ITEMS / BATCH];
+
+        for (int i = 0; i < this.batches.length; ++i)
+        {
+            this.batches[i] = new ArrayList<>();
+        }
+
+        for (int i = 0; i < ITEMS; ++i)
+        {
+            EntityItem item = new EntityItem(null);
+            this.loadedItems.add(item);
+            this.batches[i % this.batches.length].add(item);
+        }
+
+        this.loadedChunks = this.newList();
+        this.chunkRows = new Chunk[VIEW][VIEW];
+
+        for (int z = 0; z < VIEW; ++z)
+        {
+            for (int x = 0; x < VIEW; ++x)
+            {
+                this.chunkRows[z][x] = new Chunk(null, x, z);
+                this.loadedChunks.add(this.chunkRows[z][x]);
+            }
+        }
+    }
+
+    private <E extends IndexedList.Element> List<E> newList()
+    {
+        return "IndexedList".equals(this.implementation) ? new IndexedList<E>() : new ArrayList<E>();
+    }
+
+    /**
+     * A batch of items despawns: World.updateEntities drops the unloaded entities with one removeAll, then they are
+     * spawned again
+     */
+    @Benchmark
+    public int despawnItems()
+    {
+        List<EntityItem> batch = this.batches[this.tick++ % this.batches.length];
+        this.loadedItems.removeAll(batch);
+        this.loadedItems.addAll(batch);
+        return this.loadedItems.size();
+    }
+
+    /**
+     * A batch of items is queued for re-entry and WorldClient.tick checks each against the loaded list
+     */
+    @Benchmark
+    public int reenterItems()
+    {
+        List<EntityItem> batch = this.batches[this.tick++ % this.batches.length];
+        int loaded = 0;
+
+        for (int i = 0; i < batch.size(); ++i)
+        {
+            if (this.loadedItems.contains(batch.get(i)))
+            {
+                ++loaded;
+            }
+        }
+
+        return loaded;
+    }
+
+    /**
+     * The player crosses a chunk border: a row of chunks unloads one by one and another row loads
+     */
+    @Benchmark
+    public int unloadAndLoadChunks()
+    {
+        Chunk[] row = this.chunkRows[this.tick++ % VIEW];
+
+        for (int i = 0; i < row.length; ++i)
+        {
+            this.loadedChunks.remove(row[i]);
+        }
+
+        for (int i = 0; i < row.length; ++i)
+        {
+            this.loadedChunks.add(row[i]);
+        }
+
+        return this.loadedChunks.size();
+    }
+}
@@ -0,0 +1,98 @@
+package net.minecraft.util;
+
+import net.minecraft.block.Block;
+import net.minecraft.item.Item;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The location and registry lookups of one frame of the render loop: a texture bind per GUI element and entity model
+ * and a sound or item name per event. Each lookup is measured with a location built for the call, as the render loop
+ * used to do, and with the interned one. Run with "-prof gc" to compare the bytes allocated per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResourceLocationBenchmark
+{
+    private static final String[] TEXTURES = {
+        "textures/gui/container/inventory.png", "textures/gui/widgets.png", "textures/gui/icons.png", "textures/entity/zombie/zombie.png",
+        "textures/entity/skeleton/skeleton.png", "textures/models/armor/diamond_layer_1.png", "textures/models/armor/iron_layer_2.png", "textures/entity/chest/normal.png"
+    };
+    private static final String[] ITEMS = {"diamond_sword", "stone", "iron_ingot", "bow", "arrow", "golden_apple", "chest", "torch"};
+
+    /** Stands in for TextureManager.mapTextureObjects */
+    private Map<ResourceLocation, Object> textures;
+    private int[] itemIds;
+    private int next;
+
+    @Setup
+    public void setUp()
+    {
+        if (!Item.itemRegistry.containsKey("iron_shovel"))
+        {
+            Block.registerBlocks();
+            Item.registerItems();
+        }
+        this.textures = new HashMap<>();
+        this.itemIds = new int[ITEMS.length];
+
+        for (int i = 0; i < TEXTURES.length; ++i)
+        {
+            this.textures.put(ResourceLocation.intern(TEXTURES[i]), TEXTURES[i]);
+        }
+
+        for (int i = 0; i < ITEMS.length; ++i)
+        {
+            this.itemIds[i] = Item.itemRegistry.getIDForObject(Item.itemRegistry.getObject(ITEMS[i]));
+        }
+    }
+
+    @Benchmark
+    public Object bindNewLocation()
+    {
+        return this.textures.get(new ResourceLocation(TEXTURES[this.next++ & 7]));
+    }
+
+    @Benchmark
+    public Object bindInternedLocation()
+    {
+        return this.textures.get(ResourceLocation.intern(TEXTURES[this.next++ & 7]));
+    }
+
+    /**
+     * The lookup RegistryNamespaced made for names without a namespace before the unprefixed table
+     */
+    @Benchmark
+    public Object itemByPrefixedName()
+    {
+        return Item.itemRegistry.getObject("minecraft:" + ITEMS[this.next++ & 7]);
+    }
+
+    @Benchmark
+    public Object itemByBareName()
+    {
+        return Item.itemRegistry.getObject(ITEMS[this.next++ & 7]);
+    }
+
+    @Benchmark
+    public Object itemById()
+    {
+        return Item.itemRegistry.getObjectForID(this.itemIds[this.next++ & 7]);
+    }
+}
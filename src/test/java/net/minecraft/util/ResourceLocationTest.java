@@ -0,0 +1,64 @@
+package net.minecraft.util;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Interned locations are canonical and equal to plain ones, and the interning tables stop growing at their cap.
+ */
+public class ResourceLocationTest
+{
+    private static ResourceLocation inventory;
+
+    @BeforeClass
+    public static void internBeforeTheTablesFill()
+    {
+        inventory = ResourceLocation.intern("textures/gui/container/inventory.png");
+    }
+
+    @Test
+    public void internedLocationsAreCanonical()
+    {
+        assertSame(inventory, ResourceLocation.intern("textures/gui/container/inventory.png"));
+        assertSame(inventory, ResourceLocation.intern("minecraft:textures/gui/container/inventory.png"));
+        assertSame(inventory, new ResourceLocation("textures/gui/container/inventory.png").intern());
+        assertSame(inventory, new ResourceLocation("minecraft", "textures/gui/container/inventory.png").intern());
+        assertSame(inventory, inventory.intern());
+    }
+
+    @Test
+    public void internedAndPlainLocationsAreEqual()
+    {
+        ResourceLocation plain = new ResourceLocation("textures/gui/container/inventory.png");
+        assertEquals(plain, inventory);
+        assertEquals(inventory, plain);
+        assertEquals(plain.hashCode(), inventory.hashCode());
+        assertEquals(new ResourceLocation("MyMod:a"), ResourceLocation.intern("mymod:a"));
+    }
+
+    @Test
+    public void tablesStopGrowingAtTheCap()
+    {
+        // Sound names a server could send, each seen once
+        for (int i = 0; i <= ResourceLocation.MAX_INTERNED; ++i)
+        {
+            ResourceLocation.intern("server.sound." + i);
+        }
+
+        ResourceLocation first = ResourceLocation.intern("server.sound.overflow");
+        ResourceLocation second = ResourceLocation.intern("server.sound.overflow");
+        assertNotSame(first, second);
+        assertEquals(first, second);
+        assertEquals(new ResourceLocation("server.sound.overflow"), first);
+
+        ResourceLocation plain = new ResourceLocation("textures/overflow.png");
+        assertSame(plain, plain.intern());
+
+        // Locations interned before the cap was reached stay canonical
+        assertSame(inventory, ResourceLocation.intern("textures/gui/container/inventory.png"));
+    }
+}
@@ -0,0 +1,154 @@
+package net.minecraft.util;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * The conversion and encoding stages of the screenshot writer, fed with synthetic pixel buffers, and the reuse of
+ * pixel arrays between screenshots.
+ */
+public class ScreenShotHelperTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void convertPixelsFlipsRowsAndDropsAlpha()
+    {
+        // Bottom-up rows, as OpenGL returns them
+        int[] pixels = {
+            0xFF000001, 0x80000002, 0x00000003,
+            0xFF112233, 0xFF445566, 0xFF778899
+        };
+        BufferedImage image = ScreenShotHelper.convertPixels(pixels, 3, 3, 2);
+
+        assertEquals(3, image.getWidth());
+        assertEquals(2, image.getHeight());
+        assertEquals(BufferedImage.TYPE_INT_RGB, image.getType());
+        assertEquals(0x112233, image.getRGB(0, 0) & 0xFFFFFF);
+        assertEquals(0x778899, image.getRGB(2, 0) & 0xFFFFFF);
+        assertEquals(0x000001, image.getRGB(0, 1) & 0xFFFFFF);
+        assertEquals(0x000002, image.getRGB(1, 1) & 0xFFFFFF);
+        assertEquals(0x000003, image.getRGB(2, 1) & 0xFFFFFF);
+    }
+
+    @Test
+    public void convertPixelsSkipsRowPadding()
+    {
+        // Framebuffer textures are wider than the window; only the left part of each row is the image
+        int width = 5;
+        int height = 4;
+        int stride = 8;
+        int[] pixels = new int[stride * height];
+
+        for (int y = 0; y < height; ++y)
+        {
+            for (int x = 0; x < stride; ++x)
+            {
+                pixels[y * stride + x] = x < width ? 0xFF000000 | y << 8 | x : 0xFFFFFFFF;
+            }
+        }
+
+        BufferedImage image = ScreenShotHelper.convertPixels(pixels, stride, width, height);
+
+        for (int y = 0; y < height; ++y)
+        {
+            for (int x = 0; x < width; ++x)
+            {
+                assertEquals("pixel " + x + ", " + y, (height - 1 - y) << 8 | x, image.getRGB(x, y) & 0xFFFFFF);
+            }
+        }
+    }
+
+    @Test
+    public void writePNGRoundTrips() throws IOException
+    {
+        int width = 37;
+        int height = 23;
+        int[] pixels = new int[width * height];
+
+        for (int i = 0; i < pixels.length; ++i)
+        {
+            pixels[i] = (int)(i * 2654435761L);
+        }
+
+        BufferedImage image = ScreenShotHelper.convertPixels(pixels, width, width, height);
+        File file = new File(this.folder.getRoot(), "screenshot.png");
+        ScreenShotHelper.writePNG(image, file);
+        BufferedImage read = ImageIO.read(file);
+
+        assertEquals(width, read.getWidth());
+        assertEquals(height, read.getHeight());
+
+        for (int y = 0; y < height; ++y)
+        {
+            for (int x = 0; x < width; ++x)
+            {
+                assertEquals("pixel " + x + ", " + y, pixels[(height - 1 - y) * width + x] & 0xFFFFFF, read.getRGB(x, y) & 0xFFFFFF);
+            }
+        }
+    }
+
+    @Test
+    public void onlyWindowSizedArraysAreReused()
+    {
+        int[] window = ScreenShotHelper.takeArray(640 * 480);
+        ScreenShotHelper.returnArray(window);
+        assertSame(window, ScreenShotHelper.takeArray(640 * 480));
+
+        // A tiled capture's array is never kept
+        ScreenShotHelper.returnArray(new int[1280 * 960]);
+        ScreenShotHelper.returnArray(window);
+        assertSame(window, ScreenShotHelper.takeArray(640 * 480));
+        assertNotSame(window, ScreenShotHelper.takeArray(640 * 480));
+
+        // After a resize the old arrays are dropped
+        ScreenShotHelper.returnArray(window);
+        assertEquals(800 * 600, ScreenShotHelper.takeArray(800 * 600).length);
+        ScreenShotHelper.returnArray(window);
+        assertNotSame(window, ScreenShotHelper.takeArray(640 * 480));
+    }
+
+    @Test
+    public void atMostTheSpareLimitIsKept()
+    {
+        int[][] arrays = new int[ScreenShotHelper.MAX_SPARE_ARRAYS + 1][];
+
+        for (int i = 0; i < arrays.length; ++i)
+        {
+            arrays[i] = ScreenShotHelper.takeArray(320 * 240);
+        }
+
+        for (int i = 0; i < arrays.length; ++i)
+        {
+            ScreenShotHelper.returnArray(arrays[i]);
+        }
+
+        for (int i = 0; i < arrays.length; ++i)
+        {
+            int[] array = ScreenShotHelper.takeArray(320 * 240);
+
+            if (i < ScreenShotHelper.MAX_SPARE_ARRAYS)
+            {
+                assertSame(arrays[i], array);
+            }
+            else
+            {
+                for (int[] kept : arrays)
+                {
+                    assertNotSame(kept, array);
+                }
+            }
+        }
+    }
+}
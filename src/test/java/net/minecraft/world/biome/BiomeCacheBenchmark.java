@@ -0,0 +1,99 @@
+package net.minecraft.world.biome;
+
+import net.minecraft.world.WorldType;
+import net.minecraft.world.gen.layer.IntCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cached biome lookups over a 64x64 chunk area, already resolved in both caches: single columns at scattered
+ * positions, as SpawnerAnimals and the colorizers ask for them, and whole chunks, as ChunkProviderGenerate does.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BiomeCacheBenchmark
+{
+    private static final int AREA = 1024;
+    private WorldChunkManager manager;
+    private ReferenceBiomeCache reference;
+    private int[] columns;
+    private BiomeGenBase[] biomes;
+    private int next;
+
+    @Setup
+    public void setUp()
+    {
+        BiomeCacheTest.registerBlocks();
+        this.manager = new WorldChunkManager(12345L, WorldType.DEFAULT);
+        this.reference = new ReferenceBiomeCache(this.manager);
+        Random random = new Random(42L);
+        this.columns = new int[8192];
+
+        for (int i = 0; i < this.columns.length; ++i)
+        {
+            this.columns[i] = random.nextInt(AREA) - AREA / 2;
+        }
+
+        for (int x = -AREA / 2; x < AREA / 2; x += 16)
+        {
+            for (int z = -AREA / 2; z < AREA / 2; z += 16)
+            {
+                this.manager.getBiomeGenAt(x, z);
+                this.reference.getBiomeGenAt(x, z);
+            }
+        }
+    }
+
+    @Benchmark
+    public BiomeGenBase regionColumn()
+    {
+        int i = this.next++ & this.columns.length - 2;
+        return this.manager.getBiomeGenAt(this.columns[i], this.columns[i + 1]);
+    }
+
+    @Benchmark
+    public BiomeGenBase referenceColumn()
+    {
+        int i = this.next++ & this.columns.length - 2;
+        return this.reference.getBiomeGenAt(this.columns[i], this.columns[i + 1]);
+    }
+
+    @Benchmark
+    public BiomeGenBase[] regionChunk()
+    {
+        int i = this.next++ & this.columns.length - 2;
+        return this.biomes = this.manager.loadBlockGeneratorData(this.biomes, this.columns[i] & ~15, this.columns[i + 1] & ~15, 16, 16);
+    }
+
+    @Benchmark
+    public BiomeGenBase[] referenceChunk()
+    {
+        int i = this.next++ & this.columns.length - 2;
+        IntCache.resetIntCache();
+        BiomeGenBase[] cached = this.reference.getCachedBiomes(this.columns[i], this.columns[i + 1]);
+
+        if (this.biomes == null || this.biomes.length < 256)
+        {
+            this.biomes = new BiomeGenBase[256];
+        }
+
+        // The old loadBlockGeneratorData reset the int cache and copied the cached chunk the same way
+        System.arraycopy(cached, 0, this.biomes, 0, 256);
+        return this.biomes;
+    }
+}
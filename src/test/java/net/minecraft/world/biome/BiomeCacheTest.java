@@ -0,0 +1,101 @@
+package net.minecraft.world.biome;
+
+import net.minecraft.block.Block;
+import net.minecraft.item.Item;
+import net.minecraft.world.WorldType;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The region cache must give the biomes the chunk cache it replaced gave, across region edges and negative
+ * coordinates, and must store biome IDs with no registered biome as unknown.
+ */
+public class BiomeCacheTest
+{
+    @BeforeClass
+    public static void registerBlocks()
+    {
+        if (!Item.itemRegistry.containsKey("iron_shovel"))
+        {
+            Block.registerBlocks();
+            Item.registerItems();
+        }
+    }
+
+    @Test
+    public void columnLookupsMatchChunkCache()
+    {
+        for (long seed : new long[] {0L, 12345L, -8046398474027591234L})
+        {
+            WorldChunkManager manager = new WorldChunkManager(seed, WorldType.DEFAULT);
+            ReferenceBiomeCache reference = new ReferenceBiomeCache(manager);
+
+            // Steps of 37 blocks cross chunk and region edges at many offsets
+            for (int x = -1100; x <= 1100; x += 37)
+            {
+                for (int z = -1100; z <= 1100; z += 37)
+                {
+                    assertSame("seed " + seed + " at " + x + ", " + z, reference.getBiomeGenAt(x, z), manager.getBiomeGenAt(x, z));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void chunkLookupsMatchChunkCache()
+    {
+        WorldChunkManager manager = new WorldChunkManager(12345L, WorldType.DEFAULT);
+        ReferenceBiomeCache reference = new ReferenceBiomeCache(manager);
+        BiomeGenBase[] biomes = null;
+
+        for (int chunkX = -40; chunkX <= 40; chunkX += 3)
+        {
+            for (int chunkZ = -40; chunkZ <= 40; chunkZ += 5)
+            {
+                BiomeGenBase[] expected = reference.getCachedBiomes(chunkX << 4, chunkZ << 4);
+                biomes = manager.loadBlockGeneratorData(biomes, chunkX << 4, chunkZ << 4, 16, 16);
+
+                for (int i = 0; i < 256; ++i)
+                {
+                    assertSame("chunk " + chunkX + ", " + chunkZ + " [" + i + "]", expected[i], biomes[i]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void unregisteredBiomesStoreAsUnknown()
+    {
+        int unregistered = 0;
+
+        while (BiomeGenBase.getBiomeGenArray()[unregistered] != null)
+        {
+            ++unregistered;
+        }
+
+        // Column 1, 1 of chunk 33, -2, which is chunk 1, 30 of its region
+        int column = (30 << 4 | 1) << 9 | 1 << 4 | 1;
+        int[] ids = new int[256];
+        ids[17] = unregistered;
+        BiomeCache.Region region = new BiomeCache.Region();
+        region.store(33, -2, ids);
+        assertEquals(255, region.biomes[column] & 255);
+        assertEquals(0, region.biomes[column - 1] & 255);
+        assertTrue(region.isResolved(33, -2));
+
+        BiomeGenBase[] biomes = new BiomeGenBase[256];
+        Arrays.fill(biomes, BiomeGenBase.ocean);
+        biomes[17] = null;
+        region.store(34, -2, biomes);
+        assertEquals(255, region.biomes[column + 16] & 255);
+        assertEquals(0, region.biomes[column + 15] & 255);
+        assertNull(BiomeGenBase.getBiomeGenArray()[255]);
+    }
+}
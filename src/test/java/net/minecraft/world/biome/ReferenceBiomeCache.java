@@ -0,0 +1,88 @@
+package net.minecraft.world.biome;
+
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.LongHashMap;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * BiomeCache as it was before regions: one block of biomes and rainfall per chunk, found through a LongHashMap
+ */
+public class ReferenceBiomeCache
+{
+    /** Reference to the WorldChunkManager */
+    private final WorldChunkManager chunkManager;
+
+    /**
+     * The map of keys to BiomeCacheBlocks. Keys are based on the chunk x, z coordinates as (x | z << 32).
+     */
+    private LongHashMap cacheMap = new LongHashMap();
+
+    /** The list of cached BiomeCacheBlocks */
+    private List cache = new ArrayList();
+
+    public ReferenceBiomeCache(WorldChunkManager p_i1973_1_)
+    {
+        this.chunkManager = p_i1973_1_;
+    }
+
+    /**
+     * Returns a biome cache block at location specified.
+     */
+    public ReferenceBiomeCache.Block getBiomeCacheBlock(int p_76840_1_, int p_76840_2_)
+    {
+        p_76840_1_ >>= 4;
+        p_76840_2_ >>= 4;
+        long var3 = (long)p_76840_1_ & 4294967295L | ((long)p_76840_2_ & 4294967295L) << 32;
+        ReferenceBiomeCache.Block var5 = (ReferenceBiomeCache.Block)this.cacheMap.getValueByKey(var3);
+
+        if (var5 == null)
+        {
+            var5 = new ReferenceBiomeCache.Block(p_76840_1_, p_76840_2_);
+            this.cacheMap.add(var3, var5);
+            this.cache.add(var5);
+        }
+
+        var5.lastAccessTime = MinecraftServer.getSystemTimeMillis();
+        return var5;
+    }
+
+    /**
+     * Returns the BiomeGenBase related to the x, z position from the cache.
+     */
+    public BiomeGenBase getBiomeGenAt(int p_76837_1_, int p_76837_2_)
+    {
+        return this.getBiomeCacheBlock(p_76837_1_, p_76837_2_).getBiomeGenAt(p_76837_1_, p_76837_2_);
+    }
+
+    /**
+     * Returns the array of cached biome types in the BiomeCacheBlock at the given location.
+     */
+    public BiomeGenBase[] getCachedBiomes(int p_76839_1_, int p_76839_2_)
+    {
+        return this.getBiomeCacheBlock(p_76839_1_, p_76839_2_).biomes;
+    }
+
+    public class Block
+    {
+        public float[] rainfallValues = new float[256];
+        public BiomeGenBase[] biomes = new BiomeGenBase[256];
+        public int xPosition;
+        public int zPosition;
+        public long lastAccessTime;
+
+        public Block(int p_i1972_2_, int p_i1972_3_)
+        {
+            this.xPosition = p_i1972_2_;
+            this.zPosition = p_i1972_3_;
+            ReferenceBiomeCache.this.chunkManager.getRainfall(this.rainfallValues, p_i1972_2_ << 4, p_i1972_3_ << 4, 16, 16);
+            ReferenceBiomeCache.this.chunkManager.getBiomeGenAt(this.biomes, p_i1972_2_ << 4, p_i1972_3_ << 4, 16, 16, false);
+        }
+
+        public BiomeGenBase getBiomeGenAt(int p_76885_1_, int p_76885_2_)
+        {
+            return this.biomes[p_76885_1_ & 15 | (p_76885_2_ & 15) << 4];
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package net.minecraft.world.gen;
+
+import net.minecraft.block.Block;
+import net.minecraft.entity.Entity;
+import net.minecraft.item.Item;
+import net.minecraft.profiler.Profiler;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldProvider;
+import net.minecraft.world.WorldSettings;
+import net.minecraft.world.WorldType;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.IChunkProvider;
+import net.minecraft.world.storage.SaveHandlerMP;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Chunks built ahead of time on the terrain workers must be identical to chunks generated on the calling thread.
+ */
+public class ChunkProviderGenerateTest
+{
+    private static final int RADIUS = 6;
+
+    @BeforeClass
+    public static void registerBlocks()
+    {
+        if (!Item.itemRegistry.containsKey("iron_shovel"))
+        {
+            Block.registerBlocks();
+            Item.registerItems();
+        }
+    }
+
+    @Test
+    public void prefetchedChunksMatchSerialGeneration()
+    {
+        for (long seed : new long[] {0L, 12345L, -8046398474027591234L})
+        {
+            ChunkProviderGenerate serial = new ChunkProviderGenerate(new TestWorld(seed), seed, true);
+            ChunkProviderGenerate parallel = new ChunkProviderGenerate(new TestWorld(seed), seed, true);
+            int[] coords = spiral(RADIUS);
+            int count = coords.length / 2;
+            int prefetched = 0;
+
+            for (int i = 0; i < count; ++i)
+            {
+                prefetched = Math.max(prefetched, i);
+
+                while (prefetched < count && parallel.prefetchChunk(coords[prefetched * 2], coords[prefetched * 2 + 1]))
+                {
+                    ++prefetched;
+                }
+
+                int x = coords[i * 2];
+                int z = coords[i * 2 + 1];
+                assertSameChunk("seed " + seed + " chunk " + x + ", " + z, serial.provideChunk(x, z), parallel.provideChunk(x, z));
+            }
+        }
+    }
+
+    private static void assertSameChunk(String message, Chunk expected, Chunk actual)
+    {
+        assertArrayEquals(message + " biomes", expected.getBiomeArray(), actual.getBiomeArray());
+        assertArrayEquals(message + " height map", expected.heightMap, actual.heightMap);
+
+        for (int y = 0; y < 256; ++y)
+        {
+            for (int z = 0; z < 16; ++z)
+            {
+                for (int x = 0; x < 16; ++x)
+                {
+                    String where = message + " at " + x + ", " + y + ", " + z;
+                    assertSame(where, expected.func_150810_a(x, y, z), actual.func_150810_a(x, y, z));
+                    assertEquals(where, expected.getBlockMetadata(x, y, z), actual.getBlockMetadata(x, y, z));
+                }
+            }
+        }
+    }
+
+    /**
+     * Chunk coordinates around the origin, nearest first, as the server loads them
+     */
+    private static int[] spiral(int radius)
+    {
+        int side = radius * 2 + 1;
+        int[] coords = new int[side * side * 2];
+        int i = 0;
+
+        for (int ring = 0; ring <= radius; ++ring)
+        {
+            for (int x = -ring; x <= ring; ++x)
+            {
+                for (int z = -ring; z <= ring; ++z)
+                {
+                    if (Math.max(Math.abs(x), Math.abs(z)) == ring)
+                    {
+                        coords[i++] = x;
+                        coords[i++] = z;
+                    }
+                }
+            }
+        }
+
+        return coords;
+    }
+
+    private static class TestWorld extends World
+    {
+        TestWorld(long seed)
+        {
+            super(new SaveHandlerMP(), "test", WorldProvider.getProviderForDimension(0), new WorldSettings(seed, WorldSettings.GameType.SURVIVAL, true, false, WorldType.DEFAULT), new Profiler("test"));
+        }
+
+        protected IChunkProvider createChunkProvider()
+        {
+            return null;
+        }
+
+        protected int func_152379_p()
+        {
+            return 0;
+        }
+
+        public Entity getEntityByID(int id)
+        {
+            return null;
+        }
+    }
+}
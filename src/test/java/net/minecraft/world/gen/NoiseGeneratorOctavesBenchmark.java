@@ -0,0 +1,74 @@
+package net.minecraft.world.gen;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The noise of one overworld chunk, as ChunkProviderGenerate samples it, from the current generators and from the ones
+ * they replaced. Setup fails if the two disagree by more than NoiseGeneratorOctavesTest.EPSILON.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NoiseGeneratorOctavesBenchmark
+{
+    private NoiseGeneratorOctaves current;
+    private ReferenceNoiseGeneratorOctaves reference;
+    private NoiseGeneratorOctaves currentDepth;
+    private ReferenceNoiseGeneratorOctaves referenceDepth;
+    private double[] currentBuffer;
+    private double[] currentDepthBuffer;
+    private double[] referenceBuffer;
+    private double[] referenceDepthBuffer;
+    private int chunk;
+
+    @Setup
+    public void setUp()
+    {
+        this.current = new NoiseGeneratorOctaves(new Random(12345L), 16);
+        this.reference = new ReferenceNoiseGeneratorOctaves(new Random(12345L), 16);
+        this.currentDepth = new NoiseGeneratorOctaves(new Random(54321L), 16);
+        this.referenceDepth = new ReferenceNoiseGeneratorOctaves(new Random(54321L), 16);
+
+        for (int i = 0; i < 64; ++i)
+        {
+            this.chunk = i * 65;
+            double[] expected = this.referenceChunk();
+            this.chunk = i * 65;
+            NoiseGeneratorOctavesTest.assertNoiseEquals("chunk " + i, expected, this.currentChunk());
+            NoiseGeneratorOctavesTest.assertNoiseEquals("depth of chunk " + i, this.referenceDepthBuffer, this.currentDepthBuffer);
+        }
+    }
+
+    @Benchmark
+    public double[] currentChunk()
+    {
+        int x = (this.chunk & 63) * 4;
+        int z = (this.chunk++ >> 6 & 63) * 4;
+        this.currentDepthBuffer = this.currentDepth.generateNoiseOctaves(this.currentDepthBuffer, x, z, 5, 5, 200.0D, 200.0D, 0.5D);
+        return this.currentBuffer = this.current.generateNoiseOctaves(this.currentBuffer, x, 0, z, 5, 33, 5, 684.412D, 684.412D, 684.412D);
+    }
+
+    @Benchmark
+    public double[] referenceChunk()
+    {
+        int x = (this.chunk & 63) * 4;
+        int z = (this.chunk++ >> 6 & 63) * 4;
+        this.referenceDepthBuffer = this.referenceDepth.generateNoiseOctaves(this.referenceDepthBuffer, x, z, 5, 5, 200.0D, 200.0D, 0.5D);
+        return this.referenceBuffer = this.reference.generateNoiseOctaves(this.referenceBuffer, x, 0, z, 5, 33, 5, 684.412D, 684.412D, 684.412D);
+    }
+}
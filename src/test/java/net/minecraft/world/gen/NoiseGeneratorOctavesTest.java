@@ -0,0 +1,94 @@
+package net.minecraft.world.gen;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * The table-driven noise must match the noise generators it replaced, across seeds, octave counts, offsets and the
+ * sizes and scales the overworld generator uses, including when output buffers are reused.
+ */
+public class NoiseGeneratorOctavesTest
+{
+    static final double EPSILON = 1.0E-12D;
+    private static final long[] SEEDS = {0L, 1L, 12345L, -8046398474027591234L, Long.MAX_VALUE};
+    private static final int[] OCTAVES = {1, 4, 8, 16};
+
+    /** Noise offsets, including ones past the 2^24 wrap of the lattice coordinates */
+    private static final int[][] OFFSETS = {{0, 0, 0}, {-20, 0, 37}, {1024, -16, -4096}, {4194300, 8, -4194300}, {-16777220, 0, 16777220}};
+
+    @Test
+    public void terrainNoiseMatchesReference()
+    {
+        for (long seed : SEEDS)
+        {
+            for (int octaves : OCTAVES)
+            {
+                NoiseGeneratorOctaves current = new NoiseGeneratorOctaves(new Random(seed), octaves);
+                ReferenceNoiseGeneratorOctaves reference = new ReferenceNoiseGeneratorOctaves(new Random(seed), octaves);
+                double[] buffer = null;
+
+                for (int[] offset : OFFSETS)
+                {
+                    double[] expected = reference.generateNoiseOctaves(null, offset[0], offset[1], offset[2], 5, 33, 5, 684.412D, 684.412D, 684.412D);
+                    buffer = current.generateNoiseOctaves(buffer, offset[0], offset[1], offset[2], 5, 33, 5, 684.412D, 684.412D, 684.412D);
+                    assertNoiseEquals("seed " + seed + ", " + octaves + " octaves, 3D at " + offset[0] + ", " + offset[1] + ", " + offset[2], expected, buffer);
+                    expected = reference.generateNoiseOctaves(null, offset[0], offset[1], offset[2], 5, 33, 5, 8.555150000000001D, 4.277575000000001D, 8.555150000000001D);
+                    buffer = current.generateNoiseOctaves(buffer, offset[0], offset[1], offset[2], 5, 33, 5, 8.555150000000001D, 4.277575000000001D, 8.555150000000001D);
+                    assertNoiseEquals("seed " + seed + ", " + octaves + " octaves, selector at " + offset[0] + ", " + offset[1] + ", " + offset[2], expected, buffer);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void flatNoiseMatchesReference()
+    {
+        for (long seed : SEEDS)
+        {
+            for (int octaves : OCTAVES)
+            {
+                NoiseGeneratorOctaves current = new NoiseGeneratorOctaves(new Random(seed), octaves);
+                ReferenceNoiseGeneratorOctaves reference = new ReferenceNoiseGeneratorOctaves(new Random(seed), octaves);
+                double[] buffer = null;
+
+                for (int[] offset : OFFSETS)
+                {
+                    double[] expected = reference.generateNoiseOctaves(null, offset[0], offset[2], 5, 5, 200.0D, 200.0D, 0.5D);
+                    buffer = current.generateNoiseOctaves(buffer, offset[0], offset[2], 5, 5, 200.0D, 200.0D, 0.5D);
+                    assertNoiseEquals("seed " + seed + ", " + octaves + " octaves, 2D at " + offset[0] + ", " + offset[2], expected, buffer);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void reusedBuffersMatchFreshOnes()
+    {
+        NoiseGeneratorOctaves current = new NoiseGeneratorOctaves(new Random(42L), 16);
+        ReferenceNoiseGeneratorOctaves reference = new ReferenceNoiseGeneratorOctaves(new Random(42L), 16);
+
+        // A larger buffer than needed, left dirty by a previous call of another size
+        double[] buffer = current.generateNoiseOctaves(null, 3, 0, 3, 9, 40, 9, 684.412D, 684.412D, 684.412D);
+
+        for (int chunk = -3; chunk <= 3; ++chunk)
+        {
+            double[] expected = reference.generateNoiseOctaves(null, chunk * 4, 0, -chunk * 4, 5, 33, 5, 684.412D, 684.412D, 684.412D);
+            buffer = current.generateNoiseOctaves(buffer, chunk * 4, 0, -chunk * 4, 5, 33, 5, 684.412D, 684.412D, 684.412D);
+            assertNoiseEquals("chunk " + chunk, expected, buffer);
+        }
+    }
+
+    /**
+     * Checks the first expected.length values, since reused buffers may be longer than the noise written into them
+     */
+    static void assertNoiseEquals(String message, double[] expected, double[] actual)
+    {
+        for (int i = 0; i < expected.length; ++i)
+        {
+            assertEquals(message + " [" + i + "]", expected[i], actual[i], EPSILON * Math.max(1.0D, Math.abs(expected[i])));
+        }
+    }
+}
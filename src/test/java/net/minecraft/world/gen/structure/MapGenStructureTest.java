@@ -0,0 +1,120 @@
+package net.minecraft.world.gen.structure;
+
+import net.minecraft.block.Block;
+import net.minecraft.entity.Entity;
+import net.minecraft.item.Item;
+import net.minecraft.profiler.Profiler;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldProvider;
+import net.minecraft.world.WorldSettings;
+import net.minecraft.world.WorldType;
+import net.minecraft.world.chunk.IChunkProvider;
+import net.minecraft.world.storage.SaveHandlerMP;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Iterator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * func_142038_b, which decides whether fortress mobs spawn, must still answer from the first sizeable start the
+ * structure map iterates, as it did before starts were indexed by region cell.
+ */
+public class MapGenStructureTest
+{
+    @BeforeClass
+    public static void registerBlocks()
+    {
+        if (!Item.itemRegistry.containsKey("iron_shovel"))
+        {
+            Block.registerBlocks();
+            Item.registerItems();
+        }
+    }
+
+    @Test
+    public void fortressSpawnCheckMatchesFirstStartScan()
+    {
+        for (long seed : new long[] {0L, 12345L, -8046398474027591234L})
+        {
+            TestWorld world = new TestWorld(seed);
+            MapGenNetherBridge fortresses = new MapGenNetherBridge();
+            int covered = 0;
+            int coveredByLaterStart = 0;
+
+            for (int chunkX = -48; chunkX <= 48; chunkX += 16)
+            {
+                for (int chunkZ = -48; chunkZ <= 48; chunkZ += 16)
+                {
+                    fortresses.func_151539_a(null, world, chunkX, chunkZ, null);
+                }
+            }
+
+            for (int x = -900; x <= 900; x += 7)
+            {
+                for (int z = -900; z <= 900; z += 7)
+                {
+                    boolean expected = firstStartCovers(fortresses, x, z);
+                    assertEquals("seed " + seed + " at " + x + ", " + z, expected, fortresses.func_142038_b(x, 64, z));
+
+                    if (expected)
+                    {
+                        ++covered;
+                    }
+                    else if (fortresses.hasStructureAt(x, 64, z))
+                    {
+                        ++coveredByLaterStart;
+                    }
+                }
+            }
+
+            assertTrue("seed " + seed + " has no fortress in range", covered > 0);
+            assertTrue("seed " + seed + " has a single fortress in range", coveredByLaterStart > 0);
+        }
+    }
+
+    /**
+     * func_142038_b before the region cells
+     */
+    private static boolean firstStartCovers(MapGenStructure structures, int x, int z)
+    {
+        Iterator starts = structures.structureMap.values().iterator();
+
+        while (starts.hasNext())
+        {
+            StructureStart start = (StructureStart)starts.next();
+
+            if (start.isSizeableStructure())
+            {
+                return start.getBoundingBox().intersectsWith(x, z, x, z);
+            }
+        }
+
+        return false;
+    }
+
+    private static class TestWorld extends World
+    {
+        TestWorld(long seed)
+        {
+            super(new SaveHandlerMP(), "test", WorldProvider.getProviderForDimension(-1), new WorldSettings(seed, WorldSettings.GameType.SURVIVAL, true, false, WorldType.DEFAULT), new Profiler("test"));
+        }
+
+        protected IChunkProvider createChunkProvider()
+        {
+            return null;
+        }
+
+        protected int func_152379_p()
+        {
+            return 0;
+        }
+
+        public Entity getEntityByID(int id)
+        {
+            return null;
+        }
+    }
+}